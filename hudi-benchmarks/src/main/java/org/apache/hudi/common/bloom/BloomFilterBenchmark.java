@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.bloom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the adds and the membership checks of the {@link BloomFilter}s written to the base files,
+ * with the default number of entries and false positive rate of the bloom index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BloomFilterBenchmark {
+  private static final int NUM_KEYS = 1024;
+
+  @Param({"SIMPLE", "DYNAMIC_V0", "SPLIT_BLOCK"})
+  private String bloomFilterTypeCode;
+
+  @Param({"60000"})
+  private int numEntries;
+
+  @Param({"0.000000001"})
+  private double errorRate;
+
+  // the bound of the dynamic bloom filters
+  @Param({"100000"})
+  private int maxNumberOfEntries;
+
+  private BloomFilter bloomFilter;
+  // the filter the keys are added to by the benchmark, recreated per iteration
+  private BloomFilter addedFilter;
+  private String[] existingKeys;
+  private String[] missingKeys;
+
+  @Setup
+  public void setup() {
+    bloomFilter = createBloomFilter();
+    Random random = new Random(0xDEADBEEFL);
+    existingKeys = new String[NUM_KEYS];
+    missingKeys = new String[NUM_KEYS];
+    for (int i = 0; i < numEntries; i++) {
+      String key = new UUID(random.nextLong(), random.nextLong()).toString();
+      bloomFilter.add(key);
+      if (i < NUM_KEYS) {
+        existingKeys[i] = key;
+      }
+    }
+    for (int i = 0; i < NUM_KEYS; i++) {
+      missingKeys[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    addedFilter = createBloomFilter();
+  }
+
+  private BloomFilter createBloomFilter() {
+    return BloomFilterFactory.createBloomFilter(numEntries, errorRate, maxNumberOfEntries, bloomFilterTypeCode);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_KEYS)
+  public BloomFilter add() {
+    for (String key : missingKeys) {
+      addedFilter.add(key);
+    }
+    return addedFilter;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_KEYS)
+  public void mightContainExisting(Blackhole blackhole) {
+    for (String key : existingKeys) {
+      blackhole.consume(bloomFilter.mightContain(key));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_KEYS)
+  public void mightContainMissing(Blackhole blackhole) {
+    for (String key : missingKeys) {
+      blackhole.consume(bloomFilter.mightContain(key));
+    }
+  }
+}
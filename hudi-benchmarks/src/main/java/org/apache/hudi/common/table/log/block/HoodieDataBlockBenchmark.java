@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.log.block;
+
+import org.apache.hudi.common.model.HoodieAvroIndexedRecord;
+import org.apache.hudi.common.model.HoodieKey;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.table.log.block.HoodieLogBlock.HeaderMetadataType;
+import org.apache.hudi.common.table.log.block.HoodieLogBlock.HoodieLogBlockContentLocation;
+import org.apache.hudi.common.testutils.HoodieTestDataGenerator;
+import org.apache.hudi.common.testutils.HoodieTestUtils;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.storage.HoodieStorage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hudi.common.config.HoodieStorageConfig.PARQUET_COMPRESSION_CODEC_NAME;
+import static org.apache.hudi.common.testutils.HoodieTestDataGenerator.AVRO_SCHEMA;
+
+/**
+ * Benchmarks the serialization of the records into the content of the {@link HoodieAvroDataBlock}s and
+ * the {@link HoodieParquetDataBlock}s, and the deserialization of the content of the Avro data blocks.
+ * The Parquet data blocks are read through the log files, which is covered by {@code HoodieFileGroupReaderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HoodieDataBlockBenchmark {
+  private static final String KEY_FIELD = "_row_key";
+  private static final String PARTITION_PATH = "2016/03/15";
+
+  @Param({"10000"})
+  private int numRecords;
+
+  private HoodieStorage storage;
+  private List<HoodieRecord> records;
+  private Map<HeaderMetadataType, String> header;
+  private byte[] avroContent;
+
+  @Setup
+  public void setup() throws IOException {
+    storage = HoodieTestUtils.getDefaultStorage();
+    HoodieTestDataGenerator dataGenerator = new HoodieTestDataGenerator(0xDEED);
+    records = new ArrayList<>(numRecords);
+    for (int i = 0; i < numRecords; i++) {
+      String key = String.format("key-%010d", i);
+      records.add(new HoodieAvroIndexedRecord(new HoodieKey(key, PARTITION_PATH),
+          dataGenerator.generateGenericRecord(key, PARTITION_PATH, "rider-" + i, "driver-" + i, i, false, false)));
+    }
+    header = new HashMap<>();
+    header.put(HeaderMetadataType.INSTANT_TIME, "001");
+    header.put(HeaderMetadataType.SCHEMA, AVRO_SCHEMA.toString());
+    avroContent = new HoodieAvroDataBlock(records, header, KEY_FIELD).getContentBytes(storage).toByteArray();
+  }
+
+  @Benchmark
+  public byte[] serializeAvro() throws IOException {
+    return new HoodieAvroDataBlock(records, header, KEY_FIELD).getContentBytes(storage).toByteArray();
+  }
+
+  @Benchmark
+  public byte[] serializeParquet() throws IOException {
+    return new HoodieParquetDataBlock(records, header, KEY_FIELD, PARQUET_COMPRESSION_CODEC_NAME.defaultValue(), 0.1, true)
+        .getContentBytes(storage).toByteArray();
+  }
+
+  @Benchmark
+  public void deserializeAvro(Blackhole blackhole) throws IOException {
+    HoodieAvroDataBlock dataBlock = new HoodieAvroDataBlock(() -> null, Option.of(avroContent), false,
+        new HoodieLogBlockContentLocation(null, null, 0, 0, 0), Option.of(AVRO_SCHEMA), header, new HashMap<>(), KEY_FIELD);
+    try (ClosableIterator<HoodieRecord<Object>> iterator = dataBlock.getRecordIterator(HoodieRecord.HoodieRecordType.AVRO)) {
+      while (iterator.hasNext()) {
+        blackhole.consume(iterator.next());
+      }
+    }
+  }
+}
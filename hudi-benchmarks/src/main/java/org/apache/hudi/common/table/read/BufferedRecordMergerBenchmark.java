@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.read;
+
+import org.apache.hudi.avro.HoodieAvroReaderContext;
+import org.apache.hudi.common.config.RecordMergeMode;
+import org.apache.hudi.common.config.TypedProperties;
+import org.apache.hudi.common.engine.HoodieReaderContext;
+import org.apache.hudi.common.model.HoodieTableType;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.PartialUpdateMode;
+import org.apache.hudi.common.testutils.HoodieTestDataGenerator;
+import org.apache.hudi.common.testutils.HoodieTestUtils;
+import org.apache.hudi.common.util.Option;
+
+import org.apache.avro.generic.IndexedRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hudi.common.testutils.HoodieTestDataGenerator.AVRO_SCHEMA;
+
+/**
+ * Benchmarks the merging of the Avro records by the {@link BufferedRecordMerger}s of the file group reader,
+ * half of the newer records have the higher ordering values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BufferedRecordMergerBenchmark {
+  private static final int NUM_RECORDS = 1024;
+  private static final String PARTITION_PATH = "2016/03/15";
+
+  @Param({"COMMIT_TIME_ORDERING", "EVENT_TIME_ORDERING"})
+  private RecordMergeMode recordMergeMode;
+
+  @Param({"NONE", "IGNORE_DEFAULTS"})
+  private String partialUpdateMode;
+
+  private BufferedRecordMerger<IndexedRecord> merger;
+  private BufferedRecord<IndexedRecord>[] olderRecords;
+  private BufferedRecord<IndexedRecord>[] newerRecords;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() throws IOException {
+    String basePath = Files.createTempDirectory("hudi-merger-benchmark").toString();
+    HoodieTableMetaClient metaClient = HoodieTestUtils.init(HoodieTestUtils.getDefaultStorageConf(), basePath, HoodieTableType.MERGE_ON_READ);
+    HoodieReaderContext<IndexedRecord> readerContext = new HoodieAvroReaderContext(
+        metaClient.getStorageConf(), metaClient.getTableConfig(), Option.empty(), Option.empty());
+    Option<PartialUpdateMode> partialUpdateModeOpt = "NONE".equals(partialUpdateMode)
+        ? Option.empty() : Option.of(PartialUpdateMode.valueOf(partialUpdateMode));
+    merger = BufferedRecordMergerFactory.create(readerContext, recordMergeMode, false, Option.empty(),
+        Option.empty(), AVRO_SCHEMA, new TypedProperties(), partialUpdateModeOpt);
+
+    Integer schemaId = readerContext.getRecordContext().encodeAvroSchema(AVRO_SCHEMA);
+    HoodieTestDataGenerator dataGenerator = new HoodieTestDataGenerator(0xDEED);
+    olderRecords = new BufferedRecord[NUM_RECORDS];
+    newerRecords = new BufferedRecord[NUM_RECORDS];
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      String key = String.format("key-%010d", i);
+      long orderingValue = 1000L + i;
+      long newerOrderingValue = i % 2 == 0 ? orderingValue + 1 : orderingValue - 1;
+      olderRecords[i] = new BufferedRecord<>(key, orderingValue,
+          dataGenerator.generateGenericRecord(key, PARTITION_PATH, "rider-old", "driver-old", orderingValue, false, false), schemaId, null);
+      newerRecords[i] = new BufferedRecord<>(key, newerOrderingValue,
+          dataGenerator.generateGenericRecord(key, PARTITION_PATH, "rider-new", "driver-new", newerOrderingValue, false, false), schemaId, null);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void deltaMerge(Blackhole blackhole) throws IOException {
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      blackhole.consume(merger.deltaMerge(newerRecords[i], olderRecords[i]));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void finalMerge(Blackhole blackhole) throws IOException {
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      blackhole.consume(merger.finalMerge(olderRecords[i], newerRecords[i]));
+    }
+  }
+}
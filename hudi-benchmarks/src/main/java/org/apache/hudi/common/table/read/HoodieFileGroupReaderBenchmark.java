@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.read;
+
+import org.apache.hudi.avro.HoodieAvroReaderContext;
+import org.apache.hudi.common.config.HoodieCommonConfig;
+import org.apache.hudi.common.config.HoodieMemoryConfig;
+import org.apache.hudi.common.config.RecordMergeMode;
+import org.apache.hudi.common.config.TypedProperties;
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieTableType;
+import org.apache.hudi.common.table.HoodieTableConfig;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.testutils.HoodieTestTable;
+import org.apache.hudi.common.testutils.HoodieTestUtils;
+import org.apache.hudi.common.testutils.reader.DataGenerationPlan;
+import org.apache.hudi.common.testutils.reader.HoodieFileSliceTestUtils;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.common.util.collection.ExternalSpillableMap;
+import org.apache.hudi.storage.HoodieStorage;
+
+import org.apache.avro.generic.IndexedRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hudi.common.table.HoodieTableConfig.POPULATE_META_FIELDS;
+import static org.apache.hudi.common.table.HoodieTableConfig.RECORDKEY_FIELDS;
+import static org.apache.hudi.common.testutils.HoodieTestDataGenerator.AVRO_SCHEMA;
+import static org.apache.hudi.common.testutils.reader.HoodieFileSliceTestUtils.ROW_KEY;
+
+/**
+ * Benchmarks the {@link HoodieFileGroupReader} with the Avro reader context over a synthetic file slice
+ * on the local file system, which has a Parquet base file and the log files updating a tenth of the records each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class HoodieFileGroupReaderBenchmark {
+  private static final String PARTITION_PATH = "any-partition-path";
+  private static final String FILE_ID = "any-file-1";
+
+  @Param({"100000"})
+  private int numRecords;
+
+  @Param({"0", "1", "4"})
+  private int numLogFiles;
+
+  @Param({"false", "true"})
+  private boolean shouldUseRecordPosition;
+
+  private HoodieTableMetaClient metaClient;
+  private FileSlice fileSlice;
+  private TypedProperties properties;
+  private String latestCommitTime;
+
+  @Setup
+  public void setup() throws Exception {
+    String basePath = Files.createTempDirectory("hudi-file-group-reader-benchmark").toString();
+    Properties metaProps = new Properties();
+    metaProps.setProperty(POPULATE_META_FIELDS.key(), "false");
+    metaProps.setProperty(RECORDKEY_FIELDS.key(), ROW_KEY);
+    metaProps.setProperty(HoodieTableConfig.RECORD_MERGE_MODE.key(), RecordMergeMode.EVENT_TIME_ORDERING.name());
+    metaProps.setProperty(HoodieTableConfig.ORDERING_FIELDS.key(), "timestamp");
+    metaClient = HoodieTestUtils.init(HoodieTestUtils.getDefaultStorageConf(), basePath, HoodieTableType.MERGE_ON_READ, metaProps);
+    HoodieTestTable testTable = HoodieTestTable.of(metaClient);
+
+    List<HoodieFileSliceTestUtils.KeyRange> keyRanges = new ArrayList<>();
+    List<Long> timestamps = new ArrayList<>();
+    List<DataGenerationPlan.OperationType> operationTypes = new ArrayList<>();
+    List<String> instantTimes = new ArrayList<>();
+    keyRanges.add(new HoodieFileSliceTestUtils.KeyRange(1, numRecords));
+    timestamps.add(1L);
+    operationTypes.add(DataGenerationPlan.OperationType.INSERT);
+    for (int i = 1; i <= numLogFiles; i++) {
+      // the log files update the different tenths of the records
+      int start = (i - 1) * numRecords / 10 % numRecords + 1;
+      keyRanges.add(new HoodieFileSliceTestUtils.KeyRange(start, start + numRecords / 10 - 1));
+      timestamps.add(1L + i);
+      operationTypes.add(DataGenerationPlan.OperationType.UPDATE);
+    }
+    for (int i = 0; i <= numLogFiles; i++) {
+      instantTimes.add(String.format("%03d", i + 1));
+      testTable.addDeltaCommit(instantTimes.get(i));
+    }
+    latestCommitTime = instantTimes.get(numLogFiles);
+
+    HoodieStorage storage = metaClient.getStorage();
+    fileSlice = HoodieFileSliceTestUtils.getFileSlice(
+        storage, keyRanges, timestamps, operationTypes, instantTimes,
+        Collections.nCopies(numLogFiles + 1, shouldUseRecordPosition), basePath, PARTITION_PATH, FILE_ID).get();
+
+    properties = new TypedProperties();
+    properties.setProperty(HoodieMemoryConfig.MAX_MEMORY_FOR_MERGE.key(), String.valueOf(1024 * 1024 * 1000));
+    properties.setProperty(HoodieMemoryConfig.SPILLABLE_MAP_BASE_PATH.key(), basePath + "/" + HoodieTableMetaClient.TEMPFOLDER_NAME);
+    properties.setProperty(HoodieCommonConfig.SPILLABLE_DISK_MAP_TYPE.key(), ExternalSpillableMap.DiskMapType.BITCASK.name());
+  }
+
+  @Benchmark
+  public void read(Blackhole blackhole) throws IOException {
+    HoodieFileGroupReader<IndexedRecord> fileGroupReader = HoodieFileGroupReader.<IndexedRecord>newBuilder()
+        .withReaderContext(new HoodieAvroReaderContext(metaClient.getStorageConf(), metaClient.getTableConfig(), Option.empty(), Option.empty()))
+        .withHoodieTableMetaClient(metaClient)
+        .withLatestCommitTime(latestCommitTime)
+        .withFileSlice(fileSlice)
+        .withDataSchema(AVRO_SCHEMA)
+        .withRequestedSchema(AVRO_SCHEMA)
+        .withProps(properties)
+        .withShouldUseRecordPosition(shouldUseRecordPosition)
+        .build();
+    try (ClosableIterator<IndexedRecord> iterator = fileGroupReader.getClosableIterator()) {
+      while (iterator.hasNext()) {
+        blackhole.consume(iterator.next());
+      }
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.apache.hudi.common.serialization.DefaultSerializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the puts and gets of the {@link DiskMap}s spilled to by the {@link ExternalSpillableMap}.
+ * The puts overwrite the keys of the prepopulated map, so the map does not grow unbounded across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DiskMapBenchmark {
+
+  @Param({"BITCASK", "SEGMENTED_BITCASK", "ROCKS_DB"})
+  private ExternalSpillableMap.DiskMapType diskMapType;
+
+  // only applies to the BitCask based maps
+  @Param({"false", "true"})
+  private boolean isCompressionEnabled;
+
+  @Param({"100000"})
+  private int numEntries;
+
+  @Param({"256"})
+  private int valueSize;
+
+  private DiskMap<String, byte[]> diskMap;
+  private String[] keys;
+  private byte[] value;
+  private Random random;
+
+  @Setup
+  public void setup() throws IOException {
+    String basePath = Files.createTempDirectory("hudi-disk-map-benchmark").toString();
+    switch (diskMapType) {
+      case ROCKS_DB:
+        diskMap = new RocksDbDiskMap<>(basePath, new DefaultSerializer<>());
+        break;
+      case SEGMENTED_BITCASK:
+        diskMap = new SegmentedBitCaskDiskMap<>(basePath, new DefaultSerializer<>(), isCompressionEnabled);
+        break;
+      case BITCASK:
+      default:
+        diskMap = new BitCaskDiskMap<>(basePath, new DefaultSerializer<>(), isCompressionEnabled);
+    }
+    random = new Random(0xDEADBEEFL);
+    value = new byte[valueSize];
+    random.nextBytes(value);
+    keys = new String[numEntries];
+    for (int i = 0; i < numEntries; i++) {
+      keys[i] = String.format("partition-%03d/key-%010d", i % 100, i);
+      diskMap.put(keys[i], value);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    diskMap.close();
+  }
+
+  @Benchmark
+  public byte[] put() {
+    return diskMap.put(keys[random.nextInt(numEntries)], value);
+  }
+
+  @Benchmark
+  public byte[] get() {
+    return diskMap.get(keys[random.nextInt(numEntries)]);
+  }
+}
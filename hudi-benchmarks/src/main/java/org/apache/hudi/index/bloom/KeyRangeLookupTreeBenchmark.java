@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.index.bloom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the probes of the {@link KeyRangeLookupTree} by the bloom index with the key ranges of the files.
+ * The files either have random key ranges, e.g., UUID keys, which overlap heavily, or narrow key ranges,
+ * e.g., keys with timestamp prefixes, which barely overlap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class KeyRangeLookupTreeBenchmark {
+  private static final int NUM_LOOKUPS = 1024;
+
+  @Param({"1000", "10000"})
+  private int numFiles;
+
+  @Param({"false", "true"})
+  private boolean isOrderedKeys;
+
+  // the min and max keys of the files
+  private List<String[]> keyRanges;
+  private KeyRangeLookupTree tree;
+  private String[] lookupKeys;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0xDEADBEEFL);
+    keyRanges = new ArrayList<>(numFiles);
+    for (int i = 0; i < numFiles; i++) {
+      String minKey;
+      String maxKey;
+      if (isOrderedKeys) {
+        minKey = String.format("%012d", i * 1000L);
+        maxKey = String.format("%012d", i * 1000L + 999 + random.nextInt(100));
+      } else {
+        String key1 = randomKey(random);
+        String key2 = randomKey(random);
+        minKey = key1.compareTo(key2) <= 0 ? key1 : key2;
+        maxKey = key1.compareTo(key2) <= 0 ? key2 : key1;
+      }
+      keyRanges.add(new String[] {minKey, maxKey});
+    }
+    // the files are inserted in random order, as the index file filters do, to keep the tree balanced on average
+    Collections.shuffle(keyRanges, random);
+    tree = buildTree();
+
+    lookupKeys = new String[NUM_LOOKUPS];
+    for (int i = 0; i < NUM_LOOKUPS; i++) {
+      lookupKeys[i] = isOrderedKeys ? String.format("%012d", (long) random.nextInt(numFiles * 1000)) : randomKey(random);
+    }
+  }
+
+  private static String randomKey(Random random) {
+    return new UUID(random.nextLong(), random.nextLong()).toString();
+  }
+
+  private KeyRangeLookupTree buildTree() {
+    // the nodes are linked by the insertion, so the tree is always built with new nodes
+    KeyRangeLookupTree lookupTree = new KeyRangeLookupTree();
+    for (int i = 0; i < keyRanges.size(); i++) {
+      lookupTree.insert(new KeyRangeNode(keyRanges.get(i)[0], keyRanges.get(i)[1], "file-" + i));
+    }
+    return lookupTree;
+  }
+
+  @Benchmark
+  public KeyRangeLookupTree build() {
+    return buildTree();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_LOOKUPS)
+  public void probe(Blackhole blackhole) {
+    for (String key : lookupKeys) {
+      blackhole.consume(tree.getMatchingIndexFiles(key));
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.io.compress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the compression and decompression of an HFile data block by the {@link HoodieCompressor}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HoodieCompressorBenchmark {
+
+  @Param({"GZIP", "SNAPPY", "LZ4", "ZSTD"})
+  private CompressionCodec codec;
+
+  // the size of the uncompressed block, 64KB is the default HFile block size
+  @Param({"65536"})
+  private int blockSize;
+
+  private HoodieCompressor compressor;
+  private byte[] uncompressed;
+  private byte[] compressed;
+  private byte[] target;
+
+  @Setup
+  public void setup() throws IOException {
+    compressor = HoodieCompressorFactory.getCompressor(codec);
+    // the entries of the metadata table are keyed by file names and partition paths, which compress well
+    uncompressed = new byte[blockSize];
+    Random random = new Random(0xDEADBEEFL);
+    int offset = 0;
+    while (offset < blockSize) {
+      byte[] entry = String.format("partition=%04d/file-%08x-%d.parquet", random.nextInt(1000), random.nextInt(), random.nextInt(100))
+          .getBytes(StandardCharsets.UTF_8);
+      int length = Math.min(entry.length, blockSize - offset);
+      System.arraycopy(entry, 0, uncompressed, offset, length);
+      offset += length;
+    }
+    compressed = compressor.compress(uncompressed);
+    target = new byte[blockSize];
+  }
+
+  @Benchmark
+  public byte[] compress() throws IOException {
+    return compressor.compress(uncompressed);
+  }
+
+  @Benchmark
+  public int decompress() throws IOException {
+    compressor.decompress(new ByteArrayInputStream(compressed), target, 0, blockSize);
+    return target[blockSize - 1];
+  }
+}
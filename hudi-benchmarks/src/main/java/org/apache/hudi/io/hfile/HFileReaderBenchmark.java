@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.io.hfile;
+
+import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
+import org.apache.hudi.io.ByteArraySeekableDataInputStream;
+import org.apache.hudi.io.compress.CompressionCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the seeks of the native {@link HFileReaderImpl} over an in-memory HFile, the way the
+ * metadata table looks up the sorted keys of a batch, with each of the supported compression codecs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HFileReaderBenchmark {
+
+  @Param({"NONE", "GZIP", "SNAPPY", "LZ4", "ZSTD"})
+  private CompressionCodec codec;
+
+  @Param({"100000"})
+  private int numEntries;
+
+  // the number of the keys looked up by a batch
+  @Param({"1", "100", "10000"})
+  private int numLookups;
+
+  private byte[] content;
+  private UTF8StringKey[] lookupKeys;
+
+  @Setup
+  public void setup() throws IOException {
+    HFileContext context = new HFileContext.Builder().compressionCodec(codec).build();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    Random random = new Random(0xDEADBEEFL);
+    try (HFileWriter writer = new HFileWriterImpl(context, outputStream)) {
+      byte[] value = new byte[100];
+      for (int i = 0; i < numEntries; i++) {
+        random.nextBytes(value);
+        writer.append(getKey(i), value);
+      }
+    }
+    content = outputStream.toByteArray();
+
+    // the keys of a batch are looked up in sorted order as backward seeks are not supported
+    String[] keys = new String[numLookups];
+    for (int i = 0; i < numLookups; i++) {
+      keys[i] = getKey(random.nextInt(numEntries));
+    }
+    Arrays.sort(keys);
+    lookupKeys = Arrays.stream(keys).map(UTF8StringKey::new).toArray(UTF8StringKey[]::new);
+  }
+
+  private static String getKey(int i) {
+    return String.format("key-%010d", i);
+  }
+
+  private HFileReaderImpl openReader() throws IOException {
+    HFileReaderImpl reader = new HFileReaderImpl(
+        new ByteArraySeekableDataInputStream(new ByteBufferBackedInputStream(content)), content.length);
+    reader.initializeMetadata();
+    return reader;
+  }
+
+  @Benchmark
+  public void seekSortedKeys(Blackhole blackhole) throws IOException {
+    try (HFileReaderImpl reader = openReader()) {
+      reader.seekTo();
+      for (UTF8StringKey key : lookupKeys) {
+        if (reader.seekTo(key) == HFileReader.SEEK_TO_FOUND) {
+          blackhole.consume(reader.getKeyValue().get());
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public void scanAll(Blackhole blackhole) throws IOException {
+    try (HFileReaderImpl reader = openReader()) {
+      if (reader.seekTo()) {
+        do {
+          blackhole.consume(reader.getKeyValue().get());
+        } while (reader.next());
+      }
+    }
+  }
+}
@@ -148,6 +148,17 @@ public class HoodieCleanConfig extends HoodieConfig {
           + "in the timeline, since the last cleaner run. This is much more efficient than obtaining listings for the full "
           + "table for each planning (even with a metadata table).");
 
+  public static final ConfigProperty<Boolean> CLEANER_INCREMENTAL_SUPERSEDED_SLICES_ENABLE = ConfigProperty
+      .key("hoodie.clean.incremental.superseded.slices.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled with the incremental cleaning mode, the cleaner only plans the partitions where the "
+          + "commits since the last cleaner run superseded file slices, as recorded by the write stats of the commit metadata, "
+          + "i.e., the partitions with updates, compactions or replaced file groups. The partitions that only received inserts "
+          + "into new file groups or log appends are skipped, as they have no older file slices to clean, so the planning cost "
+          + "is proportional to the garbage produced rather than to the partitions written to.");
+
   public static final ConfigProperty<String> FAILED_WRITES_CLEANER_POLICY = ConfigProperty
       .key("hoodie.clean.failed.writes.policy")
       .defaultValue(HoodieFailedWritesCleaningPolicy.EAGER.name())
@@ -312,6 +323,11 @@ public class HoodieCleanConfig extends HoodieConfig {
       return this;
     }
 
+    public HoodieCleanConfig.Builder withIncrementalCleaningBySupersededSlices(boolean enable) {
+      cleanConfig.setValue(CLEANER_INCREMENTAL_SUPERSEDED_SLICES_ENABLE, String.valueOf(enable));
+      return this;
+    }
+
     public HoodieCleanConfig.Builder withCleaningTriggerStrategy(String cleaningTriggerStrategy) {
       cleanConfig.setValue(CLEAN_TRIGGER_STRATEGY, cleaningTriggerStrategy);
       return this;
@@ -149,6 +149,25 @@ public class HoodieCompactionConfig extends HoodieConfig {
           + "compaction during each compaction run. By default. Hudi picks the log file "
           + "with most accumulated unmerged data. The strategy can be composed with multiple strategies by concatenating the class names with ','.");
 
+  public static final ConfigProperty<Long> COMPACTION_COST_BUDGET_MS = ConfigProperty
+      .key("hoodie.compaction.cost.budget.ms")
+      .defaultValue(30 * 60 * 1000L)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Used by org.apache.hudi.table.action.compact.strategy.CostBasedCompactionStrategy to denote the "
+          + "compute budget of a compaction run, i.e., the total estimated time in milliseconds of the compaction tasks. "
+          + "The file groups with the highest reduction of the merge cost on read per unit of compaction cost are "
+          + "compacted first, until the budget is spent.");
+
+  public static final ConfigProperty<Integer> COMPACTION_COST_HISTORY_COMMITS = ConfigProperty
+      .key("hoodie.compaction.cost.history.commits")
+      .defaultValue(10)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Used by org.apache.hudi.table.action.compact.strategy.CostBasedCompactionStrategy to denote the "
+          + "number of the latest completed compactions whose runtime stats are used to measure the log scan and the "
+          + "merge throughput. A default throughput is assumed if there is no completed compaction yet.");
+
   public static final ConfigProperty<String> TARGET_PARTITIONS_PER_DAYBASED_COMPACTION = ConfigProperty
       .key("hoodie.compaction.daybased.target.partitions")
       .defaultValue("10")
@@ -206,6 +225,17 @@ public class HoodieCompactionConfig extends HoodieConfig {
       .withDocumentation("Compaction plan generator for data files. Override with a custom plan generator "
           + "if there's a need to use extraMetadata in the compaction plan for optimizations, ignore otherwise");
 
+  public static final ConfigProperty<Boolean> COMPACTION_PIPELINED_MERGE_ENABLE = ConfigProperty
+      .key("hoodie.compaction.pipelined.merge.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Whether to pipeline the merge of a compaction operation: the file slice is read and merged "
+          + "by the file group reader in a producer thread, while the merged records are encoded and written to the new "
+          + "base file in a separate thread, through the bounded queue of the write executor (hoodie.write.executor.type, "
+          + "the bounded in-memory queue is used if the executor type is SIMPLE). This shortens the runtime of the file "
+          + "groups that dominate a compaction. It is not applied if the CDC logging is enabled.");
+
   /** @deprecated Use {@link #INLINE_COMPACT} and its methods instead */
   @Deprecated
   public static final String INLINE_COMPACT_PROP = INLINE_COMPACT.key();
@@ -461,6 +491,21 @@ public class HoodieCompactionConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withCompactionCostBudgetMs(long compactionCostBudgetMs) {
+      compactionConfig.setValue(COMPACTION_COST_BUDGET_MS, String.valueOf(compactionCostBudgetMs));
+      return this;
+    }
+
+    public Builder withCompactionCostHistoryCommits(int compactionCostHistoryCommits) {
+      compactionConfig.setValue(COMPACTION_COST_HISTORY_COMMITS, String.valueOf(compactionCostHistoryCommits));
+      return this;
+    }
+
+    public Builder withCompactionPipelinedMergeEnabled(boolean pipelinedMergeEnabled) {
+      compactionConfig.setValue(COMPACTION_PIPELINED_MERGE_ENABLE, String.valueOf(pipelinedMergeEnabled));
+      return this;
+    }
+
     public Builder withCompactionLogFileNumThreshold(int logFileNumThreshold) {
       compactionConfig.setValue(COMPACTION_LOG_FILE_NUM_THRESHOLD, String.valueOf(logFileNumThreshold));
       return this;
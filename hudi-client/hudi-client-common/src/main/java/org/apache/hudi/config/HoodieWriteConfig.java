@@ -73,6 +73,7 @@ import org.apache.hudi.execution.bulkinsert.BulkInsertSortMode;
 import org.apache.hudi.index.HoodieIndex;
 import org.apache.hudi.io.FileGroupReaderBasedMergeHandle;
 import org.apache.hudi.io.HoodieConcatHandle;
+import org.apache.hudi.io.compress.CompressionCodec;
 import org.apache.hudi.keygen.SimpleAvroKeyGenerator;
 import org.apache.hudi.keygen.constant.KeyGeneratorOptions;
 import org.apache.hudi.keygen.constant.KeyGeneratorType;
@@ -1805,6 +1806,10 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getBoolean(HoodieCleanConfig.CLEANER_INCREMENTAL_MODE_ENABLE);
   }
 
+  public boolean isIncrementalCleaningBySupersededSlicesEnabled() {
+    return getBoolean(HoodieCleanConfig.CLEANER_INCREMENTAL_SUPERSEDED_SLICES_ENABLE);
+  }
+
   public boolean inlineCompactionEnabled() {
     return getBoolean(HoodieCompactionConfig.INLINE_COMPACT);
   }
@@ -1845,6 +1850,18 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getLong(HoodieCompactionConfig.COMPACTION_LOG_FILE_SIZE_THRESHOLD);
   }
 
+  public long getCompactionCostBudgetMs() {
+    return getLong(HoodieCompactionConfig.COMPACTION_COST_BUDGET_MS);
+  }
+
+  public int getCompactionCostHistoryCommits() {
+    return getInt(HoodieCompactionConfig.COMPACTION_COST_HISTORY_COMMITS);
+  }
+
+  public boolean isCompactionPipelinedMergeEnabled() {
+    return getBoolean(HoodieCompactionConfig.COMPACTION_PIPELINED_MERGE_ENABLE);
+  }
+
   public Long getCompactionLogFileNumThreshold() {
     return getLong(HoodieCompactionConfig.COMPACTION_LOG_FILE_NUM_THRESHOLD);
   }
@@ -2286,6 +2303,18 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getLong(HoodieStorageConfig.LOGFILE_DATA_BLOCK_MAX_SIZE);
   }
 
+  public boolean isLogFileDataBlockAsyncFlushEnabled() {
+    return getBooleanOrDefault(HoodieStorageConfig.LOGFILE_DATA_BLOCK_ASYNC_FLUSH_ENABLED);
+  }
+
+  public CompressionCodec getLogFileAvroCompressionCodec() {
+    return CompressionCodec.findCodecByName(getString(HoodieStorageConfig.LOGFILE_AVRO_COMPRESSION_CODEC_NAME));
+  }
+
+  public int getLogFileAvroCompressionChunkSize() {
+    return getInt(HoodieStorageConfig.LOGFILE_AVRO_COMPRESSION_CHUNK_SIZE);
+  }
+
   public boolean shouldWriteRecordPositions() {
     return getBoolean(WRITE_RECORD_POSITIONS);
   }
@@ -84,12 +84,13 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
 import static org.apache.hudi.avro.HoodieAvroUtils.getNestedFieldSchemaFromWriteSchema;
@@ -278,7 +279,7 @@ public class HoodieIndexUtils {
   }
 
   /**
-   * Given a list of row keys and one file, return only row keys existing in that file.
+   * Given the candidate row keys and one file, return only row keys existing in that file.
    *
    * @param filePath            - File to filter keys from
    * @param candidateRecordKeys - Candidate keys to filter
@@ -286,7 +287,7 @@ public class HoodieIndexUtils {
    * @return List of pairs of candidate keys and positions that are available in the file
    */
   public static List<Pair<String, Long>> filterKeysFromFile(StoragePath filePath,
-                                                            List<String> candidateRecordKeys,
+                                                            Collection<String> candidateRecordKeys,
                                                             HoodieStorage storage) throws HoodieIndexException {
     checkArgument(FSUtils.isBaseFile(filePath));
     List<Pair<String, Long>> foundRecordKeys = new ArrayList<>();
@@ -297,7 +298,9 @@ public class HoodieIndexUtils {
       // Load all rowKeys from the file, to double-confirm
       if (!candidateRecordKeys.isEmpty()) {
         HoodieTimer timer = HoodieTimer.start();
-        Set<Pair<String, Long>> fileRowKeys = fileReader.filterRowKeys(candidateRecordKeys.stream().collect(Collectors.toSet()));
+        Set<String> candidateRecordKeySet = candidateRecordKeys instanceof Set
+            ? (Set<String>) candidateRecordKeys : new HashSet<>(candidateRecordKeys);
+        Set<Pair<String, Long>> fileRowKeys = fileReader.filterRowKeys(candidateRecordKeySet);
         foundRecordKeys.addAll(fileRowKeys);
         LOG.info("Checked keys against file {}, in {} ms. #candidates ({}) #found ({})", filePath,
             timer.endTimer(), candidateRecordKeys.size(), foundRecordKeys.size());
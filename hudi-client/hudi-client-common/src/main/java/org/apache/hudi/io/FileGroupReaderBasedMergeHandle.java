@@ -45,6 +45,9 @@ import org.apache.hudi.common.table.read.HoodieFileGroupReader;
 import org.apache.hudi.common.table.read.HoodieReadStats;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.common.util.queue.BoundedInMemoryExecutor;
+import org.apache.hudi.common.util.queue.HoodieConsumer;
+import org.apache.hudi.common.util.queue.HoodieExecutor;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.exception.HoodieUpsertException;
 import org.apache.hudi.internal.schema.InternalSchema;
@@ -55,6 +58,7 @@ import org.apache.hudi.keygen.BaseKeyGenerator;
 import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.table.HoodieTable;
 import org.apache.hudi.table.action.compact.strategy.CompactionStrategy;
+import org.apache.hudi.util.ExecutorFactory;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
@@ -268,31 +272,11 @@ public class FileGroupReaderBasedMergeHandle<T, I, K, O> extends HoodieWriteMerg
     try (HoodieFileGroupReader<T> fileGroupReader = getFileGroupReader(usePosition, internalSchemaOption, props, logFilesStreamOpt, incomingRecordsItr)) {
       // Reads the records from the file slice
       try (ClosableIterator<HoodieRecord<T>> recordIterator = fileGroupReader.getClosableHoodieRecordIterator()) {
-        while (recordIterator.hasNext()) {
-          HoodieRecord<T> record = recordIterator.next();
-          Option<Map<String, String>> recordMetadata = compactionOperation.isEmpty() ? getRecordMetadata(record, writeSchema, props) : Option.empty();
-          record.setCurrentLocation(newRecordLocation);
-          record.setNewLocation(newRecordLocation);
-          if (!partitionPath.equals(record.getPartitionPath())) {
-            HoodieUpsertException failureEx = new HoodieUpsertException("mismatched partition path, record partition: "
-                + record.getPartitionPath() + " but trying to insert into partition: " + partitionPath);
-            writeStatus.markFailure(record, failureEx, recordMetadata);
-            continue;
-          }
-          // Writes the record
-          try {
-            // For Compaction operations, the preserveMetadata flag is always true as we want to preserve the existing record metadata.
-            // For other updates, we only want to preserve the metadata if the record is not being modified by this update. If the record already exists in the base file and is not updated,
-            // the operation will be null. Records that are being updated or records being added to the file group for the first time will have an operation set and must generate new metadata.
-            boolean shouldPreserveRecordMetadata = preserveMetadata || record.getOperation() == null;
-            Schema recordSchema = shouldPreserveRecordMetadata ? writeSchemaWithMetaFields : writeSchema;
-            writeToFile(record.getKey(), record, recordSchema, config.getPayloadConfig().getProps(), shouldPreserveRecordMetadata);
-            writeStatus.markSuccess(record, recordMetadata);
-            recordsWritten++;
-          } catch (Exception e) {
-            LOG.error("Error writing record {}", record, e);
-            writeStatus.markFailure(record, e, recordMetadata);
-            fileGroupReader.onWriteFailure(record.getRecordKey());
+        if (isPipelinedMerge()) {
+          writeRecordsPipelined(recordIterator, fileGroupReader);
+        } else {
+          while (recordIterator.hasNext()) {
+            writeMergedRecord(recordIterator.next(), fileGroupReader);
           }
         }
 
@@ -308,6 +292,73 @@ public class FileGroupReaderBasedMergeHandle<T, I, K, O> extends HoodieWriteMerg
     }
   }
 
+  private void writeMergedRecord(HoodieRecord<T> record, HoodieFileGroupReader<T> fileGroupReader) {
+    Option<Map<String, String>> recordMetadata = compactionOperation.isEmpty() ? getRecordMetadata(record, writeSchema, props) : Option.empty();
+    record.setCurrentLocation(newRecordLocation);
+    record.setNewLocation(newRecordLocation);
+    if (!partitionPath.equals(record.getPartitionPath())) {
+      HoodieUpsertException failureEx = new HoodieUpsertException("mismatched partition path, record partition: "
+          + record.getPartitionPath() + " but trying to insert into partition: " + partitionPath);
+      writeStatus.markFailure(record, failureEx, recordMetadata);
+      return;
+    }
+    // Writes the record
+    try {
+      // For Compaction operations, the preserveMetadata flag is always true as we want to preserve the existing record metadata.
+      // For other updates, we only want to preserve the metadata if the record is not being modified by this update. If the record already exists in the base file and is not updated,
+      // the operation will be null. Records that are being updated or records being added to the file group for the first time will have an operation set and must generate new metadata.
+      boolean shouldPreserveRecordMetadata = preserveMetadata || record.getOperation() == null;
+      Schema recordSchema = shouldPreserveRecordMetadata ? writeSchemaWithMetaFields : writeSchema;
+      writeToFile(record.getKey(), record, recordSchema, config.getPayloadConfig().getProps(), shouldPreserveRecordMetadata);
+      writeStatus.markSuccess(record, recordMetadata);
+      recordsWritten++;
+    } catch (Exception e) {
+      LOG.error("Error writing record {}", record, e);
+      writeStatus.markFailure(record, e, recordMetadata);
+      fileGroupReader.onWriteFailure(record.getRecordKey());
+    }
+  }
+
+  /**
+   * Whether the records are read and merged in a separate thread from the one writing the new base file.
+   *
+   * <p>Only the compaction without CDC logging is pipelined, as the file group reader then has no update
+   * callback that shares state with the writing thread.
+   */
+  private boolean isPipelinedMerge() {
+    return compactionOperation.isPresent() && cdcLogger.isEmpty() && config.isCompactionPipelinedMergeEnabled();
+  }
+
+  /**
+   * Writes the merged records through a bounded queue: the file group reader scans and merges the file slice
+   * in the producer thread, while the records are encoded and written to the new base file in the consumer thread.
+   */
+  private void writeRecordsPipelined(Iterator<HoodieRecord<T>> recordIterator, HoodieFileGroupReader<T> fileGroupReader) {
+    HoodieConsumer<HoodieRecord<T>, Void> recordWriter = new HoodieConsumer<HoodieRecord<T>, Void>() {
+      @Override
+      public void consume(HoodieRecord<T> record) {
+        writeMergedRecord(record, fileGroupReader);
+      }
+
+      @Override
+      public Void finish() {
+        return null;
+      }
+    };
+    // NOTE: The records are copied as the engine-specific records may point into a buffer that is reused by the reader,
+    //       the simple executor does not queue the records, so the bounded in-memory queue is used instead.
+    HoodieExecutor<Void> executor = ExecutorFactory.isBufferingRecords(config)
+        ? ExecutorFactory.create(config, recordIterator, recordWriter, HoodieRecord::copy, hoodieTable.getPreExecuteRunnable())
+        : new BoundedInMemoryExecutor<>(config.getWriteBufferLimitBytes(), config.getWriteBufferRecordSamplingRate(),
+            config.getWriteBufferRecordCacheLimit(), recordIterator, recordWriter, HoodieRecord::copy, hoodieTable.getPreExecuteRunnable());
+    try {
+      executor.execute();
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination();
+    }
+  }
+
   protected long getMaxMemoryForMerge() {
     return compactionOperation.isPresent() ? IOUtils.getMaxMemoryPerCompaction(taskContextSupplier, config)
         : IOUtils.getMaxMemoryPerPartitionMerge(taskContextSupplier, config);
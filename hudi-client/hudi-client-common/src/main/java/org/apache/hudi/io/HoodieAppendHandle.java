@@ -47,6 +47,7 @@ import org.apache.hudi.common.table.log.block.HoodieParquetDataBlock;
 import org.apache.hudi.common.table.timeline.HoodieInstantTimeGenerator;
 import org.apache.hudi.common.table.view.TableFileSystemView;
 import org.apache.hudi.common.util.ConfigUtils;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
 import org.apache.hudi.common.util.DefaultSizeEstimator;
 import org.apache.hudi.common.util.HoodieRecordUtils;
 import org.apache.hudi.common.util.Option;
@@ -80,6 +81,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -95,9 +100,13 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
   // This acts as the sequenceID for records written
   private static final AtomicLong RECORD_COUNTER = new AtomicLong(1);
   private static final int NUMBER_OF_RECORDS_TO_ESTIMATE_RECORD_SIZE = 100;
+  private static final int NUM_FLUSH_THREADS = Runtime.getRuntime().availableProcessors();
+
+  // The background writers of the data blocks, shared by all the append handles with the async flush enabled
+  private static volatile ExecutorService flushPool;
 
   // Buffer for holding records in memory before they are flushed to disk
-  protected final List<HoodieRecord> recordList = new ArrayList<>();
+  protected List<HoodieRecord> recordList = new ArrayList<>();
   // Buffer for holding records (to be deleted), along with their position in log block, in memory before they are flushed to disk
   protected final List<Pair<DeleteRecord, Long>> recordsToDeleteWithPositions = new ArrayList<>();
   // Base file instant time of the record positions
@@ -138,6 +147,17 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
   private final Properties recordProperties = new Properties();
   private final String[] orderingFields;
 
+  // Whether the data blocks are written by a background writer while the records are buffered into the spare buffer
+  private final boolean isAsyncFlushEnabled = config.isLogFileDataBlockAsyncFlushEnabled();
+  // The other buffer of the records, holding the records of the data block being flushed in background
+  private List<HoodieRecord> spareRecordList = new ArrayList<>();
+  // The records of the data block whose append result is processed, for collecting the column stats
+  private List<HoodieRecord> appendedRecordList = recordList;
+  // The data block being flushed in background along with its write counts
+  private Future<AppendResult> pendingFlush;
+  private HoodieLogBlock pendingDataBlock;
+  private long[] pendingWriteCounts;
+
   /**
    * This is used by log compaction only.
    */
@@ -442,7 +462,7 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
           .map(fieldName -> HoodieAvroUtils.getSchemaForField(writeSchemaWithMetaFields, fieldName)).collect(Collectors.toList());
       try {
         Map<String, HoodieColumnRangeMetadata<Comparable>> columnRangeMetadataMap =
-            collectColumnRangeMetadata(recordList.iterator(), fieldsToIndex, stat.getPath(), writeSchemaWithMetaFields, storage.getConf(),
+            collectColumnRangeMetadata(appendedRecordList.iterator(), fieldsToIndex, stat.getPath(), writeSchemaWithMetaFields, storage.getConf(),
                 indexVersion);
         stat.putRecordsStats(columnRangeMetadataMap);
       } catch (HoodieException e) {
@@ -474,18 +494,15 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
    * Otherwise what can end up happening is creation of multiple small delete blocks get added after each data block.
    */
   protected void appendDataAndDeleteBlocks(Map<HeaderMetadataType, String> header, boolean appendDeleteBlocks) {
+    // the blocks are appended in order, after the data block being flushed in background
+    awaitPendingFlush();
     try {
       header.put(HoodieLogBlock.HeaderMetadataType.INSTANT_TIME, instantTime);
       header.put(HoodieLogBlock.HeaderMetadataType.SCHEMA, writeSchemaWithMetaFields.toString());
       List<HoodieLogBlock> blocks = new ArrayList<>(2);
       HoodieLogBlock dataBlock = null;
       if (!recordList.isEmpty()) {
-        String keyField = config.populateMetaFields()
-            ? HoodieRecord.RECORD_KEY_METADATA_FIELD
-            : hoodieTable.getMetaClient().getTableConfig().getRecordKeyFieldProp();
-
-        dataBlock = getDataBlock(config, getLogBlockType(), recordList,
-            getUpdatedHeader(header, config, baseFileInstantTimeOfPositions), keyField);
+        dataBlock = createDataBlock(header);
         blocks.add(dataBlock);
       }
 
@@ -498,6 +515,7 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
 
       if (!blocks.isEmpty()) {
         AppendResult appendResult = writer.appendBlocks(blocks);
+        appendedRecordList = recordList;
         processAppendResult(appendResult, Option.ofNullable(dataBlock));
         recordList.clear();
         if (appendDeleteBlocks) {
@@ -509,6 +527,88 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
     }
   }
 
+  private HoodieLogBlock createDataBlock(Map<HeaderMetadataType, String> header) {
+    String keyField = config.populateMetaFields()
+        ? HoodieRecord.RECORD_KEY_METADATA_FIELD
+        : hoodieTable.getMetaClient().getTableConfig().getRecordKeyFieldProp();
+    return getDataBlock(config, getLogBlockType(), recordList,
+        getUpdatedHeader(header, config, baseFileInstantTimeOfPositions), keyField);
+  }
+
+  /**
+   * Hands the buffered records over to the background writer, which serializes and appends their data block
+   * while the following records are buffered into the spare buffer. Blocks until the data block flushed
+   * before is written, as the spare buffer holds its records until then.
+   */
+  private void appendDataBlockAsync(Map<HeaderMetadataType, String> header) {
+    awaitPendingFlush();
+    if (recordList.isEmpty()) {
+      return;
+    }
+    header.put(HoodieLogBlock.HeaderMetadataType.INSTANT_TIME, instantTime);
+    header.put(HoodieLogBlock.HeaderMetadataType.SCHEMA, writeSchemaWithMetaFields.toString());
+    HoodieLogBlock dataBlock = createDataBlock(header);
+    Writer logWriter = writer;
+    pendingFlush = getFlushPool().submit(() -> logWriter.appendBlocks(Collections.singletonList(dataBlock)));
+    pendingDataBlock = dataBlock;
+    // the write counts of the records buffered so far belong to the pending data block
+    pendingWriteCounts = new long[] {recordsWritten, updatedRecordsWritten, insertRecordsWritten, recordsDeleted};
+    resetWriteCounts();
+
+    List<HoodieRecord> flushingRecordList = recordList;
+    recordList = spareRecordList;
+    spareRecordList = flushingRecordList;
+  }
+
+  /**
+   * Waits for the data block being flushed in background and processes its append result.
+   */
+  private void awaitPendingFlush() {
+    if (pendingFlush == null) {
+      return;
+    }
+    try {
+      AppendResult appendResult = pendingFlush.get();
+      // process the result with the write counts of the pending data block, then restore the counts
+      // of the records buffered since
+      long[] bufferedWriteCounts = new long[] {recordsWritten, updatedRecordsWritten, insertRecordsWritten, recordsDeleted};
+      setWriteCounts(pendingWriteCounts);
+      appendedRecordList = spareRecordList;
+      processAppendResult(appendResult, Option.of(pendingDataBlock));
+      setWriteCounts(bufferedWriteCounts);
+      spareRecordList.clear();
+    } catch (InterruptedException e) {
+      pendingFlush.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new HoodieAppendException("Interrupted while appending records to " + writer.getLogFile().getPath(), e);
+    } catch (ExecutionException e) {
+      throw new HoodieAppendException("Failed while appending records to " + writer.getLogFile().getPath(), e.getCause());
+    } finally {
+      pendingFlush = null;
+      pendingDataBlock = null;
+      pendingWriteCounts = null;
+      appendedRecordList = recordList;
+    }
+  }
+
+  private void setWriteCounts(long[] writeCounts) {
+    recordsWritten = writeCounts[0];
+    updatedRecordsWritten = writeCounts[1];
+    insertRecordsWritten = writeCounts[2];
+    recordsDeleted = writeCounts[3];
+  }
+
+  private static ExecutorService getFlushPool() {
+    if (flushPool == null) {
+      synchronized (HoodieAppendHandle.class) {
+        if (flushPool == null) {
+          flushPool = Executors.newFixedThreadPool(NUM_FLUSH_THREADS, new CustomizedThreadFactory("log-block-flush", true));
+        }
+      }
+    }
+    return flushPool;
+  }
+
   @Override
   public boolean canWrite(HoodieRecord record) {
     return config.getParquetMaxFileSize() >= estimatedNumberOfBytesWritten
@@ -678,7 +778,11 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
       // avg of new and old
       LOG.info("Flush log block to disk, the current avgRecordSize => " + averageRecordSize);
       // Delete blocks will be appended after appending all the data blocks.
-      appendDataAndDeleteBlocks(header, appendDeleteBlocks);
+      if (isAsyncFlushEnabled && !appendDeleteBlocks) {
+        appendDataBlockAsync(header);
+      } else {
+        appendDataAndDeleteBlocks(header, appendDeleteBlocks);
+      }
       estimatedNumberOfBytesWritten += averageRecordSize * numberOfRecords;
       numberOfRecords = 0;
     }
@@ -714,7 +818,8 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
                                         String keyField) {
     switch (logDataBlockFormat) {
       case AVRO_DATA_BLOCK:
-        return new HoodieAvroDataBlock(records, header, keyField);
+        return new HoodieAvroDataBlock(records, header, keyField,
+            writeConfig.getLogFileAvroCompressionCodec(), writeConfig.getLogFileAvroCompressionChunkSize());
       case HFILE_DATA_BLOCK:
         // Not supporting positions in HFile data blocks
         header.remove(HeaderMetadataType.BASE_FILE_INSTANT_TIME_OF_RECORD_POSITIONS);
@@ -237,8 +237,10 @@ public class HoodieWriteMergeHandle<T, I, K, O> extends HoodieAbstractMergeHandl
     if (keyToNewRecords instanceof ExternalSpillableMap) {
       ExternalSpillableMap<String, HoodieRecord<T>> spillableMap = (ExternalSpillableMap<String, HoodieRecord<T>>) keyToNewRecords;
       LOG.info("Number of entries in MemoryBasedMap => {}, Total size in bytes of MemoryBasedMap => {}, "
-          + "Number of entries in BitCaskDiskMap => {}, Size of file spilled to disk => {}",
-          spillableMap.getInMemoryMapNumEntries(), spillableMap.getCurrentInMemoryMapSize(), spillableMap.getDiskBasedMapNumEntries(), spillableMap.getSizeOfFileOnDiskInBytes());
+          + "Estimated payload size => {}, Number of entries in BitCaskDiskMap => {}, Size of file spilled to disk => {}, "
+          + "Time spent on spilling to disk in ms => {}",
+          spillableMap.getInMemoryMapNumEntries(), spillableMap.getCurrentInMemoryMapSize(), spillableMap.getEstimatedPayloadSize(),
+          spillableMap.getDiskBasedMapNumEntries(), spillableMap.getSizeOfFileOnDiskInBytes(), spillableMap.getSpillTimeMs());
     }
   }
 
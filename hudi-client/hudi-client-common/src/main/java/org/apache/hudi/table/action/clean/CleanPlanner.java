@@ -32,6 +32,8 @@ import org.apache.hudi.common.model.HoodieFileGroup;
 import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieLogFile;
 import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
+import org.apache.hudi.common.model.HoodieTableType;
+import org.apache.hudi.common.model.HoodieWriteStat;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.versioning.clean.CleanPlanV1MigrationHandler;
@@ -212,12 +214,60 @@ public class CleanPlanner<T, I, K, O> implements Serializable {
           cleanMetadata.getEarliestCommitToRetain(),
           newInstantToRetain);
 
-      return hoodieTable.getCompletedCommitsTimeline().getInstantsAsStream()
+      Stream<HoodieInstant> instants = hoodieTable.getCompletedCommitsTimeline().getInstantsAsStream()
           .filter(instant -> compareTimestamps(instant.requestedTime(), GREATER_THAN_OR_EQUALS,
               cleanMetadata.getEarliestCommitToRetain()) && compareTimestamps(instant.requestedTime(),
-              LESSER_THAN, newInstantToRetain.get().requestedTime()))
-          .flatMap(this::getPartitionsForInstants).distinct().collect(Collectors.toList());
+              LESSER_THAN, newInstantToRetain.get().requestedTime()));
+      if (config.isIncrementalCleaningBySupersededSlicesEnabled()) {
+        return getPartitionsWithSupersededFileSlices(instants.collect(Collectors.toList())).distinct().collect(Collectors.toList());
+      }
+      return instants.flatMap(this::getPartitionsForInstants).distinct().collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Fetch the partitions where file slices are superseded as part of the given instants, the commit metadata
+   * of the instants is read in parallel.
+   *
+   * <p>A file slice becomes eligible to clean once the instant that superseded it falls out of the retained commits,
+   * so the file slices to clean since the last clean are the ones superseded by the instants in between. A file slice
+   * is superseded when a newer file slice is written to its file group, i.e., by an update or a compaction, or when its
+   * file group is replaced. The inserts into new file groups and the log appends to the latest file slices supersede nothing.
+   *
+   * @param instants The {@link HoodieInstant}s of interest.
+   * @return partitions with file slices superseded by the given instants.
+   */
+  private Stream<String> getPartitionsWithSupersededFileSlices(List<HoodieInstant> instants) {
+    // the completed commits of merge-on-read tables are compactions
+    boolean isMergeOnRead = hoodieTable.getMetaClient().getTableType() == HoodieTableType.MERGE_ON_READ;
+    Map<Boolean, List<HoodieInstant>> instantsByIsReplace = instants.stream()
+        .collect(Collectors.partitioningBy(instant -> HoodieTimeline.REPLACE_COMMIT_ACTION.equals(instant.getAction())));
+    Stream<String> replacedPartitions = hoodieTable.getActiveTimeline()
+        .readInstantContents(instantsByIsReplace.get(true), HoodieReplaceCommitMetadata.class).stream()
+        .flatMap(pair -> Stream.concat(pair.getRight().getPartitionToReplaceFileIds().keySet().stream(),
+            getPartitionsWithSupersededFileSlices(pair.getRight(), false)));
+    Stream<String> updatedPartitions = hoodieTable.getActiveTimeline()
+        .readInstantContents(instantsByIsReplace.get(false), HoodieCommitMetadata.class).stream()
+        .flatMap(pair -> getPartitionsWithSupersededFileSlices(pair.getRight(),
+            isMergeOnRead && HoodieTimeline.COMMIT_ACTION.equals(pair.getLeft().getAction())));
+    return Stream.concat(replacedPartitions, updatedPartitions);
+  }
+
+  private static Stream<String> getPartitionsWithSupersededFileSlices(HoodieCommitMetadata commitMetadata, boolean isCompaction) {
+    return commitMetadata.getPartitionToWriteStats().entrySet().stream()
+        .filter(entry -> isCompaction || entry.getValue().stream().anyMatch(CleanPlanner::isNewFileSliceOfExistingFileGroup))
+        .map(Map.Entry::getKey);
+  }
+
+  /**
+   * Returns whether the write started a new file slice in an existing file group, the log files are appended to the
+   * existing file slices and the base files of new file groups have no previous commit.
+   */
+  private static boolean isNewFileSliceOfExistingFileGroup(HoodieWriteStat writeStat) {
+    if (writeStat.getPath() != null && FSUtils.isLogFile(new StoragePath(writeStat.getPath()).getName())) {
+      return false;
     }
+    return !HoodieWriteStat.NULL_COMMIT.equals(writeStat.getPrevCommit());
   }
 
   private boolean isAnySavepointDeleted(HoodieCleanMetadata cleanMetadata) {
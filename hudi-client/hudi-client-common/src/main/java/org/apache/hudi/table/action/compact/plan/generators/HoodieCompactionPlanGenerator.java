@@ -56,7 +56,7 @@ public class HoodieCompactionPlanGenerator<T extends HoodieRecordPayload, I, K,
   protected HoodieCompactionPlan getCompactionPlan(HoodieTableMetaClient metaClient, List<HoodieCompactionOperation> operations, Pair<List<String>, List<String>> partitionPair) {
     // Filter the compactions with the passed in filter. This lets us choose most effective
     // compactions only
-    return compactionStrategy.generateCompactionPlan(writeConfig, operations,
+    return compactionStrategy.generateCompactionPlan(metaClient, writeConfig, operations,
         CompactionUtils.getAllPendingCompactionPlans(metaClient).stream().map(Pair::getValue).collect(toList()), getStrategyParams(), partitionPair);
   }
 
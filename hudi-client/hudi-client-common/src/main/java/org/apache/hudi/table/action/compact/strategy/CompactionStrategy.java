@@ -22,6 +22,7 @@ import org.apache.hudi.avro.model.HoodieCompactionOperation;
 import org.apache.hudi.avro.model.HoodieCompactionPlan;
 import org.apache.hudi.client.utils.FileSliceMetricUtils;
 import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.util.CompactionUtils;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
@@ -76,7 +77,30 @@ public abstract class CompactionStrategy implements IncrementalPartitionAwareStr
   public HoodieCompactionPlan generateCompactionPlan(HoodieWriteConfig writeConfig,
       List<HoodieCompactionOperation> operations, List<HoodieCompactionPlan> pendingCompactionPlans, Map<String, String> params, Pair<List<String>, List<String>> partitionPair) {
     // Strategy implementation can overload this method to set specific compactor-id
-    Pair<List<HoodieCompactionOperation>, List<String>> resPair = orderAndFilter(writeConfig, operations, pendingCompactionPlans);
+    return buildCompactionPlan(writeConfig, orderAndFilter(writeConfig, operations, pendingCompactionPlans), partitionPair);
+  }
+
+  /**
+   * Generate Compaction plan with the access to the table, for the strategies that rely on the state of the table,
+   * e.g., the history of the compactions. The default implementation delegates to
+   * {@link #generateCompactionPlan(HoodieWriteConfig, List, List, Map, Pair)}.
+   *
+   * @param metaClient Meta client of the table to compact
+   * @param writeConfig Hoodie Write Config
+   * @param operations Compaction Operations to be ordered and filtered
+   * @param pendingCompactionPlans Pending Compaction Plans for strategy to schedule next compaction plan
+   * @return Compaction plan to be scheduled.
+   */
+  public HoodieCompactionPlan generateCompactionPlan(HoodieTableMetaClient metaClient, HoodieWriteConfig writeConfig,
+      List<HoodieCompactionOperation> operations, List<HoodieCompactionPlan> pendingCompactionPlans, Map<String, String> params, Pair<List<String>, List<String>> partitionPair) {
+    return generateCompactionPlan(writeConfig, operations, pendingCompactionPlans, params, partitionPair);
+  }
+
+  /**
+   * Builds the compaction plan out of the ordered and filtered compactions.
+   */
+  protected HoodieCompactionPlan buildCompactionPlan(HoodieWriteConfig writeConfig, Pair<List<HoodieCompactionOperation>, List<String>> resPair,
+                                                     Pair<List<String>, List<String>> partitionPair) {
     List<HoodieCompactionOperation> operationsToProcess = resPair.getLeft();
     List<String> missingPartitions = resPair.getRight();
     missingPartitions.addAll(partitionPair.getRight());
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.table.action.compact.strategy;
+
+import org.apache.hudi.avro.model.HoodieCompactionOperation;
+import org.apache.hudi.avro.model.HoodieCompactionPlan;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
+import org.apache.hudi.common.model.HoodieWriteStat;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.util.CollectionUtils;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.config.HoodieWriteConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * CostBasedCompactionStrategy estimates the cost of each compaction and the merge cost it saves for the snapshot
+ * reads of the file group, i.e., the time to scan and merge its log files, and picks the compactions with the highest
+ * benefit per unit of cost first, until the configured compute budget is spent.
+ *
+ * <p>The costs are estimated with the throughput measured by the latest completed compactions of the table: the log scan
+ * time is fitted to the log file sizes and the log block counts of their write stats, and the merge time to the size
+ * of the written base files. A default throughput is assumed if there is no completed compaction yet, or if the
+ * strategy is chained in a {@link CompositeCompactionStrategy}, which has no access to the table.
+ *
+ * @see CompactionStrategy
+ */
+public class CostBasedCompactionStrategy extends CompactionStrategy {
+  private static final Logger LOG = LoggerFactory.getLogger(CostBasedCompactionStrategy.class);
+
+  private static final double MB = 1024 * 1024;
+
+  @Override
+  public HoodieCompactionPlan generateCompactionPlan(HoodieTableMetaClient metaClient, HoodieWriteConfig writeConfig,
+                                                     List<HoodieCompactionOperation> operations, List<HoodieCompactionPlan> pendingCompactionPlans,
+                                                     Map<String, String> params, Pair<List<String>, List<String>> partitionPair) {
+    CostModel costModel = CostModel.fromHistory(metaClient, writeConfig.getCompactionCostHistoryCommits());
+    return buildCompactionPlan(writeConfig, orderAndFilter(writeConfig, operations, costModel), partitionPair);
+  }
+
+  @Override
+  public Pair<List<HoodieCompactionOperation>, List<String>> orderAndFilter(HoodieWriteConfig writeConfig,
+                                                                            List<HoodieCompactionOperation> operations,
+                                                                            List<HoodieCompactionPlan> pendingCompactionPlans) {
+    return orderAndFilter(writeConfig, operations, CostModel.DEFAULT);
+  }
+
+  Pair<List<HoodieCompactionOperation>, List<String>> orderAndFilter(HoodieWriteConfig writeConfig,
+                                                                     List<HoodieCompactionOperation> operations,
+                                                                     CostModel costModel) {
+    // Order the operations by the benefit per unit of cost, then accept the operations that fit in the budget,
+    // which approximates the set of operations with the highest total benefit within the budget
+    List<EstimatedOperation> estimatedOperations = operations.stream()
+        .map(op -> new EstimatedOperation(op, costModel))
+        .sorted(Comparator.comparingDouble(EstimatedOperation::getBenefitPerCost)
+            .thenComparingDouble(EstimatedOperation::getBenefit).reversed())
+        .collect(Collectors.toList());
+    List<HoodieCompactionOperation> finalOperations = new ArrayList<>();
+    List<String> missingPartitions = new ArrayList<>();
+    double budgetRemaining = writeConfig.getCompactionCostBudgetMs();
+    for (EstimatedOperation estimated : estimatedOperations) {
+      // always accept the first operation, so that the file groups with a cost beyond the budget are compacted eventually
+      if (estimated.cost <= budgetRemaining || finalOperations.isEmpty()) {
+        budgetRemaining -= estimated.cost;
+        finalOperations.add(estimated.operation);
+      } else if (writeConfig.isIncrementalTableServiceEnabled()) {
+        missingPartitions.add(estimated.operation.getPartitionPath());
+      }
+    }
+    LOG.info("Picked {} of {} compaction operations within the budget of {} ms with {}",
+        finalOperations.size(), operations.size(), writeConfig.getCompactionCostBudgetMs(), costModel);
+    return Pair.of(finalOperations, missingPartitions);
+  }
+
+  /**
+   * A compaction operation with its estimated cost and benefit in milliseconds.
+   */
+  private static class EstimatedOperation {
+    private final HoodieCompactionOperation operation;
+    private final double cost;
+    private final double benefit;
+
+    EstimatedOperation(HoodieCompactionOperation operation, CostModel costModel) {
+      this.operation = operation;
+      double logFileSize = operation.getMetrics().getOrDefault(TOTAL_LOG_FILE_SIZE, 0d);
+      double numLogBlocks = operation.getDeltaFilePaths().size() * costModel.logBlocksPerLogFile;
+      // the write size is the size of the base file, or the max size of a base file for the log only file groups
+      double writeSize = operation.getMetrics().getOrDefault(TOTAL_IO_WRITE_MB, 0d) * MB;
+      double logScanTime = costModel.logScanMsPerByte * logFileSize + costModel.logScanMsPerBlock * numLogBlocks;
+      // the log scan is paid by every snapshot read of the file group until it is compacted
+      this.benefit = logScanTime;
+      this.cost = logScanTime + costModel.mergeMsPerByte * writeSize;
+    }
+
+    double getBenefit() {
+      return benefit;
+    }
+
+    double getBenefitPerCost() {
+      return cost > 0 ? benefit / cost : 0;
+    }
+  }
+
+  /**
+   * The throughput of the compactions, measured by the write stats of the completed compactions.
+   */
+  static class CostModel {
+    // 50 MB/s for both the log scan and the merge
+    static final CostModel DEFAULT = new CostModel(20 / MB, 0, 20 / MB, 1);
+
+    final double logScanMsPerByte;
+    final double logScanMsPerBlock;
+    final double mergeMsPerByte;
+    final double logBlocksPerLogFile;
+
+    CostModel(double logScanMsPerByte, double logScanMsPerBlock, double mergeMsPerByte, double logBlocksPerLogFile) {
+      this.logScanMsPerByte = logScanMsPerByte;
+      this.logScanMsPerBlock = logScanMsPerBlock;
+      this.mergeMsPerByte = mergeMsPerByte;
+      this.logBlocksPerLogFile = logBlocksPerLogFile;
+    }
+
+    static CostModel fromHistory(HoodieTableMetaClient metaClient, int numCommits) {
+      // the completed commits of merge-on-read tables are compactions
+      List<HoodieInstant> compactionInstants = metaClient.getActiveTimeline()
+          .getTimelineOfActions(CollectionUtils.createSet(HoodieTimeline.COMMIT_ACTION)).filterCompletedInstants()
+          .getReverseOrderedInstants().limit(numCommits).collect(Collectors.toList());
+      if (compactionInstants.isEmpty()) {
+        return DEFAULT;
+      }
+      List<HoodieWriteStat> writeStats = metaClient.getActiveTimeline().readInstantContents(compactionInstants, HoodieCommitMetadata.class).stream()
+          .flatMap(pair -> pair.getRight().getWriteStats().stream())
+          .collect(Collectors.toList());
+      return fromWriteStats(writeStats);
+    }
+
+    static CostModel fromWriteStats(List<HoodieWriteStat> writeStats) {
+      // least squares fit of the log scan time to the log file size and the number of log blocks, through the origin
+      double sizeSquares = 0;
+      double sizeTimesBlocks = 0;
+      double blockSquares = 0;
+      double sizeTimesScanTime = 0;
+      double blocksTimesScanTime = 0;
+      double totalLogFileSize = 0;
+      double totalScanTime = 0;
+      double totalLogBlocks = 0;
+      double totalLogFiles = 0;
+      double totalWriteSize = 0;
+      double totalMergeTime = 0;
+      for (HoodieWriteStat writeStat : writeStats) {
+        HoodieWriteStat.RuntimeStats runtimeStats = writeStat.getRuntimeStats();
+        double scanTime = writeStat.getTotalLogReadTimeMs() > 0 || runtimeStats == null
+            ? writeStat.getTotalLogReadTimeMs() : runtimeStats.getTotalScanTime();
+        double logFileSize = writeStat.getTotalLogSizeCompacted();
+        double logBlocks = writeStat.getTotalLogBlocks();
+        if (logFileSize > 0 && scanTime > 0) {
+          sizeSquares += logFileSize * logFileSize;
+          sizeTimesBlocks += logFileSize * logBlocks;
+          blockSquares += logBlocks * logBlocks;
+          sizeTimesScanTime += logFileSize * scanTime;
+          blocksTimesScanTime += logBlocks * scanTime;
+          totalLogFileSize += logFileSize;
+          totalScanTime += scanTime;
+        }
+        totalLogBlocks += logBlocks;
+        totalLogFiles += writeStat.getTotalLogFilesCompacted();
+        if (runtimeStats != null && writeStat.getFileSizeInBytes() > 0) {
+          totalWriteSize += writeStat.getFileSizeInBytes();
+          totalMergeTime += runtimeStats.getTotalUpsertTime() + runtimeStats.getTotalCreateTime();
+        }
+      }
+      double logScanMsPerByte = DEFAULT.logScanMsPerByte;
+      double logScanMsPerBlock = DEFAULT.logScanMsPerBlock;
+      if (totalLogFileSize > 0) {
+        double determinant = sizeSquares * blockSquares - sizeTimesBlocks * sizeTimesBlocks;
+        double perByte = (sizeTimesScanTime * blockSquares - blocksTimesScanTime * sizeTimesBlocks) / determinant;
+        double perBlock = (blocksTimesScanTime * sizeSquares - sizeTimesScanTime * sizeTimesBlocks) / determinant;
+        if (determinant > 1e-9 * sizeSquares * blockSquares && perByte >= 0 && perBlock >= 0) {
+          logScanMsPerByte = perByte;
+          logScanMsPerBlock = perBlock;
+        } else {
+          // the log block counts do not explain the scan time apart from the log file size
+          logScanMsPerByte = totalScanTime / totalLogFileSize;
+          logScanMsPerBlock = 0;
+        }
+      }
+      double mergeMsPerByte = totalWriteSize > 0 && totalMergeTime > 0 ? totalMergeTime / totalWriteSize : DEFAULT.mergeMsPerByte;
+      double logBlocksPerLogFile = totalLogFiles > 0 && totalLogBlocks > 0 ? totalLogBlocks / totalLogFiles : DEFAULT.logBlocksPerLogFile;
+      return new CostModel(logScanMsPerByte, logScanMsPerBlock, mergeMsPerByte, logBlocksPerLogFile);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("CostModel{logScanMsPerMB=%.3f, logScanMsPerBlock=%.3f, mergeMsPerMB=%.3f, logBlocksPerLogFile=%.1f}",
+          logScanMsPerByte * MB, logScanMsPerBlock, mergeMsPerByte * MB, logBlocksPerLogFile);
+    }
+  }
+}
@@ -33,6 +33,7 @@ import org.apache.hudi.common.model.HoodieCleaningPolicy;
 import org.apache.hudi.common.model.HoodieCommitMetadata;
 import org.apache.hudi.common.model.HoodieFileGroup;
 import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
 import org.apache.hudi.common.model.HoodieWriteStat;
 import org.apache.hudi.common.table.HoodieTableConfig;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
@@ -56,6 +57,7 @@ import org.apache.hudi.table.HoodieTable;
 import org.apache.hudi.table.action.clean.CleanPlanner;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -213,6 +215,48 @@ public class TestCleanPlanner {
     assertEquals(expectedPartitions, partitionsToClean);
   }
 
+  @Test
+  void testPartitionsForIncrCleaningBySupersededSlices() throws IOException {
+    HoodieWriteConfig config = HoodieWriteConfig.newBuilder().withPath("/tmp")
+        .withCleanConfig(HoodieCleanConfig.newBuilder()
+            .retainCommits(5)
+            .withCleanerPolicy(HoodieCleaningPolicy.KEEP_LATEST_COMMITS)
+            .withIncrementalCleaningBySupersededSlices(true)
+            .build())
+        .build();
+    HoodieActiveTimeline activeTimeline = mock(HoodieActiveTimeline.class);
+    when(mockHoodieTable.getActiveTimeline()).thenReturn(activeTimeline);
+    when(mockHoodieTable.getSavepointTimestamps()).thenReturn(Collections.emptySet());
+    HoodieCleanMetadata cleanMetadata = getCleanCommitMetadata(Collections.singletonList(PARTITION1), "20", "10", "15",
+        Collections.emptySet(), Option.empty());
+    mockLastCleanCommit(mockHoodieTable, "20", "10", activeTimeline, cleanMetadata, Collections.emptySet());
+
+    // inserts into a new file group of partition1 and updates a file group of partition2
+    HoodieInstant commit1 = INSTANT_GENERATOR.createNewInstant(COMPLETED, HoodieTimeline.COMMIT_ACTION, "11");
+    HoodieCommitMetadata commitMetadata1 = new HoodieCommitMetadata();
+    commitMetadata1.addWriteStat(PARTITION1, buildWriteStat(PARTITION1, "11", HoodieWriteStat.NULL_COMMIT));
+    commitMetadata1.addWriteStat(PARTITION2, buildWriteStat(PARTITION2, "11", "10"));
+    // replaces the file groups of partition3
+    HoodieInstant commit2 = INSTANT_GENERATOR.createNewInstant(COMPLETED, HoodieTimeline.REPLACE_COMMIT_ACTION, "12");
+    HoodieReplaceCommitMetadata replaceCommitMetadata = new HoodieReplaceCommitMetadata();
+    replaceCommitMetadata.addReplaceFileId(PARTITION3, UUID.randomUUID().toString());
+    // updates a file group of partition1 after the earliest commit to retain
+    HoodieInstant commit3 = INSTANT_GENERATOR.createNewInstant(COMPLETED, HoodieTimeline.COMMIT_ACTION, "16");
+    BaseTimelineV2 commitsTimeline = new BaseTimelineV2();
+    commitsTimeline.setInstants(Arrays.asList(commit1, commit2, commit3));
+    when(mockHoodieTable.getCompletedCommitsTimeline()).thenReturn(commitsTimeline);
+    when(activeTimeline.readInstantContents(Collections.singletonList(commit1), HoodieCommitMetadata.class))
+        .thenReturn(Collections.singletonList(Pair.of(commit1, commitMetadata1)));
+    when(activeTimeline.readInstantContents(Collections.singletonList(commit2), HoodieReplaceCommitMetadata.class))
+        .thenReturn(Collections.singletonList(Pair.of(commit2, replaceCommitMetadata)));
+
+    CleanPlanner<?, ?, ?, ?> cleanPlanner = new CleanPlanner<>(context, mockHoodieTable, config);
+    HoodieInstant earliestCommitToRetain = INSTANT_GENERATOR.createNewInstant(COMPLETED, HoodieTimeline.COMMIT_ACTION, "15");
+    List<String> partitionsToClean = cleanPlanner.getPartitionPathsToClean(Option.of(earliestCommitToRetain));
+    Collections.sort(partitionsToClean);
+    assertEquals(Arrays.asList(PARTITION2, PARTITION3), partitionsToClean);
+  }
+
   static Stream<Arguments> testCases() {
     return Stream.concat(keepLatestByHoursOrCommitsArgs(), keepLatestVersionsArgs());
   }
@@ -584,6 +628,16 @@ public class TestCleanPlanner {
     return group;
   }
 
+  private static HoodieWriteStat buildWriteStat(String partition, String instantTime, String prevCommit) {
+    HoodieWriteStat writeStat = new HoodieWriteStat();
+    String fileId = UUID.randomUUID() + "-0";
+    writeStat.setPartitionPath(partition);
+    writeStat.setFileId(fileId);
+    writeStat.setPath(String.format("%s/%s_1-0-1_%s.parquet", partition, fileId, instantTime));
+    writeStat.setPrevCommit(prevCommit);
+    return writeStat;
+  }
+
   private static HoodieSavepointMetadata getSavepointBytes(String partition, List<String> paths) {
     Map<String, HoodieSavepointPartitionMetadata> partitionMetadata = new HashMap<>();
     List<String> fileNames = paths.stream().map(path -> path.substring(path.lastIndexOf("/") + 1)).collect(Collectors.toList());
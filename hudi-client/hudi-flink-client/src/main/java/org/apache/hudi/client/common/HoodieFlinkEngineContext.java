@@ -231,14 +231,6 @@ public class HoodieFlinkEngineContext extends HoodieEngineContext {
     return data.collectAsList().stream().parallel().reduce(zeroValue, seqOp::apply, combOp::apply);
   }
 
-  @Override
-  public <K extends Comparable<K>, V extends Comparable<V>, R> HoodieData<R> mapGroupsByKey(HoodiePairData<K, V> data,
-                                                                                            SerializableFunction<Iterator<V>, Iterator<R>> processFunc,
-                                                                                            List<K> keySpace,
-                                                                                            boolean preservesPartitioning) {
-    throw new UnsupportedOperationException("processKeyGroups() is not supported in FlinkEngineContext");
-  }
-
   @Override
   public KeyGenerator createKeyGenerator(TypedProperties props) throws IOException {
     return HoodieAvroKeyGeneratorFactory.createKeyGenerator(props);
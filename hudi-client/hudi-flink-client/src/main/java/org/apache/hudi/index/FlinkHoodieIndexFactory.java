@@ -46,6 +46,9 @@ public final class FlinkHoodieIndexFactory {
       case FLINK_STATE:
         // Flink state index stores the index mappings with a state-backend,
         // instantiates an in-memory HoodieIndex component as a placeholder.
+      case RECORD_INDEX:
+        // the record index of the metadata table is looked up by the bucket assigner of the pipeline,
+        // instantiates an in-memory HoodieIndex component as a placeholder too.
       case INMEMORY:
         return new FlinkInMemoryStateIndex(context, config);
       case BLOOM:
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi;
+
+import org.apache.hudi.common.table.read.BufferedRecord;
+import org.apache.hudi.common.util.ObjectSizeCalculator;
+import org.apache.hudi.common.util.SizeEstimator;
+
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.UnsafeRow;
+
+import java.io.Serializable;
+
+/**
+ * An implementation of {@link SizeEstimator} for Spark {@link BufferedRecord}s. The records are buffered as
+ * {@link UnsafeRow}s in binary format, so the size of a record is derived from the length of its bytes plus
+ * the fixed overhead of the wrapping objects, without traversing the object graph.
+ */
+public class SparkBufferedRecordSizeEstimator implements SizeEstimator<BufferedRecord<InternalRow>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  // Size of a buffered record holding an empty record key and an empty unsafe row
+  private final long sizeOfEmptyRecord;
+
+  public SparkBufferedRecordSizeEstimator() {
+    UnsafeRow emptyRow = new UnsafeRow(0);
+    emptyRow.pointTo(new byte[0], 0);
+    this.sizeOfEmptyRecord = ObjectSizeCalculator.getObjectSize(new BufferedRecord<>("", 0L, emptyRow, 0, null));
+  }
+
+  @Override
+  public long sizeEstimate(BufferedRecord<InternalRow> record) {
+    InternalRow row = record.getRecord();
+    if (row != null && !(row instanceof UnsafeRow)) {
+      return ObjectSizeCalculator.getObjectSize(record);
+    }
+    String recordKey = record.getRecordKey();
+    return sizeOfEmptyRecord
+        + (row == null ? 0 : ((UnsafeRow) row).getSizeInBytes())
+        + (recordKey == null ? 0 : recordKey.length());
+  }
+
+  @Override
+  public boolean isExact() {
+    return true;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi;
+
+import org.apache.hudi.common.table.read.BufferedRecord;
+import org.apache.hudi.common.util.ObjectSizeCalculator;
+import org.apache.hudi.common.util.SizeEstimator;
+
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.catalyst.expressions.UnsafeProjection;
+import org.apache.spark.sql.catalyst.expressions.UnsafeRow;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructType;
+import org.apache.spark.unsafe.types.UTF8String;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestSparkBufferedRecordSizeEstimator {
+
+  @Test
+  void testEstimatingUnsafeRow() {
+    StructType schema = new StructType()
+        .add("id", DataTypes.StringType)
+        .add("name", DataTypes.StringType)
+        .add("ts", DataTypes.LongType);
+    UnsafeProjection projection = UnsafeProjection.create(schema);
+    SizeEstimator<BufferedRecord<InternalRow>> estimator = new SparkBufferedRecordSizeEstimator();
+    assertTrue(estimator.isExact());
+
+    UnsafeRow smallRow = projection.apply(new GenericInternalRow(new Object[] {
+        UTF8String.fromString("id1"), UTF8String.fromString("a"), 1L})).copy();
+    UnsafeRow largeRow = projection.apply(new GenericInternalRow(new Object[] {
+        UTF8String.fromString("id1"), UTF8String.fromString(String.join("", Collections.nCopies(1000, "a"))), 1L})).copy();
+    BufferedRecord<InternalRow> smallRecord = new BufferedRecord<>("id1", 1L, smallRow, 1, null);
+    BufferedRecord<InternalRow> largeRecord = new BufferedRecord<>("id1", 1L, largeRow, 1, null);
+
+    // the size grows with the bytes of the row
+    long smallSize = estimator.sizeEstimate(smallRecord);
+    assertEquals(largeRow.getSizeInBytes() - smallRow.getSizeInBytes(), estimator.sizeEstimate(largeRecord) - smallSize);
+    // size can be various for different OS / JVM version
+    long actualSize = ObjectSizeCalculator.getObjectSize(smallRecord);
+    assertTrue(smallSize > actualSize / 2 && smallSize < actualSize * 2);
+
+    // delete record without row
+    assertTrue(estimator.sizeEstimate(new BufferedRecord<>("id1", 1L, null, 1, null)) > 0);
+  }
+}
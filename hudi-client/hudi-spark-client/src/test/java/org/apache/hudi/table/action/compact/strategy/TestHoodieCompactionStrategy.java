@@ -24,6 +24,7 @@ import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieBaseFile;
 import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.model.HoodieWriteStat;
 import org.apache.hudi.common.table.HoodieTableConfig;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieCompactionConfig;
@@ -398,6 +399,68 @@ public class TestHoodieCompactionStrategy {
         "Should chose the first 2 compactions which should result in a total IO of 1594 MB");
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testCostBasedCompactionStrategy(boolean enableIncrTableService) {
+    Map<Long, List<Long>> sizesMap = new HashMap<>();
+    sizesMap.put(120 * MB, Arrays.asList(60 * MB, 10 * MB, 80 * MB));
+    sizesMap.put(110 * MB, new ArrayList<>());
+    sizesMap.put(100 * MB, Collections.singletonList(MB));
+    sizesMap.put(90 * MB, Collections.singletonList(1024 * MB));
+    CostBasedCompactionStrategy strategy = new CostBasedCompactionStrategy();
+    HoodieWriteConfig writeConfig = HoodieWriteConfig.newBuilder().withPath("/tmp").withCompactionConfig(
+            HoodieCompactionConfig.newBuilder().withCompactionStrategy(strategy).withCompactionCostBudgetMs(28000).build())
+        .withIncrementalTableServiceEnabled(enableIncrTableService)
+        .build();
+    Pair<List<HoodieCompactionOperation>, Map<Long, String>> operationAndPartition = createCompactionOperations(writeConfig, sizesMap);
+    List<HoodieCompactionOperation> operations = operationAndPartition.getLeft();
+    Pair<List<HoodieCompactionOperation>, List<String>> resPair = writeConfig.getCompactionStrategy().orderAndFilter(writeConfig, operations, new ArrayList<>());
+    List<HoodieCompactionOperation> returned = resPair.getLeft();
+    // with the default throughput of 20 ms per MB, the file group with 1024 MB of logs costs 22280 ms and
+    // the one with 150 MB of logs costs 5400 ms, the others have a lower benefit per cost and do not fit in the budget
+    assertEquals(2, returned.size(), "CostBasedCompactionStrategy should have resulted in 2 compactions");
+    assertEquals(90L, returned.get(0).getMetrics().get(CompactionStrategy.TOTAL_IO_WRITE_MB).longValue());
+    assertEquals(120L, returned.get(1).getMetrics().get(CompactionStrategy.TOTAL_IO_WRITE_MB).longValue());
+    if (enableIncrTableService) {
+      assertTrue(resPair.getRight().contains(operationAndPartition.getRight().get(110 * MB)));
+      assertTrue(resPair.getRight().contains(operationAndPartition.getRight().get(100 * MB)));
+    } else {
+      assertTrue(resPair.getRight().isEmpty());
+    }
+  }
+
+  @Test
+  public void testCostModelFromWriteStats() {
+    // the log scan takes 10 ms per MB plus 5 ms per log block, the merge takes 20 ms per MB
+    List<HoodieWriteStat> writeStats = Arrays.asList(
+        buildCompactionWriteStat(100 * MB, 10, 2, 1050, 100 * MB, 2000),
+        buildCompactionWriteStat(50 * MB, 40, 4, 700, 50 * MB, 1000));
+    CostBasedCompactionStrategy.CostModel costModel = CostBasedCompactionStrategy.CostModel.fromWriteStats(writeStats);
+    assertEquals(10, costModel.logScanMsPerByte * MB, 1e-6);
+    assertEquals(5, costModel.logScanMsPerBlock, 1e-6);
+    assertEquals(20, costModel.mergeMsPerByte * MB, 1e-6);
+    assertEquals(50d / 6, costModel.logBlocksPerLogFile, 1e-6);
+
+    // falls back to the default throughput without runtime stats
+    costModel = CostBasedCompactionStrategy.CostModel.fromWriteStats(Collections.singletonList(new HoodieWriteStat()));
+    assertEquals(CostBasedCompactionStrategy.CostModel.DEFAULT.logScanMsPerByte, costModel.logScanMsPerByte);
+    assertEquals(CostBasedCompactionStrategy.CostModel.DEFAULT.mergeMsPerByte, costModel.mergeMsPerByte);
+  }
+
+  private static HoodieWriteStat buildCompactionWriteStat(long logFileSize, long logBlocks, long logFiles, long scanTime,
+                                                          long fileSize, long mergeTime) {
+    HoodieWriteStat writeStat = new HoodieWriteStat();
+    writeStat.setTotalLogSizeCompacted(logFileSize);
+    writeStat.setTotalLogBlocks(logBlocks);
+    writeStat.setTotalLogFilesCompacted(logFiles);
+    writeStat.setFileSizeInBytes(fileSize);
+    HoodieWriteStat.RuntimeStats runtimeStats = new HoodieWriteStat.RuntimeStats();
+    runtimeStats.setTotalScanTime(scanTime);
+    runtimeStats.setTotalUpsertTime(mergeTime);
+    writeStat.setRuntimeStats(runtimeStats);
+    return writeStat;
+  }
+
   @Test
   public void testCompositeCompactionStrategy() {
     HoodieWriteConfig writeConfig = HoodieWriteConfig.newBuilder().withPath("/tmp").withCompactionConfig(
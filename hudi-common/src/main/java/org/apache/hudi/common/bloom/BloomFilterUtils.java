@@ -42,4 +42,12 @@ class BloomFilterUtils {
     // Number of the hash functions
     return (int) Math.ceil(Math.log(2) * bitSize / numEntries);
   }
+
+  /**
+   * @return the bitsize of a split block bloom filter given the total number of entries, error rate and
+   * number of bits set per entry.
+   */
+  static long getSplitBlockBitSize(int numEntries, double errorRate, int numHashes) {
+    return (long) Math.ceil(-(double) numHashes * numEntries / Math.log(1 - Math.pow(errorRate, 1.0 / numHashes)));
+  }
 }
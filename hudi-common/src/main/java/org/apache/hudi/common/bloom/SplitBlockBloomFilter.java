@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.bloom;
+
+import org.apache.hudi.common.util.Base64CodecUtil;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.exception.HoodieIndexException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
+import static org.apache.hudi.io.util.IOUtils.getDataInputStream;
+
+/**
+ * A split block bloom filter, the bits are split into blocks of 64 bytes, i.e. a cache line, and a key
+ * only sets and probes the bits of a single block. The key is hashed once into 64 bits with XXH64: the upper
+ * 32 bits select the block and the lower 32 bits set one bit in each of the 8 words of the block.
+ *
+ * <p>Compared to {@link SimpleBloomFilter}, a probe touches a single cache line and does not allocate,
+ * the keys made of ASCII characters are hashed without being encoded first. The price is a slightly
+ * bigger filter for the same error rate.
+ */
+public class SplitBlockBloomFilter implements BloomFilter {
+
+  private static final byte VERSION = 1;
+
+  // the number of 64-bit words in a block
+  private static final int WORDS_PER_BLOCK = 8;
+  private static final int BITS_PER_BLOCK = WORDS_PER_BLOCK * Long.SIZE;
+  // the max number of blocks, which bounds the filter to 128MB
+  private static final int MAX_NUM_BLOCKS = (128 * 1024 * 1024) / (BITS_PER_BLOCK / Byte.SIZE);
+
+  // the odd salts to derive the bit of each word from the lower 32 bits of the hash
+  private static final int[] SALTS = {
+      0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d,
+      0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31};
+
+  private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+  private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+  private static final long PRIME64_3 = 0x165667B19E3779F9L;
+  private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+  private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+  private int numBlocks;
+  private long[] words;
+
+  /**
+   * Creates a new split block bloom filter with the given configurations.
+   *
+   * @param numEntries The total number of entries.
+   * @param errorRate  maximum allowable error rate.
+   */
+  public SplitBlockBloomFilter(int numEntries, double errorRate) {
+    long bitSize = BloomFilterUtils.getSplitBlockBitSize(numEntries, errorRate, WORDS_PER_BLOCK);
+    this.numBlocks = (int) Math.max(1, Math.min(MAX_NUM_BLOCKS, (bitSize + BITS_PER_BLOCK - 1) / BITS_PER_BLOCK));
+    this.words = new long[numBlocks * WORDS_PER_BLOCK];
+  }
+
+  /**
+   * Creates the bloom filter from serialized string.
+   *
+   * @param serString serialized string which represents the {@link SplitBlockBloomFilter}
+   */
+  public SplitBlockBloomFilter(String serString) {
+    byte[] bytes = Base64CodecUtil.decode(serString);
+    try (DataInputStream stream = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      readFields(stream);
+    } catch (IOException e) {
+      throw new HoodieIndexException("Could not deserialize BloomFilter from string", e);
+    }
+  }
+
+  /**
+   * Creates {@link SplitBlockBloomFilter} from the given {@link ByteBuffer}.
+   *
+   * @param byteBuffer {@link ByteBuffer} containing the serialized bloom filter.
+   */
+  public SplitBlockBloomFilter(ByteBuffer byteBuffer) {
+    try (DataInputStream stream = getDataInputStream(Base64CodecUtil.decode(byteBuffer))) {
+      readFields(stream);
+    } catch (IOException e) {
+      throw new HoodieIndexException("Could not deserialize BloomFilter from byte buffer", e);
+    }
+  }
+
+  @Override
+  public void add(String key) {
+    if (key == null) {
+      throw new NullPointerException("Key cannot be null");
+    }
+    add(hash(key));
+  }
+
+  @Override
+  public void add(byte[] keyBytes) {
+    if (keyBytes == null) {
+      throw new NullPointerException("Key cannot be null");
+    }
+    add(hash64(keyBytes, null, keyBytes.length));
+  }
+
+  @Override
+  public boolean mightContain(String key) {
+    if (key == null) {
+      throw new NullPointerException("Key cannot be null");
+    }
+    long hash = hash(key);
+    int offset = getBlockOffset(hash);
+    int lower = (int) hash;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      if ((words[offset + i] & getMask(lower, i)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void add(long hash) {
+    int offset = getBlockOffset(hash);
+    int lower = (int) hash;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      words[offset + i] |= getMask(lower, i);
+    }
+  }
+
+  private int getBlockOffset(long hash) {
+    // maps the upper 32 bits to [0, numBlocks) with a multiply and a shift instead of a modulo
+    return (int) (((hash >>> 32) * numBlocks) >>> 32) * WORDS_PER_BLOCK;
+  }
+
+  private static long getMask(int lower, int word) {
+    return 1L << ((lower * SALTS[word]) >>> 26);
+  }
+
+  @Override
+  public String serializeToString() {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (DataOutputStream dos = new DataOutputStream(baos)) {
+      dos.writeByte(VERSION);
+      dos.writeInt(numBlocks);
+      for (long word : words) {
+        dos.writeLong(word);
+      }
+    } catch (IOException e) {
+      throw new HoodieIndexException("Could not serialize BloomFilter instance", e);
+    }
+    return Base64CodecUtil.encode(baos.toByteArray());
+  }
+
+  private void readFields(DataInputStream dis) throws IOException {
+    byte version = dis.readByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version " + version + " of the split block bloom filter");
+    }
+    numBlocks = dis.readInt();
+    words = new long[numBlocks * WORDS_PER_BLOCK];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = dis.readLong();
+    }
+  }
+
+  @Override
+  public BloomFilterTypeCode getBloomFilterTypeCode() {
+    return BloomFilterTypeCode.SPLIT_BLOCK;
+  }
+
+  @Override
+  public void or(BloomFilter other) {
+    if (other != null) {
+      ValidationUtils.checkArgument(other instanceof SplitBlockBloomFilter,
+          "SplitBlockBloomFilter can only perform OR operations with other SplitBlockBloomFilters.");
+      SplitBlockBloomFilter otherFilter = (SplitBlockBloomFilter) other;
+      ValidationUtils.checkArgument(numBlocks == otherFilter.numBlocks,
+          "SplitBlockBloomFilters can only perform OR operations with the same number of blocks.");
+      for (int i = 0; i < words.length; i++) {
+        words[i] |= otherFilter.words[i];
+      }
+    }
+  }
+
+  /**
+   * Returns the XXH64 hash of the UTF-8 bytes of the key, the ASCII keys are hashed in place.
+   */
+  private static long hash(String key) {
+    int length = key.length();
+    for (int i = 0; i < length; i++) {
+      if (key.charAt(i) >= 0x80) {
+        byte[] bytes = getUTF8Bytes(key);
+        return hash64(bytes, null, bytes.length);
+      }
+    }
+    return hash64(null, key, length);
+  }
+
+  /**
+   * Returns the XXH64 hash with seed 0 of either the given bytes or the given ASCII string.
+   */
+  static long hash64(byte[] bytes, String ascii, int length) {
+    int pos = 0;
+    long hash;
+    if (length >= 32) {
+      long v1 = PRIME64_1 + PRIME64_2;
+      long v2 = PRIME64_2;
+      long v3 = 0;
+      long v4 = -PRIME64_1;
+      int limit = length - 32;
+      do {
+        v1 = round(v1, getLong(bytes, ascii, pos));
+        v2 = round(v2, getLong(bytes, ascii, pos + 8));
+        v3 = round(v3, getLong(bytes, ascii, pos + 16));
+        v4 = round(v4, getLong(bytes, ascii, pos + 24));
+        pos += 32;
+      } while (pos <= limit);
+      hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+      hash = mergeRound(hash, v1);
+      hash = mergeRound(hash, v2);
+      hash = mergeRound(hash, v3);
+      hash = mergeRound(hash, v4);
+    } else {
+      hash = PRIME64_5;
+    }
+    hash += length;
+    while (pos + 8 <= length) {
+      hash ^= round(0, getLong(bytes, ascii, pos));
+      hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+      pos += 8;
+    }
+    if (pos + 4 <= length) {
+      hash ^= (getInt(bytes, ascii, pos) & 0xFFFFFFFFL) * PRIME64_1;
+      hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+      pos += 4;
+    }
+    while (pos < length) {
+      hash ^= getByte(bytes, ascii, pos) * PRIME64_5;
+      hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+      pos++;
+    }
+    hash ^= hash >>> 33;
+    hash *= PRIME64_2;
+    hash ^= hash >>> 29;
+    hash *= PRIME64_3;
+    hash ^= hash >>> 32;
+    return hash;
+  }
+
+  private static long round(long acc, long input) {
+    acc += input * PRIME64_2;
+    acc = Long.rotateLeft(acc, 31);
+    return acc * PRIME64_1;
+  }
+
+  private static long mergeRound(long acc, long val) {
+    acc ^= round(0, val);
+    return acc * PRIME64_1 + PRIME64_4;
+  }
+
+  private static long getByte(byte[] bytes, String ascii, int pos) {
+    return bytes != null ? bytes[pos] & 0xFFL : ascii.charAt(pos);
+  }
+
+  private static long getInt(byte[] bytes, String ascii, int pos) {
+    return getByte(bytes, ascii, pos)
+        | getByte(bytes, ascii, pos + 1) << 8
+        | getByte(bytes, ascii, pos + 2) << 16
+        | getByte(bytes, ascii, pos + 3) << 24;
+  }
+
+  private static long getLong(byte[] bytes, String ascii, int pos) {
+    return getInt(bytes, ascii, pos) | getInt(bytes, ascii, pos + 4) << 32;
+  }
+}
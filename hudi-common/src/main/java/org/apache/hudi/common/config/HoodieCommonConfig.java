@@ -89,7 +89,9 @@ public class HoodieCommonConfig extends HoodieConfig {
       .markAdvanced()
       .withDocumentation("When handling input data that cannot be held in memory, to merge with a file on storage, a spillable diskmap is employed.  "
           + "By default, we use a persistent hashmap based loosely on bitcask, that offers O(1) inserts, lookups. "
-          + "Change this to `ROCKS_DB` to prefer using rocksDB, for handling the spill.");
+          + "Change this to `ROCKS_DB` to prefer using rocksDB, for handling the spill. "
+          + "`SEGMENTED_BITCASK` spills into rolling, memory-mapped segment files and reclaims the space of "
+          + "overwritten or removed values by compacting the segments in the background.");
 
   public static final ConfigProperty<Boolean> DISK_MAP_BITCASK_COMPRESSION_ENABLED = ConfigProperty
       .key("hoodie.common.diskmap.compression.enabled")
@@ -151,7 +153,55 @@ public class HoodieCommonConfig extends HoodieConfig {
       .markAdvanced()
       .sinceVersion("1.1.0")
       .withDocumentation("Amount of memory to be used in bytes for holding cachedAllInputFileSlices in org.apache.hudi.BaseHoodieTableFileIndex.");
-  
+
+  public static final ConfigProperty<Integer> LOCAL_ENGINE_MAX_PARALLELISM = ConfigProperty
+      .key("hoodie.local.engine.max.parallelism")
+      .defaultValue(0)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("The maximum number of threads that the java based engine context, used by the query engine "
+          + "integrations and the java write client, runs the tasks of one operation on. The parallelism requested by "
+          + "the operation is capped by this value. A non-positive value means twice the number of available "
+          + "processors, as the tasks are mostly I/O bound, e.g., the listing and the metadata table lookups.");
+
+  public static final ConfigProperty<Boolean> LOCAL_ENGINE_VIRTUAL_THREADS_ENABLED = ConfigProperty
+      .key("hoodie.local.engine.virtual.threads.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Whether the java based engine context runs the tasks on virtual threads, which do not hold "
+          + "a platform thread while blocked on I/O. Only takes effect on JDK 21 and above, the tasks run on the "
+          + "platform threads otherwise.");
+
+  public static final ConfigProperty<Boolean> INSTANT_CONTENT_CACHE_ENABLED = ConfigProperty
+      .key("hoodie.timeline.instant.content.cache.enabled")
+      .defaultValue(true)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Whether the contents of the immutable instant files, e.g., the commit metadata and the clean "
+          + "plans, are cached in a cache shared by all the timelines of the process, so that they are read from the "
+          + "storage only once. Read from the storage configuration of the table, the instant contents of the table "
+          + "are read from the storage every time if disabled.");
+
+  public static final ConfigProperty<Long> INSTANT_CONTENT_CACHE_MAX_SIZE_IN_BYTES = ConfigProperty
+      .key("hoodie.timeline.instant.content.cache.max.size.bytes")
+      .defaultValue(128 * 1024 * 1024L)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("The maximum total size in bytes of the instant contents cached when "
+          + INSTANT_CONTENT_CACHE_ENABLED.key() + " is enabled. As the cache is shared by the process, it is sized by "
+          + "the storage configuration of the first table whose active timeline is loaded.");
+
+  public static final ConfigProperty<Integer> INSTANT_CONTENT_CACHE_LOAD_PARALLELISM = ConfigProperty
+      .key("hoodie.timeline.instant.content.cache.load.parallelism")
+      .defaultValue(0)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("The number of threads that read the contents of a range of instants in parallel, e.g., "
+          + "the commit metadata of the incremental queries. A non-positive value means twice the number of available "
+          + "processors, at least 4. As the threads are shared by the process, the value is taken from the storage "
+          + "configuration of the first table whose active timeline is loaded.");
+
   public static final long DEFAULT_MAX_MEMORY_FOR_SPILLABLE_MAP_IN_BYTES = 1024 * 1024 * 1024L;
 
   public ExternalSpillableMap.DiskMapType getSpillableDiskMapType() {
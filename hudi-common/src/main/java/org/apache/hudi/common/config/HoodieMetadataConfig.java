@@ -266,6 +266,25 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       .withDocumentation("Optimized log blocks scanner that addresses all the multi-writer use-cases while appending to log files. "
           + "It also differentiates original blocks written by ingestion writers and compacted blocks written by log compaction.");
 
+  public static final ConfigProperty<Boolean> READER_POOL_ENABLE = ConfigProperty
+      .key(METADATA_PREFIX + ".reader.pool.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the readers of the metadata table file groups that are allowed to be fully scanned are "
+          + "leased from a process-wide pool, so that the queries and the writers in the same JVM reuse the opened base files "
+          + "and the scanned log records instead of re-reading them. The pooled readers of a file group are evicted once the "
+          + "metadata table advances to a newer instant.");
+
+  public static final ConfigProperty<Integer> READER_POOL_MAX_IDLE_READERS = ConfigProperty
+      .key(METADATA_PREFIX + ".reader.pool.max.idle.readers")
+      .defaultValue(64)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("The maximum number of the idle file group readers kept in the process-wide pool of the metadata table "
+          + "readers, the least recently used idle readers beyond this number are closed. Only effective when "
+          + "`" + METADATA_PREFIX + ".reader.pool.enable` is enabled.");
+
   public static final ConfigProperty<Integer> METADATA_MAX_NUM_DELTACOMMITS_WHEN_PENDING = ConfigProperty
       .key(METADATA_PREFIX + ".max.deltacommits.when_pending")
       .defaultValue(1000)
@@ -547,7 +566,7 @@ public final class HoodieMetadataConfig extends HoodieConfig {
   public static final ConfigProperty<String> BLOOM_FILTER_TYPE = ConfigProperty
       .key(METADATA_PREFIX + ".bloom.filter.type")
       .defaultValue(BloomFilterTypeCode.DYNAMIC_V0.name())
-      .withValidValues(BloomFilterTypeCode.SIMPLE.name(), BloomFilterTypeCode.DYNAMIC_V0.name())
+      .withValidValues(BloomFilterTypeCode.SIMPLE.name(), BloomFilterTypeCode.DYNAMIC_V0.name(), BloomFilterTypeCode.SPLIT_BLOCK.name())
       .markAdvanced()
       .sinceVersion("1.1.0")
       .withDocumentation(BloomFilterTypeCode.class, "Bloom filter type for the files in the metadata table");
@@ -694,6 +713,14 @@ public final class HoodieMetadataConfig extends HoodieConfig {
     return getBoolean(ENABLE_OPTIMIZED_LOG_BLOCKS_SCAN);
   }
 
+  public boolean isReaderPoolEnabled() {
+    return getBooleanOrDefault(READER_POOL_ENABLE);
+  }
+
+  public int getReaderPoolMaxIdleReaders() {
+    return getIntOrDefault(READER_POOL_MAX_IDLE_READERS);
+  }
+
   public int getMaxNumDeltacommitsWhenPending() {
     return getIntOrDefault(METADATA_MAX_NUM_DELTACOMMITS_WHEN_PENDING);
   }
@@ -1036,6 +1063,16 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withReaderPool(boolean enable) {
+      metadataConfig.setValue(READER_POOL_ENABLE, String.valueOf(enable));
+      return this;
+    }
+
+    public Builder withReaderPoolMaxIdleReaders(int maxIdleReaders) {
+      metadataConfig.setValue(READER_POOL_MAX_IDLE_READERS, String.valueOf(maxIdleReaders));
+      return this;
+    }
+
     public Builder withMaxNumDeltacommitsWhenPending(int maxNumDeltaCommitsWhenPending) {
       metadataConfig.setValue(METADATA_MAX_NUM_DELTACOMMITS_WHEN_PENDING, String.valueOf(maxNumDeltaCommitsWhenPending));
       return this;
@@ -111,4 +111,42 @@ public class HoodieReaderConfig extends HoodieConfig {
           + "from the cache after this duration to prevent memory leaks. "
           + "Only effective when hfile.block.cache.enabled is true.");
 
+  public static final ConfigProperty<Long> HFILE_BLOCK_CACHE_DATA_MAX_BYTES = ConfigProperty
+      .key("hoodie.hfile.block.cache.data.max.bytes")
+      .defaultValue(-1L)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Maximum number of bytes of uncompressed HFile data blocks to cache, shared by all "
+          + "metadata file readers in the process. When set to a positive value, the cache is bounded by the "
+          + "size of the blocks instead of the number of blocks configured by hoodie.hfile.block.cache.size. "
+          + "Only effective when hfile.block.cache.enabled is true.");
+
+  public static final ConfigProperty<Long> HFILE_BLOCK_CACHE_INDEX_MAX_BYTES = ConfigProperty
+      .key("hoodie.hfile.block.cache.index.max.bytes")
+      .defaultValue(-1L)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Maximum number of bytes of uncompressed HFile leaf and intermediate index blocks to "
+          + "cache, separately from the data blocks, so that reopening a metadata file does not reread its "
+          + "multi-level block index. Index blocks are not cached when set to a non-positive value. "
+          + "Only effective when hfile.block.cache.enabled is true.");
+
+  public static final ConfigProperty<Boolean> HFILE_BLOCK_CACHE_OFF_HEAP_ENABLED = ConfigProperty
+      .key("hoodie.hfile.block.cache.off.heap.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Whether to keep the content of cached HFile blocks in off-heap direct byte buffers "
+          + "instead of the JVM heap. Blocks are copied back to the heap on each cache hit. "
+          + "Only effective when hfile.block.cache.enabled is true.");
+
+  public static final ConfigProperty<Integer> LOG_BLOCK_PREFETCH_NUM_BLOCKS = ConfigProperty
+      .key("hoodie.log.block.prefetch.num.blocks")
+      .defaultValue(0)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Number of the queued log blocks whose contents are read ahead in the background while "
+          + "the current log block is merged, which overlaps the storage round-trips of the lazily read log blocks "
+          + "with the merging. Up to this many block contents are held in memory ahead of the merging. "
+          + "The read-ahead is disabled when set to a non-positive value.");
 }
@@ -108,6 +108,36 @@ public class HoodieStorageConfig extends HoodieConfig {
           + "to be appended to a log file. This helps to make sure the data appended to the log file is broken up "
           + "into sizable blocks to prevent from OOM errors. This size should be greater than the JVM memory.");
 
+  public static final ConfigProperty<Boolean> LOGFILE_DATA_BLOCK_ASYNC_FLUSH_ENABLED = ConfigProperty
+      .key("hoodie.logfile.data.block.async.flush.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the append handle buffers the records in two buffers: while the data block of "
+          + "a full buffer is serialized and appended to the log file by a background writer, the records are buffered "
+          + "into the other one. The buffering blocks when both buffers are full until the pending block is written. "
+          + "This overlaps the serialization and the writing of the data blocks with the record processing, at the cost "
+          + "of holding up to two data blocks of records in memory.");
+
+  public static final ConfigProperty<String> LOGFILE_AVRO_COMPRESSION_CODEC_NAME = ConfigProperty
+      .key("hoodie.logfile.avro.compression.codec")
+      .defaultValue("none")
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Compression codec to use for the records of the avro data blocks within delta logs. "
+          + "Supported values are none, gz, snappy, lz4 and zstd. The records are compressed in chunks of "
+          + "hoodie.logfile.avro.compression.chunk.size bytes, which are decompressed independently on read. "
+          + "The compressed blocks can not be read by the releases before 1.1.0.");
+
+  public static final ConfigProperty<String> LOGFILE_AVRO_COMPRESSION_CHUNK_SIZE = ConfigProperty
+      .key("hoodie.logfile.avro.compression.chunk.size")
+      .defaultValue(String.valueOf(1024 * 1024))
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Size in bytes of the uncompressed chunks of records that are compressed together in the avro "
+          + "data blocks. Larger chunks compress better, while the readers hold one decompressed chunk in memory at a time. "
+          + "Only effective when hoodie.logfile.avro.compression.codec is not none.");
+
   public static final ConfigProperty<String> PARQUET_COMPRESSION_RATIO_FRACTION = ConfigProperty
       .key("hoodie.parquet.compression.ratio")
       .defaultValue(String.valueOf(0.1))
@@ -172,7 +202,8 @@ public class HoodieStorageConfig extends HoodieConfig {
       .key("hoodie.hfile.compression.algorithm")
       .defaultValue("GZ")
       .markAdvanced()
-      .withDocumentation("Compression codec to use for hfile base files.");
+      .withDocumentation("Compression codec to use for hfile base files. Supported values are "
+          + "NONE, GZ, SNAPPY, LZ4 and ZSTD.");
 
   public static final ConfigProperty<String> ORC_COMPRESSION_CODEC_NAME = ConfigProperty
       .key("hoodie.orc.compression.codec")
@@ -193,7 +224,7 @@ public class HoodieStorageConfig extends HoodieConfig {
   public static final ConfigProperty<String> BLOOM_FILTER_TYPE = ConfigProperty
       .key("hoodie.bloom.index.filter.type")
       .defaultValue(BloomFilterTypeCode.DYNAMIC_V0.name())
-      .withValidValues(BloomFilterTypeCode.SIMPLE.name(), BloomFilterTypeCode.DYNAMIC_V0.name())
+      .withValidValues(BloomFilterTypeCode.SIMPLE.name(), BloomFilterTypeCode.DYNAMIC_V0.name(), BloomFilterTypeCode.SPLIT_BLOCK.name())
       .markAdvanced()
       .withDocumentation(BloomFilterTypeCode.class);
 
@@ -444,11 +475,26 @@ public class HoodieStorageConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder logFileDataBlockAsyncFlushEnabled(boolean asyncFlushEnabled) {
+      storageConfig.setValue(LOGFILE_DATA_BLOCK_ASYNC_FLUSH_ENABLED, String.valueOf(asyncFlushEnabled));
+      return this;
+    }
+
     public Builder logFileMaxSize(long logFileSize) {
       storageConfig.setValue(LOGFILE_MAX_SIZE, String.valueOf(logFileSize));
       return this;
     }
 
+    public Builder logFileAvroCompressionCodec(String logFileAvroCompressionCodec) {
+      storageConfig.setValue(LOGFILE_AVRO_COMPRESSION_CODEC_NAME, logFileAvroCompressionCodec);
+      return this;
+    }
+
+    public Builder logFileAvroCompressionChunkSize(int logFileAvroCompressionChunkSize) {
+      storageConfig.setValue(LOGFILE_AVRO_COMPRESSION_CHUNK_SIZE, String.valueOf(logFileAvroCompressionChunkSize));
+      return this;
+    }
+
     public Builder parquetCompressionRatio(double parquetCompressionRatio) {
       storageConfig.setValue(PARQUET_COMPRESSION_RATIO_FRACTION, String.valueOf(parquetCompressionRatio));
       return this;
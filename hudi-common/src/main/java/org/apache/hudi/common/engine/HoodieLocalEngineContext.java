@@ -18,6 +18,7 @@
 
 package org.apache.hudi.common.engine;
 
+import org.apache.hudi.common.config.HoodieCommonConfig;
 import org.apache.hudi.common.config.TypedProperties;
 import org.apache.hudi.common.data.HoodieAccumulator;
 import org.apache.hudi.common.data.HoodieAtomicLongAccumulator;
@@ -32,21 +33,34 @@ import org.apache.hudi.common.function.SerializableFunction;
 import org.apache.hudi.common.function.SerializablePairFlatMapFunction;
 import org.apache.hudi.common.function.SerializablePairFunction;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
 import org.apache.hudi.common.util.Functions;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.collection.ImmutablePair;
 import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.keygen.KeyGenerator;
 import org.apache.hudi.storage.StorageConfiguration;
 
 import org.apache.avro.generic.IndexedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -60,8 +74,22 @@ import static org.apache.hudi.common.function.FunctionWrapper.throwingReduceWrap
 
 /**
  * A java based engine context, use this implementation on the query engine integrations if needed.
+ *
+ * <p>The tasks of an operation run on a process-wide executor, with at most as many tasks in flight as the
+ * requested parallelism, capped by {@link HoodieCommonConfig#LOCAL_ENGINE_MAX_PARALLELISM}. The calling
+ * thread runs the tasks too, so that the nested operations always make progress. The tasks run on the
+ * virtual threads instead if {@link HoodieCommonConfig#LOCAL_ENGINE_VIRTUAL_THREADS_ENABLED} is set and
+ * the JVM supports them.
  */
 public final class HoodieLocalEngineContext extends HoodieEngineContext {
+  private static final Logger LOG = LoggerFactory.getLogger(HoodieLocalEngineContext.class);
+
+  // the pools are shared by all the engine contexts, the threads are created on demand and reclaimed when idle
+  private static volatile ExecutorService platformThreadPool;
+  private static volatile ExecutorService virtualThreadPool;
+
+  private final int maxParallelism;
+  private final boolean virtualThreadsEnabled;
 
   public HoodieLocalEngineContext(StorageConfiguration<?> conf) {
     this(conf, new LocalTaskContextSupplier());
@@ -69,6 +97,11 @@ public final class HoodieLocalEngineContext extends HoodieEngineContext {
 
   public HoodieLocalEngineContext(StorageConfiguration<?> conf, TaskContextSupplier taskContextSupplier) {
     super(conf, taskContextSupplier);
+    int configuredParallelism = (int) conf.getLong(HoodieCommonConfig.LOCAL_ENGINE_MAX_PARALLELISM.key(),
+        HoodieCommonConfig.LOCAL_ENGINE_MAX_PARALLELISM.defaultValue());
+    this.maxParallelism = configuredParallelism > 0 ? configuredParallelism : 2 * Runtime.getRuntime().availableProcessors();
+    this.virtualThreadsEnabled = conf.getBoolean(HoodieCommonConfig.LOCAL_ENGINE_VIRTUAL_THREADS_ENABLED.key(),
+        HoodieCommonConfig.LOCAL_ENGINE_VIRTUAL_THREADS_ENABLED.defaultValue());
   }
 
   @Override
@@ -93,13 +126,13 @@ public final class HoodieLocalEngineContext extends HoodieEngineContext {
 
   @Override
   public <I, O> List<O> map(List<I> data, SerializableFunction<I, O> func, int parallelism) {
-    return data.stream().parallel().map(throwingMapWrapper(func)).collect(toList());
+    return execute(data, throwingMapWrapper(func), parallelism);
   }
 
   @Override
   public <I, K, V> List<V> mapToPairAndReduceByKey(List<I> data, SerializablePairFunction<I, K, V> mapToPairFunc,
                                                    SerializableBiFunction<V, V, V> reduceFunc, int parallelism) {
-    return data.stream().parallel().map(throwingMapToPairWrapper(mapToPairFunc))
+    return execute(data, throwingMapToPairWrapper(mapToPairFunc), parallelism).stream()
         .collect(Collectors.groupingBy(p -> p.getKey())).values().stream()
         .map(list -> list.stream().map(e -> e.getValue()).reduce(throwingReduceWrapper(reduceFunc)).get())
         .collect(Collectors.toList());
@@ -128,21 +161,125 @@ public final class HoodieLocalEngineContext extends HoodieEngineContext {
 
   @Override
   public <I, O> List<O> flatMap(List<I> data, SerializableFunction<I, Stream<O>> func, int parallelism) {
-    return data.stream().parallel().flatMap(throwingFlatMapWrapper(func)).collect(toList());
+    Function<I, Stream<O>> flatMapFunc = throwingFlatMapWrapper(func);
+    return execute(data, e -> flatMapFunc.apply(e).collect(toList()), parallelism).stream()
+        .flatMap(List::stream).collect(toList());
   }
 
   @Override
   public <I> void foreach(List<I> data, SerializableConsumer<I> consumer, int parallelism) {
-    data.stream().forEach(throwingForeachWrapper(consumer));
+    Consumer<I> foreachFunc = throwingForeachWrapper(consumer);
+    execute(data, e -> {
+      foreachFunc.accept(e);
+      return null;
+    }, parallelism);
   }
 
   @Override
   public <I, K, V> Map<K, V> mapToPair(List<I> data, SerializablePairFunction<I, K, V> func, Integer parallelism) {
-    return data.stream().map(throwingMapToPairWrapper(func)).collect(
+    return execute(data, throwingMapToPairWrapper(func), parallelism == null ? 0 : parallelism).stream().collect(
         Collectors.toMap(Pair::getLeft, Pair::getRight, (oldVal, newVal) -> newVal)
     );
   }
 
+  /**
+   * Applies the function to all the elements of the list with at most {@code parallelism} tasks in flight,
+   * the results are in the order of the input elements.
+   *
+   * @param data        The input elements.
+   * @param func        The function to apply.
+   * @param parallelism The requested parallelism, non-positive means the maximum parallelism.
+   * @return The results of the function.
+   */
+  @SuppressWarnings("unchecked")
+  private <I, O> List<O> execute(List<I> data, Function<I, O> func, int parallelism) {
+    int numWorkers = Math.min(data.size(), parallelism > 0 ? Math.min(parallelism, maxParallelism) : maxParallelism);
+    if (numWorkers <= 1) {
+      return data.stream().map(func).collect(toList());
+    }
+    Object[] results = new Object[data.size()];
+    AtomicInteger nextIndex = new AtomicInteger();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Runnable worker = () -> {
+      int index;
+      while (failure.get() == null && (index = nextIndex.getAndIncrement()) < results.length) {
+        try {
+          results[index] = func.apply(data.get(index));
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        }
+      }
+    };
+    ExecutorService executor = getExecutor();
+    List<Future<?>> futures = new ArrayList<>(numWorkers - 1);
+    for (int i = 1; i < numWorkers; i++) {
+      futures.add(executor.submit(worker));
+    }
+    worker.run();
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(future -> future.cancel(true));
+      throw new HoodieException("Interrupted while waiting for the tasks of the local engine context", e);
+    } catch (ExecutionException e) {
+      failure.compareAndSet(null, e.getCause());
+    }
+    Throwable t = failure.get();
+    if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    } else if (t instanceof Error) {
+      throw (Error) t;
+    } else if (t != null) {
+      throw new HoodieException(t);
+    }
+    List<O> output = new ArrayList<>(results.length);
+    for (Object result : results) {
+      output.add((O) result);
+    }
+    return output;
+  }
+
+  private ExecutorService getExecutor() {
+    return virtualThreadsEnabled ? getVirtualThreadPool() : getPlatformThreadPool();
+  }
+
+  private static ExecutorService getPlatformThreadPool() {
+    if (platformThreadPool == null) {
+      synchronized (HoodieLocalEngineContext.class) {
+        if (platformThreadPool == null) {
+          // not bounded by itself, the number of the tasks in flight is bounded per operation,
+          // so that the nested operations do not wait for the threads held by the outer ones
+          platformThreadPool = Executors.newCachedThreadPool(new CustomizedThreadFactory("hoodie-local-engine", true));
+        }
+      }
+    }
+    return platformThreadPool;
+  }
+
+  /**
+   * Returns the executor that starts a virtual thread per task, or the platform thread pool if the JVM
+   * does not support the virtual threads, i.e., before JDK 21. The executor is looked up reflectively
+   * as the code is compiled for older JDKs.
+   */
+  private static ExecutorService getVirtualThreadPool() {
+    if (virtualThreadPool == null) {
+      synchronized (HoodieLocalEngineContext.class) {
+        if (virtualThreadPool == null) {
+          try {
+            virtualThreadPool = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+          } catch (ReflectiveOperationException e) {
+            LOG.warn("Virtual threads are not supported by the JVM, the local engine context runs the tasks on platform threads");
+            virtualThreadPool = getPlatformThreadPool();
+          }
+        }
+      }
+    }
+    return virtualThreadPool;
+  }
+
   @Override
   public void setProperty(EngineProperty key, String value) {
     // no operation for now
@@ -138,12 +138,14 @@ public abstract class BaseHoodieLogRecordReader<T> {
   protected boolean allowInflightInstants;
   // table version for compatibility
   private final HoodieTableVersion tableVersion;
+  // Reads ahead the contents of the queued log blocks, empty if the read-ahead is disabled
+  private final Option<HoodieLogBlockPrefetcher> logBlockPrefetcher;
 
   protected BaseHoodieLogRecordReader(HoodieReaderContext<T> readerContext, HoodieTableMetaClient hoodieTableMetaClient, HoodieStorage storage, List<String> logFilePaths,
                                       boolean reverseReader, int bufferSize, Option<InstantRange> instantRange,
                                       boolean withOperationField, boolean forceFullScan, Option<String> partitionNameOverride,
                                       Option<String> keyFieldOverride, boolean enableOptimizedLogBlocksScan, HoodieFileGroupRecordBuffer<T> recordBuffer,
-                                      boolean allowInflightInstants) {
+                                      boolean allowInflightInstants, int numPrefetchBlocks) {
     this.readerContext = readerContext;
     this.readerSchema = readerContext.getSchemaHandler() != null ? readerContext.getSchemaHandler().getRequiredSchema() : null;
     this.latestInstantTime = readerContext.getLatestCommitTime();
@@ -168,6 +170,7 @@ public abstract class BaseHoodieLogRecordReader<T> {
     this.forceFullScan = forceFullScan;
     this.internalSchema = readerContext.getSchemaHandler() != null ? readerContext.getSchemaHandler().getInternalSchema() : null;
     this.enableOptimizedLogBlocksScan = enableOptimizedLogBlocksScan;
+    this.logBlockPrefetcher = numPrefetchBlocks > 0 ? Option.of(new HoodieLogBlockPrefetcher(numPrefetchBlocks)) : Option.empty();
 
     if (keyFieldOverride.isPresent()) {
       // NOTE: This branch specifically is leveraged handling Metadata Table
@@ -728,6 +731,10 @@ public abstract class BaseHoodieLogRecordReader<T> {
       LOG.info("Number of remaining logblocks to merge {}", logBlocks.size());
       // poll the element at the bottom of the stack since that's the order it was inserted
       HoodieLogBlock lastBlock = logBlocks.pollLast();
+      if (logBlockPrefetcher.isPresent()) {
+        // read the following blocks ahead while the current block is merged
+        logBlockPrefetcher.get().prefetch(logBlocks);
+      }
       switch (lastBlock.getBlockType()) {
         case AVRO_DATA_BLOCK:
         case HFILE_DATA_BLOCK:
@@ -810,7 +817,7 @@ public abstract class BaseHoodieLogRecordReader<T> {
     ClosableIterator<T> blockRecordsIterator;
     if (keySpecOpt.isPresent()) {
       KeySpec keySpec = keySpecOpt.get();
-      blockRecordsIterator = dataBlock.getEngineRecordIterator(readerContext, keySpec.getKeys(), keySpec.isFullKey());
+      blockRecordsIterator = dataBlock.getEngineRecordIterator(readerContext, keySpec);
     } else {
       blockRecordsIterator = dataBlock.getEngineRecordIterator(readerContext);
     }
@@ -847,6 +854,10 @@ public abstract class BaseHoodieLogRecordReader<T> {
       throw new UnsupportedOperationException();
     }
 
+    public Builder withNumPrefetchBlocks(int numPrefetchBlocks) {
+      throw new UnsupportedOperationException();
+    }
+
     public abstract BaseHoodieLogRecordReader build();
   }
 }
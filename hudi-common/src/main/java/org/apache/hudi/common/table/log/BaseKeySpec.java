@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.common.table.log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Base implementation of {@link KeySpec} that derives the set and the sorted list of the keys once,
+ * so that they are shared by all the log blocks scanned with the same spec.
+ */
+abstract class BaseKeySpec implements KeySpec {
+  private final List<String> keys;
+  private Set<String> keySet;
+  private List<String> sortedKeys;
+
+  BaseKeySpec(List<String> keys) {
+    this.keys = keys;
+  }
+
+  @Override
+  public List<String> getKeys() {
+    return keys;
+  }
+
+  @Override
+  public Set<String> getKeySet() {
+    if (keySet == null) {
+      keySet = new HashSet<>(keys);
+    }
+    return keySet;
+  }
+
+  @Override
+  public List<String> getSortedKeys() {
+    if (sortedKeys == null) {
+      sortedKeys = isSorted(keys) ? keys : sort(keys);
+    }
+    return sortedKeys;
+  }
+
+  private static boolean isSorted(List<String> keys) {
+    for (int i = 1; i < keys.size(); i++) {
+      if (keys.get(i - 1).compareTo(keys.get(i)) > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<String> sort(List<String> keys) {
+    List<String> sorted = new ArrayList<>(keys);
+    Collections.sort(sorted);
+    return sorted;
+  }
+}
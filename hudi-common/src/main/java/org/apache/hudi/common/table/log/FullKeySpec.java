@@ -26,16 +26,10 @@ import java.util.List;
  * That is, the comparison between a record key and an element
  * of the set is {@link String#equals}.
  */
-public class FullKeySpec implements KeySpec {
-  private final List<String> keys;
+public class FullKeySpec extends BaseKeySpec {
 
   public FullKeySpec(List<String> keys) {
-    this.keys = keys;
-  }
-
-  @Override
-  public List<String> getKeys() {
-    return keys;
+    super(keys);
   }
 
   @Override
@@ -34,7 +34,7 @@ public class HoodieLogBlockMetadataScanner extends BaseHoodieLogRecordReader<Ind
 
   public HoodieLogBlockMetadataScanner(HoodieTableMetaClient metaClient, List<String> logFilePaths, int bufferSize, String maxInstantTime, Option<InstantRange> instantRange) {
     super(getReaderContext(metaClient, maxInstantTime), metaClient, metaClient.getStorage(), logFilePaths, false, bufferSize, instantRange, false, false, Option.empty(), Option.empty(), true,
-        null, false);
+        null, false, 0);
     scanInternal(Option.empty(), true);
   }
 
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.log;
+
+import org.apache.hudi.common.table.log.block.HoodieLogBlock;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.apache.hudi.common.util.ValidationUtils.checkArgument;
+
+/**
+ * Reads ahead the contents of the queued log blocks while the current block is merged, so that the
+ * reads of the lazily read blocks, one round-trip to the storage each, overlap with the merging.
+ *
+ * <p>The contents of up to {@code numPrefetchBlocks} blocks following the current block are read on an I/O pool
+ * shared by all the log record readers in the JVM, the blocks then take the prefetched contents when
+ * they are inflated. As only the blocks about to be merged are prefetched, at most {@code numPrefetchBlocks}
+ * block contents are held in memory ahead of the merging.
+ */
+public class HoodieLogBlockPrefetcher {
+
+  private static final int NUM_IO_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+  private static volatile ExecutorService ioPool;
+
+  private final int numPrefetchBlocks;
+
+  public HoodieLogBlockPrefetcher(int numPrefetchBlocks) {
+    checkArgument(numPrefetchBlocks > 0, "The number of the prefetched log blocks should be positive");
+    this.numPrefetchBlocks = numPrefetchBlocks;
+  }
+
+  /**
+   * Prefetches the contents of the next blocks to merge, the blocks are merged from the bottom of the given queue.
+   *
+   * @param logBlocks The queued log blocks.
+   */
+  public void prefetch(Deque<HoodieLogBlock> logBlocks) {
+    Iterator<HoodieLogBlock> iterator = logBlocks.descendingIterator();
+    for (int i = 0; i < numPrefetchBlocks && iterator.hasNext(); i++) {
+      HoodieLogBlock logBlock = iterator.next();
+      if (logBlock.isDataOrDeleteBlock() && logBlock.isContentPrefetchable()) {
+        logBlock.prefetchContent(getIOPool());
+      }
+    }
+  }
+
+  private static ExecutorService getIOPool() {
+    if (ioPool == null) {
+      synchronized (HoodieLogBlockPrefetcher.class) {
+        if (ioPool == null) {
+          ioPool = Executors.newFixedThreadPool(NUM_IO_THREADS, new CustomizedThreadFactory("log-block-prefetch", true));
+        }
+      }
+    }
+    return ioPool;
+  }
+}
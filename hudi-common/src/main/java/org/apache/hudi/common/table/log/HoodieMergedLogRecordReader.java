@@ -66,9 +66,9 @@ public class HoodieMergedLogRecordReader<T> extends BaseHoodieLogRecordReader<T>
   private HoodieMergedLogRecordReader(HoodieReaderContext<T> readerContext, HoodieTableMetaClient metaClient, HoodieStorage storage, List<String> logFilePaths, boolean reverseReader,
                                       int bufferSize, Option<InstantRange> instantRange, boolean withOperationField, boolean forceFullScan,
                                       Option<String> partitionName, Option<String> keyFieldOverride, boolean enableOptimizedLogBlocksScan,
-                                      HoodieFileGroupRecordBuffer<T> recordBuffer, boolean allowInflightInstants) {
+                                      HoodieFileGroupRecordBuffer<T> recordBuffer, boolean allowInflightInstants, int numPrefetchBlocks) {
     super(readerContext, metaClient, storage, logFilePaths, reverseReader, bufferSize, instantRange, withOperationField,
-        forceFullScan, partitionName, keyFieldOverride, enableOptimizedLogBlocksScan, recordBuffer, allowInflightInstants);
+        forceFullScan, partitionName, keyFieldOverride, enableOptimizedLogBlocksScan, recordBuffer, allowInflightInstants, numPrefetchBlocks);
 
     if (forceFullScan) {
       performScan();
@@ -173,6 +173,8 @@ public class HoodieMergedLogRecordReader<T> extends BaseHoodieLogRecordReader<T>
     // By default, we're doing a full-scan
     private boolean forceFullScan = true;
     private boolean enableOptimizedLogBlocksScan = false;
+    // the read-ahead of the log block contents is disabled by default
+    private int numPrefetchBlocks = 0;
 
     private HoodieFileGroupRecordBuffer<T> recordBuffer;
     private boolean allowInflightInstants = false;
@@ -234,6 +236,12 @@ public class HoodieMergedLogRecordReader<T> extends BaseHoodieLogRecordReader<T>
       return this;
     }
 
+    @Override
+    public Builder<T> withNumPrefetchBlocks(int numPrefetchBlocks) {
+      this.numPrefetchBlocks = numPrefetchBlocks;
+      return this;
+    }
+
     public Builder<T> withKeyFieldOverride(String keyFieldOverride) {
       this.keyFieldOverride = Objects.requireNonNull(keyFieldOverride);
       return this;
@@ -275,7 +283,7 @@ public class HoodieMergedLogRecordReader<T> extends BaseHoodieLogRecordReader<T>
           Option.ofNullable(partitionName),
           Option.ofNullable(keyFieldOverride),
           enableOptimizedLogBlocksScan, recordBuffer,
-          allowInflightInstants);
+          allowInflightInstants, numPrefetchBlocks);
     }
   }
 }
@@ -20,6 +20,7 @@
 package org.apache.hudi.common.table.log;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * An interface to specify a set of keys that used to filter records
@@ -29,6 +30,16 @@ import java.util.List;
 public interface KeySpec {
   List<String> getKeys();
 
+  /**
+   * Returns the keys as a set for filtering the records by hash lookups.
+   */
+  Set<String> getKeySet();
+
+  /**
+   * Returns the keys in lexicographical order for the point lookups that only seek forward.
+   */
+  List<String> getSortedKeys();
+
   boolean isFullKey();
 
   static KeySpec fullKeySpec(List<String> keys) {
@@ -26,16 +26,10 @@ import java.util.List;
  * That is, the comparison between a record key and an element
  * of the set is {@link String#startsWith(String)}.
  */
-public class PrefixKeySpec implements KeySpec {
-  private final List<String> keysPrefixes;
+public class PrefixKeySpec extends BaseKeySpec {
 
   public PrefixKeySpec(List<String> keysPrefixes) {
-    this.keysPrefixes = keysPrefixes;
-  }
-
-  @Override
-  public List<String> getKeys() {
-    return keysPrefixes;
+    super(keysPrefixes);
   }
 
   @Override
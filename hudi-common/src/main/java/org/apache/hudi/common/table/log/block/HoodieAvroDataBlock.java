@@ -33,6 +33,9 @@ import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.internal.schema.InternalSchema;
 import org.apache.hudi.io.SeekableDataInputStream;
+import org.apache.hudi.io.compress.CompressionCodec;
+import org.apache.hudi.io.compress.HoodieCompressor;
+import org.apache.hudi.io.compress.HoodieCompressorFactory;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StorageConfiguration;
 
@@ -75,9 +78,16 @@ import static org.apache.hudi.common.util.ValidationUtils.checkState;
 
 /**
  * HoodieAvroDataBlock contains a list of records serialized using Avro. It is used with the Parquet base file format.
+ *
+ * <p>When a compression codec is configured, the serialized records are compressed in chunks of about the configured
+ * size, see {@link HoodieAvroDataBlockVersion#COMPRESSED_CHUNKS_VERSION}, so that the readers only hold one
+ * decompressed chunk in memory at a time.
  */
 public class HoodieAvroDataBlock extends HoodieDataBlock {
 
+  private final CompressionCodec compressionCodec;
+  private final int compressionChunkSize;
+
   public HoodieAvroDataBlock(Supplier<SeekableDataInputStream> inputStreamSupplier,
                              Option<byte[]> content,
                              boolean readBlockLazily,
@@ -87,12 +97,26 @@ public class HoodieAvroDataBlock extends HoodieDataBlock {
                              Map<FooterMetadataType, String> footer,
                              String keyField) {
     super(content, inputStreamSupplier, readBlockLazily, Option.of(logBlockContentLocation), readerSchema, header, footer, keyField, false);
+    this.compressionCodec = CompressionCodec.NONE;
+    this.compressionChunkSize = 0;
   }
 
   public HoodieAvroDataBlock(@Nonnull List<HoodieRecord> records,
                              @Nonnull Map<HeaderMetadataType, String> header,
                              @Nonnull String keyField) {
+    this(records, header, keyField, CompressionCodec.NONE, 0);
+  }
+
+  public HoodieAvroDataBlock(@Nonnull List<HoodieRecord> records,
+                             @Nonnull Map<HeaderMetadataType, String> header,
+                             @Nonnull String keyField,
+                             @Nonnull CompressionCodec compressionCodec,
+                             int compressionChunkSize) {
     super(records, header, new HashMap<>(), keyField);
+    checkArgument(compressionCodec == CompressionCodec.NONE || compressionChunkSize > 0,
+        "The compression chunk size should be positive");
+    this.compressionCodec = compressionCodec;
+    this.compressionChunkSize = compressionChunkSize;
   }
 
   @Override
@@ -102,6 +126,9 @@ public class HoodieAvroDataBlock extends HoodieDataBlock {
 
   @Override
   protected ByteArrayOutputStream serializeRecords(List<HoodieRecord> records, HoodieStorage storage) throws IOException {
+    if (compressionCodec != CompressionCodec.NONE) {
+      return serializeCompressedRecords(records, storage);
+    }
     Schema schema = AvroSchemaCache.intern(new Schema.Parser().parse(super.getLogBlockHeader().get(HeaderMetadataType.SCHEMA)));
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
     try (DataOutputStream output = new DataOutputStream(baos)) {
@@ -130,13 +157,57 @@ public class HoodieAvroDataBlock extends HoodieDataBlock {
     return baos;
   }
 
+  /**
+   * Serializes the records in the same layout as the uncompressed block, but the records are grouped in chunks
+   * of about {@code compressionChunkSize} bytes and each chunk is compressed independently:
+   * <pre>
+   *   version | total number of records | codec id | (uncompressed size | compressed size | compressed chunk)*
+   * </pre>
+   */
+  private ByteArrayOutputStream serializeCompressedRecords(List<HoodieRecord> records, HoodieStorage storage) throws IOException {
+    Schema schema = AvroSchemaCache.intern(new Schema.Parser().parse(super.getLogBlockHeader().get(HeaderMetadataType.SCHEMA)));
+    HoodieCompressor compressor = HoodieCompressorFactory.getCompressor(compressionCodec);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(baos)) {
+      output.writeInt(HoodieAvroDataBlockVersion.COMPRESSED_CHUNKS_VERSION);
+      output.writeInt(records.size());
+      output.writeInt(compressionCodec.getId());
+
+      Properties props = initProperties(storage.getConf());
+      ByteArrayOutputStream chunk = new ByteArrayOutputStream(compressionChunkSize);
+      DataOutputStream chunkOutput = new DataOutputStream(chunk);
+      for (HoodieRecord<?> s : records) {
+        ByteArrayOutputStream data = s.getAvroBytes(schema, props);
+        chunkOutput.writeInt(data.size());
+        data.writeTo(chunkOutput);
+        if (chunk.size() >= compressionChunkSize) {
+          writeCompressedChunk(output, compressor, chunk);
+        }
+      }
+      if (chunk.size() > 0) {
+        writeCompressedChunk(output, compressor, chunk);
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException("IOException converting HoodieAvroDataBlock to bytes", e);
+    }
+    return baos;
+  }
+
+  private static void writeCompressedChunk(DataOutputStream output, HoodieCompressor compressor, ByteArrayOutputStream chunk) throws IOException {
+    byte[] compressed = compressor.compress(chunk.toByteArray());
+    output.writeInt(chunk.size());
+    output.writeInt(compressed.length);
+    output.write(compressed);
+    chunk.reset();
+  }
+
   // TODO (na) - Break down content into smaller chunks of byte [] to be GC as they are used
   @Override
   protected <T> ClosableIterator<HoodieRecord<T>> deserializeRecords(byte[] content, HoodieRecordType type) throws IOException {
     checkState(this.readerSchema != null, "Reader's schema has to be non-null");
     checkArgument(type != HoodieRecordType.SPARK, "Not support read avro to spark record");
     // TODO AvroSparkReader need
-    RecordIterator iterator = RecordIterator.getInstance(this, content);
+    ClosableIterator<IndexedRecord> iterator = getRecordIterator(content);
     return new CloseableMappingIterator<>(iterator, data -> (HoodieRecord<T>) new HoodieAvroIndexedRecord(data));
   }
 
@@ -156,17 +227,32 @@ public class HoodieAvroDataBlock extends HoodieDataBlock {
           HoodieRecordType type,
           int bufferSize
   ) throws IOException {
-    StreamingRecordIterator iterator = StreamingRecordIterator.getInstance(this, inputStream, contentLocation, bufferSize);
+    // Peek the version to tell the compressed chunks apart
+    inputStream.seek(contentLocation.getContentPositionInLogFile());
+    int version = inputStream.readInt();
+    inputStream.seek(contentLocation.getContentPositionInLogFile());
+    ClosableIterator<IndexedRecord> iterator = new HoodieAvroDataBlockVersion(version).hasCompressedChunks()
+        // the compressed chunks are decompressed as a whole, so the buffer size does not apply
+        ? new CompressedChunksRecordIterator(readerSchema, getSchemaFromHeader(), inputStream)
+        : StreamingRecordIterator.getInstance(this, inputStream, contentLocation, bufferSize);
     return new CloseableMappingIterator<>(iterator, data -> (HoodieRecord<T>) new HoodieAvroIndexedRecord(data));
   }
 
   @Override
   protected <T> ClosableIterator<T> deserializeRecords(HoodieReaderContext<T> readerContext, byte[] content) throws IOException {
     checkState(this.readerSchema != null, "Reader's schema has to be non-null");
-    RecordIterator iterator = RecordIterator.getInstance(this, content);
+    ClosableIterator<IndexedRecord> iterator = getRecordIterator(content);
     return new CloseableMappingIterator<>(iterator, data -> readerContext.getRecordContext().convertAvroRecord(data));
   }
 
+  private ClosableIterator<IndexedRecord> getRecordIterator(byte[] content) throws IOException {
+    if (content.length >= Integer.BYTES && new HoodieAvroDataBlockVersion(ByteBuffer.wrap(content).getInt(0)).hasCompressedChunks()) {
+      return new CompressedChunksRecordIterator(readerSchema, getSchemaFromHeader(),
+          new DataInputStream(new ByteArrayInputStream(content)));
+    }
+    return RecordIterator.getInstance(this, content);
+  }
+
   private static class RecordIterator implements ClosableIterator<IndexedRecord> {
     private byte[] content;
     private final SizeAwareDataInputStream dis;
@@ -235,6 +321,96 @@ public class HoodieAvroDataBlock extends HoodieDataBlock {
     }
   }
 
+  /**
+   * Iterates over the records of a block whose records are compressed in chunks. The chunks are read from the
+   * input one at a time and decompressed into a reused buffer, so that only one decompressed chunk is held in memory.
+   */
+  private static class CompressedChunksRecordIterator implements ClosableIterator<IndexedRecord> {
+    private final DataInputStream input;
+    private final HoodieCompressor compressor;
+    private final GenericDatumReader<IndexedRecord> reader;
+    private final ThreadLocal<BinaryDecoder> decoderCache = new ThreadLocal<>();
+    private Option<Schema> promotedSchema = Option.empty();
+    private final int totalRecords;
+    private int readRecords = 0;
+    private byte[] compressedChunk = new byte[0];
+    private byte[] chunk = new byte[0];
+    private int chunkPosition = 0;
+    private int chunkLimit = 0;
+
+    private CompressedChunksRecordIterator(Schema readerSchema, Schema writerSchema, DataInputStream input) throws IOException {
+      this.input = input;
+      // the version has been checked by the caller
+      input.readInt();
+      this.totalRecords = input.readInt();
+      this.compressor = HoodieCompressorFactory.getCompressor(CompressionCodec.decodeCompressionCodec(input.readInt()));
+
+      if (recordNeedsRewriteForExtendedAvroTypePromotion(writerSchema, readerSchema)) {
+        this.reader = new GenericDatumReader<>(writerSchema, writerSchema);
+        this.promotedSchema = Option.of(readerSchema);
+      } else {
+        this.reader = new GenericDatumReader<>(writerSchema, readerSchema);
+      }
+    }
+
+    @Override
+    public void close() {
+      this.decoderCache.remove();
+      this.chunk = null;
+      this.compressedChunk = null;
+      try {
+        this.input.close();
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to close input stream", e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return readRecords < totalRecords;
+    }
+
+    @Override
+    public IndexedRecord next() {
+      try {
+        if (chunkPosition >= chunkLimit) {
+          readNextChunk();
+        }
+        int recordLength = ByteBuffer.wrap(chunk, chunkPosition, Integer.BYTES).getInt();
+        chunkPosition += Integer.BYTES;
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(chunk, chunkPosition, recordLength, this.decoderCache.get());
+        this.decoderCache.set(decoder);
+        IndexedRecord record = this.reader.read(null, decoder);
+        chunkPosition += recordLength;
+        this.readRecords++;
+        if (this.promotedSchema.isPresent()) {
+          return HoodieAvroUtils.rewriteRecordWithNewSchema(record, this.promotedSchema.get());
+        }
+        return record;
+      } catch (IOException e) {
+        throw new HoodieIOException("Unable to convert bytes to record", e);
+      }
+    }
+
+    private void readNextChunk() throws IOException {
+      int uncompressedSize = input.readInt();
+      int compressedSize = input.readInt();
+      if (compressedChunk.length < compressedSize) {
+        compressedChunk = new byte[compressedSize];
+      }
+      input.readFully(compressedChunk, 0, compressedSize);
+      if (chunk.length < uncompressedSize) {
+        chunk = new byte[uncompressedSize];
+      }
+      int decompressedSize = compressor.decompress(new ByteArrayInputStream(compressedChunk, 0, compressedSize), chunk, 0, uncompressedSize);
+      if (decompressedSize != uncompressedSize) {
+        throw new HoodieIOException(String.format("Corrupted compressed chunk, expected %d bytes but decompressed %d bytes", uncompressedSize, decompressedSize));
+      }
+      chunkPosition = 0;
+      chunkLimit = uncompressedSize;
+    }
+  }
+
   /**
    * {@code StreamingRecordIterator} is an iterator for reading records from a Hoodie log block in streaming manner.
    * It decodes the given input stream into Avro records with optional schema promotion.
@@ -405,7 +581,7 @@ public class HoodieAvroDataBlock extends HoodieDataBlock {
    */
   @Deprecated
   public HoodieAvroDataBlock(List<HoodieRecord> records, Schema schema) {
-    super(records, Collections.singletonMap(HeaderMetadataType.SCHEMA, schema.toString()), new HashMap<>(), HoodieRecord.RECORD_KEY_METADATA_FIELD);
+    this(records, Collections.singletonMap(HeaderMetadataType.SCHEMA, schema.toString()), HoodieRecord.RECORD_KEY_METADATA_FIELD);
   }
 
   public static HoodieAvroDataBlock getBlock(byte[] content, Schema readerSchema) throws IOException {
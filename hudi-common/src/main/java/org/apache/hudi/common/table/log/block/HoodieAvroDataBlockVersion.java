@@ -24,6 +24,9 @@ package org.apache.hudi.common.table.log.block;
  */
 final class HoodieAvroDataBlockVersion extends HoodieLogBlockVersion {
 
+  // The records are compressed in chunks, each chunk can be decompressed independently
+  public static final int COMPRESSED_CHUNKS_VERSION = 4;
+
   HoodieAvroDataBlockVersion(int version) {
     super(version);
   }
@@ -36,4 +39,8 @@ final class HoodieAvroDataBlockVersion extends HoodieLogBlockVersion {
         return true;
     }
   }
+
+  public boolean hasCompressedChunks() {
+    return super.getVersion() >= COMPRESSED_CHUNKS_VERSION;
+  }
 }
@@ -22,6 +22,7 @@ import org.apache.hudi.avro.AvroSchemaCache;
 import org.apache.hudi.common.engine.HoodieReaderContext;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieRecord.HoodieRecordType;
+import org.apache.hudi.common.table.log.KeySpec;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.collection.ClosableIterator;
 import org.apache.hudi.exception.HoodieIOException;
@@ -261,7 +262,28 @@ public abstract class HoodieDataBlock extends HoodieLogBlock {
    * @return An iterator containing the records of interest in specified type.
    */
   public final <T> ClosableIterator<T> getEngineRecordIterator(HoodieReaderContext<T> readerContext, List<String> keys, boolean fullKey) {
-    boolean fullScan = keys.isEmpty();
+    return getEngineRecordIterator(readerContext, fullKey ? KeySpec.fullKeySpec(keys) : KeySpec.prefixKeySpec(keys));
+  }
+
+  /**
+   * Batch get of keys of interest. If point lookups are enabled, the records are looked up by seeking forward
+   * through the sorted keys; otherwise, all the records are read and filtered by the key set of the {@link KeySpec},
+   * which is shared across the data blocks.
+   *
+   * @param readerContext {@link HoodieReaderContext} instance with type T.
+   * @param keySpec       Keys of interest.
+   * @param <T>           The type of engine-specific record representation to return.
+   * @return An iterator containing the records of interest in specified type.
+   */
+  public final <T> ClosableIterator<T> getEngineRecordIterator(HoodieReaderContext<T> readerContext, KeySpec keySpec) {
+    boolean fullScan = keySpec.getKeys().isEmpty();
+    if (enablePointLookups && !fullScan) {
+      try {
+        return lookupEngineRecords(readerContext, keySpec.getSortedKeys(), keySpec.isFullKey());
+      } catch (IOException io) {
+        throw new HoodieIOException("Unable to look up records in the block", io);
+      }
+    }
 
     // Otherwise, we fetch all the records and filter out all the records, but the
     // ones requested
@@ -270,11 +292,16 @@ public abstract class HoodieDataBlock extends HoodieLogBlock {
       return allRecords;
     }
 
-    HashSet<String> keySet = new HashSet<>(keys);
-    return FilteringEngineRecordIterator.getInstance(allRecords, keySet, fullKey, record ->
+    return FilteringEngineRecordIterator.getInstance(allRecords, keySpec.getKeySet(), keySpec.isFullKey(), record ->
         Option.of(readerContext.getRecordContext().getRecordKey(record, readerSchema)));
   }
 
+  @Override
+  public boolean isContentPrefetchable() {
+    // the point lookups read the content through the inline file system
+    return super.isContentPrefetchable() && !enablePointLookups;
+  }
+
   protected <T> ClosableIterator<HoodieRecord<T>> readRecordsFromBlockPayload(HoodieRecordType type) throws IOException {
     if (readBlockLazily && !getContent().isPresent()) {
       // read log block contents from disk
@@ -329,6 +356,19 @@ public abstract class HoodieDataBlock extends HoodieLogBlock {
     );
   }
 
+  /**
+   * Looks up the records of the given keys in the type of engine-specific record representation.
+   *
+   * @param readerContext {@link HoodieReaderContext} instance with type T.
+   * @param sortedKeys    Keys of interest in lexicographical order.
+   * @param fullKey       Whether the key is full or not.
+   */
+  protected <T> ClosableIterator<T> lookupEngineRecords(HoodieReaderContext<T> readerContext, List<String> sortedKeys, boolean fullKey) throws IOException {
+    throw new UnsupportedOperationException(
+        String.format("Point lookups are not supported by this Data block type (%s)", getBlockType())
+    );
+  }
+
   protected abstract ByteArrayOutputStream serializeRecords(List<HoodieRecord> records, HoodieStorage storage) throws IOException;
 
   protected abstract <T> ClosableIterator<HoodieRecord<T>> deserializeRecords(byte[] content, HoodieRecordType type) throws IOException;
@@ -177,4 +177,28 @@ public class HoodieHFileDataBlock extends HoodieDataBlock {
       return new CloseableMappingIterator<>(recordIterator, data -> (HoodieRecord<T>) data);
     }
   }
+
+  @Override
+  protected <T> ClosableIterator<T> lookupEngineRecords(HoodieReaderContext<T> readerContext, List<String> sortedKeys, boolean fullKey) throws IOException {
+    HoodieLogBlockContentLocation blockContentLoc = getBlockContentLocation().get();
+
+    // NOTE: The records are looked up through the inline file, so that only the HFile blocks
+    //       containing the keys are read instead of the whole content of the log block
+    StorageConfiguration<?> inlineConf = blockContentLoc.getStorage().getConf().getInline();
+    StoragePath inlinePath = InLineFSUtils.getInlineFilePath(
+        blockContentLoc.getLogFile().getPath(),
+        blockContentLoc.getLogFile().getPath().toUri().getScheme(),
+        blockContentLoc.getContentPositionInLogFile(),
+        blockContentLoc.getBlockSize());
+    HoodieStorage inlineStorage = blockContentLoc.getStorage().newInstance(inlinePath, inlineConf);
+
+    try (HoodieAvroHFileReaderImplBase reader = (HoodieAvroHFileReaderImplBase)
+        HoodieIOFactory.getIOFactory(inlineStorage).getReaderFactory(HoodieRecordType.AVRO).getFileReader(
+            readerContext.getHoodieReaderConfig(), inlinePath, HoodieFileFormat.HFILE, Option.of(getSchemaFromHeader()))) {
+      // The keys are sorted, so the HFile reader only seeks forward
+      return unsafeCast(fullKey
+          ? reader.getIndexedRecordsByKeysIterator(sortedKeys, readerSchema)
+          : reader.getIndexedRecordsByKeyPrefixIterator(sortedKeys, readerSchema));
+    }
+  }
 }
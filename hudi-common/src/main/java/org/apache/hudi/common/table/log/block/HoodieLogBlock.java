@@ -44,6 +44,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -75,6 +79,8 @@ public abstract class HoodieLogBlock {
   private final Supplier<SeekableDataInputStream> inputStreamSupplier;
   // Toggle flag, whether to read blocks lazily (I/O intensive) or not (Memory intensive)
   protected boolean readBlockLazily;
+  // the content being read ahead in the background, consumed by the following inflate
+  private Future<byte[]> prefetchedContent;
 
   public HoodieLogBlock(
       @Nonnull Map<HeaderMetadataType, String> logBlockHeader,
@@ -395,6 +401,24 @@ public abstract class HoodieLogBlock {
     }
   }
 
+  /**
+   * Returns whether the content of the block can be read ahead before it is inflated, that is, the block is read lazily,
+   * its content has not been read yet and the content is consumed through {@link #inflate()}.
+   */
+  public boolean isContentPrefetchable() {
+    return readBlockLazily && !content.isPresent() && prefetchedContent == null
+        && inputStreamSupplier != null && blockContentLocation.isPresent();
+  }
+
+  /**
+   * Reads the content of the block ahead on the given executor, the following {@link #inflate()} takes
+   * the prefetched content instead of reading it from the storage.
+   */
+  public void prefetchContent(ExecutorService executor) {
+    checkState(isContentPrefetchable(), "Block content can not be prefetched");
+    prefetchedContent = executor.submit(this::readContent);
+  }
+
   /**
    * When lazyReading of blocks is turned on, inflate the content of a log block from disk.
    */
@@ -402,11 +426,11 @@ public abstract class HoodieLogBlock {
     checkState(!content.isPresent(), "Block has already been inflated");
     checkState(inputStreamSupplier != null, "Block should have input-stream provided");
 
-    try (SeekableDataInputStream inputStream = inputStreamSupplier.get()) {
-      content = Option.of(new byte[(int) this.getBlockContentLocation().get().getBlockSize()]);
-      inputStream.seek(this.getBlockContentLocation().get().getContentPositionInLogFile());
-      inputStream.readFully(content.get(), 0, content.get().length);
-      inputStream.seek(this.getBlockContentLocation().get().getBlockEndPos());
+    if (prefetchedContent != null && inflatePrefetchedContent()) {
+      return;
+    }
+    try {
+      content = Option.of(readContent());
     } catch (InterruptedIOException e) {
       // Stop retry inflate if encounters InterruptedIOException
       Thread.currentThread().interrupt();
@@ -419,6 +443,37 @@ public abstract class HoodieLogBlock {
     }
   }
 
+  /**
+   * Takes the prefetched content, returns false if the prefetch failed, then the content is read again.
+   */
+  private boolean inflatePrefetchedContent() {
+    Future<byte[]> prefetched = prefetchedContent;
+    prefetchedContent = null;
+    try {
+      content = Option.of(prefetched.get());
+      return true;
+    } catch (InterruptedException e) {
+      prefetched.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new HoodieIOException("Thread is interrupted while inflating.", new InterruptedIOException(e.getMessage()));
+    } catch (ExecutionException | CancellationException e) {
+      HoodieLogBlockContentLocation location = blockContentLocation.get();
+      LOG.warn("Failed to prefetch the content of the log block at {} of {}, reading it again",
+          location.getContentPositionInLogFile(), location.getLogFile(), e);
+      return false;
+    }
+  }
+
+  private byte[] readContent() throws IOException {
+    HoodieLogBlockContentLocation location = blockContentLocation.get();
+    try (SeekableDataInputStream inputStream = inputStreamSupplier.get()) {
+      byte[] bytes = new byte[(int) location.getBlockSize()];
+      inputStream.seek(location.getContentPositionInLogFile());
+      inputStream.readFully(bytes, 0, bytes.length);
+      return bytes;
+    }
+  }
+
   /**
    * After the content bytes is converted into the required DataStructure by a logBlock, deflate the content to release
    * byte [] and relieve memory pressure when GC kicks in. NOTE: This still leaves the heap fragmented
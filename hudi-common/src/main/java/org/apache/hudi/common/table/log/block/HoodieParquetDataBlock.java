@@ -101,6 +101,12 @@ public class HoodieParquetDataBlock extends HoodieDataBlock {
         .serializeRecordsToLogBlock(storage, records, writerSchema, getSchema(), getKeyFieldName(), paramsMap);
   }
 
+  @Override
+  public boolean isContentPrefetchable() {
+    // the content is read through the inline file system instead of being inflated
+    return false;
+  }
+
   /**
    * NOTE: We're overriding the whole reading sequence to make sure we properly respect
    *       the requested Reader's schema and only fetch the columns that have been explicitly
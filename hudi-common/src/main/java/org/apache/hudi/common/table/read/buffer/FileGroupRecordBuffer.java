@@ -195,7 +195,7 @@ abstract class FileGroupRecordBuffer<T> implements HoodieFileGroupRecordBuffer<T
     ClosableIterator<T> blockRecordsIterator;
     if (keySpecOpt.isPresent()) {
       KeySpec keySpec = keySpecOpt.get();
-      blockRecordsIterator = dataBlock.getEngineRecordIterator(readerContext, keySpec.getKeys(), keySpec.isFullKey());
+      blockRecordsIterator = dataBlock.getEngineRecordIterator(readerContext, keySpec);
     } else {
       blockRecordsIterator = dataBlock.getEngineRecordIterator(readerContext);
     }
@@ -19,6 +19,7 @@
 package org.apache.hudi.common.table.read.buffer;
 
 import org.apache.hudi.common.config.HoodieMemoryConfig;
+import org.apache.hudi.common.config.HoodieReaderConfig;
 import org.apache.hudi.common.config.TypedProperties;
 import org.apache.hudi.common.engine.HoodieReaderContext;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
@@ -50,6 +51,7 @@ abstract class LogScanningRecordBufferLoader {
         .withAllowInflightInstants(readerParameters.allowInflightInstants())
         .withMetaClient(hoodieTableMetaClient)
         .withOptimizedLogBlocksScan(readerParameters.enableOptimizedLogBlockScan())
+        .withNumPrefetchBlocks(getIntWithAltKeys(props, HoodieReaderConfig.LOG_BLOCK_PREFETCH_NUM_BLOCKS))
         .build()) {
       readStats.setTotalLogReadTimeMs(logRecordReader.getTotalTimeTakenToReadAndMergeBlocks());
       readStats.setTotalUpdatedRecordsCompacted(logRecordReader.getNumMergedRecordsInLog());
@@ -49,7 +49,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -102,11 +102,11 @@ public class PositionBasedFileGroupRecordBuffer<T> extends KeyBasedFileGroupReco
       return;
     }
     // Prepare key filters.
-    Set<String> keys = new HashSet<>();
+    Set<String> keys = Collections.emptySet();
     boolean isFullKey = true;
     if (keySpecOpt.isPresent()) {
       if (!keySpecOpt.get().getKeys().isEmpty()) {
-        keys = new HashSet<>(keySpecOpt.get().getKeys());
+        keys = keySpecOpt.get().getKeySet();
       }
       isFullKey = keySpecOpt.get().isFullKey();
     }
@@ -35,6 +35,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -668,6 +669,8 @@ public abstract class BaseHoodieTimeline implements HoodieTimeline {
   private static class MergedReader implements HoodieInstantReader, Serializable {
     private final HoodieTimeline timeline1;
     private final HoodieTimeline timeline2;
+    // the instants of the first timeline, indexed lazily to locate the timeline of an instant in constant time
+    private transient volatile Set<HoodieInstant> instants1;
 
     public MergedReader(HoodieTimeline timeline1, HoodieTimeline timeline2) {
       this.timeline1 = timeline1;
@@ -676,11 +679,27 @@ public abstract class BaseHoodieTimeline implements HoodieTimeline {
 
     @Override
     public InputStream getContentStream(HoodieInstant instant) {
-      if (timeline1.getInstantsAsStream().anyMatch(i -> i.equals(instant))) {
+      if (isInTimeline1(instant)) {
         return timeline1.getInstantContentStream(instant);
       } else {
         return timeline2.getInstantContentStream(instant);
       }
     }
+
+    @Override
+    public Option<String> getContentCacheKey(HoodieInstant instant) {
+      if (isInTimeline1(instant)) {
+        return timeline1.getInstantReader().getContentCacheKey(instant);
+      } else {
+        return timeline2.getInstantReader().getContentCacheKey(instant);
+      }
+    }
+
+    private boolean isInTimeline1(HoodieInstant instant) {
+      if (instants1 == null) {
+        instants1 = new HashSet<>(timeline1.getInstants());
+      }
+      return instants1.contains(instant);
+    }
   }
 }
@@ -52,4 +52,15 @@ public interface HoodieInstantReader {
       throw new HoodieIOException("Could not read commit details from stream", ex);
     }
   }
+
+  /**
+   * Returns the key of the provided instant's content in the {@link InstantContentCache},
+   * the content is only cached if the instant file is immutable.
+   *
+   * @param instant the instant to read
+   * @return the cache key, or empty if the content should not be cached
+   */
+  default Option<String> getContentCacheKey(HoodieInstant instant) {
+    return Option.empty();
+  }
 }
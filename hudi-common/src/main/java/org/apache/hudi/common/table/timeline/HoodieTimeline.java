@@ -32,6 +32,7 @@ import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.versioning.TimelineLayoutVersion;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.storage.HoodieInstantWriter;
 
 import java.io.IOException;
@@ -134,8 +135,9 @@ public interface HoodieTimeline extends HoodieInstantReader, Serializable {
    */
   default <T> T readInstantContent(HoodieInstant instant, Class<T> clazz) throws IOException {
     TimelineLayout layout = TimelineLayout.fromVersion(getTimelineLayoutVersion());
-    return layout.getCommitMetadataSerDe().deserialize(
-        instant, getInstantContentStream(instant), () -> isEmpty(instant), clazz);
+    InputStream contentStream = InstantContentCache.getInstance().getContentStream(
+        getInstantReader().getContentCacheKey(instant), () -> getInstantContentStream(instant));
+    return layout.getCommitMetadataSerDe().deserialize(instant, contentStream, () -> isEmpty(instant), clazz);
   }
 
   /**
@@ -150,8 +152,21 @@ public interface HoodieTimeline extends HoodieInstantReader, Serializable {
    */
   default <T> T readNonEmptyInstantContent(HoodieInstant instant, Class<T> clazz) throws IOException {
     TimelineLayout layout = TimelineLayout.fromVersion(getTimelineLayoutVersion());
-    return layout.getCommitMetadataSerDe().deserialize(
-        instant, getInstantContentStream(instant), () -> false, clazz);
+    InputStream contentStream = InstantContentCache.getInstance().getContentStream(
+        getInstantReader().getContentCacheKey(instant), () -> getInstantContentStream(instant));
+    return layout.getCommitMetadataSerDe().deserialize(instant, contentStream, () -> false, clazz);
+  }
+
+  /**
+   * Read and deserialize the contents of the instants into the specified class type in parallel,
+   * e.g., the commit metadata of a range of instants.
+   *
+   * @param instants The instants to read content from
+   * @param clazz    The target class to deserialize into
+   * @return The instants paired with their deserialized content, in the order of the given instants
+   */
+  default <T> List<Pair<HoodieInstant, T>> readInstantContents(List<HoodieInstant> instants, Class<T> clazz) {
+    return InstantContentCache.getInstance().loadAll(this, instants, clazz);
   }
 
   /**
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.timeline;
+
+import org.apache.hudi.common.config.HoodieCommonConfig;
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.util.CollectionUtils;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
+import org.apache.hudi.common.util.FileIOUtils;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.storage.StorageConfiguration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A JVM-wide cache of the contents of the instant files, shared by all the timelines, so that the commit metadata,
+ * the clean metadata and the plans read by the different consumers of the timeline, e.g., the clean planning,
+ * the incremental queries and the conflict resolution, are read from the storage only once.
+ *
+ * <p>Only the contents of the immutable instant files are cached, see {@link HoodieInstantReader#getContentCacheKey}.
+ * The raw bytes of the files are cached instead of the deserialized objects: the bytes are immutable and never
+ * handed out, so the cached contents are shared without being copied, and each read deserializes its own object.
+ * The cache is bounded by the total size of the cached bytes.
+ *
+ * <p>The cache is created with the storage configuration of the first active timeline loaded in the process, see
+ * {@link HoodieCommonConfig#INSTANT_CONTENT_CACHE_MAX_SIZE_IN_BYTES} and {@link HoodieCommonConfig#INSTANT_CONTENT_CACHE_LOAD_PARALLELISM}.
+ * The cache can be disabled per table with {@link HoodieCommonConfig#INSTANT_CONTENT_CACHE_ENABLED}, see {@link #isEnabled}.
+ *
+ * <p>The hit, miss, eviction and load time statistics are reported through the {@link Registry}
+ * named {@link #METRICS_REGISTRY_NAME}.
+ */
+public class InstantContentCache {
+
+  public static final String METRICS_REGISTRY_NAME = "InstantContentCache";
+
+  private static final Set<String> IMMUTABLE_PLAN_ACTIONS = CollectionUtils.createImmutableSet(
+      HoodieTimeline.CLEAN_ACTION, HoodieTimeline.COMPACTION_ACTION, HoodieTimeline.LOG_COMPACTION_ACTION);
+
+  private static volatile InstantContentCache instance;
+
+  // the raw contents of the instant files, keyed by the content cache key of the instants
+  private final Cache<String, byte[]> cache;
+  private final int numLoadThreads;
+  private final Registry metricsRegistry = Registry.getRegistry(METRICS_REGISTRY_NAME);
+  private CacheStats lastReportedStats = CacheStats.empty();
+  private volatile ExecutorService loadPool;
+
+  InstantContentCache(long maxCacheSizeInBytes, int loadParallelism) {
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maxCacheSizeInBytes)
+        .weigher((String key, byte[] content) -> content.length)
+        .recordStats()
+        .build();
+    this.numLoadThreads = loadParallelism > 0 ? loadParallelism : Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Returns the cache of the process, it is created with the default configs if no active timeline is loaded yet.
+   */
+  public static InstantContentCache getInstance() {
+    if (instance == null) {
+      initialize(null);
+    }
+    return instance;
+  }
+
+  /**
+   * Creates the cache of the process with the configs of the given storage configuration,
+   * does nothing if the cache is already created.
+   *
+   * @param conf The storage configuration of the table, the default configs are used if null.
+   */
+  public static void initialize(StorageConfiguration<?> conf) {
+    if (instance == null) {
+      synchronized (InstantContentCache.class) {
+        if (instance == null) {
+          long maxCacheSizeInBytes = conf == null
+              ? HoodieCommonConfig.INSTANT_CONTENT_CACHE_MAX_SIZE_IN_BYTES.defaultValue()
+              : conf.getLong(HoodieCommonConfig.INSTANT_CONTENT_CACHE_MAX_SIZE_IN_BYTES.key(),
+                  HoodieCommonConfig.INSTANT_CONTENT_CACHE_MAX_SIZE_IN_BYTES.defaultValue());
+          int loadParallelism = conf == null
+              ? HoodieCommonConfig.INSTANT_CONTENT_CACHE_LOAD_PARALLELISM.defaultValue()
+              : (int) conf.getLong(HoodieCommonConfig.INSTANT_CONTENT_CACHE_LOAD_PARALLELISM.key(),
+                  HoodieCommonConfig.INSTANT_CONTENT_CACHE_LOAD_PARALLELISM.defaultValue());
+          instance = new InstantContentCache(maxCacheSizeInBytes, loadParallelism);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether the instant contents of the table with the given storage configuration are cached.
+   */
+  public static boolean isEnabled(StorageConfiguration<?> conf) {
+    return conf.getBoolean(HoodieCommonConfig.INSTANT_CONTENT_CACHE_ENABLED.key(),
+        HoodieCommonConfig.INSTANT_CONTENT_CACHE_ENABLED.defaultValue());
+  }
+
+  /**
+   * Returns whether the file of the given instant is immutable, i.e., the instant is completed, or it is
+   * the requested clean or compaction instant whose file holds the plan.
+   */
+  public static boolean isImmutableInstant(HoodieInstant instant) {
+    return instant.isCompleted()
+        || (instant.isRequested() && IMMUTABLE_PLAN_ACTIONS.contains(instant.getAction()));
+  }
+
+  /**
+   * Returns the stream of the cached content of the instant file, the content is read and cached if it is not cached yet.
+   *
+   * @param cacheKey The key of the instant content, the content stream is opened without caching if empty.
+   * @param loader   The loader to open the stream of the instant file.
+   * @return The stream of the instant content.
+   * @throws IOException when reading the content fails.
+   */
+  public InputStream getContentStream(Option<String> cacheKey, ContentLoader<InputStream> loader) throws IOException {
+    if (!cacheKey.isPresent()) {
+      return loader.load();
+    }
+    boolean[] loaded = new boolean[1];
+    byte[] content;
+    try {
+      content = cache.get(cacheKey.get(), key -> {
+        loaded[0] = true;
+        try (InputStream inputStream = loader.load()) {
+          return FileIOUtils.readAsByteArray(inputStream);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      if (loaded[0]) {
+        reportMetrics();
+      }
+    }
+    return new ByteArrayInputStream(content);
+  }
+
+  /**
+   * Reads the contents of the given instants in parallel, the contents are cached along the way.
+   *
+   * @param timeline The timeline to read the instants from.
+   * @param instants The instants to read.
+   * @param clazz    The type of the contents.
+   * @return The instants paired with their contents, in the order of the given instants.
+   */
+  public <T> List<Pair<HoodieInstant, T>> loadAll(HoodieTimeline timeline, List<HoodieInstant> instants, Class<T> clazz) {
+    List<CompletableFuture<Pair<HoodieInstant, T>>> futures = new ArrayList<>(instants.size());
+    for (HoodieInstant instant : instants) {
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        try {
+          return Pair.of(instant, timeline.readInstantContent(instant, clazz));
+        } catch (IOException e) {
+          throw new HoodieIOException("Could not read the content of instant " + instant, e);
+        }
+      }, getLoadPool()));
+    }
+    try {
+      return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    } catch (CompletionException e) {
+      futures.forEach(future -> future.cancel(true));
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Reports the cache statistics accumulated since the last report to the metrics registry.
+   * Statistics are also reported on every cache miss.
+   */
+  public synchronized void reportMetrics() {
+    CacheStats currentStats = cache.stats();
+    CacheStats delta = currentStats.minus(lastReportedStats);
+    lastReportedStats = currentStats;
+    metricsRegistry.add("hit", delta.hitCount());
+    metricsRegistry.add("miss", delta.missCount());
+    metricsRegistry.add("eviction", delta.evictionCount());
+    metricsRegistry.add("load_time_ms", TimeUnit.NANOSECONDS.toMillis(delta.totalLoadTime()));
+  }
+
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * Invalidates the cached contents of the given instant file, e.g., once the file is deleted.
+   */
+  public void invalidate(String instantFilePath) {
+    cache.asMap().keySet().removeIf(key -> key.equals(instantFilePath) || key.startsWith(instantFilePath + "@"));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private ExecutorService getLoadPool() {
+    if (loadPool == null) {
+      synchronized (this) {
+        if (loadPool == null) {
+          loadPool = Executors.newFixedThreadPool(numLoadThreads, new CustomizedThreadFactory("instant-content-load", true));
+        }
+      }
+    }
+    return loadPool;
+  }
+
+  /**
+   * Opens the content of an instant.
+   */
+  @FunctionalInterface
+  public interface ContentLoader<T> {
+    T load() throws IOException;
+  }
+}
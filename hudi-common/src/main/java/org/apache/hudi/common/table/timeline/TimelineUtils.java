@@ -32,7 +32,6 @@ import org.apache.hudi.common.util.CollectionUtils;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.StringUtils;
 import org.apache.hudi.common.util.ValidationUtils;
-import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.exception.HoodieTimeTravelException;
@@ -109,16 +108,8 @@ public class TimelineUtils {
         : metaClient.getActiveTimeline();
     HoodieTimeline completedTimeline = timeline.getWriteTimeline().filterCompletedInstants();
     HoodieTimeline replaceCommitTimeline = completedTimeline.getCompletedReplaceTimeline();
-    Map<String, String> partitionToLatestDeleteTimestamp = replaceCommitTimeline.getInstantsAsStream()
-        .map(instant -> {
-          try {
-            HoodieReplaceCommitMetadata commitMetadata =
-                replaceCommitTimeline.readReplaceCommitMetadata(instant);
-            return Pair.of(instant, commitMetadata);
-          } catch (IOException e) {
-            throw new HoodieIOException("Failed to get partitions modified at " + instant, e);
-          }
-        })
+    Map<String, String> partitionToLatestDeleteTimestamp = replaceCommitTimeline
+        .readInstantContents(replaceCommitTimeline.getInstants(), HoodieReplaceCommitMetadata.class).stream()
         .filter(pair -> isDeletePartition(pair.getRight().getOperationType()))
         .flatMap(pair -> pair.getRight().getPartitionToReplaceFileIds().keySet().stream()
             .map(partition -> new AbstractMap.SimpleEntry<>(partition, pair.getLeft().requestedTime()))
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.timeline.dto;
+
+import org.apache.hudi.common.util.Option;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The data transfer object of the partitions changed by a set of instants, {@code fullSync} is set
+ * if the changed partitions can not be resolved and all the partitions should be synced.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PartitionDeltaDTO {
+
+  @JsonProperty("fullSync")
+  private boolean fullSync;
+
+  @JsonProperty("partitions")
+  private List<String> partitions;
+
+  public static PartitionDeltaDTO fromChangedPartitions(Option<Set<String>> changedPartitions) {
+    PartitionDeltaDTO dto = new PartitionDeltaDTO();
+    dto.fullSync = !changedPartitions.isPresent();
+    dto.partitions = changedPartitions.isPresent() ? new ArrayList<>(changedPartitions.get()) : new ArrayList<>();
+    return dto;
+  }
+
+  public static Option<Set<String>> toChangedPartitions(PartitionDeltaDTO dto) {
+    return dto.fullSync ? Option.empty() : Option.of(new HashSet<>(dto.partitions));
+  }
+}
@@ -34,6 +34,7 @@ import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieInstantReader;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.InstantContentCache;
 import org.apache.hudi.common.table.timeline.InstantFileNameGenerator;
 import org.apache.hudi.common.table.timeline.TableFormatCompletionAction;
 import org.apache.hudi.common.table.timeline.TimelineUtils;
@@ -87,6 +88,7 @@ public class ActiveTimelineV1 extends BaseTimelineV1 implements HoodieActiveTime
     // convert them into HoodieInstant
     this.setInstants(getInstantsFromFileSystem(metaClient, includedExtensions, applyLayoutFilters));
     this.metaClient = metaClient;
+    InstantContentCache.initialize(metaClient.getStorageConf());
     // multiple casts will make this lambda serializable -
     // http://docs.oracle.com/javase/specs/jls/se8/html/jls-15.html#jls-15.16
     LOG.info("Loaded instants upto : " + lastInstant());
@@ -221,6 +223,7 @@ public class ActiveTimelineV1 extends BaseTimelineV1 implements HoodieActiveTime
     try {
       if (metaClient.getStorage().exists(commitFilePath)) {
         boolean result = metaClient.getStorage().deleteFile(commitFilePath);
+        InstantContentCache.getInstance().invalidate(commitFilePath.toString());
         if (result) {
           LOG.info("Removed instant {}", instant);
         } else {
@@ -239,6 +242,7 @@ public class ActiveTimelineV1 extends BaseTimelineV1 implements HoodieActiveTime
     StoragePath inFlightCommitFilePath = getInstantFileNamePath(instantFileNameGenerator.getFileName(instant));
     try {
       boolean result = metaClient.getStorage().deleteFile(inFlightCommitFilePath);
+      InstantContentCache.getInstance().invalidate(inFlightCommitFilePath.toString());
       if (result) {
         LOG.info("Removed instant {}", instant);
       } else {
@@ -269,6 +273,21 @@ public class ActiveTimelineV1 extends BaseTimelineV1 implements HoodieActiveTime
     return readDataStreamFromPath(filePath);
   }
 
+  @Override
+  public Option<String> getContentCacheKey(HoodieInstant instant) {
+    if (!InstantContentCache.isImmutableInstant(instant) || metaClient.getTimelineLayoutVersion().isNullVersion()
+        || !InstantContentCache.isEnabled(metaClient.getStorageConf())) {
+      return Option.empty();
+    }
+    String filePath = getInstantFileNamePath(instantFileNameGenerator.getFileName(instant)).toString();
+    if (!instant.isCompleted()) {
+      return Option.of(filePath);
+    }
+    // the completion time of the completed instants is the modification time of the file, which tells
+    // apart the re-completed instants of the same file name
+    return instant.getCompletionTime() == null ? Option.empty() : Option.of(filePath + "@" + instant.getCompletionTime());
+  }
+
   @Override
   public HoodieInstantReader getInstantReader() {
     return this;
@@ -571,6 +590,7 @@ public class ActiveTimelineV1 extends BaseTimelineV1 implements HoodieActiveTime
         }
 
         boolean success = metaClient.getStorage().deleteFile(commitFilePath);
+        InstantContentCache.getInstance().invalidate(commitFilePath.toString());
         ValidationUtils.checkArgument(success, "State Reverting failed");
       }
     } catch (IOException e) {
@@ -35,6 +35,7 @@ import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieInstantReader;
 import org.apache.hudi.common.table.timeline.HoodieInstantTimeGenerator;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.InstantContentCache;
 import org.apache.hudi.common.table.timeline.InstantFileNameGenerator;
 import org.apache.hudi.common.table.timeline.TableFormatCompletionAction;
 import org.apache.hudi.common.table.timeline.TimeGenerator;
@@ -93,6 +94,7 @@ public class ActiveTimelineV2 extends BaseTimelineV2 implements HoodieActiveTime
     // convert them into HoodieInstant
     this.setInstants(getInstantsFromFileSystem(metaClient, includedExtensions, applyLayoutFilters));
     this.metaClient = metaClient;
+    InstantContentCache.initialize(metaClient.getStorageConf());
     // multiple casts will make this lambda serializable -
     // http://docs.oracle.com/javase/specs/jls/se8/html/jls-15.html#jls-15.16
     LOG.info("Loaded instants upto : {}", lastInstant());
@@ -228,6 +230,7 @@ public class ActiveTimelineV2 extends BaseTimelineV2 implements HoodieActiveTime
     try {
       if (metaClient.getStorage().exists(commitFilePath)) {
         boolean result = metaClient.getStorage().deleteFile(commitFilePath);
+        InstantContentCache.getInstance().invalidate(commitFilePath.toString());
         if (result) {
           LOG.info("Removed instant {}", instant);
         } else {
@@ -246,6 +249,7 @@ public class ActiveTimelineV2 extends BaseTimelineV2 implements HoodieActiveTime
     StoragePath filePath = getInstantFileNamePath(instantFileNameGenerator.getFileName(instant));
     try {
       boolean result = metaClient.getStorage().deleteFile(filePath);
+      InstantContentCache.getInstance().invalidate(filePath.toString());
       if (result) {
         LOG.info("Removed instant {}", instant);
       } else {
@@ -284,6 +288,17 @@ public class ActiveTimelineV2 extends BaseTimelineV2 implements HoodieActiveTime
     return readDataStreamFromPath(filePath);
   }
 
+  @Override
+  public Option<String> getContentCacheKey(HoodieInstant instant) {
+    // the file names of the completed instants include the completion time, so the re-completed instants
+    // do not share the cache entries
+    if (InstantContentCache.isImmutableInstant(instant) && !metaClient.getTimelineLayoutVersion().isNullVersion()
+        && InstantContentCache.isEnabled(metaClient.getStorageConf())) {
+      return Option.of(getInstantFileNamePath(getInstantFileName(instant)).toString());
+    }
+    return Option.empty();
+  }
+
   @Override
   public HoodieInstantReader getInstantReader() {
     return this;
@@ -634,6 +649,7 @@ public class ActiveTimelineV2 extends BaseTimelineV2 implements HoodieActiveTime
         }
 
         boolean success = metaClient.getStorage().deleteFile(completedFilePath);
+        InstantContentCache.getInstance().invalidate(completedFilePath.toString());
         ValidationUtils.checkArgument(success, "State Reverting failed");
       }
     } catch (IOException e) {
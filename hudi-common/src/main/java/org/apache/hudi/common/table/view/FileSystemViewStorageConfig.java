@@ -166,6 +166,33 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
       .withDocumentation("The class name of the Exception that needs to be retried, separated by commas. "
           + "Default is empty which means retry all the IOException and RuntimeException from Remote Request.");
 
+  public static final ConfigProperty<Boolean> REMOTE_BINARY_TRANSPORT_ENABLE = ConfigProperty
+      .key("hoodie.filesystem.view.remote.binary.transport.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Whether to request the responses of the remote file system view in a compact binary encoding "
+          + "with dictionary-encoded strings, instead of JSON. The encoding is negotiated with the timeline server, "
+          + "which falls back to JSON if it does not support it.");
+
+  public static final ConfigProperty<Boolean> REMOTE_DELTA_SYNC_ENABLE = ConfigProperty
+      .key("hoodie.filesystem.view.remote.delta.sync.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Whether the remote file system view caches the responses of the timeline server locally, "
+          + "each remote view instance owns its own cache. The cached responses are kept as long as the "
+          + "timeline does not change, when it does, only the responses of the partitions changed by the new instants "
+          + "are dropped, the changed partitions are resolved by the timeline server.");
+
+  public static final ConfigProperty<Integer> REMOTE_DELTA_SYNC_MAX_CACHED_RESPONSES = ConfigProperty
+      .key("hoodie.filesystem.view.remote.delta.sync.max.cached.responses")
+      .defaultValue(1024)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("The maximum number of the responses of the timeline server cached by each remote view instance when "
+          + REMOTE_DELTA_SYNC_ENABLE.key() + " is enabled, the least recently used responses are evicted beyond it.");
+
   public static final ConfigProperty<String> REMOTE_BACKUP_VIEW_ENABLE = ConfigProperty
       .key("hoodie.filesystem.remote.backup.view.enable")
       .defaultValue("true") // Need to be disabled only for tests.
@@ -217,6 +244,18 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
     return getLong(REMOTE_MAX_RETRY_INTERVAL_MS);
   }
 
+  public boolean isRemoteBinaryTransportEnabled() {
+    return getBooleanOrDefault(REMOTE_BINARY_TRANSPORT_ENABLE);
+  }
+
+  public boolean isRemoteDeltaSyncEnabled() {
+    return getBooleanOrDefault(REMOTE_DELTA_SYNC_ENABLE);
+  }
+
+  public int getRemoteDeltaSyncMaxCachedResponses() {
+    return getIntOrDefault(REMOTE_DELTA_SYNC_MAX_CACHED_RESPONSES);
+  }
+
   public String getRemoteTimelineClientRetryExceptions() {
     return getString(RETRY_EXCEPTIONS);
   }
@@ -354,6 +393,21 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withRemoteBinaryTransport(boolean enable) {
+      fileSystemViewStorageConfig.setValue(REMOTE_BINARY_TRANSPORT_ENABLE, String.valueOf(enable));
+      return this;
+    }
+
+    public Builder withRemoteDeltaSync(boolean enable) {
+      fileSystemViewStorageConfig.setValue(REMOTE_DELTA_SYNC_ENABLE, String.valueOf(enable));
+      return this;
+    }
+
+    public Builder withRemoteDeltaSyncMaxCachedResponses(int maxCachedResponses) {
+      fileSystemViewStorageConfig.setValue(REMOTE_DELTA_SYNC_MAX_CACHED_RESPONSES, String.valueOf(maxCachedResponses));
+      return this;
+    }
+
     public Builder withMemFractionForPendingCompaction(Double memFractionForPendingCompaction) {
       fileSystemViewStorageConfig.setValue(SPILLABLE_COMPACTION_MEM_FRACTION, memFractionForPendingCompaction.toString());
       return this;
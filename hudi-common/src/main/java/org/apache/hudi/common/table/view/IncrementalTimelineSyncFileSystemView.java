@@ -19,6 +19,7 @@
 package org.apache.hudi.common.table.view;
 
 import org.apache.hudi.avro.model.HoodieCleanMetadata;
+import org.apache.hudi.avro.model.HoodieCompactionOperation;
 import org.apache.hudi.avro.model.HoodieCompactionPlan;
 import org.apache.hudi.avro.model.HoodieInstantInfo;
 import org.apache.hudi.avro.model.HoodieRestoreMetadata;
@@ -51,9 +52,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -63,12 +67,19 @@ public abstract class IncrementalTimelineSyncFileSystemView extends AbstractTabl
 
   private static final Logger LOG = LoggerFactory.getLogger(IncrementalTimelineSyncFileSystemView.class);
 
+  private static final int MAX_INSTANTS_WITH_CHANGED_PARTITIONS = 1024;
+
   // Allows incremental Timeline syncing
   private final boolean incrementalTimelineSyncEnabled;
 
   // This is the visible active timeline used only for incremental view syncing
   private HoodieTimeline visibleActiveTimeline;
 
+  // The partitions changed by the instants, keyed by the action and the requested time of the instants,
+  // recorded while syncing the instants so that the remote views can resolve their deltas without
+  // reading the instant metadata again
+  private final Map<String, Set<String>> changedPartitionsByInstant = new ConcurrentHashMap<>();
+
   protected IncrementalTimelineSyncFileSystemView(HoodieTableMetadata tableMetadata, boolean enableIncrementalTimelineSync) {
     super(tableMetadata);
     this.incrementalTimelineSyncEnabled = enableIncrementalTimelineSync;
@@ -215,6 +226,7 @@ public abstract class IncrementalTimelineSyncFileSystemView extends AbstractTabl
             .map(p -> Pair.of(p.getValue().getKey(),
                 CompactionOperation.convertFromAvroRecordInstance(p.getValue().getValue())))
             .collect(Collectors.toList());
+    recordChangedPartitions(instant, pendingOps.stream().map(op -> op.getValue().getPartitionPath()).collect(Collectors.toSet()));
     // First, update Pending compaction instants
     addPendingCompactionOperations(pendingOps.stream());
 
@@ -259,6 +271,7 @@ public abstract class IncrementalTimelineSyncFileSystemView extends AbstractTabl
   private void addCommitInstant(HoodieTimeline timeline, HoodieInstant instant) throws IOException {
     LOG.info("Syncing committed instant ({})", instant);
     HoodieCommitMetadata commitMetadata = timeline.readCommitMetadata(instant);
+    recordChangedPartitions(instant, commitMetadata.getPartitionToWriteStats().keySet());
     updatePartitionWriteFileGroups(commitMetadata.getPartitionToWriteStats(), timeline, instant);
     LOG.info("Done Syncing committed instant ({})", instant);
   }
@@ -324,6 +337,7 @@ public abstract class IncrementalTimelineSyncFileSystemView extends AbstractTabl
   private void addRollbackInstant(HoodieTimeline timeline, HoodieInstant instant) throws IOException {
     LOG.info("Syncing rollback instant ({})", instant);
     HoodieRollbackMetadata metadata = timeline.readRollbackMetadata(instant);
+    recordChangedPartitions(instant, metadata.getPartitionMetadata().keySet());
 
     metadata.getPartitionMetadata().entrySet().stream().forEach(e -> {
       removeFileSlicesForPartition(timeline, instant, e.getKey(), e.getValue().getSuccessDeleteFiles());
@@ -340,6 +354,7 @@ public abstract class IncrementalTimelineSyncFileSystemView extends AbstractTabl
   private void addReplaceInstant(HoodieTimeline timeline, HoodieInstant instant) throws IOException {
     LOG.info("Syncing replace instant ({})", instant);
     HoodieReplaceCommitMetadata replaceMetadata = timeline.readReplaceCommitMetadata(instant);
+    recordChangedPartitions(instant, getChangedPartitions(replaceMetadata));
     updatePartitionWriteFileGroups(replaceMetadata.getPartitionToWriteStats(), timeline, instant);
     replaceMetadata.getPartitionToReplaceFileIds().entrySet().stream().forEach(entry -> {
       String partition = entry.getKey();
@@ -362,6 +377,7 @@ public abstract class IncrementalTimelineSyncFileSystemView extends AbstractTabl
   private void addCleanInstant(HoodieTimeline timeline, HoodieInstant instant) throws IOException {
     LOG.info("Syncing cleaner instant ({})", instant);
     HoodieCleanMetadata cleanMetadata = CleanerUtils.getCleanerMetadata(metaClient, instant);
+    recordChangedPartitions(instant, cleanMetadata.getPartitionMetadata().keySet());
     cleanMetadata.getPartitionMetadata().entrySet().stream().forEach(entry -> {
       final StoragePath basePath = metaClient.getBasePath();
       final String partitionPath = entry.getValue().getPartitionPath();
@@ -374,6 +390,85 @@ public abstract class IncrementalTimelineSyncFileSystemView extends AbstractTabl
     LOG.info("Done Syncing cleaner instant ({})", instant);
   }
 
+  /**
+   * Returns the partitions whose file groups are changed by the given instants, the instants are either completed
+   * instants or pending compaction and log compaction instants.
+   *
+   * @param instants The instants.
+   * @return The changed partitions, or empty if they can not be resolved, e.g. for a restore, in which case
+   *         all the partitions should be synced.
+   */
+  public Option<Set<String>> getPartitionsChangedByInstants(List<HoodieInstant> instants) {
+    Set<String> changedPartitions = new HashSet<>();
+    for (HoodieInstant instant : instants) {
+      Option<Set<String>> partitions = getPartitionsChangedByInstant(instant);
+      if (!partitions.isPresent()) {
+        return Option.empty();
+      }
+      changedPartitions.addAll(partitions.get());
+    }
+    return Option.of(changedPartitions);
+  }
+
+  private Option<Set<String>> getPartitionsChangedByInstant(HoodieInstant instant) {
+    Set<String> recorded = changedPartitionsByInstant.get(getChangedPartitionsKey(instant));
+    if (recorded != null) {
+      return Option.of(recorded);
+    }
+    try {
+      Option<Set<String>> partitions = readPartitionsChangedByInstant(instant);
+      partitions.ifPresent(p -> recordChangedPartitions(instant, p));
+      return partitions;
+    } catch (IOException | HoodieException e) {
+      LOG.warn("Failed to resolve the partitions changed by instant ({})", instant, e);
+      return Option.empty();
+    }
+  }
+
+  private Option<Set<String>> readPartitionsChangedByInstant(HoodieInstant instant) throws IOException {
+    HoodieTimeline timeline = getTimeline();
+    String action = instant.getAction();
+    if (action.equals(HoodieTimeline.COMMIT_ACTION) || action.equals(HoodieTimeline.DELTA_COMMIT_ACTION)) {
+      return Option.of(timeline.readCommitMetadata(instant).getPartitionToWriteStats().keySet());
+    } else if (action.equals(HoodieTimeline.REPLACE_COMMIT_ACTION)) {
+      return Option.of(getChangedPartitions(timeline.readReplaceCommitMetadata(instant)));
+    } else if (action.equals(HoodieTimeline.CLEAN_ACTION)) {
+      return Option.of(CleanerUtils.getCleanerMetadata(metaClient, instant).getPartitionMetadata().keySet());
+    } else if (action.equals(HoodieTimeline.ROLLBACK_ACTION)) {
+      return Option.of(timeline.readRollbackMetadata(instant).getPartitionMetadata().keySet());
+    } else if (action.equals(HoodieTimeline.COMPACTION_ACTION)) {
+      return Option.of(getChangedPartitions(CompactionUtils.getCompactionPlan(metaClient, instant.requestedTime())));
+    } else if (action.equals(HoodieTimeline.LOG_COMPACTION_ACTION)) {
+      return Option.of(getChangedPartitions(CompactionUtils.getLogCompactionPlan(metaClient, instant.requestedTime())));
+    } else if (action.equals(HoodieTimeline.RESTORE_ACTION)) {
+      // a restore also reverts the replaced file groups of the restored instants in any partition
+      return Option.empty();
+    }
+    return Option.of(Collections.emptySet());
+  }
+
+  private static Set<String> getChangedPartitions(HoodieReplaceCommitMetadata replaceMetadata) {
+    Set<String> partitions = new HashSet<>(replaceMetadata.getPartitionToWriteStats().keySet());
+    partitions.addAll(replaceMetadata.getPartitionToReplaceFileIds().keySet());
+    return partitions;
+  }
+
+  private static Set<String> getChangedPartitions(HoodieCompactionPlan plan) {
+    return plan.getOperations() == null ? Collections.emptySet()
+        : plan.getOperations().stream().map(HoodieCompactionOperation::getPartitionPath).collect(Collectors.toSet());
+  }
+
+  private void recordChangedPartitions(HoodieInstant instant, Set<String> partitions) {
+    if (changedPartitionsByInstant.size() >= MAX_INSTANTS_WITH_CHANGED_PARTITIONS) {
+      changedPartitionsByInstant.clear();
+    }
+    changedPartitionsByInstant.put(getChangedPartitionsKey(instant), new HashSet<>(partitions));
+  }
+
+  private static String getChangedPartitionsKey(HoodieInstant instant) {
+    return instant.getAction() + "_" + instant.requestedTime();
+  }
+
   private void removeFileSlicesForPartition(HoodieTimeline timeline, HoodieInstant instant, String partition,
       List<String> paths) {
     if (isPartitionAvailableInStore(partition)) {
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.view;
+
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.TimelineDiffHelper;
+import org.apache.hudi.common.table.timeline.TimelineDiffHelper.TimelineDiffResult;
+import org.apache.hudi.common.util.Option;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.apache.hudi.common.table.timeline.InstantComparison.LESSER_THAN;
+import static org.apache.hudi.common.table.timeline.InstantComparison.compareTimestamps;
+
+/**
+ * A cache of the responses of the timeline server, owned by one {@link RemoteHoodieTableFileSystemView} and cleared
+ * when the view is closed.
+ *
+ * <p>The responses are cached as JSON trees that are never handed out, the view binds them to new DTOs on every hit.
+ *
+ * <p>The cached responses are valid for the timeline they are fetched with. When a view queries with a newer timeline,
+ * the cache is synced to it with a delta: the instants between the two timelines are resolved from the local timelines,
+ * the timeline server resolves the partitions changed by those instants, and only the responses of the changed partitions,
+ * along with the responses not bound to a partition, are dropped. The cache is cleared if the delta can not be resolved.
+ * The queries with an older timeline than the cached one bypass the cache.
+ */
+public class RemoteFileSystemViewResponseCache {
+  private static final Logger LOG = LoggerFactory.getLogger(RemoteFileSystemViewResponseCache.class);
+
+  // the responses in access order, for the LRU eviction
+  private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+  // the timeline the responses are valid for
+  private HoodieTimeline timeline;
+
+  private long numHits = 0;
+  private long numMisses = 0;
+  private long numDeltaSyncs = 0;
+  private long numFullSyncs = 0;
+
+  RemoteFileSystemViewResponseCache() {
+  }
+
+  /**
+   * Syncs the cache to the given timeline.
+   *
+   * @param metaClient               The meta client of the table.
+   * @param newTimeline              The timeline of the query.
+   * @param changedPartitionResolver The resolver of the partitions changed by the instants, which returns empty if the
+   *                                 changed partitions can not be resolved.
+   * @return Whether the responses of the cache are valid for the given timeline.
+   */
+  public synchronized boolean sync(HoodieTableMetaClient metaClient, HoodieTimeline newTimeline,
+                                   Function<List<HoodieInstant>, Option<Set<String>>> changedPartitionResolver) {
+    if (timeline == null) {
+      timeline = newTimeline;
+      return true;
+    }
+    if (timeline.getTimelineHash().equals(newTimeline.getTimelineHash())) {
+      return true;
+    }
+    if (isOlder(newTimeline, timeline)) {
+      return false;
+    }
+    Option<Set<String>> changedPartitions = getChangedPartitions(metaClient, newTimeline, changedPartitionResolver);
+    if (changedPartitions.isPresent()) {
+      Set<String> partitions = changedPartitions.get();
+      responses.values().removeIf(response -> response.partitionPath == null || partitions.contains(response.partitionPath));
+      numDeltaSyncs++;
+      LOG.debug("Synced the cached responses to the new timeline, changed partitions: {}", partitions);
+    } else {
+      responses.clear();
+      numFullSyncs++;
+    }
+    timeline = newTimeline;
+    return true;
+  }
+
+  private Option<Set<String>> getChangedPartitions(HoodieTableMetaClient metaClient, HoodieTimeline newTimeline,
+                                                   Function<List<HoodieInstant>, Option<Set<String>>> changedPartitionResolver) {
+    try {
+      TimelineDiffResult diffResult = TimelineDiffHelper.getNewInstantsForIncrementalSync(metaClient, timeline, newTimeline);
+      if (!diffResult.canSyncIncrementally()) {
+        return Option.empty();
+      }
+      List<HoodieInstant> instants = new ArrayList<>(diffResult.getFinishedCompactionInstants());
+      instants.addAll(diffResult.getFinishedOrRemovedLogCompactionInstants());
+      diffResult.getNewlySeenInstants().stream()
+          .filter(instant -> instant.isCompleted()
+              || instant.getAction().equals(HoodieTimeline.COMPACTION_ACTION)
+              || instant.getAction().equals(HoodieTimeline.LOG_COMPACTION_ACTION))
+          .forEach(instants::add);
+      return instants.isEmpty() ? Option.of(Collections.emptySet()) : changedPartitionResolver.apply(instants);
+    } catch (RuntimeException e) {
+      LOG.warn("Failed to resolve the partitions changed since the cached timeline, clearing the cached responses", e);
+      return Option.empty();
+    }
+  }
+
+  private static boolean isOlder(HoodieTimeline timeline, HoodieTimeline other) {
+    Option<HoodieInstant> lastInstant = timeline.lastInstant();
+    Option<HoodieInstant> otherLastInstant = other.lastInstant();
+    if (!otherLastInstant.isPresent()) {
+      return false;
+    }
+    return !lastInstant.isPresent()
+        || compareTimestamps(lastInstant.get().requestedTime(), LESSER_THAN, otherLastInstant.get().requestedTime());
+  }
+
+  /**
+   * Returns the cached response of the given key if the cache is synced to the given timeline.
+   */
+  public synchronized Option<JsonNode> get(HoodieTimeline queryTimeline, String key) {
+    CachedResponse response = isValidFor(queryTimeline) ? responses.get(key) : null;
+    if (response == null) {
+      numMisses++;
+      return Option.empty();
+    }
+    numHits++;
+    return Option.of(response.value);
+  }
+
+  /**
+   * Caches the response of the given key if the cache is still synced to the timeline the response is fetched with.
+   *
+   * @param queryTimeline      The timeline the response is fetched with.
+   * @param key                The key of the response.
+   * @param partitionPath      The partition the response is bound to, or null.
+   * @param value              The response as a JSON tree, which must not be modified afterwards.
+   * @param maxCachedResponses The maximum number of the cached responses.
+   */
+  public synchronized void put(HoodieTimeline queryTimeline, String key, String partitionPath, JsonNode value, int maxCachedResponses) {
+    if (!isValidFor(queryTimeline)) {
+      return;
+    }
+    responses.put(key, new CachedResponse(partitionPath, value));
+    Iterator<CachedResponse> iterator = responses.values().iterator();
+    while (responses.size() > maxCachedResponses && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private boolean isValidFor(HoodieTimeline queryTimeline) {
+    return timeline != null && timeline.getTimelineHash().equals(queryTimeline.getTimelineHash());
+  }
+
+  public synchronized void clear() {
+    responses.clear();
+    timeline = null;
+  }
+
+  public synchronized long getNumHits() {
+    return numHits;
+  }
+
+  public synchronized long getNumMisses() {
+    return numMisses;
+  }
+
+  public synchronized long getNumDeltaSyncs() {
+    return numDeltaSyncs;
+  }
+
+  public synchronized long getNumFullSyncs() {
+    return numFullSyncs;
+  }
+
+  public synchronized int getNumCachedResponses() {
+    return responses.size();
+  }
+
+  private static class CachedResponse {
+    private final String partitionPath;
+    private final JsonNode value;
+
+    private CachedResponse(String partitionPath, JsonNode value) {
+      this.partitionPath = partitionPath;
+      this.value = value;
+    }
+  }
+}
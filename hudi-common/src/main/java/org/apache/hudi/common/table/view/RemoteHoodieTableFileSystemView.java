@@ -34,9 +34,11 @@ import org.apache.hudi.common.table.timeline.dto.DTOUtils;
 import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
 import org.apache.hudi.common.table.timeline.dto.FileSliceDTO;
 import org.apache.hudi.common.table.timeline.dto.InstantDTO;
+import org.apache.hudi.common.table.timeline.dto.PartitionDeltaDTO;
 import org.apache.hudi.common.table.timeline.dto.TimelineDTO;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.common.util.VisibleForTesting;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.exception.HoodieRemoteException;
 import org.apache.hudi.timeline.TimelineServiceClient;
@@ -44,6 +46,7 @@ import org.apache.hudi.timeline.TimelineServiceClientBase;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import org.slf4j.Logger;
@@ -54,6 +57,8 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -106,6 +111,8 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
 
   public static final String TIMELINE_URL = String.format("%s/%s", BASE_URL, "timeline/instants/all");
 
+  public static final String CHANGED_PARTITIONS_URL = String.format("%s/%s", BASE_URL, "partitions/changed/");
+
   // POST Requests
   public static final String REFRESH_TABLE_URL = String.format("%s/%s", BASE_URL, "refresh/");
   public static final String LOAD_ALL_PARTITIONS_URL = String.format("%s/%s", BASE_URL, "loadallpartitions/");
@@ -137,11 +144,19 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   private static final TypeReference<List<BaseFileDTO>> BASE_FILE_DTOS_REFERENCE = new TypeReference<List<BaseFileDTO>>() {};
   private static final TypeReference<Map<String, List<BaseFileDTO>>> BASE_FILE_MAP_REFERENCE = new TypeReference<Map<String, List<BaseFileDTO>>>() {};
   private static final TypeReference<Map<String, List<FileSliceDTO>>> FILE_SLICE_MAP_REFERENCE = new TypeReference<Map<String, List<FileSliceDTO>>>() {};
+  private static final TypeReference<PartitionDeltaDTO> PARTITION_DELTA_REFERENCE = new TypeReference<PartitionDeltaDTO>() {};
+
+  // the deltas over more instants are not worth resolving, the cached responses are cleared instead
+  private static final int MAX_DELTA_SYNC_INSTANTS = 64;
 
   private final String basePath;
   private final HoodieTableMetaClient metaClient;
   private HoodieTimeline timeline;
   private final TimelineServiceClientBase timelineServiceClient;
+  private final boolean deltaSyncEnabled;
+  private final int maxCachedResponses;
+  // the responses cached by this view, created lazily and cleared when the view is closed
+  private transient RemoteFileSystemViewResponseCache responseCache;
 
   private boolean closed = false;
 
@@ -154,11 +169,71 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
     this.metaClient = metaClient;
     this.timeline = metaClient.getActiveTimeline().filterCompletedAndCompactionInstants();
     this.timelineServiceClient = new TimelineServiceClient(viewConf);
+    this.deltaSyncEnabled = viewConf.isRemoteDeltaSyncEnabled();
+    this.maxCachedResponses = viewConf.getRemoteDeltaSyncMaxCachedResponses();
   }
 
   private <T> T executeRequest(String requestPath, Map<String, String> queryParameters, TypeReference<T> reference,
                                RequestMethod method) throws IOException {
     ValidationUtils.checkArgument(!closed, "View already closed");
+    if (deltaSyncEnabled && isCacheable(requestPath, method)) {
+      return executeCachedRequest(requestPath, queryParameters, reference);
+    }
+    return executeRemoteRequest(requestPath, queryParameters, reference, method);
+  }
+
+  /**
+   * Serves the request from the responses cached by the view, the cache is synced to the timeline of the view first.
+   * The responses are cached as JSON trees and bound to new DTOs on every hit, so that the callers never share
+   * the cached state.
+   */
+  private <T> T executeCachedRequest(String requestPath, Map<String, String> queryParameters, TypeReference<T> reference) throws IOException {
+    RemoteFileSystemViewResponseCache cache = getResponseCache();
+    HoodieTimeline queryTimeline = timeline;
+    String key = requestPath + new TreeMap<>(queryParameters);
+    if (cache.sync(metaClient, queryTimeline, this::getPartitionsChangedByInstants)) {
+      Option<JsonNode> cached = cache.get(queryTimeline, key);
+      if (cached.isPresent()) {
+        return OBJECT_MAPPER.readerFor(reference).readValue(cached.get());
+      }
+    }
+    T response = executeRemoteRequest(requestPath, queryParameters, reference, RequestMethod.GET);
+    cache.put(queryTimeline, key, queryParameters.get(PARTITION_PARAM), OBJECT_MAPPER.valueToTree(response), maxCachedResponses);
+    return response;
+  }
+
+  @VisibleForTesting
+  public synchronized RemoteFileSystemViewResponseCache getResponseCache() {
+    if (responseCache == null) {
+      responseCache = new RemoteFileSystemViewResponseCache();
+    }
+    return responseCache;
+  }
+
+  private static boolean isCacheable(String requestPath, RequestMethod method) {
+    // the file slices of the inflight instants are not bound to the timeline of the view
+    return method == RequestMethod.GET
+        && !requestPath.equals(LATEST_PARTITION_SLICES_INFLIGHT_URL)
+        && !requestPath.equals(CHANGED_PARTITIONS_URL);
+  }
+
+  private Option<Set<String>> getPartitionsChangedByInstants(List<HoodieInstant> instants) {
+    if (instants.size() > MAX_DELTA_SYNC_INSTANTS) {
+      return Option.empty();
+    }
+    Map<String, String> paramsMap = getParams();
+    try {
+      paramsMap.put(INSTANTS_PARAM, OBJECT_MAPPER.writeValueAsString(
+          instants.stream().map(InstantDTO::fromInstant).collect(Collectors.toList())));
+      PartitionDeltaDTO delta = executeRemoteRequest(CHANGED_PARTITIONS_URL, paramsMap, PARTITION_DELTA_REFERENCE, RequestMethod.GET);
+      return PartitionDeltaDTO.toChangedPartitions(delta);
+    } catch (IOException e) {
+      throw new HoodieRemoteException(e);
+    }
+  }
+
+  private <T> T executeRemoteRequest(String requestPath, Map<String, String> queryParameters, TypeReference<T> reference,
+                                     RequestMethod method) throws IOException {
 
     // Adding mandatory parameters - Last instants affecting file-slice
     timeline.lastInstant().ifPresent(instant -> queryParameters.put(LAST_INSTANT_TS, instant.requestedTime()));
@@ -518,6 +593,12 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   @Override
   public void close() {
     closed = true;
+    synchronized (this) {
+      if (responseCache != null) {
+        responseCache.clear();
+        responseCache = null;
+      }
+    }
   }
 
   @Override
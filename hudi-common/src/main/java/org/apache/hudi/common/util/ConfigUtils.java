@@ -774,6 +774,12 @@ public class ConfigUtils {
         getStringWithAltKeys(options, HoodieReaderConfig.HFILE_BLOCK_CACHE_SIZE));
     config.setValue(HoodieReaderConfig.HFILE_BLOCK_CACHE_TTL_MINUTES,
         getStringWithAltKeys(options, HoodieReaderConfig.HFILE_BLOCK_CACHE_TTL_MINUTES));
+    config.setValue(HoodieReaderConfig.HFILE_BLOCK_CACHE_DATA_MAX_BYTES,
+        getStringWithAltKeys(options, HoodieReaderConfig.HFILE_BLOCK_CACHE_DATA_MAX_BYTES));
+    config.setValue(HoodieReaderConfig.HFILE_BLOCK_CACHE_INDEX_MAX_BYTES,
+        getStringWithAltKeys(options, HoodieReaderConfig.HFILE_BLOCK_CACHE_INDEX_MAX_BYTES));
+    config.setValue(HoodieReaderConfig.HFILE_BLOCK_CACHE_OFF_HEAP_ENABLED,
+        getStringWithAltKeys(options, HoodieReaderConfig.HFILE_BLOCK_CACHE_OFF_HEAP_ENABLED));
     return config;
   }
 
@@ -842,6 +848,12 @@ public class ConfigUtils {
         metadataConfig.getStringOrDefault(HoodieReaderConfig.HFILE_BLOCK_CACHE_SIZE));
     props.setProperty(HoodieReaderConfig.HFILE_BLOCK_CACHE_TTL_MINUTES.key(),
         metadataConfig.getStringOrDefault(HoodieReaderConfig.HFILE_BLOCK_CACHE_TTL_MINUTES));
+    props.setProperty(HoodieReaderConfig.HFILE_BLOCK_CACHE_DATA_MAX_BYTES.key(),
+        metadataConfig.getStringOrDefault(HoodieReaderConfig.HFILE_BLOCK_CACHE_DATA_MAX_BYTES));
+    props.setProperty(HoodieReaderConfig.HFILE_BLOCK_CACHE_INDEX_MAX_BYTES.key(),
+        metadataConfig.getStringOrDefault(HoodieReaderConfig.HFILE_BLOCK_CACHE_INDEX_MAX_BYTES));
+    props.setProperty(HoodieReaderConfig.HFILE_BLOCK_CACHE_OFF_HEAP_ENABLED.key(),
+        metadataConfig.getStringOrDefault(HoodieReaderConfig.HFILE_BLOCK_CACHE_OFF_HEAP_ENABLED));
     return props;
   }
 }
@@ -30,4 +30,13 @@ public interface SizeEstimator<T> {
    * allocated size, in bytes, of the object and all other objects reachable from it
    */
   long sizeEstimate(T t);
+
+  /**
+   * Whether {@link #sizeEstimate} returns the exact size of every payload cheaply, e.g., from the length of the
+   * serialized bytes the payload holds. Callers are free to estimate the size of every payload with such an
+   * estimator instead of extrapolating from the sampled ones.
+   */
+  default boolean isExact() {
+    return false;
+  }
 }
@@ -425,7 +425,7 @@ public final class BitCaskDiskMap<T extends Serializable, R> extends DiskMap<T,
     }
   }
 
-  private static class CompressionHandler implements Serializable {
+  static class CompressionHandler implements Serializable {
     private static final int DISK_COMPRESSION_INITIAL_BUFFER_SIZE = 1048576;
     private static final int DECOMPRESS_INTERMEDIATE_BUFFER_SIZE = 8192;
 
@@ -440,7 +440,7 @@ public final class BitCaskDiskMap<T extends Serializable, R> extends DiskMap<T,
       decompressIntermediateBuffer = new byte[DECOMPRESS_INTERMEDIATE_BUFFER_SIZE];
     }
 
-    private byte[] compressBytes(final byte[] value) throws IOException {
+    byte[] compressBytes(final byte[] value) throws IOException {
       compressBaos.reset();
       Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
       DeflaterOutputStream dos = new DeflaterOutputStream(compressBaos, deflater);
@@ -453,7 +453,7 @@ public final class BitCaskDiskMap<T extends Serializable, R> extends DiskMap<T,
       return compressBaos.toByteArray();
     }
 
-    private byte[] decompressBytes(final byte[] bytes) throws IOException {
+    byte[] decompressBytes(final byte[] bytes) throws IOException {
       decompressBaos.reset();
       try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
         int len;
@@ -18,6 +18,7 @@
 
 package org.apache.hudi.common.util.collection;
 
+import org.apache.hudi.common.metrics.Registry;
 import org.apache.hudi.common.serialization.CustomSerializer;
 import org.apache.hudi.common.util.SizeEstimator;
 import org.apache.hudi.exception.HoodieIOException;
@@ -38,6 +39,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -55,12 +57,21 @@ import java.util.stream.Stream;
  * The setting of the spill threshold faces the following trade-off: If the spill threshold is too high, the in-memory
  * map may occupy more memory than is available, resulting in OOM. However, if the spill threshold is too low, we spill
  * frequently and incur unnecessary disk writes.
+ * <p>
+ * The memory footprint of the in-memory map is estimated from a reservoir sample of the payload sizes, which is kept
+ * updated over all the inserted payloads so that skewed payload sizes are accounted for. If the value
+ * {@link SizeEstimator} is {@link SizeEstimator#isExact() exact}, the size of every value is accounted for instead.
  */
 @NotThreadSafe
 public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R>, Serializable, Closeable, KeyFilteringIterable<T, R> {
 
-  // Find the actual estimated payload size after inserting N records
+  // Number of payload sizes sampled to estimate the average payload size
   private static final int NUMBER_OF_RECORDS_TO_ESTIMATE_PAYLOAD_SIZE = 100;
+  public static final String METRICS_REGISTRY_NAME = "ExternalSpillableMap";
+  public static final String IN_MEMORY_BYTES_METRIC = "in_memory_bytes";
+  public static final String SPILLED_BYTES_METRIC = "spilled_bytes";
+  public static final String SPILLED_RECORDS_METRIC = "spilled_records";
+  public static final String SPILL_TIME_MS_METRIC = "spill_time_ms";
   private static final Logger LOG = LoggerFactory.getLogger(ExternalSpillableMap.class);
   // maximum space allowed in-memory for this map
   private final long maxInMemorySizeInBytes;
@@ -83,6 +94,14 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
   private long currentInMemoryMapSize;
   // An estimate of the size of each payload written to this map
   private volatile long estimatedPayloadSize = 0;
+  // Sampled sizes of the key-value pairs, or of the keys only if the values are sized exactly
+  private final ReservoirSizeSampler payloadSizeSampler;
+  // Total size of the values in the in-memory map, if the values are sized exactly
+  private long inMemoryValueSize = 0L;
+  // Number of entries put to the disk based map
+  private long numSpilledRecords = 0L;
+  // Time spent on putting entries to the disk based map
+  private long spillTimeNanos = 0L;
   // Base File Path
   private final String baseFilePath;
   // Serializer for the values
@@ -102,6 +121,7 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
     this.isCompressionEnabled = isCompressionEnabled;
     this.valueSerializer = valueSerializer;
     this.loggingContext = loggingContext;
+    this.payloadSizeSampler = new ReservoirSizeSampler(NUMBER_OF_RECORDS_TO_ESTIMATE_PAYLOAD_SIZE);
     LOG.debug("{} : Initializing ExternalSpillableMap with baseFilePath = {}, maxInMemorySizeInBytes = {}, diskMapType = {}", loggingContext, baseFilePath, maxInMemorySizeInBytes, diskMapType);
   }
 
@@ -114,6 +134,9 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
               case ROCKS_DB:
                 diskBasedMap = new RocksDbDiskMap<>(baseFilePath, valueSerializer);
                 break;
+              case SEGMENTED_BITCASK:
+                diskBasedMap = new SegmentedBitCaskDiskMap<>(baseFilePath, valueSerializer, isCompressionEnabled);
+                break;
               case BITCASK:
               default:
                 diskBasedMap = new BitCaskDiskMap<>(baseFilePath, valueSerializer, isCompressionEnabled);
@@ -177,6 +200,27 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
     return currentInMemoryMapSize;
   }
 
+  /**
+   * Estimated average size of the payloads in this map.
+   */
+  public long getEstimatedPayloadSize() {
+    return estimatedPayloadSize;
+  }
+
+  /**
+   * Number of entries put to the disk based map, including the overwritten ones.
+   */
+  public long getNumSpilledRecords() {
+    return numSpilledRecords;
+  }
+
+  /**
+   * Total time spent on putting entries to the disk based map, in milliseconds.
+   */
+  public long getSpillTimeMs() {
+    return TimeUnit.NANOSECONDS.toMillis(spillTimeNanos);
+  }
+
   @Override
   public int size() {
     return inMemoryMap.size() + getDiskBasedMapNumEntries();
@@ -218,41 +262,73 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
   @Override
   public R put(T key, R value) {
     if (this.inMemoryMap.containsKey(key)) {
-      this.inMemoryMap.put(key, value);
-    } else if (this.currentInMemoryMapSize < this.maxInMemorySizeInBytes) {
-      if (this.estimatedPayloadSize == 0) {
-        // At first, use the sizeEstimate of a record being inserted into the spillable map.
-        // Note, the converter may over-estimate the size of a record in the JVM
-        this.estimatedPayloadSize = keySizeEstimator.sizeEstimate(key) + valueSizeEstimator.sizeEstimate(value);
-      } else if (this.inMemoryMap.size() % NUMBER_OF_RECORDS_TO_ESTIMATE_PAYLOAD_SIZE == 0) {
-        this.estimatedPayloadSize = (long) (this.estimatedPayloadSize * 0.9 + (keySizeEstimator.sizeEstimate(key) + valueSizeEstimator.sizeEstimate(value)) * 0.1);
-        this.currentInMemoryMapSize = this.inMemoryMap.size() * this.estimatedPayloadSize;
-        if (this.inMemoryMap.size() / NUMBER_OF_RECORDS_TO_ESTIMATE_PAYLOAD_SIZE == 1) {
-          LOG.info("{} : Updated Estimated Payload size {}", loggingContext, this.estimatedPayloadSize);
-        }
+      R oldValue = this.inMemoryMap.put(key, value);
+      if (valueSizeEstimator.isExact()) {
+        inMemoryValueSize += valueSizeEstimator.sizeEstimate(value) - valueSizeEstimator.sizeEstimate(oldValue);
+        refreshInMemoryMapSize();
       }
-      this.currentInMemoryMapSize += this.estimatedPayloadSize;
+    } else if (this.currentInMemoryMapSize < this.maxInMemorySizeInBytes) {
       // Remove the old version of the record from disk first to avoid data duplication.
       if (inDiskContainsKey(key)) {
         diskBasedMap.remove(key);
       }
       this.inMemoryMap.put(key, value);
+      updateInMemoryMapSize(key, value);
     } else {
       if (diskBasedMap == null) {
-        LOG.info("{} : Initializing disk based map as max memory threshold {} is reached", loggingContext, maxInMemorySizeInBytes);
+        LOG.info("{} : Initializing disk based map as max memory threshold {} is reached, with estimated payload size {}",
+            loggingContext, maxInMemorySizeInBytes, estimatedPayloadSize);
         initDiskBasedMap();
       }
+      long startTime = System.nanoTime();
       diskBasedMap.put(key, value);
+      spillTimeNanos += System.nanoTime() - startTime;
+      numSpilledRecords++;
     }
     return value;
   }
 
+  /**
+   * Accounts for the key-value pair newly put into the in-memory map. Only the sizes of the sampled payloads
+   * are estimated, unless the values can be sized exactly.
+   */
+  private void updateInMemoryMapSize(T key, R value) {
+    boolean isValueSizeExact = valueSizeEstimator.isExact();
+    if (isValueSizeExact) {
+      inMemoryValueSize += valueSizeEstimator.sizeEstimate(value);
+    }
+    int slot = payloadSizeSampler.nextSlot();
+    if (slot >= 0) {
+      // Note, the converter may over-estimate the size of a record in the JVM
+      payloadSizeSampler.record(slot, keySizeEstimator.sizeEstimate(key) + (isValueSizeExact ? 0 : valueSizeEstimator.sizeEstimate(value)));
+    }
+    refreshInMemoryMapSize();
+  }
+
+  /**
+   * Re-computes the memory footprint of the in-memory map from the sampled payload sizes, plus the total value size
+   * if the values are sized exactly.
+   */
+  private void refreshInMemoryMapSize() {
+    if (valueSizeEstimator.isExact()) {
+      this.estimatedPayloadSize = payloadSizeSampler.getAverage() + inMemoryValueSize / Math.max(1, inMemoryMap.size());
+      this.currentInMemoryMapSize = inMemoryMap.size() * payloadSizeSampler.getAverage() + inMemoryValueSize;
+    } else {
+      this.estimatedPayloadSize = payloadSizeSampler.getAverage();
+      this.currentInMemoryMapSize = inMemoryMap.size() * this.estimatedPayloadSize;
+    }
+  }
+
   @Override
   public R remove(Object key) {
     // NOTE : getDiskBasedMap().remove does not delete the data from disk
     if (inMemoryMap.containsKey(key)) {
-      currentInMemoryMapSize -= estimatedPayloadSize;
-      return inMemoryMap.remove(key);
+      R removed = inMemoryMap.remove(key);
+      if (valueSizeEstimator.isExact()) {
+        inMemoryValueSize -= valueSizeEstimator.sizeEstimate(removed);
+      }
+      refreshInMemoryMapSize();
+      return removed;
     } else if (inDiskContainsKey(key)) {
       return diskBasedMap.remove(key);
     }
@@ -273,6 +349,7 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
       diskBasedMap.clear();
     }
     currentInMemoryMapSize = 0L;
+    inMemoryValueSize = 0L;
   }
 
   public void close() {
@@ -282,11 +359,32 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
       LOG.info("{} : Total entries in InMemory map {}, with average record size as {}, currentInMemoryMapSize {}. {}", loggingContext,
           inMemoryMap.size(), estimatedPayloadSize, currentInMemoryMapSize, diskBasedMapLog);
     }
+    reportMetrics();
     inMemoryMap.clear();
     if (diskBasedMap != null) {
       diskBasedMap.close();
     }
     currentInMemoryMapSize = 0L;
+    inMemoryValueSize = 0L;
+    numSpilledRecords = 0L;
+    spillTimeNanos = 0L;
+  }
+
+  /**
+   * Adds the memory usage and the spilling stats of this map to the metrics registry {@link #METRICS_REGISTRY_NAME},
+   * keyed by the logging context.
+   */
+  private void reportMetrics() {
+    if (inMemoryMap.isEmpty() && numSpilledRecords == 0) {
+      return;
+    }
+    Registry registry = Registry.getRegistry(METRICS_REGISTRY_NAME);
+    registry.add(loggingContext + "." + IN_MEMORY_BYTES_METRIC, currentInMemoryMapSize);
+    if (diskBasedMap != null) {
+      registry.add(loggingContext + "." + SPILLED_BYTES_METRIC, diskBasedMap.sizeOfFileOnDiskInBytes());
+      registry.add(loggingContext + "." + SPILLED_RECORDS_METRIC, numSpilledRecords);
+      registry.add(loggingContext + "." + SPILL_TIME_MS_METRIC, getSpillTimeMs());
+    }
   }
 
   @Override
@@ -342,6 +440,7 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
   public enum DiskMapType {
     BITCASK,
     ROCKS_DB,
+    SEGMENTED_BITCASK,
     UNKNOWN
   }
 
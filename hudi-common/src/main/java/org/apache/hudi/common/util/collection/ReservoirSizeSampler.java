@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * Keeps a uniform random sample of the sizes of all the payloads observed so far, using reservoir sampling,
+ * so that the average payload size keeps being re-estimated as more payloads are observed, at a decreasing
+ * sampling rate.
+ * <p>
+ * The caller first asks for the slot by {@link #nextSlot()} and only computes the size of the payload, which
+ * is usually expensive, if the payload is sampled. No object is allocated per observed payload.
+ */
+class ReservoirSizeSampler implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  // Fixed seed so that the estimation is deterministic for the same input
+  private static final long SEED = 0xC0FFEEL;
+
+  private final long[] reservoir;
+  private final Random random = new Random(SEED);
+  private int numSamples = 0;
+  private long numObserved = 0;
+  private long sumOfSamples = 0;
+
+  ReservoirSizeSampler(int capacity) {
+    this.reservoir = new long[capacity];
+  }
+
+  /**
+   * Observes one more payload.
+   *
+   * @return the slot to record the size of the payload into by {@link #record(int, long)}, or -1 if the payload
+   * is not sampled.
+   */
+  int nextSlot() {
+    numObserved++;
+    if (numSamples < reservoir.length) {
+      return numSamples;
+    }
+    long index = (long) (random.nextDouble() * numObserved);
+    return index < reservoir.length ? (int) index : -1;
+  }
+
+  /**
+   * Records the size of a sampled payload into the given slot returned by {@link #nextSlot()}.
+   */
+  void record(int slot, long size) {
+    if (slot == numSamples) {
+      numSamples++;
+    } else {
+      sumOfSamples -= reservoir[slot];
+    }
+    reservoir[slot] = size;
+    sumOfSamples += size;
+  }
+
+  /**
+   * @return the average size of the sampled payloads, or 0 if nothing is sampled yet.
+   */
+  long getAverage() {
+    return numSamples == 0 ? 0 : sumOfSamples / numSamples;
+  }
+
+  int getNumSamples() {
+    return numSamples;
+  }
+}
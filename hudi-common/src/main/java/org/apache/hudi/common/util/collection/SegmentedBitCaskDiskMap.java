@@ -0,0 +1,696 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.apache.hudi.common.fs.SizeAwareDataOutputStream;
+import org.apache.hudi.common.serialization.CustomSerializer;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
+import org.apache.hudi.common.util.SerializationUtils;
+import org.apache.hudi.common.util.SpillableMapUtils;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.exception.HoodieCorruptedDataException;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.exception.HoodieNotSupportedException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.apache.hudi.common.util.BinaryUtil.generateChecksum;
+
+/**
+ * A disk spillable only map based on {@link BitCaskDiskMap}, which writes the values into a sequence of rolling
+ * segment files instead of one single file.
+ * <p>
+ * Each segment file uses the same entry layout as {@link BitCaskDiskMap}, i.e.,
+ * |crc|timestamp|sizeOfKey|SizeOfValue|key|value|. Only the last segment is appended to; once it reaches the
+ * configured size, it is sealed and memory-mapped, so that the values are read through {@link MappedByteBuffer}s
+ * without seeking per-thread file handles. Values of the active segment are read with positional reads on its
+ * {@link FileChannel}.
+ * <p>
+ * Overwritten and removed values are tracked per segment. When the ratio of dead bytes in a sealed segment goes
+ * over the configured threshold, the live entries of the segment are copied to the active segment in the
+ * background and the segment file is deleted, so that the disk usage is bounded by the live data.
+ * <p>
+ * The location of a value is only published after the entry is flushed to the segment file. The segments are
+ * reference counted: the readers and the iterators hold a reference of the segments they read, so that a segment
+ * compacted concurrently is only closed, unmapped and deleted after the last reader releases it.
+ * <p>
+ * NOTE : Only String.class type supported for Key
+ */
+public final class SegmentedBitCaskDiskMap<T extends Serializable, R> extends DiskMap<T, R> {
+
+  public static final int BUFFER_SIZE = 128 * 1024;  // 128 KB
+  public static final long DEFAULT_MAX_SEGMENT_SIZE_IN_BYTES = 128 * 1024 * 1024;  // 128 MB
+  public static final double DEFAULT_COMPACTION_DEAD_BYTES_RATIO = 0.5;
+  private static final Logger LOG = LoggerFactory.getLogger(SegmentedBitCaskDiskMap.class);
+  // |crc|timestamp|sizeOfKey|SizeOfValue|
+  private static final int ENTRY_HEADER_SIZE = Long.BYTES * 2 + Integer.BYTES * 2;
+  // Caching byte compression/decompression to avoid creating instances for every operation
+  private static final ThreadLocal<BitCaskDiskMap.CompressionHandler> DISK_COMPRESSION_REF =
+      ThreadLocal.withInitial(BitCaskDiskMap.CompressionHandler::new);
+  // Segments of all the disk maps in the JVM are compacted by one background thread
+  private static final ExecutorService COMPACTION_EXECUTOR =
+      Executors.newSingleThreadExecutor(new CustomizedThreadFactory("bitcask-segment-compaction", true));
+
+  // Stores the key and the location of the corresponding value's latest version
+  private final Map<T, ValueLocation> valueLocationMap;
+  // All the segments that are not deleted yet, by segment ID
+  private final Map<Integer, Segment> segments;
+  // Enables compression for all values stored in the disk map
+  private final boolean isCompressionEnabled;
+  private final long maxSegmentSizeInBytes;
+  private final double compactionDeadBytesRatio;
+  private final CustomSerializer<R> valueSerializer;
+  private final AtomicBoolean isCompactionScheduled = new AtomicBoolean(false);
+  // Serializes the background compaction with the ones triggered explicitly
+  private final Object compactionLock = new Object();
+  private final List<ClosableIterator<R>> iterators = new ArrayList<>();
+  private volatile boolean isClosed = false;
+  // The segment that new entries are appended to
+  private Segment activeSegment;
+  private int nextSegmentId = 0;
+
+  public SegmentedBitCaskDiskMap(String baseFilePath, CustomSerializer<R> valueSerializer, boolean isCompressionEnabled) throws IOException {
+    this(baseFilePath, valueSerializer, isCompressionEnabled, DEFAULT_MAX_SEGMENT_SIZE_IN_BYTES, DEFAULT_COMPACTION_DEAD_BYTES_RATIO);
+  }
+
+  public SegmentedBitCaskDiskMap(String baseFilePath, CustomSerializer<R> valueSerializer, boolean isCompressionEnabled,
+                                 long maxSegmentSizeInBytes, double compactionDeadBytesRatio) throws IOException {
+    super(baseFilePath, ExternalSpillableMap.DiskMapType.SEGMENTED_BITCASK.name());
+    ValidationUtils.checkArgument(maxSegmentSizeInBytes > 0 && maxSegmentSizeInBytes <= Integer.MAX_VALUE,
+        "The segment size must be positive and fit in a memory-mapped buffer: " + maxSegmentSizeInBytes);
+    ValidationUtils.checkArgument(compactionDeadBytesRatio > 0 && compactionDeadBytesRatio <= 1,
+        "The ratio of dead bytes triggering compaction must be in (0, 1]: " + compactionDeadBytesRatio);
+    this.valueLocationMap = new ConcurrentHashMap<>();
+    this.segments = new ConcurrentHashMap<>();
+    this.isCompressionEnabled = isCompressionEnabled;
+    this.maxSegmentSizeInBytes = maxSegmentSizeInBytes;
+    this.compactionDeadBytesRatio = compactionDeadBytesRatio;
+    this.valueSerializer = valueSerializer;
+    this.activeSegment = newSegment();
+  }
+
+  private Segment newSegment() throws IOException {
+    int segmentId = nextSegmentId++;
+    Segment segment = new Segment(segmentId, new File(diskMapPath, String.format("segment-%08d", segmentId)), compactionDeadBytesRatio);
+    segments.put(segmentId, segment);
+    return segment;
+  }
+
+  @Override
+  public Iterator<R> iterator() {
+    return iterator(key -> true);
+  }
+
+  @Override
+  public synchronized Iterator<R> iterator(Predicate<T> filter) {
+    // Read the values in the order of the segments and offsets for sequential access. The locations are
+    // collected under the lock, so that all the segments they refer to can still be pinned by the iterator
+    List<ValueLocation> locations = valueLocationMap.entrySet().stream()
+        .filter(e -> filter.test(e.getKey())).map(Map.Entry::getValue).sorted().collect(Collectors.toList());
+    ClosableIterator<R> iterator = new ValueIterator(locations);
+    this.iterators.add(iterator);
+    return iterator;
+  }
+
+  /**
+   * Number of bytes spilled to disk, including the dead entries that are not compacted yet.
+   */
+  @Override
+  public long sizeOfFileOnDiskInBytes() {
+    return segments.values().stream().mapToLong(segment -> segment.totalBytes.get()).sum();
+  }
+
+  /**
+   * @return number of segment files on disk.
+   */
+  public int getNumSegments() {
+    return segments.size();
+  }
+
+  @Override
+  public int size() {
+    return valueLocationMap.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return valueLocationMap.isEmpty();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return valueLocationMap.containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    throw new HoodieNotSupportedException("unable to compare values in map");
+  }
+
+  @Override
+  public R get(Object key) {
+    while (true) {
+      ValueLocation location = valueLocationMap.get(key);
+      if (location == null) {
+        return null;
+      }
+      Segment segment = segments.get(location.segmentId);
+      if (segment != null && segment.acquire()) {
+        byte[] bytesFromDisk;
+        try {
+          bytesFromDisk = segment.readValue(location);
+        } finally {
+          segment.release();
+        }
+        return deserializeValue(bytesFromDisk);
+      }
+      // The segment is compacted concurrently and the location has been updated; look up again
+    }
+  }
+
+  private R deserializeValue(byte[] bytesFromDisk) {
+    try {
+      if (isCompressionEnabled) {
+        return valueSerializer.deserialize(DISK_COMPRESSION_REF.get().decompressBytes(bytesFromDisk));
+      }
+      return valueSerializer.deserialize(bytesFromDisk);
+    } catch (IOException e) {
+      throw new HoodieIOException("Unable to readFromDisk Hoodie Record from disk", e);
+    }
+  }
+
+  /**
+   * Appends the value to the active segment, the returned location is only published after the segment is flushed.
+   */
+  private ValueLocation append(T key, R value) {
+    try {
+      byte[] val = isCompressionEnabled ? DISK_COMPRESSION_REF.get().compressBytes(valueSerializer.serialize(value)) :
+          valueSerializer.serialize(value);
+      byte[] serializedKey = SerializationUtils.serialize(key);
+      rollActiveSegmentIfNeeded(ENTRY_HEADER_SIZE + serializedKey.length + val.length);
+      return activeSegment.append(new BitCaskDiskMap.FileEntry(generateChecksum(val),
+          serializedKey.length, val.length, serializedKey, val, System.currentTimeMillis()));
+    } catch (IOException io) {
+      throw new HoodieIOException("Unable to store data in Disk Based map", io);
+    }
+  }
+
+  private void rollActiveSegmentIfNeeded(int entrySize) throws IOException {
+    long sizeAfterAppend = activeSegment.totalBytes.get() + entrySize;
+    if (sizeAfterAppend > maxSegmentSizeInBytes && activeSegment.totalBytes.get() > 0) {
+      activeSegment.seal();
+      LOG.debug("Sealed segment {} of {} bytes in {}", activeSegment.id, activeSegment.totalBytes.get(), diskMapPath);
+      activeSegment = newSegment();
+      scheduleCompactionIfNeeded();
+    } else if (sizeAfterAppend > Integer.MAX_VALUE) {
+      throw new HoodieException("The entry of " + entrySize + " bytes cannot fit in one segment");
+    }
+  }
+
+  @Override
+  public synchronized R put(T key, R value) {
+    ValueLocation location = append(key, value);
+    activeSegment.flush();
+    markDead(valueLocationMap.put(key, location));
+    return value;
+  }
+
+  @Override
+  public R remove(Object key) {
+    R value = get(key);
+    synchronized (this) {
+      markDead(valueLocationMap.remove(key));
+    }
+    return value;
+  }
+
+  private void markDead(ValueLocation location) {
+    if (location != null) {
+      Segment segment = segments.get(location.segmentId);
+      if (segment != null) {
+        segment.liveBytes.addAndGet(-location.entrySize);
+        if (segment.isSealed && segment.isCompactionNeeded()) {
+          scheduleCompactionIfNeeded();
+        }
+      }
+    }
+  }
+
+  @Override
+  public synchronized void putAll(Map<? extends T, ? extends R> m) {
+    List<Pair<T, ValueLocation>> appended = new ArrayList<>(m.size());
+    for (Map.Entry<? extends T, ? extends R> entry : m.entrySet()) {
+      appended.add(Pair.of(entry.getKey(), append(entry.getKey(), entry.getValue())));
+    }
+    activeSegment.flush();
+    appended.forEach(entry -> markDead(valueLocationMap.put(entry.getKey(), entry.getValue())));
+  }
+
+  @Override
+  public synchronized void clear() {
+    valueLocationMap.clear();
+    // All the entries are dead now, so that the sealed segments are deleted by compaction
+    segments.values().forEach(segment -> segment.liveBytes.set(0L));
+    scheduleCompactionIfNeeded();
+  }
+
+  private void scheduleCompactionIfNeeded() {
+    if (!isClosed && isCompactionScheduled.compareAndSet(false, true)) {
+      COMPACTION_EXECUTOR.execute(() -> {
+        isCompactionScheduled.set(false);
+        try {
+          compact();
+        } catch (Throwable t) {
+          LOG.warn("Failed to compact the segments in {}", diskMapPath, t);
+        }
+      });
+    }
+  }
+
+  /**
+   * Copies the live entries of the sealed segments with too many dead bytes to the active segment and
+   * deletes these segments.
+   */
+  void compact() throws IOException {
+    synchronized (compactionLock) {
+      doCompact();
+    }
+  }
+
+  private void doCompact() throws IOException {
+    List<Segment> segmentsToCompact = segments.values().stream()
+        .filter(segment -> segment.isSealed && segment.isCompactionNeeded())
+        .sorted((s1, s2) -> Integer.compare(s1.id, s2.id))
+        .collect(Collectors.toList());
+    for (Segment segment : segmentsToCompact) {
+      if (isClosed) {
+        return;
+      }
+      if (!segment.acquire()) {
+        continue;
+      }
+      try {
+        compactSegment(segment);
+      } finally {
+        segment.release();
+      }
+    }
+  }
+
+  private void compactSegment(Segment segment) throws IOException {
+    int numRelocated = 0;
+    ByteBuffer buffer = segment.mappedBuffer.duplicate();
+    int offset = 0;
+    while (offset < buffer.limit() && segment.liveBytes.get() > 0) {
+      int keySize = buffer.getInt(offset + Long.BYTES * 2);
+      int valueSize = buffer.getInt(offset + Long.BYTES * 2 + Integer.BYTES);
+      int entrySize = ENTRY_HEADER_SIZE + keySize + valueSize;
+      byte[] serializedKey = new byte[keySize];
+      buffer.position(offset + ENTRY_HEADER_SIZE);
+      buffer.get(serializedKey);
+      T key = SerializationUtils.deserialize(serializedKey);
+      ValueLocation location = new ValueLocation(segment.id, offset, entrySize);
+      synchronized (this) {
+        if (isClosed) {
+          return;
+        }
+        // Only relocate the entry if it is still the latest version of the key
+        if (location.equals(valueLocationMap.get(key))) {
+          byte[] rawEntry = new byte[entrySize];
+          buffer.position(offset);
+          buffer.get(rawEntry);
+          rollActiveSegmentIfNeeded(entrySize);
+          ValueLocation newLocation = activeSegment.appendRaw(rawEntry);
+          // The entry must be readable from the file before the new location is visible to the readers
+          activeSegment.flush();
+          valueLocationMap.put(key, newLocation);
+          segment.liveBytes.addAndGet(-entrySize);
+          numRelocated++;
+        }
+      }
+      offset += entrySize;
+    }
+    synchronized (this) {
+      if (segments.remove(segment.id) != null) {
+        // Readers that have looked up the location before the relocation still hold a reference of the segment,
+        // the segment is deleted once they release it; new readers do not see the segment anymore
+        segment.release();
+      }
+    }
+    LOG.debug("Compacted segment {} in {} by relocating {} entries", segment.id, diskMapPath, numRelocated);
+  }
+
+  @Override
+  public void close() {
+    List<ClosableIterator<R>> openIterators;
+    synchronized (this) {
+      isClosed = true;
+      valueLocationMap.clear();
+      // The segments are deleted once the readers in flight release them
+      segments.values().forEach(Segment::release);
+      segments.clear();
+      openIterators = new ArrayList<>(this.iterators);
+      this.iterators.clear();
+    }
+    openIterators.forEach(ClosableIterator::close);
+    super.close();
+  }
+
+  @Override
+  public Set<T> keySet() {
+    return valueLocationMap.keySet();
+  }
+
+  @Override
+  public Collection<R> values() {
+    throw new HoodieException("Unsupported Operation Exception");
+  }
+
+  @Override
+  public Stream<R> valueStream() {
+    return valueLocationMap.keySet().stream().map(this::get);
+  }
+
+  @Override
+  public Set<Entry<T, R>> entrySet() {
+    Set<Entry<T, R>> entrySet = new HashSet<>();
+    for (T key : valueLocationMap.keySet()) {
+      entrySet.add(new AbstractMap.SimpleEntry<>(key, get(key)));
+    }
+    return entrySet;
+  }
+
+  /**
+   * The location of a value, i.e., the segment and the offset of the entry in the segment.
+   */
+  private static final class ValueLocation implements Comparable<ValueLocation> {
+    private final int segmentId;
+    private final int offset;
+    private final int entrySize;
+
+    private ValueLocation(int segmentId, int offset, int entrySize) {
+      this.segmentId = segmentId;
+      this.offset = offset;
+      this.entrySize = entrySize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ValueLocation)) {
+        return false;
+      }
+      ValueLocation that = (ValueLocation) o;
+      return segmentId == that.segmentId && offset == that.offset;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * segmentId + offset;
+    }
+
+    @Override
+    public int compareTo(ValueLocation o) {
+      int result = Integer.compare(segmentId, o.segmentId);
+      return result != 0 ? result : Integer.compare(offset, o.offset);
+    }
+  }
+
+  /**
+   * One segment file. The active segment is appended to through a buffered output stream, and a sealed
+   * segment is read-only and memory-mapped.
+   * <p>
+   * One reference of the segment is held by the disk map until the segment is compacted or the map is closed,
+   * and one by each reader in flight. The file is closed, unmapped and deleted when the last reference is released.
+   */
+  private static final class Segment {
+    private final int id;
+    private final File file;
+    private final FileOutputStream fileOutputStream;
+    private final SizeAwareDataOutputStream outputStream;
+    private final FileChannel readChannel;
+    private final AtomicLong totalBytes = new AtomicLong(0L);
+    private final AtomicLong liveBytes = new AtomicLong(0L);
+    private volatile MappedByteBuffer mappedBuffer;
+    private final double compactionDeadBytesRatio;
+    private volatile boolean isSealed = false;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    private Segment(int id, File file, double compactionDeadBytesRatio) throws IOException {
+      this.id = id;
+      this.file = file;
+      this.compactionDeadBytesRatio = compactionDeadBytesRatio;
+      file.createNewFile();
+      // Make sure file is deleted when JVM exits
+      file.deleteOnExit();
+      this.fileOutputStream = new FileOutputStream(file, true);
+      this.outputStream = new SizeAwareDataOutputStream(fileOutputStream, BUFFER_SIZE);
+      this.readChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+    private ValueLocation append(BitCaskDiskMap.FileEntry fileEntry) throws IOException {
+      int offset = (int) totalBytes.get();
+      long size = SpillableMapUtils.spillToDisk(outputStream, fileEntry);
+      return onAppended(offset, (int) (size - offset));
+    }
+
+    private ValueLocation appendRaw(byte[] rawEntry) throws IOException {
+      int offset = (int) totalBytes.get();
+      outputStream.write(rawEntry);
+      return onAppended(offset, rawEntry.length);
+    }
+
+    private ValueLocation onAppended(int offset, int entrySize) {
+      totalBytes.addAndGet(entrySize);
+      liveBytes.addAndGet(entrySize);
+      return new ValueLocation(id, offset, entrySize);
+    }
+
+    private void flush() {
+      try {
+        outputStream.flush();
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to flush to SegmentedBitCaskDiskMap file", e);
+      }
+    }
+
+    private void seal() throws IOException {
+      outputStream.flush();
+      outputStream.close();
+      mappedBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, totalBytes.get());
+      // The read channel stays open until the segment is deleted, as the readers that have seen
+      // the segment unsealed may still be reading through it
+      isSealed = true;
+    }
+
+    /**
+     * Acquires a reference of the segment.
+     *
+     * @return false if the segment has been deleted
+     */
+    private boolean acquire() {
+      while (true) {
+        int count = refCount.get();
+        if (count <= 0) {
+          return false;
+        }
+        if (refCount.compareAndSet(count, count + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private void release() {
+      if (refCount.decrementAndGet() == 0) {
+        delete();
+      }
+    }
+
+    private boolean isCompactionNeeded() {
+      long total = totalBytes.get();
+      return total > 0 && (total - liveBytes.get()) >= total * compactionDeadBytesRatio;
+    }
+
+    private byte[] readValue(ValueLocation location) {
+      ByteBuffer entry;
+      if (isSealed) {
+        entry = mappedBuffer.duplicate();
+        entry.position(location.offset);
+        entry.limit(location.offset + location.entrySize);
+      } else {
+        entry = ByteBuffer.allocate(location.entrySize);
+        try {
+          int read = 0;
+          while (read < location.entrySize) {
+            int numBytes = readChannel.read(entry, (long) location.offset + read);
+            if (numBytes < 0) {
+              throw new HoodieCorruptedDataException("Unexpected end of the segment file " + file);
+            }
+            read += numBytes;
+          }
+        } catch (IOException e) {
+          throw new HoodieIOException("Unable to readFromDisk Hoodie Record from disk", e);
+        }
+        entry.flip();
+      }
+      long crc = entry.getLong();
+      // Skip timestamp
+      entry.getLong();
+      int keySize = entry.getInt();
+      int valueSize = entry.getInt();
+      if (ENTRY_HEADER_SIZE + keySize + valueSize != location.entrySize) {
+        throw new HoodieCorruptedDataException("unequal size of payload written to external file, data may be corrupted");
+      }
+      entry.position(entry.position() + keySize);
+      byte[] value = new byte[valueSize];
+      entry.get(value);
+      if (crc != generateChecksum(value)) {
+        throw new HoodieCorruptedDataException(
+            "checksum of payload written to external disk does not match, data may be corrupted");
+      }
+      return value;
+    }
+
+    private void delete() {
+      try {
+        if (!isSealed) {
+          outputStream.close();
+        }
+        fileOutputStream.close();
+        readChannel.close();
+      } catch (IOException e) {
+        // skip exception
+      } finally {
+        if (mappedBuffer != null) {
+          unmap(mappedBuffer);
+          mappedBuffer = null;
+        }
+        file.delete();
+      }
+    }
+  }
+
+  /**
+   * Unmaps the buffer eagerly instead of waiting for the GC, the buffer must not be accessed anymore.
+   */
+  private static void unmap(MappedByteBuffer buffer) {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      // Java 9+
+      unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+    } catch (NoSuchMethodException e) {
+      try {
+        // Java 8
+        Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+        cleanerMethod.setAccessible(true);
+        Object cleaner = cleanerMethod.invoke(buffer);
+        cleaner.getClass().getMethod("clean").invoke(cleaner);
+      } catch (Exception ex) {
+        LOG.debug("Failed to unmap the segment buffer, it is unmapped by the GC", ex);
+      }
+    } catch (Exception e) {
+      LOG.debug("Failed to unmap the segment buffer, it is unmapped by the GC", e);
+    }
+  }
+
+  /**
+   * Iterator over the values at the given locations. The segments of the locations are pinned until
+   * the iterator is exhausted or closed, so that the compaction does not delete them during the iteration.
+   */
+  private class ValueIterator implements ClosableIterator<R> {
+    private final Iterator<ValueLocation> locationIterator;
+    private final Map<Integer, Segment> pinnedSegments = new HashMap<>();
+    private boolean isReleased = false;
+
+    // Must be called holding the lock of the disk map, so that all the segments of the locations are alive
+    private ValueIterator(List<ValueLocation> locations) {
+      this.locationIterator = locations.iterator();
+      for (ValueLocation location : locations) {
+        if (!pinnedSegments.containsKey(location.segmentId)) {
+          Segment segment = segments.get(location.segmentId);
+          ValidationUtils.checkState(segment != null && segment.acquire(), "The segment of a live value has been deleted");
+          pinnedSegments.put(location.segmentId, segment);
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      boolean hasNext = !isReleased && locationIterator.hasNext();
+      if (!hasNext) {
+        close();
+      }
+      return hasNext;
+    }
+
+    @Override
+    public R next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      ValueLocation location = locationIterator.next();
+      return deserializeValue(pinnedSegments.get(location.segmentId).readValue(location));
+    }
+
+    @Override
+    public synchronized void close() {
+      if (!isReleased) {
+        isReleased = true;
+        pinnedSegments.values().forEach(Segment::release);
+        pinnedSegments.clear();
+      }
+    }
+  }
+}
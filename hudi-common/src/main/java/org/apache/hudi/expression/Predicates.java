@@ -262,6 +262,10 @@ public class Predicates {
     protected final Expression value;
     protected final List<Expression> validValues;
 
+    // The evaluated values if all the valid values are literals, which are
+    // independent of the data, so that they are only collected once
+    private transient Set<Object> literalValues;
+
     public In(Expression value, List<Expression> validValues) {
       this.value = value;
       this.validValues = validValues;
@@ -277,9 +281,15 @@ public class Predicates {
 
     @Override
     public Boolean eval(StructLike data) {
-      Set<Object> values = validValues.stream()
-          .map(validValue -> validValue.eval(data))
-          .collect(Collectors.toSet());
+      Set<Object> values = literalValues;
+      if (values == null) {
+        values = validValues.stream()
+            .map(validValue -> validValue.eval(data))
+            .collect(Collectors.toSet());
+        if (validValues.stream().allMatch(validValue -> validValue instanceof Literal)) {
+          literalValues = values;
+        }
+      }
       return values.contains(value.eval(data));
     }
 
@@ -31,12 +31,14 @@ import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
 import org.apache.hudi.io.ByteArraySeekableDataInputStream;
 import org.apache.hudi.io.SeekableDataInputStream;
 import org.apache.hudi.io.hfile.CachingHFileReaderImpl;
+import org.apache.hudi.io.hfile.HFileBlockCache;
 import org.apache.hudi.io.hfile.HFileReader;
 import org.apache.hudi.io.hfile.HFileReaderImpl;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StoragePath;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factory class to provide the implementation for
@@ -69,12 +71,8 @@ public class HFileReaderFactory {
     final SeekableDataInputStream inputStream = createInputStream(fileSize);
 
     if (shouldEnableBlockCaching()) {
-      int blockCacheSize = ConfigUtils.getIntWithAltKeys(
-          properties, HoodieReaderConfig.HFILE_BLOCK_CACHE_SIZE);
-      int cacheTtlMinutes = ConfigUtils.getIntWithAltKeys(
-          properties, HoodieReaderConfig.HFILE_BLOCK_CACHE_TTL_MINUTES);
       String filePath = getFilePath();
-      return new CachingHFileReaderImpl(inputStream, fileSize, filePath, blockCacheSize, cacheTtlMinutes);
+      return new CachingHFileReaderImpl(inputStream, fileSize, filePath, getBlockCacheConfig());
     }
 
     return new HFileReaderImpl(inputStream, fileSize);
@@ -84,6 +82,17 @@ public class HFileReaderFactory {
     return ConfigUtils.getBooleanWithAltKeys(properties, HoodieReaderConfig.HFILE_BLOCK_CACHE_ENABLED);
   }
 
+  private HFileBlockCache.Config getBlockCacheConfig() {
+    return HFileBlockCache.Config.builder()
+        .maxDataBlockCount(ConfigUtils.getIntWithAltKeys(properties, HoodieReaderConfig.HFILE_BLOCK_CACHE_SIZE))
+        .maxDataBlockBytes(ConfigUtils.getLongWithAltKeys(properties, HoodieReaderConfig.HFILE_BLOCK_CACHE_DATA_MAX_BYTES))
+        .maxIndexBlockBytes(ConfigUtils.getLongWithAltKeys(properties, HoodieReaderConfig.HFILE_BLOCK_CACHE_INDEX_MAX_BYTES))
+        .expireAfterAccess(
+            ConfigUtils.getIntWithAltKeys(properties, HoodieReaderConfig.HFILE_BLOCK_CACHE_TTL_MINUTES), TimeUnit.MINUTES)
+        .offHeap(ConfigUtils.getBooleanWithAltKeys(properties, HoodieReaderConfig.HFILE_BLOCK_CACHE_OFF_HEAP_ENABLED))
+        .build();
+  }
+
   private String getFilePath() {
     if (fileSource.isLeft()) {
       return fileSource.asLeft().toString();
@@ -122,6 +122,8 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
   // should we reuse the open file handles, across calls
   private final boolean reuse;
   private final transient Map<HoodieFileGroupId, Pair<HoodieAvroFileReader, ReusableFileGroupRecordBufferLoader<IndexedRecord>>> reusableFileReaders = new ConcurrentHashMap<>();
+  // the readers leased from the process-wide pool, released on close
+  private final transient Map<HoodieFileGroupId, HoodieMetadataFileGroupReaderPool.PooledReaders> pooledFileReaders = new ConcurrentHashMap<>();
 
   // Latest file slices in the metadata partitions
   private final Map<String, List<FileSlice>> partitionFileSliceMap = new ConcurrentHashMap<>();
@@ -501,25 +503,25 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
         .explicitInstants(validInstantTimestamps).build());
 
     // If reuse is enabled and full scan is allowed for the partition, we can reuse the file readers for base files and the reader context for the log files.
+    // With the reader pool enabled, the readers are also shared with the other instances in the same JVM.
     Map<StoragePath, HoodieAvroFileReader> baseFileReaders = Collections.emptyMap();
     ReusableFileGroupRecordBufferLoader<IndexedRecord> recordBufferLoader = null;
-    boolean shouldReuse = reuse && isFullScanAllowedForPartition(fileSlice.getPartitionPath());
+    boolean usePool = metadataConfig.isReaderPoolEnabled();
+    boolean shouldReuse = (reuse || usePool) && isFullScanAllowedForPartition(fileSlice.getPartitionPath());
     TypedProperties fileGroupReaderProps = ConfigUtils.buildFileGroupReaderProperties(metadataConfig, shouldReuse);
     if (shouldReuse) {
-      Pair<HoodieAvroFileReader, ReusableFileGroupRecordBufferLoader<IndexedRecord>> readers =
-          reusableFileReaders.computeIfAbsent(fileSlice.getFileGroupId(), fgId -> {
-            try {
-              HoodieAvroFileReader baseFileReader = null;
-              if (fileSlice.getBaseFile().isPresent()) {
-                HoodieConfig fileGroupReaderConfig = new HoodieConfig(fileGroupReaderProps);
-                baseFileReader = (HoodieAvroFileReader) HoodieIOFactory.getIOFactory(storage).getReaderFactory(HoodieRecord.HoodieRecordType.AVRO)
-                    .getFileReader(fileGroupReaderConfig, fileSlice.getBaseFile().get().getStoragePath(), metadataMetaClient.getTableConfig().getBaseFileFormat(), Option.empty());
-              }
-              return Pair.of(baseFileReader, buildReusableRecordBufferLoader(fileSlice, latestMetadataInstantTime, instantRange));
-            } catch (IOException ex) {
-              throw new HoodieIOException("Error opening readers for metadata table partition " + fileSlice.getPartitionPath(), ex);
-            }
-          });
+      Pair<HoodieAvroFileReader, ReusableFileGroupRecordBufferLoader<IndexedRecord>> readers;
+      if (usePool) {
+        HoodieMetadataFileGroupReaderPool.PooledReaders pooledReaders = pooledFileReaders.computeIfAbsent(fileSlice.getFileGroupId(),
+            fgId -> HoodieMetadataFileGroupReaderPool.getInstance().acquire(
+                new HoodieMetadataFileGroupReaderPool.ReaderKey(metadataBasePath, fgId, latestMetadataInstantTime, validInstantTimestamps),
+                metadataConfig.getReaderPoolMaxIdleReaders(),
+                () -> openReusableReaders(fileSlice, fileGroupReaderProps, latestMetadataInstantTime, instantRange)));
+        readers = Pair.of(pooledReaders.getBaseFileReader(), pooledReaders.getRecordBufferLoader());
+      } else {
+        readers = reusableFileReaders.computeIfAbsent(fileSlice.getFileGroupId(),
+            fgId -> openReusableReaders(fileSlice, fileGroupReaderProps, latestMetadataInstantTime, instantRange));
+      }
       if (fileSlice.getBaseFile().isPresent()) {
         baseFileReaders = Collections.singletonMap(fileSlice.getBaseFile().get().getStoragePath(), readers.getLeft());
       }
@@ -551,6 +553,22 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
     return fileGroupReader.getClosableIterator();
   }
 
+  private Pair<HoodieAvroFileReader, ReusableFileGroupRecordBufferLoader<IndexedRecord>> openReusableReaders(FileSlice fileSlice, TypedProperties fileGroupReaderProps,
+                                                                                                       String latestMetadataInstantTime,
+                                                                                                       Option<InstantRange> instantRange) {
+    try {
+      HoodieAvroFileReader baseFileReader = null;
+      if (fileSlice.getBaseFile().isPresent()) {
+        HoodieConfig fileGroupReaderConfig = new HoodieConfig(fileGroupReaderProps);
+        baseFileReader = (HoodieAvroFileReader) HoodieIOFactory.getIOFactory(storage).getReaderFactory(HoodieRecord.HoodieRecordType.AVRO)
+            .getFileReader(fileGroupReaderConfig, fileSlice.getBaseFile().get().getStoragePath(), metadataMetaClient.getTableConfig().getBaseFileFormat(), Option.empty());
+      }
+      return Pair.of(baseFileReader, buildReusableRecordBufferLoader(fileSlice, latestMetadataInstantTime, instantRange));
+    } catch (IOException ex) {
+      throw new HoodieIOException("Error opening readers for metadata table partition " + fileSlice.getPartitionPath(), ex);
+    }
+  }
+
   private ReusableFileGroupRecordBufferLoader<IndexedRecord> buildReusableRecordBufferLoader(FileSlice fileSlice, String latestMetadataInstantTime,
                                                                                              Option<InstantRange> instantRangeOption) {
     // initialize without any filters
@@ -697,9 +715,11 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
   }
 
   /**
-   * Close and clear all the partitions readers.
+   * Close and clear all the partitions readers, the readers leased from the pool are released back to it.
    */
   private void closeReusableReaders() {
+    pooledFileReaders.values().forEach(pooledReaders -> pooledReaders.release(metadataConfig.getReaderPoolMaxIdleReaders()));
+    pooledFileReaders.clear();
     if (reuse) {
       reusableFileReaders.values().forEach(pair -> {
         if (pair.getLeft() != null) {
@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.metadata;
+
+import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.common.table.read.buffer.ReusableFileGroupRecordBufferLoader;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.io.storage.HoodieAvroFileReader;
+
+import org.apache.avro.generic.IndexedRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.apache.hudi.common.table.timeline.InstantComparison.LESSER_THAN;
+import static org.apache.hudi.common.table.timeline.InstantComparison.compareTimestamps;
+
+/**
+ * A process-wide pool of the reusable readers of the metadata table file groups, shared by all the
+ * {@link HoodieBackedTableMetadata} instances in the JVM, so that the queries and the writers do not
+ * re-open the base files and re-scan the log files of a file group that has been read before.
+ *
+ * <p>The readers are keyed by the metadata table, the file group, the latest completed metadata instant
+ * and the valid data table instants, and are reference counted: a reader is only closed once it is
+ * no longer leased. The pool is invalidated incrementally: when a file group is leased for a newer
+ * metadata instant, the readers of the same file group at the older instants are evicted, while the
+ * readers of the other file groups stay warm. The idle readers beyond the configured bound are evicted
+ * in LRU order.
+ */
+public class HoodieMetadataFileGroupReaderPool {
+  private static final Logger LOG = LoggerFactory.getLogger(HoodieMetadataFileGroupReaderPool.class);
+
+  private static final HoodieMetadataFileGroupReaderPool INSTANCE = new HoodieMetadataFileGroupReaderPool();
+
+  // the readers in access order, for the LRU eviction of the idle readers
+  private final LinkedHashMap<ReaderKey, PooledReaders> readers = new LinkedHashMap<>(16, 0.75f, true);
+  private int numIdleReaders = 0;
+
+  HoodieMetadataFileGroupReaderPool() {
+  }
+
+  public static HoodieMetadataFileGroupReaderPool getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Leases the readers of the given key, the readers are created by the loader if they are not pooled yet.
+   * The returned lease must be released through {@link PooledReaders#release(int)}.
+   *
+   * @param key            The key of the readers.
+   * @param maxIdleReaders The maximum number of the idle readers kept in the pool.
+   * @param loader         The loader to create the readers.
+   * @return The leased readers.
+   */
+  public PooledReaders acquire(ReaderKey key, int maxIdleReaders,
+                               Supplier<Pair<HoodieAvroFileReader, ReusableFileGroupRecordBufferLoader<IndexedRecord>>> loader) {
+    List<PooledReaders> evicted = new ArrayList<>();
+    PooledReaders pooled;
+    synchronized (this) {
+      pooled = readers.get(key);
+      if (pooled == null) {
+        pooled = new PooledReaders(key);
+        evictOutdated(key, evicted);
+        readers.put(key, pooled);
+      } else if (pooled.refCount == 0) {
+        numIdleReaders--;
+      }
+      pooled.refCount++;
+      evictIdle(maxIdleReaders, evicted);
+    }
+    evicted.forEach(PooledReaders::closeReaders);
+    try {
+      pooled.load(loader);
+    } catch (RuntimeException e) {
+      // the readers are loaded again by the following lease
+      pooled.release(maxIdleReaders);
+      throw e;
+    }
+    return pooled;
+  }
+
+  private void release(PooledReaders pooled, int maxIdleReaders) {
+    List<PooledReaders> evicted = new ArrayList<>();
+    synchronized (this) {
+      pooled.refCount--;
+      if (pooled.refCount == 0) {
+        if (pooled.evicted) {
+          evicted.add(pooled);
+        } else {
+          numIdleReaders++;
+          evictIdle(maxIdleReaders, evicted);
+        }
+      }
+    }
+    evicted.forEach(PooledReaders::closeReaders);
+  }
+
+  /**
+   * Evicts the readers of the same file group at the older metadata instants than the given key.
+   */
+  private void evictOutdated(ReaderKey key, List<PooledReaders> evicted) {
+    Iterator<Map.Entry<ReaderKey, PooledReaders>> iterator = readers.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<ReaderKey, PooledReaders> entry = iterator.next();
+      ReaderKey pooledKey = entry.getKey();
+      if (pooledKey.isSameFileGroup(key)
+          && compareTimestamps(pooledKey.metadataInstantTime, LESSER_THAN, key.metadataInstantTime)) {
+        PooledReaders outdated = entry.getValue();
+        iterator.remove();
+        outdated.evicted = true;
+        if (outdated.refCount == 0) {
+          numIdleReaders--;
+          evicted.add(outdated);
+        }
+        LOG.debug("Evicted the metadata file group readers of {} as the metadata table advanced to {}", pooledKey, key.metadataInstantTime);
+      }
+    }
+  }
+
+  /**
+   * Evicts the least recently used idle readers until at most {@code maxIdleReaders} idle readers are left.
+   */
+  private void evictIdle(int maxIdleReaders, List<PooledReaders> evicted) {
+    Iterator<PooledReaders> iterator = readers.values().iterator();
+    while (numIdleReaders > maxIdleReaders && iterator.hasNext()) {
+      PooledReaders pooled = iterator.next();
+      if (pooled.refCount == 0) {
+        iterator.remove();
+        pooled.evicted = true;
+        numIdleReaders--;
+        evicted.add(pooled);
+      }
+    }
+  }
+
+  /**
+   * Closes all the idle readers of the given metadata table, the leased readers are closed once released.
+   */
+  public void invalidate(String metadataBasePath) {
+    List<PooledReaders> evicted = new ArrayList<>();
+    synchronized (this) {
+      Iterator<PooledReaders> iterator = readers.values().iterator();
+      while (iterator.hasNext()) {
+        PooledReaders pooled = iterator.next();
+        if (pooled.key.metadataBasePath.equals(metadataBasePath)) {
+          iterator.remove();
+          pooled.evicted = true;
+          if (pooled.refCount == 0) {
+            numIdleReaders--;
+            evicted.add(pooled);
+          }
+        }
+      }
+    }
+    evicted.forEach(PooledReaders::closeReaders);
+  }
+
+  synchronized int getNumReaders() {
+    return readers.size();
+  }
+
+  synchronized int getNumIdleReaders() {
+    return numIdleReaders;
+  }
+
+  /**
+   * The key of the pooled readers.
+   */
+  public static final class ReaderKey {
+    private final String metadataBasePath;
+    private final HoodieFileGroupId fileGroupId;
+    private final String metadataInstantTime;
+    // the log records of the data table instants that are not completed yet are skipped by the readers
+    private final Set<String> validInstantTimestamps;
+
+    public ReaderKey(String metadataBasePath, HoodieFileGroupId fileGroupId, String metadataInstantTime, Set<String> validInstantTimestamps) {
+      this.metadataBasePath = metadataBasePath;
+      this.fileGroupId = fileGroupId;
+      this.metadataInstantTime = metadataInstantTime;
+      this.validInstantTimestamps = validInstantTimestamps;
+    }
+
+    private boolean isSameFileGroup(ReaderKey other) {
+      return metadataBasePath.equals(other.metadataBasePath) && fileGroupId.equals(other.fileGroupId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ReaderKey readerKey = (ReaderKey) o;
+      return metadataBasePath.equals(readerKey.metadataBasePath)
+          && fileGroupId.equals(readerKey.fileGroupId)
+          && metadataInstantTime.equals(readerKey.metadataInstantTime)
+          && validInstantTimestamps.equals(readerKey.validInstantTimestamps);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(metadataBasePath, fileGroupId, metadataInstantTime, validInstantTimestamps);
+    }
+
+    @Override
+    public String toString() {
+      return "ReaderKey{metadataBasePath=" + metadataBasePath + ", fileGroupId=" + fileGroupId
+          + ", metadataInstantTime=" + metadataInstantTime + "}";
+    }
+  }
+
+  /**
+   * The readers leased from the pool.
+   */
+  public final class PooledReaders {
+    private final ReaderKey key;
+    // guarded by the pool
+    private int refCount = 0;
+    private boolean evicted = false;
+    private volatile Pair<HoodieAvroFileReader, ReusableFileGroupRecordBufferLoader<IndexedRecord>> loaded;
+
+    private PooledReaders(ReaderKey key) {
+      this.key = key;
+    }
+
+    private synchronized void load(Supplier<Pair<HoodieAvroFileReader, ReusableFileGroupRecordBufferLoader<IndexedRecord>>> loader) {
+      if (loaded == null) {
+        loaded = loader.get();
+      }
+    }
+
+    public HoodieAvroFileReader getBaseFileReader() {
+      return loaded.getLeft();
+    }
+
+    public ReusableFileGroupRecordBufferLoader<IndexedRecord> getRecordBufferLoader() {
+      return loaded.getRight();
+    }
+
+    /**
+     * Releases the lease of the readers, the readers are kept in the pool for the following leases
+     * unless they have been evicted.
+     *
+     * @param maxIdleReaders The maximum number of the idle readers kept in the pool.
+     */
+    public void release(int maxIdleReaders) {
+      HoodieMetadataFileGroupReaderPool.this.release(this, maxIdleReaders);
+    }
+
+    private synchronized void closeReaders() {
+      if (loaded == null) {
+        return;
+      }
+      if (loaded.getLeft() != null) {
+        loaded.getLeft().close();
+      }
+      if (loaded.getRight() != null) {
+        loaded.getRight().close();
+      }
+      loaded = null;
+    }
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary encoding of the JSON trees of the timeline server responses, used in place of
+ * the JSON text when the client accepts it.
+ *
+ * <p>The values are written as tagged nodes with variable-length integers, and all the strings, both the
+ * field names and the values, are dictionary encoded: a string is written once and then referenced by
+ * its index in the dictionary. As the responses of the file system view repeat the field names, the
+ * partition paths, the file ids and the instant times across the file slices, this shrinks the payload
+ * and lets the client decode each distinct string only once.
+ *
+ * <p>The decoded tree is bound to the same DTOs through Jackson, so both transports share the DTO mappings.
+ */
+public class TimelineServiceBinaryCodec {
+
+  public static final String CONTENT_TYPE = "application/x-hudi-binary";
+  public static final String JSON_CONTENT_TYPE = "application/json";
+
+  private static final byte MAGIC = (byte) 0xD7;
+  private static final byte VERSION = 1;
+
+  private static final byte TAG_NULL = 0;
+  private static final byte TAG_TRUE = 1;
+  private static final byte TAG_FALSE = 2;
+  private static final byte TAG_LONG = 3;
+  private static final byte TAG_DOUBLE = 4;
+  private static final byte TAG_STRING = 5;
+  private static final byte TAG_ARRAY = 6;
+  private static final byte TAG_OBJECT = 7;
+  private static final byte TAG_BIG_INTEGER = 8;
+  private static final byte TAG_BIG_DECIMAL = 9;
+  private static final byte TAG_BINARY = 10;
+
+  private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+  private TimelineServiceBinaryCodec() {
+  }
+
+  /**
+   * Returns whether the binary encoding is accepted by the client, given the value of the {@code Accept} header.
+   */
+  public static boolean isAccepted(String acceptHeader) {
+    return acceptHeader != null && acceptHeader.contains(CONTENT_TYPE);
+  }
+
+  /**
+   * Returns whether the response is binary encoded, given the value of the {@code Content-Type} header.
+   */
+  public static boolean isBinaryContentType(String contentType) {
+    return contentType != null && contentType.startsWith(CONTENT_TYPE);
+  }
+
+  public static byte[] encode(JsonNode node) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      output.writeByte(MAGIC);
+      output.writeByte(VERSION);
+      new Encoder(output).write(node);
+    }
+    return bytes.toByteArray();
+  }
+
+  public static JsonNode decode(InputStream inputStream) throws IOException {
+    DataInputStream input = new DataInputStream(inputStream);
+    byte magic = input.readByte();
+    byte version = input.readByte();
+    if (magic != MAGIC || version != VERSION) {
+      throw new IOException(String.format("Unsupported binary encoding of the timeline server response (magic=%d, version=%d)", magic, version));
+    }
+    return new Decoder(input).read();
+  }
+
+  private static class Encoder {
+    private final DataOutputStream output;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    Encoder(DataOutputStream output) {
+      this.output = output;
+    }
+
+    void write(JsonNode node) throws IOException {
+      switch (node.getNodeType()) {
+        case BOOLEAN:
+          output.writeByte(node.booleanValue() ? TAG_TRUE : TAG_FALSE);
+          break;
+        case NUMBER:
+          writeNumber(node);
+          break;
+        case STRING:
+          output.writeByte(TAG_STRING);
+          writeString(node.textValue());
+          break;
+        case BINARY:
+          byte[] binary = node.binaryValue();
+          output.writeByte(TAG_BINARY);
+          writeVarLong(binary.length);
+          output.write(binary);
+          break;
+        case ARRAY:
+          output.writeByte(TAG_ARRAY);
+          writeVarLong(node.size());
+          for (JsonNode element : node) {
+            write(element);
+          }
+          break;
+        case OBJECT:
+          output.writeByte(TAG_OBJECT);
+          writeVarLong(node.size());
+          Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+          while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            writeString(field.getKey());
+            write(field.getValue());
+          }
+          break;
+        case NULL:
+        case MISSING:
+          output.writeByte(TAG_NULL);
+          break;
+        default:
+          throw new IOException("Unsupported JSON node type " + node.getNodeType());
+      }
+    }
+
+    private void writeNumber(JsonNode node) throws IOException {
+      if (node.isBigInteger()) {
+        output.writeByte(TAG_BIG_INTEGER);
+        writeString(node.bigIntegerValue().toString());
+      } else if (node.isBigDecimal()) {
+        output.writeByte(TAG_BIG_DECIMAL);
+        writeString(node.decimalValue().toString());
+      } else if (node.isIntegralNumber()) {
+        output.writeByte(TAG_LONG);
+        long value = node.longValue();
+        writeVarLong((value << 1) ^ (value >> 63));
+      } else {
+        output.writeByte(TAG_DOUBLE);
+        output.writeDouble(node.doubleValue());
+      }
+    }
+
+    /**
+     * Writes the index of the string in the dictionary plus one if it has been written before,
+     * otherwise, zero followed by the UTF-8 bytes of the string.
+     */
+    private void writeString(String value) throws IOException {
+      Integer index = dictionary.get(value);
+      if (index != null) {
+        writeVarLong(index + 1);
+        return;
+      }
+      dictionary.put(value, dictionary.size());
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(0);
+      writeVarLong(bytes.length);
+      output.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+      while ((value & ~0x7FL) != 0) {
+        output.writeByte((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      output.writeByte((int) value);
+    }
+  }
+
+  private static class Decoder {
+    private final DataInputStream input;
+    private final List<String> dictionary = new ArrayList<>();
+    // the text nodes of the dictionary strings, shared by all the references
+    private final List<TextNode> textNodes = new ArrayList<>();
+
+    Decoder(DataInputStream input) {
+      this.input = input;
+    }
+
+    JsonNode read() throws IOException {
+      byte tag = input.readByte();
+      switch (tag) {
+        case TAG_NULL:
+          return NODE_FACTORY.nullNode();
+        case TAG_TRUE:
+          return NODE_FACTORY.booleanNode(true);
+        case TAG_FALSE:
+          return NODE_FACTORY.booleanNode(false);
+        case TAG_LONG:
+          long zigZag = readVarLong();
+          long value = (zigZag >>> 1) ^ -(zigZag & 1);
+          return value == (int) value ? NODE_FACTORY.numberNode((int) value) : NODE_FACTORY.numberNode(value);
+        case TAG_DOUBLE:
+          return NODE_FACTORY.numberNode(input.readDouble());
+        case TAG_STRING:
+          return textNodes.get(readStringIndex());
+        case TAG_BIG_INTEGER:
+          return NODE_FACTORY.numberNode(new BigInteger(dictionary.get(readStringIndex())));
+        case TAG_BIG_DECIMAL:
+          return NODE_FACTORY.numberNode(new BigDecimal(dictionary.get(readStringIndex())));
+        case TAG_BINARY:
+          byte[] binary = new byte[(int) readVarLong()];
+          input.readFully(binary);
+          return NODE_FACTORY.binaryNode(binary);
+        case TAG_ARRAY:
+          int numElements = (int) readVarLong();
+          ArrayNode array = NODE_FACTORY.arrayNode(numElements);
+          for (int i = 0; i < numElements; i++) {
+            array.add(read());
+          }
+          return array;
+        case TAG_OBJECT:
+          int numFields = (int) readVarLong();
+          ObjectNode object = NODE_FACTORY.objectNode();
+          for (int i = 0; i < numFields; i++) {
+            String fieldName = dictionary.get(readStringIndex());
+            object.set(fieldName, read());
+          }
+          return object;
+        default:
+          throw new IOException("Unknown tag " + tag + " in the binary encoding of the timeline server response");
+      }
+    }
+
+    private int readStringIndex() throws IOException {
+      int reference = (int) readVarLong();
+      if (reference > 0) {
+        return reference - 1;
+      }
+      byte[] bytes = new byte[(int) readVarLong()];
+      input.readFully(bytes);
+      String value = new String(bytes, StandardCharsets.UTF_8);
+      dictionary.add(value);
+      textNodes.add(NODE_FACTORY.textNode(value));
+      return dictionary.size() - 1;
+    }
+
+    private long readVarLong() throws IOException {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        byte b = input.readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IOException("Malformed variable-length integer in the binary encoding of the timeline server response");
+    }
+  }
+}
@@ -20,11 +20,17 @@ package org.apache.hudi.timeline;
 
 import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
 
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.StatusLine;
+import org.apache.http.client.HttpResponseException;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.util.EntityUtils;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
@@ -41,12 +47,14 @@ public class TimelineServiceClient extends TimelineServiceClientBase {
   protected final String timelineServerHost;
   protected final int timelineServerPort;
   protected final int timeoutMs;
+  protected final boolean binaryTransport;
 
   public TimelineServiceClient(FileSystemViewStorageConfig config) {
     super(config);
     this.timelineServerHost = config.getRemoteViewServerHost();
     this.timelineServerPort = config.getRemoteViewServerPort();
     this.timeoutMs = (int) TimeUnit.SECONDS.toMillis(config.getRemoteTimelineClientTimeoutSecs());
+    this.binaryTransport = config.isRemoteBinaryTransportEnabled();
   }
 
   @Override
@@ -61,16 +69,35 @@ public class TimelineServiceClient extends TimelineServiceClientBase {
     String url = builder.toString();
     LOG.debug("Sending request : ({})", url);
     org.apache.http.client.fluent.Response response = get(request.getMethod(), url, timeoutMs);
-    return new Response(response.returnContent().asStream());
+    return response.handleResponse(httpResponse -> {
+      StatusLine statusLine = httpResponse.getStatusLine();
+      HttpEntity entity = httpResponse.getEntity();
+      if (statusLine.getStatusCode() >= 300) {
+        EntityUtils.consume(entity);
+        throw new HttpResponseException(statusLine.getStatusCode(), statusLine.getReasonPhrase());
+      }
+      // The server answers in JSON if it does not support the binary encoding
+      boolean binary = entity != null && entity.getContentType() != null
+          && TimelineServiceBinaryCodec.isBinaryContentType(entity.getContentType().getValue());
+      byte[] content = entity != null ? EntityUtils.toByteArray(entity) : new byte[0];
+      return new Response(new ByteArrayInputStream(content), binary);
+    });
   }
 
   private org.apache.http.client.fluent.Response get(RequestMethod method, String url, int timeoutMs) throws IOException {
+    org.apache.http.client.fluent.Request request;
     switch (method) {
       case GET:
-        return org.apache.http.client.fluent.Request.Get(url).connectTimeout(timeoutMs).socketTimeout(timeoutMs).execute();
+        request = org.apache.http.client.fluent.Request.Get(url);
+        break;
       case POST:
       default:
-        return org.apache.http.client.fluent.Request.Post(url).connectTimeout(timeoutMs).socketTimeout(timeoutMs).execute();
+        request = org.apache.http.client.fluent.Request.Post(url);
+        break;
     }
+    if (binaryTransport) {
+      request.addHeader(HttpHeaders.ACCEPT, TimelineServiceBinaryCodec.CONTENT_TYPE + ", " + TimelineServiceBinaryCodec.JSON_CONTENT_TYPE);
+    }
+    return request.connectTimeout(timeoutMs).socketTimeout(timeoutMs).execute();
   }
 }
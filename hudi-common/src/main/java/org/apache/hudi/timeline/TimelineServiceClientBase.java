@@ -116,13 +116,27 @@ public abstract class TimelineServiceClientBase implements Serializable {
   public static class Response {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new AfterburnerModule());
     private final InputStream content;
+    // whether the content is encoded by TimelineServiceBinaryCodec instead of JSON
+    private final boolean binary;
 
     public Response(InputStream content) {
+      this(content, false);
+    }
+
+    public Response(InputStream content, boolean binary) {
       this.content = content;
+      this.binary = binary;
+    }
+
+    public boolean isBinary() {
+      return binary;
     }
 
     public <T> T getDecodedContent(TypeReference reference) throws IOException {
       try {
+        if (binary) {
+          return OBJECT_MAPPER.readerFor(reference).readValue(TimelineServiceBinaryCodec.decode(content));
+        }
         return (T) OBJECT_MAPPER.readValue(content, reference);
       } finally {
         content.close();
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link KeySpec}.
+ */
+class TestKeySpec {
+
+  @Test
+  void testSortedKeys() {
+    List<String> keys = Arrays.asList("key3", "key1", "key2");
+    KeySpec keySpec = KeySpec.fullKeySpec(keys);
+    assertTrue(keySpec.isFullKey());
+    assertEquals(Arrays.asList("key3", "key1", "key2"), keySpec.getKeys());
+    assertEquals(Arrays.asList("key1", "key2", "key3"), keySpec.getSortedKeys());
+    // the sorted keys are computed only once
+    assertSame(keySpec.getSortedKeys(), keySpec.getSortedKeys());
+
+    List<String> sortedKeys = Arrays.asList("key1", "key2", "key3");
+    KeySpec sortedKeySpec = KeySpec.prefixKeySpec(sortedKeys);
+    assertFalse(sortedKeySpec.isFullKey());
+    // no copy is made if the keys are already sorted
+    assertSame(sortedKeys, sortedKeySpec.getSortedKeys());
+  }
+
+  @Test
+  void testKeySet() {
+    KeySpec keySpec = KeySpec.fullKeySpec(Arrays.asList("key2", "key1", "key2"));
+    assertEquals(new HashSet<>(Arrays.asList("key1", "key2")), keySpec.getKeySet());
+    // the key set is computed only once
+    assertSame(keySpec.getKeySet(), keySpec.getKeySet());
+  }
+}
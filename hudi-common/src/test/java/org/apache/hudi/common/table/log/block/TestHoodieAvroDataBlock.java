@@ -32,6 +32,7 @@ import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.io.ByteArraySeekableDataInputStream;
 import org.apache.hudi.io.SeekableDataInputStream;
+import org.apache.hudi.io.compress.CompressionCodec;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StorageConfiguration;
 
@@ -42,6 +43,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -53,6 +55,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -223,6 +226,51 @@ public class TestHoodieAvroDataBlock {
     }
   }
 
+  /**
+   * Tests reading the records of a HoodieAvroDataBlock whose records are compressed in chunks,
+   * from the content and from the input stream.
+   *
+   * @param codecName  The name of the compression codec.
+   * @param bufferSize The size of the buffer for the streaming read, 0 to inflate the content.
+   * @throws IOException If an I/O error occurs during the test.
+   */
+  @ParameterizedTest
+  @CsvSource({
+      "gz, 0",
+      "snappy, 0",
+      "lz4, 0",
+      "zstd, 0",
+      "zstd, 100"
+  })
+  public void testGetRecordIteratorWithCompressedChunks(String codecName, int bufferSize) throws IOException {
+    CompressionCodec codec = CompressionCodec.findCodecByName(codecName);
+    List<HoodieRecord> records = generateRandomHoodieRecords(SCHEMA, 1000);
+    // a small chunk size so that the records span multiple chunks
+    byte[] blockContent = createHoodieAvroDataBlockContent(SCHEMA, records, codec, 1024);
+    assertEquals(HoodieAvroDataBlockVersion.COMPRESSED_CHUNKS_VERSION, ByteBuffer.wrap(blockContent).getInt(0));
+    assertTrue(blockContent.length < createHoodieAvroDataBlockContent(SCHEMA, records).length);
+
+    Map<HeaderMetadataType, String> header = new HashMap<>();
+    header.put(HeaderMetadataType.SCHEMA, SCHEMA.toString());
+    HoodieAvroDataBlock contentBlock = new HoodieAvroDataBlock(() -> null, Option.of(blockContent), false,
+        NULL_BLOCK_CONTENT_LOCATION, Option.of(SCHEMA), header, new HashMap<>(), RECORD_KEY_FIELD);
+    try (ClosableIterator<HoodieRecord<Object>> recordIterator = contentBlock.getRecordIterator(HoodieRecord.HoodieRecordType.AVRO)) {
+      List<HoodieRecord> retrievedRecords = new ArrayList<>();
+      recordIterator.forEachRemaining(retrievedRecords::add);
+      verifyRecords(records, retrievedRecords);
+    }
+
+    SeekableDataInputStream inputStream = createSeekableDataInputStream(blockContent);
+    HoodieLogBlockContentLocation logBlockContentLocation = new HoodieLogBlockContentLocation(null, null, 0, blockContent.length, blockContent.length);
+    HoodieAvroDataBlock lazyBlock = new HoodieAvroDataBlock(() -> inputStream, Option.empty(), true,
+        logBlockContentLocation, Option.of(SCHEMA), header, new HashMap<>(), RECORD_KEY_FIELD);
+    try (ClosableIterator<HoodieRecord<Object>> recordIterator = lazyBlock.getRecordIterator(HoodieRecord.HoodieRecordType.AVRO, bufferSize)) {
+      List<HoodieRecord> retrievedRecords = new ArrayList<>();
+      recordIterator.forEachRemaining(retrievedRecords::add);
+      verifyRecords(records, retrievedRecords);
+    }
+  }
+
   /**
    * Tests the getRecordIterator method of HoodieAvroDataBlock with empty content.
    *
@@ -314,6 +362,16 @@ public class TestHoodieAvroDataBlock {
     return new HoodieAvroDataBlock(records, header, RECORD_KEY_FIELD).getContentBytes(storage).toByteArray();
   }
 
+  private static byte[] createHoodieAvroDataBlockContent(Schema schema, List<HoodieRecord> records,
+                                                         CompressionCodec codec, int chunkSize) throws IOException {
+    Map<HeaderMetadataType, String> header = new HashMap<>();
+    header.put(HeaderMetadataType.SCHEMA, schema.toString());
+
+    HoodieStorage storage = mock(HoodieStorage.class);
+    when(storage.getConf()).thenReturn(mock(StorageConfiguration.class));
+    return new HoodieAvroDataBlock(records, header, RECORD_KEY_FIELD, codec, chunkSize).getContentBytes(storage).toByteArray();
+  }
+
   /**
    * Creates a SeekableDataInputStream from the provided byte array content.
    *
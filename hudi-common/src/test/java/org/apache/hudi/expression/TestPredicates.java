@@ -19,9 +19,12 @@
 
 package org.apache.hudi.expression;
 
+import org.apache.hudi.internal.schema.Types;
+
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -52,4 +55,30 @@ class TestPredicates {
     assertEquals(Expression.Operator.STARTS_WITH, predicate.getOperator());
     assertFalse((boolean) predicate.eval(null));
   }
+
+  @Test
+  void testInWithLiteralValues() {
+    Expression left = new BoundReference(0, Types.StringType.get());
+    List<Expression> right = Arrays.asList(
+        Literal.from("key1"),
+        Literal.from("key2"),
+        Literal.from("key3"));
+    Predicates.In predicate = Predicates.in(left, right);
+    assertEquals(Expression.Operator.IN, predicate.getOperator());
+    // the evaluated literals are reused across the records
+    assertTrue((boolean) predicate.eval(new ArrayData(Collections.singletonList("key2"))));
+    assertFalse((boolean) predicate.eval(new ArrayData(Collections.singletonList("key4"))));
+    assertTrue((boolean) predicate.eval(new ArrayData(Collections.singletonList("key3"))));
+  }
+
+  @Test
+  void testInWithNonLiteralValues() {
+    Expression left = Literal.from("key2");
+    List<Expression> right = Arrays.asList(
+        Literal.from("key1"),
+        new BoundReference(0, Types.StringType.get()));
+    Predicates.In predicate = Predicates.in(left, right);
+    assertTrue((boolean) predicate.eval(new ArrayData(Collections.singletonList("key2"))));
+    assertFalse((boolean) predicate.eval(new ArrayData(Collections.singletonList("key3"))));
+  }
 }
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.metadata;
+
+import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.common.table.read.buffer.ReusableFileGroupRecordBufferLoader;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.io.storage.HoodieAvroFileReader;
+
+import org.apache.avro.generic.IndexedRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests {@link HoodieMetadataFileGroupReaderPool}.
+ */
+public class TestHoodieMetadataFileGroupReaderPool {
+  private static final String METADATA_BASE_PATH = "/tmp/table/.hoodie/metadata";
+  private static final HoodieFileGroupId FILE_GROUP_1 = new HoodieFileGroupId("files", "files-0000-0");
+  private static final HoodieFileGroupId FILE_GROUP_2 = new HoodieFileGroupId("files", "files-0001-0");
+
+  private HoodieMetadataFileGroupReaderPool pool;
+  private AtomicInteger numLoads;
+
+  @BeforeEach
+  public void setUp() {
+    pool = new HoodieMetadataFileGroupReaderPool();
+    numLoads = new AtomicInteger();
+  }
+
+  @Test
+  public void testReadersSharedAcrossLeases() {
+    HoodieMetadataFileGroupReaderPool.ReaderKey key = key(FILE_GROUP_1, "001");
+    HoodieMetadataFileGroupReaderPool.PooledReaders first = pool.acquire(key, 10, loader());
+    HoodieMetadataFileGroupReaderPool.PooledReaders second = pool.acquire(key(FILE_GROUP_1, "001"), 10, loader());
+    assertSame(first, second);
+    assertEquals(1, numLoads.get());
+
+    HoodieAvroFileReader baseFileReader = first.getBaseFileReader();
+    first.release(10);
+    second.release(10);
+    // the idle readers stay warm for the following leases
+    assertEquals(1, pool.getNumIdleReaders());
+    verify(baseFileReader, never()).close();
+    HoodieMetadataFileGroupReaderPool.PooledReaders third = pool.acquire(key, 10, loader());
+    assertSame(baseFileReader, third.getBaseFileReader());
+    assertEquals(1, numLoads.get());
+    assertEquals(0, pool.getNumIdleReaders());
+  }
+
+  @Test
+  public void testOutdatedReadersEvictedIncrementally() {
+    HoodieMetadataFileGroupReaderPool.PooledReaders leased = pool.acquire(key(FILE_GROUP_1, "001"), 10, loader());
+    HoodieMetadataFileGroupReaderPool.PooledReaders idle = pool.acquire(key(FILE_GROUP_2, "001"), 10, loader());
+    idle.release(10);
+    HoodieAvroFileReader leasedReader = leased.getBaseFileReader();
+    HoodieAvroFileReader idleReader = idle.getBaseFileReader();
+
+    // the metadata table advances for file group 1 only
+    pool.acquire(key(FILE_GROUP_1, "002"), 10, loader());
+    assertEquals(2, pool.getNumReaders());
+    verify(idleReader, never()).close();
+    // the outdated readers in use are only closed once released
+    verify(leasedReader, never()).close();
+    leased.release(10);
+    verify(leasedReader).close();
+    assertEquals(1, pool.getNumIdleReaders());
+
+    // the readers of file group 2 are evicted once it advances as well
+    pool.acquire(key(FILE_GROUP_2, "002"), 10, loader());
+    verify(idleReader).close();
+    assertEquals(2, pool.getNumReaders());
+    assertEquals(0, pool.getNumIdleReaders());
+  }
+
+  @Test
+  public void testIdleReadersEvictedInLruOrder() {
+    HoodieMetadataFileGroupReaderPool.PooledReaders first = pool.acquire(key(FILE_GROUP_1, "001"), 1, loader());
+    HoodieMetadataFileGroupReaderPool.PooledReaders second = pool.acquire(key(FILE_GROUP_2, "001"), 1, loader());
+    ReusableFileGroupRecordBufferLoader<IndexedRecord> firstLoader = first.getRecordBufferLoader();
+    ReusableFileGroupRecordBufferLoader<IndexedRecord> secondLoader = second.getRecordBufferLoader();
+    first.release(1);
+    second.release(1);
+    verify(firstLoader).close();
+    verify(secondLoader, never()).close();
+    assertEquals(1, pool.getNumReaders());
+    assertEquals(1, pool.getNumIdleReaders());
+  }
+
+  @Test
+  public void testInvalidate() {
+    HoodieMetadataFileGroupReaderPool.PooledReaders leased = pool.acquire(key(FILE_GROUP_1, "001"), 10, loader());
+    HoodieMetadataFileGroupReaderPool.PooledReaders idle = pool.acquire(key(FILE_GROUP_2, "001"), 10, loader());
+    idle.release(10);
+    HoodieAvroFileReader idleReader = idle.getBaseFileReader();
+    HoodieAvroFileReader leasedReader = leased.getBaseFileReader();
+
+    pool.invalidate(METADATA_BASE_PATH);
+    assertEquals(0, pool.getNumReaders());
+    verify(idleReader).close();
+    verify(leasedReader, never()).close();
+    leased.release(10);
+    verify(leasedReader).close();
+  }
+
+  @Test
+  public void testFailedLoadIsRetried() {
+    HoodieMetadataFileGroupReaderPool.ReaderKey key = key(FILE_GROUP_1, "001");
+    assertThrows(IllegalStateException.class, () -> pool.acquire(key, 10, () -> {
+      throw new IllegalStateException("failed to open");
+    }));
+    assertEquals(1, pool.getNumIdleReaders());
+    pool.acquire(key, 10, loader());
+    assertEquals(1, numLoads.get());
+  }
+
+  private static HoodieMetadataFileGroupReaderPool.ReaderKey key(HoodieFileGroupId fileGroupId, String metadataInstantTime) {
+    return new HoodieMetadataFileGroupReaderPool.ReaderKey(METADATA_BASE_PATH, fileGroupId, metadataInstantTime, Collections.singleton("001"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Supplier<Pair<HoodieAvroFileReader, ReusableFileGroupRecordBufferLoader<IndexedRecord>>> loader() {
+    return () -> {
+      numLoads.incrementAndGet();
+      return Pair.of(mock(HoodieAvroFileReader.class), mock(ReusableFileGroupRecordBufferLoader.class));
+    };
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline;
+
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.table.timeline.dto.FileSliceDTO;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link TimelineServiceBinaryCodec}.
+ */
+class TestTimelineServiceBinaryCodec {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Test
+  void testFileSlicesRoundTrip() throws IOException {
+    List<FileSlice> fileSlices = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      String partitionPath = "2025/01/0" + (i % 3);
+      String fileId = "file-" + i;
+      FileSlice fileSlice = new FileSlice(partitionPath, "001", fileId);
+      fileSlice.setBaseFile(new HoodieBaseFile("file:/tmp/table/" + partitionPath + "/" + fileId + "_1-0-1_001.parquet"));
+      fileSlice.addLogFile(new HoodieLogFile("file:/tmp/table/" + partitionPath + "/." + fileId + "_001.log.1_1-0-1"));
+      fileSlices.add(fileSlice);
+    }
+    List<FileSliceDTO> dtos = fileSlices.stream().map(FileSliceDTO::fromFileSlice).collect(Collectors.toList());
+
+    byte[] binary = TimelineServiceBinaryCodec.encode(OBJECT_MAPPER.valueToTree(dtos));
+    String json = OBJECT_MAPPER.writeValueAsString(dtos);
+    // the repeated field names, partition paths and instant times are dictionary encoded
+    assertTrue(binary.length < json.length(), "Binary encoding should be smaller than JSON");
+
+    List<FileSliceDTO> decoded = OBJECT_MAPPER.readerFor(new TypeReference<List<FileSliceDTO>>() {})
+        .readValue(TimelineServiceBinaryCodec.decode(new ByteArrayInputStream(binary)));
+    assertEquals(json, OBJECT_MAPPER.writeValueAsString(decoded));
+    assertEquals(fileSlices, decoded.stream().map(FileSliceDTO::toFileSlice).collect(Collectors.toList()));
+  }
+
+  @Test
+  void testValueTypesRoundTrip() throws IOException {
+    ObjectNode node = JsonNodeFactory.instance.objectNode();
+    node.put("int", -42);
+    node.put("long", Long.MAX_VALUE);
+    node.put("double", 3.5d);
+    node.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+    node.put("bigDecimal", new BigDecimal("1234567890.0123456789"));
+    node.put("true", true);
+    node.put("false", false);
+    node.putNull("null");
+    node.put("string", "value");
+    node.put("repeatedString", "value");
+    node.put("emptyString", "");
+    node.put("binary", new byte[] {1, 2, 3});
+    node.putArray("array").add(1).add("value").addNull();
+    node.putObject("nested").put("string", "nested value");
+
+    JsonNode decoded = TimelineServiceBinaryCodec.decode(new ByteArrayInputStream(TimelineServiceBinaryCodec.encode(node)));
+    assertEquals(node, decoded);
+    Map<String, Object> values = OBJECT_MAPPER.readerFor(new TypeReference<Map<String, Object>>() {}).readValue(decoded);
+    assertEquals(Long.MAX_VALUE, values.get("long"));
+    assertEquals(-42, values.get("int"));
+  }
+
+  @Test
+  void testInvalidContent() {
+    assertThrows(IOException.class, () -> TimelineServiceBinaryCodec.decode(new ByteArrayInputStream("[true]".getBytes())));
+  }
+
+  @Test
+  void testNegotiation() {
+    assertTrue(TimelineServiceBinaryCodec.isAccepted(TimelineServiceBinaryCodec.CONTENT_TYPE + ", application/json"));
+    assertFalse(TimelineServiceBinaryCodec.isAccepted("application/json"));
+    assertFalse(TimelineServiceBinaryCodec.isAccepted(null));
+    assertTrue(TimelineServiceBinaryCodec.isBinaryContentType(TimelineServiceBinaryCodec.CONTENT_TYPE));
+    assertFalse(TimelineServiceBinaryCodec.isBinaryContentType("application/json"));
+  }
+}
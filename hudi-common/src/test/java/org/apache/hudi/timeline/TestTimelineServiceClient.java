@@ -34,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -93,6 +94,21 @@ class TestTimelineServiceClient {
     assertEquals(DEFAULT_HTTP_RESPONSE, response.getDecodedContent(new TypeReference<Boolean>() {}));
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testBinaryTransportNegotiation(boolean binaryTransport) throws IOException {
+    FileSystemViewStorageConfig.Builder builder = FileSystemViewStorageConfig.newBuilder().withRemoteServerHost("localhost")
+        .withRemoteServerPort(serverPort)
+        .withRemoteTimelineClientTimeoutSecs(DEFAULT_READ_TIMEOUT_SECS)
+        .withRemoteBinaryTransport(binaryTransport);
+    MockTimelineServiceNetworkClient client = new MockTimelineServiceNetworkClient(builder.build());
+    TimelineServiceClientBase.Request request =
+        TimelineServiceClientBase.Request.newBuilder(TimelineServiceClientBase.RequestMethod.GET, TEST_ENDPOINT).build();
+    TimelineServiceClientBase.Response response = client.makeRequest(request);
+    assertEquals(binaryTransport, response.isBinary());
+    assertEquals(DEFAULT_HTTP_RESPONSE, response.getDecodedContent(new TypeReference<Boolean>() {}));
+  }
+
   @Test
   public void testSuccessfulPostRequest() throws IOException {
     FileSystemViewStorageConfig.Builder builder = FileSystemViewStorageConfig.newBuilder().withRemoteServerHost("localhost")
@@ -213,10 +229,15 @@ class TestTimelineServiceClient {
     }
 
     private void sendResponse(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+      ObjectMapper objectMapper = new ObjectMapper();
+      resp.setStatus(HttpServletResponse.SC_OK);
+      if (TimelineServiceBinaryCodec.isAccepted(req.getHeader("Accept"))) {
+        resp.setContentType(TimelineServiceBinaryCodec.CONTENT_TYPE);
+        resp.getOutputStream().write(TimelineServiceBinaryCodec.encode(objectMapper.valueToTree(DEFAULT_HTTP_RESPONSE)));
+        return;
+      }
       // Set the content type
       resp.setContentType("text/plain");
-      resp.setStatus(HttpServletResponse.SC_OK);
-      ObjectMapper objectMapper = new ObjectMapper();
       resp.getWriter().println(objectMapper.writeValueAsString(DEFAULT_HTTP_RESPONSE));
     }
   }
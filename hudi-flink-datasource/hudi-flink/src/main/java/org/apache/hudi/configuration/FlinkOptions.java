@@ -273,6 +273,22 @@ public class FlinkOptions extends HoodieConfig {
       .defaultValue(".*")
       .withDescription("Whether to load partitions in state if partition path matching， default `*`");
 
+  @AdvancedConfig
+  public static final ConfigOption<Integer> INDEX_RECORD_LOOKUP_BATCH_SIZE = ConfigOptions
+      .key("index.record.lookup.batch.size")
+      .intType()
+      .defaultValue(1000)
+      .withDescription("The number of records buffered by the bucket assigner before their locations are looked up "
+          + "in a batch against the record index of the metadata table, only valid when the index type is RECORD_INDEX");
+
+  @AdvancedConfig
+  public static final ConfigOption<Integer> INDEX_RECORD_CACHE_SIZE = ConfigOptions
+      .key("index.record.cache.size")
+      .intType()
+      .defaultValue(100000)
+      .withDescription("The maximum number of the hot record keys whose locations are cached in LRU order by each bucket assigner, "
+          + "to skip the record index lookups of the frequently updated keys, only valid when the index type is RECORD_INDEX");
+
   // ------------------------------------------------------------------------
   //  Read Options
   // ------------------------------------------------------------------------
@@ -417,6 +433,15 @@ public class FlinkOptions extends HoodieConfig {
       .withDescription("Enables data-skipping allowing queries to leverage indexes to reduce the search space by "
           + "skipping over files");
 
+  @AdvancedConfig
+  public static final ConfigOption<Boolean> READ_DATA_SKIPPING_CACHE_ENABLED = ConfigOptions
+      .key("read.data.skipping.cache.enabled")
+      .booleanType()
+      .defaultValue(false)
+      .withDescription("Whether to cache the transposed column stats index in memory for data skipping, "
+          + "the cached stats are synced incrementally with the new commits of the table instead of "
+          + "being read and transposed again on each query planning");
+
   // ------------------------------------------------------------------------
   //  Write Options
   // ------------------------------------------------------------------------
@@ -609,6 +634,13 @@ public class FlinkOptions extends HoodieConfig {
       .noDefaultValue()
       .withDescription("Parallelism of tasks that do index bootstrap, default same as the write task parallelism");
 
+  @AdvancedConfig
+  public static final ConfigOption<Integer> INDEX_BOOTSTRAP_READER_THREADS = ConfigOptions
+      .key("write.index_bootstrap.reader.threads")
+      .intType()
+      .defaultValue(1)
+      .withDescription("Number of threads of each index bootstrap task to read the record keys of the file slices in parallel, default 1");
+
   @AdvancedConfig
   public static final ConfigOption<Integer> BUCKET_ASSIGN_TASKS = ConfigOptions
       .key("write.bucket_assign.tasks")
@@ -631,6 +663,22 @@ public class FlinkOptions extends HoodieConfig {
       .withDescription("Maximum memory in MB for a write task, when the threshold hits,\n"
           + "it flushes the max size data bucket to avoid OOM, default 1GB");
 
+  @AdvancedConfig
+  public static final ConfigOption<Boolean> WRITE_ASYNC_FLUSH_ENABLED = ConfigOptions
+      .key("write.async.flush.enabled")
+      .booleanType()
+      .defaultValue(false)
+      .withDescription("Whether to flush the data buckets of the write task asynchronously, the max size data bucket\n"
+          + "is written by a background flusher while the task keeps buffering the incoming records, default false");
+
+  @AdvancedConfig
+  public static final ConfigOption<Double> WRITE_ASYNC_FLUSH_THRESHOLD = ConfigOptions
+      .key("write.async.flush.threshold")
+      .doubleType()
+      .defaultValue(0.5D)
+      .withDescription("The fraction of the write task buffer memory, when the buffered data exceeds it,\n"
+          + "the max size data bucket is flushed asynchronously, only valid when 'write.async.flush.enabled' is true, default 0.5");
+
   @AdvancedConfig
   public static final ConfigOption<Boolean> WRITE_BUFFER_SORT_ENABLED = ConfigOptions
       .key("write.buffer.sort.enabled")
@@ -1191,6 +1239,25 @@ public class FlinkOptions extends HoodieConfig {
           .withDescription(
               "The cache TTL (e.g. 10min) for the build table in lookup join.");
 
+  @AdvancedConfig
+  public static final ConfigOption<Boolean> LOOKUP_JOIN_CACHE_INCREMENTAL_ENABLED = ConfigOptions
+      .key("lookup.join.cache.incremental.enabled")
+      .booleanType()
+      .defaultValue(false)
+      .withDescription("Whether to refresh the cache of the build table in lookup join incrementally, only valid for the snapshot "
+          + "and read_optimized queries. When enabled, only the file groups whose latest file slice changed since the last load "
+          + "are re-read when the cache expires, the rows of the other file groups are kept, and the refresh runs in background "
+          + "while the lookups are still served by the previous cache.");
+
+  @AdvancedConfig
+  public static final ConfigOption<Integer> LOOKUP_JOIN_CACHE_MAX_MEMORY = ConfigOptions
+      .key("lookup.join.cache.max_memory")
+      .intType()
+      .defaultValue(1024) // default 1 GB
+      .withDescription("Max memory in MB for the cached rows of the build table in lookup join, default 1GB. "
+          + "The rows beyond the budget are spilled to the spillable map base path, "
+          + "the lookup keys are always kept in memory.");
+
 
   // -------------------------------------------------------------------------
   //  Utilities
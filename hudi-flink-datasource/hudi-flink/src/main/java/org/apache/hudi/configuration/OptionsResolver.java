@@ -182,6 +182,13 @@ public class OptionsResolver {
     return conf.get(FlinkOptions.INDEX_TYPE).equalsIgnoreCase(HoodieIndex.IndexType.BUCKET.name());
   }
 
+  /**
+   * Returns whether the table index is the record index of the metadata table.
+   */
+  public static boolean isRecordIndexType(Configuration conf) {
+    return conf.get(FlinkOptions.INDEX_TYPE).equalsIgnoreCase(HoodieIndex.IndexType.RECORD_INDEX.name());
+  }
+
   /**
    * Returns whether it is a MERGE_ON_READ table, and updates by bucket index.
    */
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.metrics;
+
+import org.apache.hudi.sink.bootstrap.BootstrapOperator;
+
+import org.apache.flink.metrics.MetricGroup;
+
+/**
+ * Metrics for flink index bootstrap.
+ *
+ * @see BootstrapOperator
+ */
+public class FlinkIndexBootstrapMetrics extends HoodieFlinkMetrics {
+
+  private static final String LOAD_TIMER = "load";
+
+  /**
+   * Number of the file slices to load by the task.
+   */
+  private long fileSlicesToLoad;
+
+  /**
+   * Number of the file slices loaded by the task.
+   */
+  private long fileSlicesLoaded;
+
+  /**
+   * Number of the index records loaded by the task.
+   */
+  private long indexRecordsLoaded;
+
+  /**
+   * The loaded index records per second of the last load.
+   */
+  private long indexRecordsPerSecond;
+
+  /**
+   * Duration in milliseconds of the last load.
+   */
+  private long loadCostMs;
+
+  public FlinkIndexBootstrapMetrics(MetricGroup metricGroup) {
+    super(metricGroup);
+  }
+
+  @Override
+  public void registerMetrics() {
+    metricGroup.gauge("fileSlicesToLoad", () -> fileSlicesToLoad);
+    metricGroup.gauge("fileSlicesLoaded", () -> fileSlicesLoaded);
+    metricGroup.gauge("indexRecordsLoaded", () -> indexRecordsLoaded);
+    metricGroup.gauge("indexRecordsPerSecond", () -> indexRecordsPerSecond);
+    metricGroup.gauge("loadCostMs", () -> loadCostMs);
+  }
+
+  public void startLoad(int numFileSlices) {
+    this.fileSlicesToLoad += numFileSlices;
+    startTimer(LOAD_TIMER);
+  }
+
+  public void markFileSliceLoaded() {
+    this.fileSlicesLoaded++;
+  }
+
+  public void markIndexRecordsLoaded(long numRecords) {
+    this.indexRecordsLoaded += numRecords;
+  }
+
+  public void endLoad(long numRecords) {
+    this.loadCostMs = stopTimer(LOAD_TIMER);
+    this.indexRecordsPerSecond = loadCostMs > 0 ? numRecords * 1000 / loadCostMs : numRecords;
+  }
+}
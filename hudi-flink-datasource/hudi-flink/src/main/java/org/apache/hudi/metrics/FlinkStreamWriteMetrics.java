@@ -51,6 +51,27 @@ public class FlinkStreamWriteMetrics extends HoodieFlinkMetrics {
    */
   private long writeBufferedSize;
 
+  /**
+   * Occupancy percentage of the write buffer in StreamWriteFunction.
+   */
+  private long writeBufferOccupancy;
+
+  /**
+   * Number of the asynchronous bucket flushes during a checkpoint window.
+   */
+  private long numOfAsyncFlushes;
+
+  /**
+   * Total latency of the asynchronous bucket flushes during a checkpoint window,
+   * from the submission of a flush to its completion.
+   */
+  private long asyncFlushTotalCosts;
+
+  /**
+   * Total time the task waits for the asynchronous bucket flushes during a checkpoint window.
+   */
+  private long asyncFlushWaitCosts;
+
   /**
    * Total costs for flushing files during a checkpoint window.
    */
@@ -100,6 +121,11 @@ public class FlinkStreamWriteMetrics extends HoodieFlinkMetrics {
     metricGroup.gauge("currentCommitWrittenRecords", () -> writtenRecords);
     metricGroup.gauge("dataFlushCosts", () -> dataFlushCosts);
     metricGroup.gauge("writeBufferedSize", () -> writeBufferedSize);
+    metricGroup.gauge("writeBufferOccupancy", () -> writeBufferOccupancy);
+
+    metricGroup.gauge("numOfAsyncFlushes", () -> numOfAsyncFlushes);
+    metricGroup.gauge("asyncFlushTotalCosts", () -> asyncFlushTotalCosts);
+    metricGroup.gauge("asyncFlushWaitCosts", () -> asyncFlushWaitCosts);
 
     metricGroup.gauge("fileFlushTotalCosts", () -> fileFlushTotalCosts);
     metricGroup.gauge("numOfFilesWritten", () -> numOfFilesWritten);
@@ -115,6 +141,19 @@ public class FlinkStreamWriteMetrics extends HoodieFlinkMetrics {
     this.writeBufferedSize = writeBufferedSize;
   }
 
+  public void setWriteBufferOccupancy(long writeBufferOccupancy) {
+    this.writeBufferOccupancy = writeBufferOccupancy;
+  }
+
+  public void markAsyncFlush(long costs) {
+    this.numOfAsyncFlushes += 1;
+    this.asyncFlushTotalCosts += costs;
+  }
+
+  public void increaseAsyncFlushWaitCosts(long costs) {
+    this.asyncFlushWaitCosts += costs;
+  }
+
   public void startDataFlush() {
     startTimer(DATA_FLUSH_KEY);
   }
@@ -154,7 +193,13 @@ public class FlinkStreamWriteMetrics extends HoodieFlinkMetrics {
   }
 
   public void endFileFlush() {
-    long costs = stopTimer(FILE_FLUSH_KEY);
+    markFileFlush(stopTimer(FILE_FLUSH_KEY));
+  }
+
+  /**
+   * Marks a file flush timed by the caller, e.g. the asynchronous flush that runs out of the task thread.
+   */
+  public void markFileFlush(long costs) {
     fileFlushCost.update(costs);
     this.fileFlushTotalCosts += costs;
   }
@@ -165,6 +210,10 @@ public class FlinkStreamWriteMetrics extends HoodieFlinkMetrics {
     this.numOfOpenHandle = 0;
     this.writeBufferedSize = 0;
     this.fileFlushTotalCosts = 0;
+    this.writeBufferOccupancy = 0;
+    this.numOfAsyncFlushes = 0;
+    this.asyncFlushTotalCosts = 0;
+    this.asyncFlushWaitCosts = 0;
   }
 
 }
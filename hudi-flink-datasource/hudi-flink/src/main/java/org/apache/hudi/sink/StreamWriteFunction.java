@@ -26,6 +26,7 @@ import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.WriteOperationType;
 import org.apache.hudi.common.table.read.BufferedRecordMerger;
 import org.apache.hudi.common.table.read.BufferedRecordMergerFactory;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
 import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.common.util.VisibleForTesting;
 import org.apache.hudi.common.util.collection.MappingIterator;
@@ -48,6 +49,7 @@ import org.apache.hudi.util.MutableIteratorWrapperIterator;
 import org.apache.hudi.util.StreamerUtil;
 
 import org.apache.avro.Schema;
+import org.apache.flink.api.common.operators.MailboxExecutor;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.functions.ProcessFunction;
@@ -71,6 +73,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.hudi.common.util.HoodieRecordUtils.getOrderingFieldNames;
 
@@ -104,6 +112,15 @@ import static org.apache.hudi.common.util.HoodieRecordUtils.getOrderingFieldName
  * the write function blocks data buffer flushing for the configured checkpoint timeout
  * before it throws exception, any checkpoint failure would finally trigger the job failure.
  *
+ * <p><h2>Asynchronous Flush</h2>
+ *
+ * <p>When {@link FlinkOptions#WRITE_ASYNC_FLUSH_ENABLED} is true, the full data bucket, or the max size data bucket
+ * when the buffered data exceeds {@link FlinkOptions#WRITE_ASYNC_FLUSH_THRESHOLD} of the buffer memory, is written by
+ * a background flusher while the task keeps buffering the incoming records. There is at most one flush in flight,
+ * its completion is handed back to the task thread through the mailbox, where the write metadata is sent and the
+ * memory of the bucket is released. If the buffer memory is exhausted while a flush is in flight, the task yields
+ * to the mailbox until the flush completes.
+ *
  * <p>Note: The function task requires the input stream be shuffled by the file IDs.
  *
  * @see StreamWriteOperatorCoordinator
@@ -114,6 +131,8 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
 
   private static final Logger LOG = LoggerFactory.getLogger(StreamWriteFunction.class);
 
+  private static final long FLUSHER_TERMINATION_TIMEOUT_SECONDS = 60;
+
   /**
    * Write buffer as buckets for a checkpoint. The key is bucket ID.
    */
@@ -143,6 +162,26 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
 
   protected transient RecordConverter recordConverter;
 
+  /**
+   * The mailbox executor of the task, to hand the completion of the asynchronous flushes back to the task thread.
+   */
+  private transient MailboxExecutor mailboxExecutor;
+
+  /**
+   * The background flusher of the data buckets, null if the asynchronous flush is disabled.
+   */
+  private transient ExecutorService flushExecutor;
+
+  /**
+   * The asynchronous flush in flight, at most one flush is in flight so that the write client is used by one thread at a time.
+   */
+  private transient AsyncFlush asyncFlush;
+
+  /**
+   * The buffer size that triggers the asynchronous flush of the max size data bucket.
+   */
+  private transient double asyncFlushThresholdSize;
+
   /**
    * Constructs a StreamingSinkFunction.
    *
@@ -161,9 +200,15 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
     initWriteFunction();
     initMergeClass();
     initRecordConverter();
+    initAsyncFlusher();
     registerMetrics();
   }
 
+  @Override
+  public void setMailboxExecutor(MailboxExecutor mailboxExecutor) {
+    this.mailboxExecutor = mailboxExecutor;
+  }
+
   @Override
   public void snapshotState() {
     // Based on the fact that the coordinator starts the checkpoint first,
@@ -181,6 +226,17 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
 
   @Override
   public void close() {
+    if (this.flushExecutor != null) {
+      this.flushExecutor.shutdownNow();
+      try {
+        // the write client can not be closed while the flusher still writes with it
+        if (!this.flushExecutor.awaitTermination(FLUSHER_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          LOG.warn("The async flusher does not terminate in {} seconds", FLUSHER_TERMINATION_TIMEOUT_SECONDS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
     if (this.writeClient != null) {
       this.writeClient.close();
     }
@@ -231,6 +287,14 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
     this.recordConverter = RecordConverter.getInstance(keyGen);
   }
 
+  private void initAsyncFlusher() {
+    // the asynchronous flush relies on the mailbox to complete the flushes in the task thread
+    if (this.config.get(FlinkOptions.WRITE_ASYNC_FLUSH_ENABLED) && this.mailboxExecutor != null) {
+      this.flushExecutor = Executors.newSingleThreadExecutor(new CustomizedThreadFactory("hoodie-stream-write-flusher", true));
+      this.asyncFlushThresholdSize = this.tracer.maxBufferSize * this.config.get(FlinkOptions.WRITE_ASYNC_FLUSH_THRESHOLD);
+    }
+  }
+
   private void initMergeClass() {
     readerContext = writeClient.getEngineContext().<RowData>getReaderContextFactory(metaClient).getContext();
     readerContext.initRecordMergerForIngestion(writeClient.getConfig().getProps());
@@ -286,6 +350,9 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
    * <p>Flush the max size data bucket if the total buffer size exceeds the configured
    * threshold {@link FlinkOptions#WRITE_TASK_MAX_SIZE}.
    *
+   * <p>With the asynchronous flush, the buckets are flushed in the background instead, and the
+   * task yields to the mailbox if the memory pool is full while a flush is in flight.
+   *
    * @param record HoodieFlinkInternalRow
    */
   protected void bufferRecord(HoodieFlinkInternalRow record) throws IOException {
@@ -297,19 +364,22 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
 
     // 1. try buffer the record into the memory pool
     boolean success = doBufferRecord(bucketID, record);
+    if (!success && this.asyncFlush != null) {
+      // 2. waits for the asynchronous flush in flight to release the memory
+      yieldToAsyncFlush();
+      success = doBufferRecord(bucketID, record);
+    }
     if (!success) {
-      // 2. flushes the bucket if the memory pool is full
-      RowDataBucket bucketToFlush = this.buckets.values().stream()
-          .max(Comparator.comparingLong(RowDataBucket::getBufferSize))
-          .orElseThrow(NoSuchElementException::new);
+      // 3. flushes the bucket if the memory pool is full
+      RowDataBucket bucketToFlush = getMaxSizeBucket();
       if (flushBucket(bucketToFlush)) {
-        // 2.1 flushes the data bucket with maximum size
+        // 3.1 flushes the data bucket with maximum size
         this.tracer.countDown(bucketToFlush.getBufferSize());
         disposeBucket(bucketToFlush);
       } else {
         LOG.warn("The buffer size hits the threshold {}, but still flush the max size data bucket failed!", this.tracer.maxBufferSize);
       }
-      // 2.2 try to write row again
+      // 3.2 try to write row again
       success = doBufferRecord(bucketID, record);
       if (!success) {
         throw new RuntimeException("Buffer is too small to hold a single record.");
@@ -317,8 +387,18 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
     }
     RowDataBucket bucket = this.buckets.get(bucketID);
     this.tracer.trace(bucket.getLastRecordSize());
-    // 3. flushes the bucket if it is full
-    if (bucket.isFull()) {
+    if (this.flushExecutor != null) {
+      // 4. flushes the full bucket, or the max size bucket if the buffer size exceeds the threshold, asynchronously,
+      // a full bucket is left for the next record if there is a flush in flight
+      if (this.asyncFlush == null) {
+        if (bucket.isFull()) {
+          flushBucketAsync(bucket);
+        } else if (this.tracer.bufferSize > this.asyncFlushThresholdSize) {
+          flushBucketAsync(getMaxSizeBucket());
+        }
+      }
+    } else if (bucket.isFull()) {
+      // 4. flushes the bucket if it is full
       if (flushBucket(bucket)) {
         this.tracer.countDown(bucket.getBufferSize());
         disposeBucket(bucket);
@@ -326,6 +406,13 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
     }
     // update buffer metrics after tracing buffer size
     writeMetrics.setWriteBufferedSize(this.tracer.bufferSize);
+    writeMetrics.setWriteBufferOccupancy((long) (this.tracer.bufferSize * 100 / this.tracer.maxBufferSize));
+  }
+
+  private RowDataBucket getMaxSizeBucket() {
+    return this.buckets.values().stream()
+        .max(Comparator.comparingLong(RowDataBucket::getBufferSize))
+        .orElseThrow(NoSuchElementException::new);
   }
 
   /**
@@ -357,6 +444,7 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
   }
 
   private boolean flushBucket(RowDataBucket bucket) {
+    completeAsyncFlush();
     String instant = instantToWrite(true);
 
     if (instant == null) {
@@ -367,9 +455,14 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
 
     ValidationUtils.checkState(!bucket.isEmpty(), "Data bucket to flush has no buffering records");
     final List<WriteStatus> writeStatus = writeRecords(instant, bucket);
+    sendBatchWriteMetadata(instant, this.checkpointId, writeStatus);
+    return true;
+  }
+
+  private void sendBatchWriteMetadata(String instant, long checkpointId, List<WriteStatus> writeStatus) {
     final WriteMetadataEvent event = WriteMetadataEvent.builder()
         .taskID(taskID)
-        .checkpointId(this.checkpointId)
+        .checkpointId(checkpointId)
         .instantTime(instant) // the write instant may shift but the event still use the currentInstant.
         .writeStatus(writeStatus)
         .lastBatch(false)
@@ -378,10 +471,95 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
 
     this.eventGateway.sendEventToCoordinator(event);
     writeStatuses.addAll(writeStatus);
-    return true;
+  }
+
+  /**
+   * Flushes the given bucket with the background flusher, the bucket is detached from the write buffer,
+   * so the following records of the bucket ID are buffered into a new bucket.
+   */
+  private void flushBucketAsync(RowDataBucket bucket) {
+    String instant = instantToWrite(true);
+
+    if (instant == null) {
+      // in case there are empty checkpoints that has no input data
+      LOG.info("No inflight instant when flushing data, skip.");
+      return;
+    }
+
+    ValidationUtils.checkState(!bucket.isEmpty(), "Data bucket to flush has no buffering records");
+    this.buckets.remove(bucket.getBucketId());
+    AsyncFlush flush = new AsyncFlush(bucket, instant, this.checkpointId);
+    // the flusher only times the write, the metrics are updated by the task thread on completion
+    flush.future = CompletableFuture.supplyAsync(() -> {
+      long start = System.currentTimeMillis();
+      List<WriteStatus> writeStatus = doWriteRecords(instant, bucket);
+      flush.writeCosts = System.currentTimeMillis() - start;
+      return writeStatus;
+    }, this.flushExecutor);
+    this.asyncFlush = flush;
+    flush.future.whenComplete((writeStatus, throwable) -> {
+      try {
+        this.mailboxExecutor.execute(() -> completeAsyncFlush(flush), "complete the async flush of bucket %s", bucket.getBucketId());
+      } catch (RejectedExecutionException e) {
+        LOG.warn("Failed to complete the async flush of bucket {} as the task is closing", bucket.getBucketId());
+      }
+    });
+  }
+
+  /**
+   * Waits for the asynchronous flush in flight by yielding to the mailbox, the completion of the flush
+   * is processed as a mail, so the back-pressure does not block the mailbox of the task.
+   */
+  private void yieldToAsyncFlush() {
+    long start = System.currentTimeMillis();
+    try {
+      while (this.asyncFlush != null) {
+        this.mailboxExecutor.yield();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HoodieException("Interrupted while waiting for the async flush of the data bucket", e);
+    }
+    writeMetrics.increaseAsyncFlushWaitCosts(System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Completes the asynchronous flush in flight in place, before the write client is used by the task thread.
+   */
+  private void completeAsyncFlush() {
+    if (this.asyncFlush != null) {
+      long start = System.currentTimeMillis();
+      completeAsyncFlush(this.asyncFlush);
+      writeMetrics.increaseAsyncFlushWaitCosts(System.currentTimeMillis() - start);
+    }
+  }
+
+  private void completeAsyncFlush(AsyncFlush flush) {
+    if (flush != this.asyncFlush) {
+      // the flush has been completed in place
+      return;
+    }
+    this.asyncFlush = null;
+    final List<WriteStatus> writeStatus;
+    try {
+      writeStatus = flush.future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HoodieException("Interrupted while waiting for the async flush of data bucket " + flush.bucket.getBucketId(), e);
+    } catch (ExecutionException e) {
+      throw new HoodieException("Failed to flush the data bucket " + flush.bucket.getBucketId() + " asynchronously", e.getCause());
+    }
+    writeMetrics.markFileFlush(flush.writeCosts);
+    writeMetrics.increaseNumOfFilesWritten();
+    sendBatchWriteMetadata(flush.instant, flush.checkpointId, writeStatus);
+    this.tracer.countDown(flush.bucket.getBufferSize());
+    flush.bucket.dispose();
+    writeMetrics.markAsyncFlush(System.currentTimeMillis() - flush.startTime);
+    writeMetrics.setWriteBufferedSize(this.tracer.bufferSize);
   }
 
   private void flushRemaining(boolean endInput) {
+    completeAsyncFlush();
     writeMetrics.startDataFlush();
     this.currentInstant = instantToWrite(hasData());
     if (this.currentInstant == null) {
@@ -427,18 +605,26 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
       String instant,
       RowDataBucket rowDataBucket) {
     writeMetrics.startFileFlush();
+    List<WriteStatus> statuses = doWriteRecords(instant, rowDataBucket);
+    writeMetrics.endFileFlush();
+    writeMetrics.increaseNumOfFilesWritten();
+    return statuses;
+  }
 
+  /**
+   * Writes the records of the bucket without touching the metrics, which are not thread-safe.
+   */
+  private List<WriteStatus> doWriteRecords(
+      String instant,
+      RowDataBucket rowDataBucket) {
     Iterator<BinaryRowData> rowItr =
         new MutableIteratorWrapperIterator<>(
             rowDataBucket.getDataIterator(), () -> new BinaryRowData(rowType.getFieldCount()));
     Iterator<HoodieRecord> recordItr = new MappingIterator<>(
         rowItr, rowData -> recordConverter.convert(rowData, rowDataBucket.getBucketInfo()));
 
-    List<WriteStatus> statuses = writeFunction.write(
+    return writeFunction.write(
         deduplicateRecordsIfNeeded(recordItr), rowDataBucket.getBucketInfo(), instant);
-    writeMetrics.endFileFlush();
-    writeMetrics.increaseNumOfFilesWritten();
-    return statuses;
   }
 
   protected Iterator<HoodieRecord> deduplicateRecordsIfNeeded(Iterator<HoodieRecord> records) {
@@ -489,4 +675,24 @@ public class StreamWriteFunction extends AbstractStreamWriteFunction<HoodieFlink
   protected interface WriteFunction extends Serializable {
     List<WriteStatus> write(Iterator<HoodieRecord> records, BucketInfo bucketInfo, String instant);
   }
+
+  /**
+   * A data bucket flushed by the background flusher.
+   */
+  private static class AsyncFlush {
+    private final RowDataBucket bucket;
+    private final String instant;
+    private final long checkpointId;
+    private final long startTime;
+    private CompletableFuture<List<WriteStatus>> future;
+    // the write costs timed by the flusher, visible to the task thread once the future completes
+    private volatile long writeCosts;
+
+    AsyncFlush(RowDataBucket bucket, String instant, long checkpointId) {
+      this.bucket = bucket;
+      this.instant = instant;
+      this.checkpointId = checkpointId;
+      this.startTime = System.currentTimeMillis();
+    }
+  }
 }
@@ -18,15 +18,18 @@
 
 package org.apache.hudi.sink.bootstrap;
 
+import org.apache.hudi.avro.HoodieAvroUtils;
 import org.apache.hudi.client.common.HoodieFlinkEngineContext;
 import org.apache.hudi.client.model.HoodieFlinkInternalRow;
 import org.apache.hudi.common.fs.FSUtils;
 import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.TableSchemaResolver;
 import org.apache.hudi.common.table.read.HoodieFileGroupReader;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.StringUtils;
 import org.apache.hudi.common.util.collection.ClosableIterator;
@@ -34,6 +37,8 @@ import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.configuration.FlinkOptions;
 import org.apache.hudi.configuration.HadoopConfigurations;
 import org.apache.hudi.configuration.OptionsResolver;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.metrics.FlinkIndexBootstrapMetrics;
 import org.apache.hudi.sink.bootstrap.aggregate.BootstrapAggFunction;
 import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.table.HoodieTable;
@@ -65,9 +70,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -89,6 +99,10 @@ public class BootstrapOperator
 
   private static final Logger LOG = LoggerFactory.getLogger(BootstrapOperator.class);
 
+  private static final int RECORD_KEY_BATCH_SIZE = 1024;
+
+  private static final long READER_TERMINATION_TIMEOUT_SECONDS = 60;
+
   protected HoodieTable<?, ?, ?, ?> hoodieTable;
 
   protected final Configuration conf;
@@ -102,12 +116,16 @@ public class BootstrapOperator
   private transient HoodieTableMetaClient metaClient;
   private transient InternalSchemaManager internalSchemaManager;
 
+  private transient FlinkIndexBootstrapMetrics bootstrapMetrics;
+
   private final Pattern pattern;
+  private final int readerThreads;
   private String lastInstantTime;
 
   public BootstrapOperator(Configuration conf) {
     this.conf = conf;
     this.pattern = Pattern.compile(conf.get(FlinkOptions.INDEX_PARTITION_REGEX));
+    this.readerThreads = conf.get(FlinkOptions.INDEX_BOOTSTRAP_READER_THREADS);
   }
 
   /**
@@ -151,6 +169,8 @@ public class BootstrapOperator
     this.aggregateManager = getRuntimeContext().getGlobalAggregateManager();
     this.metaClient = StreamerUtil.createMetaClient(conf, hadoopConf);
     this.internalSchemaManager = InternalSchemaManager.get(hoodieTable.getStorageConf(), metaClient);
+    this.bootstrapMetrics = new FlinkIndexBootstrapMetrics(getRuntimeContext().getMetricGroup());
+    this.bootstrapMetrics.registerMetrics();
 
     preLoadIndexRecords();
   }
@@ -162,11 +182,12 @@ public class BootstrapOperator
     StoragePath basePath = hoodieTable.getMetaClient().getBasePath();
     int taskID = RuntimeContextUtils.getIndexOfThisSubtask(getRuntimeContext());
     LOG.info("Start loading records in table {} into the index state, taskId = {}", basePath, taskID);
-    for (String partitionPath : FSUtils.getAllPartitionPaths(new HoodieFlinkEngineContext(hadoopConf), hoodieTable.getMetaClient(), metadataConfig(conf))) {
-      if (pattern.matcher(partitionPath).matches()) {
-        loadRecords(partitionPath);
-      }
-    }
+    List<String> partitionPaths = FSUtils.getAllPartitionPaths(new HoodieFlinkEngineContext(hadoopConf), hoodieTable.getMetaClient(), metadataConfig(conf))
+        .stream()
+        .filter(partitionPath -> pattern.matcher(partitionPath).matches())
+        .collect(toList());
+    // the file slices of all the partitions are loaded through the same readers
+    loadRecords(partitionPaths);
 
     LOG.info("Finish sending index records, taskId = {}.", taskID);
 
@@ -204,6 +225,16 @@ public class BootstrapOperator
    * @param partitionPath The partition path
    */
   protected void loadRecords(String partitionPath) throws Exception {
+    loadRecords(Collections.singletonList(partitionPath));
+  }
+
+  /**
+   * Loads all the indices of the given partition paths into the backup state, the record keys of the file slices
+   * are read by {@link FlinkOptions#INDEX_BOOTSTRAP_READER_THREADS} threads in parallel.
+   *
+   * @param partitionPaths The partition paths
+   */
+  protected void loadRecords(List<String> partitionPaths) throws Exception {
     long start = System.currentTimeMillis();
 
     final int parallelism = RuntimeContextUtils.getNumberOfParallelSubtasks(getRuntimeContext());
@@ -219,27 +250,106 @@ public class BootstrapOperator
     if (latestCommitTime.isPresent()) {
       Schema schema = new TableSchemaResolver(this.hoodieTable.getMetaClient()).getTableAvroSchema();
 
-      List<FileSlice> fileSlices = this.hoodieTable.getSliceView()
-          .getLatestMergedFileSlicesBeforeOrOn(partitionPath, latestCommitTime.get().requestedTime())
+      List<FileSlice> fileSlices = partitionPaths.stream()
+          .flatMap(partitionPath -> this.hoodieTable.getSliceView()
+              .getLatestMergedFileSlicesBeforeOrOn(partitionPath, latestCommitTime.get().requestedTime()))
+          .filter(fileSlice -> shouldLoadFile(fileSlice.getFileId(), maxParallelism, parallelism, taskID))
           .collect(toList());
 
+      bootstrapMetrics.startLoad(fileSlices.size());
+      long numRecords = readerThreads > 1 && fileSlices.size() > 1
+          ? loadFileSlicesInParallel(fileSlices, schema)
+          : loadFileSlices(fileSlices, schema);
+      bootstrapMetrics.endLoad(numRecords);
+    }
+
+    long cost = System.currentTimeMillis() - start;
+    LOG.info("Task [{}}:{}}] finish loading the index under partitions {} and sending them to downstream, time cost: {} milliseconds.",
+        this.getClass().getSimpleName(), taskID, partitionPaths, cost);
+  }
+
+  private long loadFileSlices(List<FileSlice> fileSlices, Schema schema) throws Exception {
+    long numRecords = 0;
+    for (FileSlice fileSlice : fileSlices) {
+      LOG.info("Load records from {}.", fileSlice);
+      long numFileSliceRecords = 0;
+      try (ClosableIterator<String> recordKeyIterator = getRecordKeyIterator(fileSlice, schema)) {
+        while (recordKeyIterator.hasNext()) {
+          String recordKey = recordKeyIterator.next();
+          insertIndexStreamRecord(recordKey, fileSlice.getPartitionPath(), fileSlice);
+          numFileSliceRecords++;
+        }
+      }
+      bootstrapMetrics.markIndexRecordsLoaded(numFileSliceRecords);
+      bootstrapMetrics.markFileSliceLoaded();
+      numRecords += numFileSliceRecords;
+    }
+    return numRecords;
+  }
+
+  /**
+   * Reads the record keys of the file slices with a pool of readers, the keys are handed over in batches
+   * through a bounded queue, and the index records are emitted by the task thread.
+   */
+  private long loadFileSlicesInParallel(List<FileSlice> fileSlices, Schema schema) throws Exception {
+    int numReaders = Math.min(readerThreads, fileSlices.size());
+    BlockingQueue<RecordKeyBatch> recordKeyBatches = new ArrayBlockingQueue<>(numReaders * 2);
+    ExecutorService executor = Executors.newFixedThreadPool(numReaders, new CustomizedThreadFactory("hoodie-index-bootstrap-reader", true));
+    long numRecords = 0;
+    try {
       for (FileSlice fileSlice : fileSlices) {
-        if (!shouldLoadFile(fileSlice.getFileId(), maxParallelism, parallelism, taskID)) {
-          continue;
+        executor.execute(() -> readRecordKeys(fileSlice, schema, recordKeyBatches));
+      }
+      int numPendingFileSlices = fileSlices.size();
+      while (numPendingFileSlices > 0) {
+        RecordKeyBatch batch = recordKeyBatches.take();
+        if (batch.failure != null) {
+          throw new HoodieException("Failed to load the index records of file slice " + batch.fileSlice, batch.failure);
+        }
+        for (String recordKey : batch.recordKeys) {
+          insertIndexStreamRecord(recordKey, batch.fileSlice.getPartitionPath(), batch.fileSlice);
         }
+        bootstrapMetrics.markIndexRecordsLoaded(batch.recordKeys.size());
+        numRecords += batch.recordKeys.size();
+        if (batch.isLast) {
+          bootstrapMetrics.markFileSliceLoaded();
+          numPendingFileSlices--;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+      // the readers must close their files before the table is released
+      if (!executor.awaitTermination(READER_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOG.warn("The index bootstrap readers did not terminate in {} seconds.", READER_TERMINATION_TIMEOUT_SECONDS);
+      }
+    }
+    return numRecords;
+  }
+
+  private void readRecordKeys(FileSlice fileSlice, Schema schema, BlockingQueue<RecordKeyBatch> recordKeyBatches) {
+    try {
+      try {
         LOG.info("Load records from {}.", fileSlice);
+        List<String> recordKeys = new ArrayList<>(RECORD_KEY_BATCH_SIZE);
         try (ClosableIterator<String> recordKeyIterator = getRecordKeyIterator(fileSlice, schema)) {
           while (recordKeyIterator.hasNext()) {
-            String recordKey = recordKeyIterator.next();
-            insertIndexStreamRecord(recordKey, partitionPath, fileSlice);
+            recordKeys.add(recordKeyIterator.next());
+            if (recordKeys.size() >= RECORD_KEY_BATCH_SIZE) {
+              recordKeyBatches.put(new RecordKeyBatch(fileSlice, recordKeys, false, null));
+              recordKeys = new ArrayList<>(RECORD_KEY_BATCH_SIZE);
+            }
           }
         }
+        recordKeyBatches.put(new RecordKeyBatch(fileSlice, recordKeys, true, null));
+      } catch (InterruptedException e) {
+        throw e;
+      } catch (Throwable t) {
+        recordKeyBatches.put(new RecordKeyBatch(fileSlice, Collections.emptyList(), true, t));
       }
+    } catch (InterruptedException e) {
+      // the loading is aborted
+      Thread.currentThread().interrupt();
     }
-
-    long cost = System.currentTimeMillis() - start;
-    LOG.info("Task [{}}:{}}] finish loading the index under partition {} and sending them to downstream, time cost: {} milliseconds.",
-        this.getClass().getSimpleName(), taskID, partitionPath, cost);
   }
 
   /**
@@ -259,8 +369,12 @@ public class BootstrapOperator
         .filter(logFile -> isValidFile(logFile.getPathInfo()))
         .forEach(scanFileSlice::addLogFile);
 
+    // only the record key column is read if the meta fields are populated
+    Schema requiredSchema = metaClient.getTableConfig().populateMetaFields()
+        ? HoodieAvroUtils.projectSchema(tableSchema, Collections.singletonList(HoodieRecord.RECORD_KEY_METADATA_FIELD))
+        : tableSchema;
     HoodieFileGroupReader<RowData> fileGroupReader = FormatUtils.createFileGroupReader(metaClient, writeConfig, internalSchemaManager, scanFileSlice,
-        tableSchema, tableSchema, scanFileSlice.getLatestInstantTime(), FlinkOptions.REALTIME_PAYLOAD_COMBINE, true, Collections.emptyList(), Option.empty());
+        tableSchema, requiredSchema, scanFileSlice.getLatestInstantTime(), FlinkOptions.REALTIME_PAYLOAD_COMBINE, true, Collections.emptyList(), Option.empty());
     return fileGroupReader.getClosableKeyIterator();
   }
 
@@ -286,4 +400,22 @@ public class BootstrapOperator
   public boolean isAlreadyBootstrap() throws Exception {
     return instantState.get().iterator().hasNext();
   }
+
+  /**
+   * A batch of the record keys read from a file slice.
+   */
+  private static class RecordKeyBatch {
+    private final FileSlice fileSlice;
+    private final List<String> recordKeys;
+    // whether it is the last batch of the file slice
+    private final boolean isLast;
+    private final Throwable failure;
+
+    RecordKeyBatch(FileSlice fileSlice, List<String> recordKeys, boolean isLast, Throwable failure) {
+      this.fileSlice = fileSlice;
+      this.recordKeys = recordKeys;
+      this.isLast = isLast;
+      this.failure = failure;
+    }
+  }
 }
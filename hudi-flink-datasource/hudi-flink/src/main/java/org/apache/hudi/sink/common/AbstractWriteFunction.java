@@ -21,6 +21,7 @@ package org.apache.hudi.sink.common;
 import org.apache.hudi.adapter.ProcessFunctionAdapter;
 import org.apache.hudi.sink.event.Correspondent;
 
+import org.apache.flink.api.common.operators.MailboxExecutor;
 import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
 import org.apache.flink.streaming.api.operators.BoundedOneInput;
@@ -42,6 +43,13 @@ public abstract class AbstractWriteFunction<I> extends ProcessFunctionAdapter<I,
    */
   public abstract void setOperatorEventGateway(OperatorEventGateway operatorEventGateway);
 
+  /**
+   * Sets up the mailbox executor of the task, the functions that do not write asynchronously ignore it.
+   */
+  public void setMailboxExecutor(MailboxExecutor mailboxExecutor) {
+    // do nothing
+  }
+
   /**
    * Invoked when bounded source ends up.
    */
@@ -20,6 +20,7 @@ package org.apache.hudi.sink.common;
 
 import org.apache.hudi.sink.event.Correspondent;
 
+import org.apache.flink.api.common.operators.MailboxExecutor;
 import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
 import org.apache.flink.runtime.operators.coordination.OperatorEventHandler;
@@ -50,6 +51,10 @@ public abstract class AbstractWriteOperator<I>
     this.function.setOperatorEventGateway(operatorEventGateway);
   }
 
+  public void setMailboxExecutor(MailboxExecutor mailboxExecutor) {
+    this.function.setMailboxExecutor(mailboxExecutor);
+  }
+
   @Override
   public void endInput() {
     this.function.endInput();
@@ -18,6 +18,7 @@
 
 package org.apache.hudi.sink.common;
 
+import org.apache.hudi.adapter.YieldingOperatorFactoryAdapter;
 import org.apache.hudi.sink.StreamWriteOperator;
 import org.apache.hudi.sink.StreamWriteOperatorCoordinator;
 import org.apache.hudi.sink.event.Correspondent;
@@ -38,7 +39,7 @@ import org.apache.flink.table.data.RowData;
  */
 public class WriteOperatorFactory<I>
     extends SimpleUdfStreamOperatorFactory<RowData>
-    implements CoordinatedOperatorFactory<RowData>, OneInputStreamOperatorFactory<I, RowData> {
+    implements CoordinatedOperatorFactory<RowData>, OneInputStreamOperatorFactory<I, RowData>, YieldingOperatorFactoryAdapter<RowData> {
   private static final long serialVersionUID = 1L;
 
   private final AbstractWriteOperator<I> operator;
@@ -66,6 +67,7 @@ public class WriteOperatorFactory<I>
     this.operator.setCorrespondent(Correspondent.getInstance(operatorID,
         parameters.getContainingTask().getEnvironment().getOperatorCoordinatorEventGateway()));
     this.operator.setOperatorEventGateway(eventDispatcher.getOperatorEventGateway(operatorID));
+    this.operator.setMailboxExecutor(getMailboxExecutor());
     eventDispatcher.registerEventHandler(operatorID, operator);
     return (T) operator;
   }
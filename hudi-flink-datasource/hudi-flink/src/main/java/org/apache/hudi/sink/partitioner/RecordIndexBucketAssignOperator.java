@@ -0,0 +1,434 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink.partitioner;
+
+import org.apache.hudi.client.common.HoodieFlinkEngineContext;
+import org.apache.hudi.client.model.HoodieFlinkInternalRow;
+import org.apache.hudi.common.data.HoodieListData;
+import org.apache.hudi.common.model.HoodieRecordGlobalLocation;
+import org.apache.hudi.common.model.HoodieRecordLocation;
+import org.apache.hudi.common.model.HoodieTableType;
+import org.apache.hudi.common.model.WriteOperationType;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.util.CommitUtils;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.configuration.HadoopConfigurations;
+import org.apache.hudi.configuration.OptionsResolver;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.hadoop.fs.HadoopFSUtils;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+import org.apache.hudi.metadata.MetadataPartitionType;
+import org.apache.hudi.table.action.commit.BucketInfo;
+import org.apache.hudi.util.FlinkTaskContextSupplier;
+import org.apache.hudi.util.FlinkWriteClients;
+import org.apache.hudi.util.StreamerUtil;
+import org.apache.hudi.utils.RuntimeContextUtils;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.state.StateSnapshotContext;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.BoundedOneInput;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.types.RowKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The operator to assign the bucket IDs with the locations resolved from the record index of the metadata table,
+ * instead of the keyed index state of {@link BucketAssignFunction}, so that the index lives in the table and
+ * neither the checkpoints nor the index bootstrap scale with the number of the record keys.
+ *
+ * <p>The records are buffered and their locations are looked up in micro-batches of
+ * {@link FlinkOptions#INDEX_RECORD_LOOKUP_BATCH_SIZE} records, the buffer is always flushed before the checkpoint barrier
+ * is emitted. The locations assigned by this task are kept until the instants that write them are observed as committed
+ * on the timeline, which also updates the record index, only then they are moved to the cache of the hot keys in LRU order.
+ *
+ * <p>The input records should be shuffled by the record key, and the output records should then shuffle by the bucket ID.
+ *
+ * @see BucketAssignFunction
+ */
+public class RecordIndexBucketAssignOperator
+    extends AbstractStreamOperator<HoodieFlinkInternalRow>
+    implements OneInputStreamOperator<HoodieFlinkInternalRow, HoodieFlinkInternalRow>, BoundedOneInput {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RecordIndexBucketAssignOperator.class);
+
+  private final Configuration conf;
+
+  private final boolean isChangingRecords;
+
+  /**
+   * If the index is global, update the index for the old partition path
+   * if same key record with different partition path came in.
+   */
+  private final boolean globalIndex;
+
+  private final int lookupBatchSize;
+
+  private final int cacheSize;
+
+  /**
+   * The action of the instants writing the records.
+   */
+  private final String commitAction;
+
+  /**
+   * Bucket assigner to assign new bucket IDs or reuse existing ones.
+   */
+  private transient BucketAssigner bucketAssigner;
+
+  private transient HoodieTableMetaClient metaClient;
+
+  private transient HoodieTableMetadata metadataTable;
+
+  /**
+   * The records waiting for the lookup of their locations.
+   */
+  private transient List<HoodieFlinkInternalRow> bufferedRecords;
+
+  /**
+   * The locations assigned since the last checkpoint.
+   */
+  private transient Map<String, HoodieRecordGlobalLocation> currentLocations;
+
+  /**
+   * The locations assigned before each checkpoint whose instants may not be committed yet,
+   * they can not be looked up in the record index until then.
+   */
+  private transient NavigableMap<Long, PendingLocations> pendingLocations;
+
+  /**
+   * The locations of the hot keys in LRU order.
+   */
+  private transient LinkedHashMap<String, HoodieRecordGlobalLocation> hotLocations;
+
+  private transient Option<HoodieInstant> lastReplaceInstant;
+
+  private transient Option<String> lastCompletionTime;
+
+  public RecordIndexBucketAssignOperator(Configuration conf) {
+    this.conf = conf;
+    this.isChangingRecords = WriteOperationType.isChangingRecords(
+        WriteOperationType.fromValue(conf.get(FlinkOptions.OPERATION)));
+    this.globalIndex = conf.get(FlinkOptions.INDEX_GLOBAL_ENABLED)
+        && !conf.get(FlinkOptions.CHANGELOG_ENABLED);
+    this.lookupBatchSize = conf.get(FlinkOptions.INDEX_RECORD_LOOKUP_BATCH_SIZE);
+    this.cacheSize = conf.get(FlinkOptions.INDEX_RECORD_CACHE_SIZE);
+    this.commitAction = CommitUtils.getCommitActionType(HoodieTableType.valueOf(conf.get(FlinkOptions.TABLE_TYPE)));
+  }
+
+  @Override
+  public void open() throws Exception {
+    super.open();
+    // not load fs view storage config for incremental job graph, since embedded timeline server
+    // is started in write coordinator which is started after bucket assigner operator finished
+    HoodieWriteConfig writeConfig = FlinkWriteClients.getHoodieClientConfig(this.conf, !OptionsResolver.isIncrementalJobGraph(conf));
+    HoodieFlinkEngineContext context = new HoodieFlinkEngineContext(
+        HadoopFSUtils.getStorageConfWithCopy(HadoopConfigurations.getHadoopConf(this.conf)),
+        new FlinkTaskContextSupplier(getRuntimeContext()));
+    this.bucketAssigner = BucketAssigners.create(
+        RuntimeContextUtils.getIndexOfThisSubtask(getRuntimeContext()),
+        RuntimeContextUtils.getMaxNumberOfParallelSubtasks(getRuntimeContext()),
+        RuntimeContextUtils.getNumberOfParallelSubtasks(getRuntimeContext()),
+        OptionsResolver.isInsertOverwrite(conf),
+        HoodieTableType.valueOf(conf.get(FlinkOptions.TABLE_TYPE)),
+        context,
+        writeConfig);
+    this.metaClient = StreamerUtil.createMetaClient(conf);
+    this.bufferedRecords = new ArrayList<>(lookupBatchSize);
+    this.currentLocations = new HashMap<>();
+    this.pendingLocations = new TreeMap<>();
+    this.hotLocations = new LinkedHashMap<String, HoodieRecordGlobalLocation>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, HoodieRecordGlobalLocation> eldest) {
+        return size() > cacheSize;
+      }
+    };
+    this.lastReplaceInstant = metaClient.getActiveTimeline().getCompletedReplaceTimeline().lastInstant();
+    this.lastCompletionTime = metaClient.getCommitsTimeline().filterCompletedInstants().getLatestCompletionTime();
+  }
+
+  @Override
+  public void processElement(StreamRecord<HoodieFlinkInternalRow> element) throws Exception {
+    HoodieFlinkInternalRow record = element.getValue();
+    if (!isChangingRecords) {
+      // append only records are always recognized as INSERT.
+      assignLocation(record, getNewRecordLocation(record.getPartitionPath()));
+      return;
+    }
+    bufferedRecords.add(record);
+    if (bufferedRecords.size() >= lookupBatchSize) {
+      flushBufferedRecords();
+    }
+  }
+
+  @Override
+  public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+    super.prepareSnapshotPreBarrier(checkpointId);
+    // the buffered records belong to the current checkpoint
+    flushBufferedRecords();
+  }
+
+  @Override
+  public void snapshotState(StateSnapshotContext context) throws Exception {
+    super.snapshotState(context);
+    this.bucketAssigner.reset();
+    if (!currentLocations.isEmpty()) {
+      pendingLocations.put(context.getCheckpointId(), new PendingLocations(currentLocations));
+      currentLocations = new HashMap<>();
+    }
+  }
+
+  @Override
+  public void notifyCheckpointComplete(long checkpointId) throws Exception {
+    super.notifyCheckpointComplete(checkpointId);
+    metaClient.reloadActiveTimeline();
+    commitPendingLocations(checkpointId);
+    // the file groups may have been rewritten by a clustering
+    Option<HoodieInstant> replaceInstant = metaClient.getActiveTimeline().getCompletedReplaceTimeline().lastInstant();
+    if (!replaceInstant.equals(lastReplaceInstant)) {
+      LOG.info("Invalidate the cached record locations as the file groups are replaced by instant {}", replaceInstant);
+      hotLocations.clear();
+      lastReplaceInstant = replaceInstant;
+    }
+    // only reset the metadata table when new instants are committed, which may update the record index
+    Option<String> completionTime = metaClient.getCommitsTimeline().filterCompletedInstants().getLatestCompletionTime();
+    if (!completionTime.equals(lastCompletionTime)) {
+      lastCompletionTime = completionTime;
+      if (metadataTable != null) {
+        metadataTable.reset();
+      }
+    }
+    // Refresh the table state when there are new commits.
+    this.bucketAssigner.reload(checkpointId);
+  }
+
+  /**
+   * Moves the pending locations whose instants are committed to the cache of the hot keys.
+   *
+   * <p>The records assigned before a checkpoint are written by an instant that is requested before the checkpoint
+   * completes, but the instant may be committed later, e.g., with the non-blocking instant generation. So once the
+   * checkpoint completes, the locations wait for all the write instants pending at the time, and they are only moved
+   * when none of these instants is pending anymore. The locations are moved in the order of the checkpoints, so that
+   * the latest location of a key always shadows the older ones.
+   */
+  private void commitPendingLocations(long checkpointId) {
+    HoodieTimeline writeTimeline = metaClient.getActiveTimeline().getTimelineOfActions(Collections.singleton(commitAction));
+    Set<String> pendingInstants = writeTimeline.filterInflightsAndRequested().getInstantsAsStream()
+        .map(HoodieInstant::requestedTime).collect(Collectors.toSet());
+    pendingLocations.headMap(checkpointId, true).values().stream()
+        .filter(locations -> locations.instantsToCommit == null)
+        .forEach(locations -> locations.instantsToCommit = new HashSet<>(pendingInstants));
+
+    Iterator<PendingLocations> iterator = pendingLocations.values().iterator();
+    while (iterator.hasNext()) {
+      PendingLocations locations = iterator.next();
+      if (locations.instantsToCommit == null) {
+        break;
+      }
+      for (String instant : locations.instantsToCommit) {
+        if (!pendingInstants.contains(instant) && !writeTimeline.filterCompletedInstants().containsOrBeforeTimelineStarts(instant)) {
+          // the instant is rolled back, the record index does not hold the locations written by it
+          locations.isRolledBack = true;
+        }
+      }
+      locations.instantsToCommit.retainAll(pendingInstants);
+      if (!locations.instantsToCommit.isEmpty()) {
+        break;
+      }
+      if (!locations.isRolledBack) {
+        hotLocations.putAll(locations.locations);
+      }
+      iterator.remove();
+    }
+  }
+
+  @Override
+  public void endInput() {
+    flushBufferedRecords();
+  }
+
+  private void flushBufferedRecords() {
+    if (bufferedRecords.isEmpty()) {
+      return;
+    }
+    Map<String, HoodieRecordGlobalLocation> indexedLocations = lookupRecordIndex();
+    for (HoodieFlinkInternalRow record : bufferedRecords) {
+      processRecord(record, indexedLocations);
+    }
+    bufferedRecords.clear();
+  }
+
+  /**
+   * Looks up the locations of the buffered record keys that are not assigned or cached in the record index.
+   */
+  private Map<String, HoodieRecordGlobalLocation> lookupRecordIndex() {
+    List<String> recordKeys = bufferedRecords.stream()
+        .map(HoodieFlinkInternalRow::getRecordKey)
+        .distinct()
+        .filter(recordKey -> getAssignedLocation(recordKey) == null)
+        .collect(Collectors.toList());
+    Map<String, HoodieRecordGlobalLocation> indexedLocations = new HashMap<>();
+    if (recordKeys.isEmpty()) {
+      return indexedLocations;
+    }
+    metaClient.reloadTableConfig();
+    if (!metaClient.getTableConfig().isMetadataPartitionAvailable(MetadataPartitionType.RECORD_INDEX)) {
+      if (metaClient.getCommitsTimeline().filterCompletedInstants().empty()) {
+        // the table is empty, all the records are inserts
+        return indexedLocations;
+      }
+      throw new HoodieException("The record index of the metadata table is not available for table " + metaClient.getBasePath()
+          + ", enable the metadata table to build the record index");
+    }
+    for (Pair<String, HoodieRecordGlobalLocation> keyAndLocation
+        : getMetadataTable().readRecordIndexLocationsWithKeys(HoodieListData.eager(recordKeys)).collectAsList()) {
+      indexedLocations.put(keyAndLocation.getKey(), keyAndLocation.getValue());
+      hotLocations.put(keyAndLocation.getKey(), keyAndLocation.getValue());
+    }
+    return indexedLocations;
+  }
+
+  private HoodieRecordGlobalLocation getAssignedLocation(String recordKey) {
+    HoodieRecordGlobalLocation location = currentLocations.get(recordKey);
+    if (location != null) {
+      return location;
+    }
+    for (PendingLocations locations : pendingLocations.descendingMap().values()) {
+      location = locations.locations.get(recordKey);
+      if (location != null) {
+        return location;
+      }
+    }
+    return hotLocations.get(recordKey);
+  }
+
+  private void processRecord(HoodieFlinkInternalRow record, Map<String, HoodieRecordGlobalLocation> indexedLocations) {
+    final String recordKey = record.getRecordKey();
+    final String partitionPath = record.getPartitionPath();
+    final HoodieRecordLocation location;
+    HoodieRecordGlobalLocation oldLoc = getAssignedLocation(recordKey);
+    if (oldLoc == null) {
+      oldLoc = indexedLocations.get(recordKey);
+    }
+    if (oldLoc != null) {
+      // Set up the instant time as "U" to mark the bucket as an update bucket.
+      String partitionFromIndex = oldLoc.getPartitionPath();
+      String fileIdFromIndex = oldLoc.getFileId();
+      if (!Objects.equals(partitionFromIndex, partitionPath)) {
+        if (globalIndex) {
+          // if partition path changes, emit a delete record for old partition path,
+          // then update the index using location with new partition path.
+          RowData row = record.getRowData();
+          row.setRowKind(RowKind.DELETE);
+          HoodieFlinkInternalRow deleteRecord =
+              new HoodieFlinkInternalRow(recordKey, partitionFromIndex, fileIdFromIndex, "U", "D", false, row);
+          output.collect(new StreamRecord<>(deleteRecord));
+        }
+        location = getNewRecordLocation(partitionPath);
+      } else {
+        location = oldLoc.toLocal("U");
+        this.bucketAssigner.addUpdate(partitionPath, location.getFileId());
+      }
+    } else {
+      location = getNewRecordLocation(partitionPath);
+    }
+    currentLocations.put(recordKey, HoodieRecordGlobalLocation.fromLocal(partitionPath, location));
+    assignLocation(record, location);
+  }
+
+  private void assignLocation(HoodieFlinkInternalRow record, HoodieRecordLocation location) {
+    record.setFileId(location.getFileId());
+    record.setInstantTime(location.getInstantTime());
+    output.collect(new StreamRecord<>(record));
+  }
+
+  private HoodieRecordLocation getNewRecordLocation(String partitionPath) {
+    final BucketInfo bucketInfo = this.bucketAssigner.addInsert(partitionPath);
+    switch (bucketInfo.getBucketType()) {
+      case INSERT:
+        // This is an insert bucket, use HoodieRecordLocation instant time as "I".
+        // Downstream operators can then check the instant time to know whether
+        // a record belongs to an insert bucket.
+        return new HoodieRecordLocation("I", bucketInfo.getFileIdPrefix());
+      case UPDATE:
+        return new HoodieRecordLocation("U", bucketInfo.getFileIdPrefix());
+      default:
+        throw new AssertionError();
+    }
+  }
+
+  private HoodieTableMetadata getMetadataTable() {
+    // initialize the metadata table lazily
+    if (this.metadataTable == null) {
+      this.metadataTable = metaClient.getTableFormat().getMetadataFactory().create(
+          HoodieFlinkEngineContext.DEFAULT,
+          metaClient.getStorage(),
+          StreamerUtil.metadataConfig(conf),
+          metaClient.getBasePath().toString());
+    }
+    return this.metadataTable;
+  }
+
+  /**
+   * The locations assigned before a checkpoint.
+   */
+  private static class PendingLocations {
+    private final Map<String, HoodieRecordGlobalLocation> locations;
+    // the write instants to wait for before the locations are in the record index, set once the checkpoint completes
+    private Set<String> instantsToCommit;
+    private boolean isRolledBack = false;
+
+    PendingLocations(Map<String, HoodieRecordGlobalLocation> locations) {
+      this.locations = locations;
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    super.close();
+    if (this.bucketAssigner != null) {
+      this.bucketAssigner.close();
+    }
+    if (this.metadataTable != null) {
+      this.metadataTable.close();
+    }
+  }
+}
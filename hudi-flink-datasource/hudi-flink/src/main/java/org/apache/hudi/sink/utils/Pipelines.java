@@ -52,6 +52,7 @@ import org.apache.hudi.sink.compact.CompactionPlanEvent;
 import org.apache.hudi.sink.compact.CompactionPlanOperator;
 import org.apache.hudi.sink.partitioner.BucketAssignFunction;
 import org.apache.hudi.sink.partitioner.BucketIndexPartitioner;
+import org.apache.hudi.sink.partitioner.RecordIndexBucketAssignOperator;
 import org.apache.hudi.sink.transform.RowDataToHoodieFunctions;
 import org.apache.hudi.table.format.FilePathUtils;
 
@@ -62,6 +63,7 @@ import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSink;
 import org.apache.flink.streaming.api.operators.KeyedProcessOperator;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.ProcessOperator;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
@@ -250,7 +252,7 @@ public class Pipelines {
       boolean bounded,
       boolean overwrite) {
     final boolean globalIndex = conf.get(FlinkOptions.INDEX_GLOBAL_ENABLED);
-    if (overwrite || OptionsResolver.isBucketIndexType(conf)) {
+    if (overwrite || OptionsResolver.isBucketIndexType(conf) || OptionsResolver.isRecordIndexType(conf)) {
       return rowDataToHoodieRecord(conf, rowType, dataStream);
     } else if (bounded && !globalIndex && OptionsResolver.isPartitionedTable(conf)) {
       return boundedBootstrap(conf, rowType, dataStream);
@@ -380,13 +382,17 @@ public class Pipelines {
           throw new HoodieNotSupportedException("Unknown bucket index engine type: " + bucketIndexEngineType);
       }
     } else {
+      // the record index assigner looks up the locations in the metadata table instead of the keyed state
+      OneInputStreamOperator<HoodieFlinkInternalRow, HoodieFlinkInternalRow> bucketAssignOperator = OptionsResolver.isRecordIndexType(conf)
+          ? new RecordIndexBucketAssignOperator(conf)
+          : new KeyedProcessOperator<>(new BucketAssignFunction(conf));
       return dataStream
           // Key-by record key, to avoid multiple subtasks write to a bucket at the same time
           .keyBy(HoodieFlinkInternalRow::getRecordKey)
           .transform(
               "bucket_assigner",
               new HoodieFlinkInternalRowTypeInfo(rowType),
-              new KeyedProcessOperator<>(new BucketAssignFunction(conf)))
+              bucketAssignOperator)
           .uid(opUID("bucket_assigner", conf))
           .setParallelism(conf.get(FlinkOptions.BUCKET_ASSIGN_TASKS))
           // shuffle by fileId(bucket id)
@@ -60,7 +60,16 @@ public class ColumnStatsProbe implements Serializable {
    * @return true if the index row should be considered as a candidate
    */
   public boolean test(RowData indexRow, RowType.RowField[] queryFields) {
-    Map<String, ColumnStats> columnStatsMap = convertColumnStats(indexRow, queryFields);
+    return test(convertColumnStats(indexRow, queryFields));
+  }
+
+  /**
+   * Filters the column stats of a file with specific data filters.
+   *
+   * @param columnStatsMap The column stats of the file keyed by the column name
+   * @return true if the file should be considered as a candidate
+   */
+  public boolean test(Map<String, ColumnStats> columnStatsMap) {
     for (ExpressionEvaluators.Evaluator evaluator : evaluators) {
       if (!evaluator.eval(columnStatsMap)) {
         return false;
@@ -106,7 +115,7 @@ public class ColumnStatsProbe implements Serializable {
   /**
    * Returns the value as Java object at position {@code pos} of row {@code indexRow}.
    */
-  private static Object getValAsJavaObj(RowData indexRow, int pos, LogicalType colType) {
+  public static Object getValAsJavaObj(RowData indexRow, int pos, LogicalType colType) {
     switch (colType.getTypeRoot()) {
       // NOTE: Since we can't rely on Avro's "date", and "timestamp-micros" logical-types, we're
       //       manually encoding corresponding values as int and long w/in the Column Stats Index and
@@ -18,22 +18,34 @@
 
 package org.apache.hudi.source.stats;
 
+import org.apache.hudi.avro.model.HoodieCleanMetadata;
 import org.apache.hudi.avro.model.HoodieMetadataRecord;
 import org.apache.hudi.client.common.HoodieFlinkEngineContext;
 import org.apache.hudi.common.data.HoodieData;
 import org.apache.hudi.common.data.HoodieListData;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.InstantComparison;
+import org.apache.hudi.common.table.timeline.TimelineUtils;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.common.util.VisibleForTesting;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.common.util.collection.Tuple3;
+import org.apache.hudi.configuration.FlinkOptions;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.metadata.ColumnStatsIndexPrefixRawKey;
+import org.apache.hudi.metadata.ColumnStatsIndexRawKey;
 import org.apache.hudi.metadata.HoodieMetadataPayload;
 import org.apache.hudi.metadata.HoodieTableMetadata;
 import org.apache.hudi.metadata.HoodieTableMetadataUtil;
+import org.apache.hudi.metadata.RawKey;
 import org.apache.hudi.source.prune.ColumnStatsProbe;
+import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.util.AvroToRowDataConverters;
 import org.apache.hudi.util.DataTypeUtils;
 import org.apache.hudi.util.RowDataProjection;
@@ -52,7 +64,10 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -128,6 +143,9 @@ public class FileStatsIndex implements ColumnStatsIndex {
       return null;
     }
     try {
+      if (conf.get(FlinkOptions.READ_DATA_SKIPPING_CACHE_ENABLED)) {
+        return candidatesInCachedColumnStats(probe, allFiles);
+      }
       String[] targetColumns = probe.getReferencedCols();
       final List<RowData> statsRows = readColumnStatsIndexByColumns(targetColumns);
       return candidatesInMetadataTable(probe, statsRows, allFiles);
@@ -197,6 +215,139 @@ public class FileStatsIndex implements ColumnStatsIndex {
     return candidateFiles;
   }
 
+  /**
+   * Computes the candidate files with the column stats cached in {@link TransposedColumnStats},
+   * the cached stats are synced with the table before the evaluation.
+   */
+  private Set<String> candidatesInCachedColumnStats(ColumnStatsProbe probe, List<String> allFiles) {
+    TransposedColumnStats columnStats = TransposedColumnStats.getInstance(basePath);
+    synchronized (columnStats) {
+      syncColumnStats(columnStats, probe.getReferencedCols());
+      return columnStats.computeCandidateFiles(probe, allFiles);
+    }
+  }
+
+  /**
+   * Syncs the cached column stats with the latest commits of the table: the cached columns are updated with
+   * the stats of the files written by the new commits, and the columns that are not cached yet are loaded.
+   * The whole cache is reloaded if the table has been restored or the synced commits have been archived,
+   * and the columns whose types have changed are reloaded. The stats of the files deleted by the new cleans,
+   * e.g., the files replaced by the clustering or the compaction, are removed.
+   */
+  private void syncColumnStats(TransposedColumnStats columnStats, String[] targetColumns) {
+    initMetaClient();
+    Map<String, LogicalType> tableFieldTypeMap = getTableFieldTypeMap();
+    columnStats.retainColumns(tableFieldTypeMap);
+    HoodieActiveTimeline activeTimeline = metaClient.reloadActiveTimeline();
+    HoodieTimeline commitsTimeline = activeTimeline.getCommitsTimeline().filterCompletedInstants();
+    HoodieTimeline cleanTimeline = activeTimeline.getCleanerTimeline().filterCompletedInstants();
+    Option<String> latestCommitCompletionTime = commitsTimeline.getLatestCompletionTime();
+    if (!latestCommitCompletionTime.isPresent()) {
+      return;
+    }
+    // the cleans are synced as well, as they delete the files of the cached stats
+    String latestCompletionTime = cleanTimeline.getLatestCompletionTime()
+        .map(cleanCompletionTime -> InstantComparison.maxInstant(cleanCompletionTime, latestCommitCompletionTime.get()))
+        .orElse(latestCommitCompletionTime.get());
+    String syncedCompletionTime = columnStats.getSyncedCompletionTime();
+    if (syncedCompletionTime != null && !syncedCompletionTime.equals(latestCompletionTime)) {
+      getMetadataTable().reset();
+      if (commitsTimeline.isBeforeTimelineStartsByCompletionTime(syncedCompletionTime)
+          || !activeTimeline.getRestoreTimeline().filterCompletedInstants().findInstantsModifiedAfterByCompletionTime(syncedCompletionTime).empty()) {
+        LOG.info("Reload the cached column stats of table {} as the synced commits are archived or restored", basePath);
+        columnStats.clear();
+      } else {
+        updateColumnStats(columnStats, commitsTimeline.findInstantsModifiedAfterByCompletionTime(syncedCompletionTime), tableFieldTypeMap);
+        removeCleanedFiles(columnStats, cleanTimeline.findInstantsModifiedAfterByCompletionTime(syncedCompletionTime));
+      }
+    }
+
+    List<String> columnsToLoad = Arrays.stream(targetColumns)
+        .filter(column -> !columnStats.containsColumn(column))
+        .collect(Collectors.toList());
+    if (!columnsToLoad.isEmpty()) {
+      columnsToLoad.forEach(column -> columnStats.addColumn(column, tableFieldTypeMap.get(column)));
+      putColumnStats(columnStats, readColumnStatsIndexByColumns(columnsToLoad.toArray(new String[0])), tableFieldTypeMap);
+    }
+    columnStats.setSyncedCompletionTime(latestCompletionTime);
+  }
+
+  /**
+   * Updates the cached columns with the stats of the files written by the given commits.
+   */
+  private void updateColumnStats(TransposedColumnStats columnStats, HoodieTimeline newCommitsTimeline, Map<String, LogicalType> tableFieldTypeMap) {
+    List<String> columnNames = new ArrayList<>(columnStats.getColumnNames());
+    if (columnNames.isEmpty()) {
+      return;
+    }
+    Set<Pair<String, String>> partitionFileNames = new HashSet<>();
+    for (HoodieInstant instant : newCommitsTimeline.getInstants()) {
+      try {
+        HoodieCommitMetadata commitMetadata = TimelineUtils.getCommitMetadata(instant, newCommitsTimeline);
+        commitMetadata.getWriteStats().forEach(writeStat ->
+            partitionFileNames.add(Pair.of(writeStat.getPartitionPath(), new StoragePath(writeStat.getPath()).getName())));
+      } catch (IOException e) {
+        throw new HoodieException("Failed to read the commit metadata of instant " + instant, e);
+      }
+    }
+    if (partitionFileNames.isEmpty()) {
+      return;
+    }
+    // NOTE: the full keys are looked up as key prefixes, as the lookup by keys is not supported by the Flink engine context
+    List<ColumnStatsIndexRawKey> rawKeys = new ArrayList<>();
+    for (String columnName : columnNames) {
+      partitionFileNames.forEach(partitionFileName ->
+          rawKeys.add(new ColumnStatsIndexRawKey(partitionFileName.getLeft(), partitionFileName.getRight(), columnName)));
+    }
+    putColumnStats(columnStats, readColumnStatsIndex(rawKeys), tableFieldTypeMap);
+    LOG.info("Updated the cached column stats of table {} with {} files of {} new commits",
+        basePath, partitionFileNames.size(), newCommitsTimeline.countInstants());
+  }
+
+  /**
+   * Removes the stats of the files deleted by the given cleans from the cache.
+   */
+  private void removeCleanedFiles(TransposedColumnStats columnStats, HoodieTimeline newCleanTimeline) {
+    Set<String> cleanedFiles = new HashSet<>();
+    for (HoodieInstant instant : newCleanTimeline.getInstants()) {
+      try {
+        HoodieCleanMetadata cleanMetadata = newCleanTimeline.readCleanMetadata(instant);
+        cleanMetadata.getPartitionMetadata().values().forEach(partitionMetadata ->
+            partitionMetadata.getDeletePathPatterns().forEach(path -> cleanedFiles.add(new StoragePath(path).getName())));
+      } catch (IOException e) {
+        throw new HoodieException("Failed to read the clean metadata of instant " + instant, e);
+      }
+    }
+    if (!cleanedFiles.isEmpty()) {
+      columnStats.removeFiles(cleanedFiles);
+      LOG.info("Removed the cached column stats of {} cleaned files of table {}", cleanedFiles.size(), basePath);
+    }
+  }
+
+  private static void putColumnStats(TransposedColumnStats columnStats, List<RowData> colStats, Map<String, LogicalType> tableFieldTypeMap) {
+    final Map<LogicalType, AvroToRowDataConverters.AvroToRowDataConverter> converters = new HashMap<>();
+    for (RowData row : colStats) {
+      String colName = row.getString(ORD_COL_NAME).toString();
+      if (!columnStats.containsColumn(colName)) {
+        continue;
+      }
+      LogicalType colType = tableFieldTypeMap.get(colName);
+      Object minVal = null;
+      Object maxVal = null;
+      if (!row.isNullAt(ORD_MIN_VAL) || !row.isNullAt(ORD_MAX_VAL)) {
+        RowData unpackedRow = unpackMinMaxVal(row, colType, converters);
+        minVal = unpackedRow.isNullAt(ORD_MIN_VAL) ? null : ColumnStatsProbe.getValAsJavaObj(unpackedRow, ORD_MIN_VAL, colType);
+        maxVal = unpackedRow.isNullAt(ORD_MAX_VAL) ? null : ColumnStatsProbe.getValAsJavaObj(unpackedRow, ORD_MAX_VAL, colType);
+      }
+      columnStats.put(colName, row.getString(ORD_FILE_NAME).toString(), minVal, maxVal, row.getLong(ORD_NULL_CNT), row.getLong(ORD_VAL_CNT));
+    }
+  }
+
+  private Map<String, LogicalType> getTableFieldTypeMap() {
+    return rowType.getFields().stream()
+        .collect(Collectors.toMap(RowType.RowField::getName, RowType.RowField::getType));
+  }
+
   private static List<RowData> projectNestedColStatsColumns(List<RowData> rows) {
     int pos = HoodieMetadataRecord.SCHEMA$.getField(HoodieMetadataPayload.SCHEMA_FIELD_ID_COLUMN_STATS).pos();
     RowDataProjection projection = RowDataProjection.instanceV2((RowType) COL_STATS_DATA_TYPE.getLogicalType(), COL_STATS_TARGET_POS);
@@ -247,8 +398,7 @@ public class FileStatsIndex implements ColumnStatsIndex {
   @VisibleForTesting
   public Pair<List<RowData>, String[]> transposeColumnStatsIndex(List<RowData> colStats, String[] queryColumns) {
 
-    Map<String, LogicalType> tableFieldTypeMap = rowType.getFields().stream()
-        .collect(Collectors.toMap(RowType.RowField::getName, RowType.RowField::getType));
+    Map<String, LogicalType> tableFieldTypeMap = getTableFieldTypeMap();
 
     // NOTE: We have to collect list of indexed columns to make sure we properly align the rows
     //       w/in the transposed dataset: since some files might not have all the columns indexed
@@ -393,7 +543,10 @@ public class FileStatsIndex implements ColumnStatsIndex {
     List<ColumnStatsIndexPrefixRawKey> rawKeys = Arrays.stream(targetColumns)
         .map(ColumnStatsIndexPrefixRawKey::new)  // Just column name, no partition
         .collect(Collectors.toList());
+    return readColumnStatsIndex(rawKeys);
+  }
 
+  private List<RowData> readColumnStatsIndex(List<? extends RawKey> rawKeys) {
     HoodieData<HoodieRecord<HoodieMetadataPayload>> records =
         getMetadataTable().getRecordsByKeyPrefixes(
             HoodieListData.lazy(rawKeys), getIndexPartitionName(), false);
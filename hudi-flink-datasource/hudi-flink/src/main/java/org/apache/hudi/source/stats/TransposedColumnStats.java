@@ -0,0 +1,487 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.source.stats;
+
+import org.apache.hudi.common.util.VisibleForTesting;
+import org.apache.hudi.source.prune.ColumnStatsProbe;
+
+import org.apache.flink.table.types.logical.LogicalType;
+
+import javax.annotation.Nullable;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A cached, columnar representation of the transposed column stats index of a table.
+ *
+ * <p>The files are assigned with ordinals, and the stats of each column are kept in arrays indexed by
+ * the file ordinals, the min/max values of the integral and floating point types are kept in primitive
+ * arrays. The files are evaluated against the {@link ColumnStatsProbe} through a map view of the arrays,
+ * so no row is materialized per file as in {@link FileStatsIndex#transposeColumnStatsIndex}.
+ *
+ * <p>The stats are cached per table in the JVM, only the columns referenced by the queries are loaded,
+ * and the cached columns are synced with the new commits of the table by {@link FileStatsIndex}.
+ * The stats of a column are kept for the column type they are loaded with, they are dropped
+ * once the type evolves. The stats of the files deleted by the cleaner are dropped through {@link #removeFiles},
+ * and the arrays are compacted once the ordinals of the removed files pile up.
+ * The instances are not thread-safe, the callers should synchronize on the instance.
+ */
+public class TransposedColumnStats {
+
+  private static final int MAX_CACHED_TABLES = 16;
+  private static final int INITIAL_CAPACITY = 1024;
+  // the fraction of the removed file ordinals that triggers the compaction of the arrays
+  private static final double MAX_REMOVED_ORDINALS_FRACTION = 0.25;
+
+  // the cached stats in access order keyed by the table base path, the least recently used table is evicted
+  private static final Map<String, TransposedColumnStats> CACHE = new LinkedHashMap<String, TransposedColumnStats>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, TransposedColumnStats> eldest) {
+      return size() > MAX_CACHED_TABLES;
+    }
+  };
+
+  // the latest completion time of the table commits the stats are synced with
+  @Nullable
+  private String syncedCompletionTime;
+  private final Map<String, Integer> fileOrdinals = new HashMap<>();
+  // the number of the assigned ordinals, including the ordinals of the removed files
+  private int numOrdinals;
+  private long[] valueCounts = new long[INITIAL_CAPACITY];
+  private final Map<String, ColumnVector> columns = new HashMap<>();
+
+  TransposedColumnStats() {
+  }
+
+  /**
+   * Returns the cached stats of the table with the given base path.
+   */
+  public static TransposedColumnStats getInstance(String basePath) {
+    synchronized (CACHE) {
+      return CACHE.computeIfAbsent(basePath, k -> new TransposedColumnStats());
+    }
+  }
+
+  @VisibleForTesting
+  public static void invalidateAll() {
+    synchronized (CACHE) {
+      CACHE.clear();
+    }
+  }
+
+  @Nullable
+  public String getSyncedCompletionTime() {
+    return syncedCompletionTime;
+  }
+
+  public void setSyncedCompletionTime(String syncedCompletionTime) {
+    this.syncedCompletionTime = syncedCompletionTime;
+  }
+
+  /**
+   * Returns whether the stats of the given column are cached.
+   */
+  public boolean containsColumn(String columnName) {
+    return columns.containsKey(columnName);
+  }
+
+  /**
+   * Drops the cached columns that are removed from the table or whose types have changed, e.g., through the
+   * schema evolution, as the min/max values are stored in the way of the column type they are loaded with.
+   *
+   * @param tableFieldTypeMap The current column types of the table keyed by the column name
+   */
+  public void retainColumns(Map<String, LogicalType> tableFieldTypeMap) {
+    columns.entrySet().removeIf(entry -> {
+      LogicalType type = tableFieldTypeMap.get(entry.getKey());
+      return type == null || !type.copy(true).equals(entry.getValue().type);
+    });
+  }
+
+  public Set<String> getColumnNames() {
+    return columns.keySet();
+  }
+
+  /**
+   * Adds the column to the cache, the stats of the column are put through {@link #put} then.
+   */
+  public void addColumn(String columnName, LogicalType type) {
+    columns.computeIfAbsent(columnName, k -> new ColumnVector(type));
+  }
+
+  /**
+   * Puts the stats of a file for the given column, the existing stats are overwritten.
+   *
+   * @param columnName The column name, the column must be added first
+   * @param fileName   The file name
+   * @param minVal     The min value as Java object, see {@link ColumnStatsProbe#getValAsJavaObj}
+   * @param maxVal     The max value as Java object
+   * @param nullCnt    The null count
+   * @param valueCnt   The value count of the file
+   */
+  public void put(String columnName, String fileName, @Nullable Object minVal, @Nullable Object maxVal, long nullCnt, long valueCnt) {
+    int ordinal = fileOrdinals.computeIfAbsent(fileName, k -> numOrdinals++);
+    if (ordinal >= valueCounts.length) {
+      valueCounts = Arrays.copyOf(valueCounts, Math.max(valueCounts.length * 2, ordinal + 1));
+    }
+    valueCounts[ordinal] = valueCnt;
+    columns.get(columnName).put(ordinal, minVal, maxVal, nullCnt);
+  }
+
+  /**
+   * Removes the stats of the given files, e.g., the files deleted by the cleaner. The arrays are compacted
+   * if the ordinals of the removed files exceed {@link #MAX_REMOVED_ORDINALS_FRACTION} of all the ordinals.
+   *
+   * @param fileNames The file names
+   */
+  public void removeFiles(Collection<String> fileNames) {
+    for (String fileName : fileNames) {
+      Integer ordinal = fileOrdinals.remove(fileName);
+      if (ordinal != null) {
+        valueCounts[ordinal] = 0L;
+        columns.values().forEach(column -> column.remove(ordinal));
+      }
+    }
+    if (numOrdinals - fileOrdinals.size() > numOrdinals * MAX_REMOVED_ORDINALS_FRACTION) {
+      compact();
+    }
+  }
+
+  /**
+   * Re-assigns the ordinals of the remaining files contiguously and shrinks the arrays.
+   */
+  private void compact() {
+    int[] oldOrdinals = new int[fileOrdinals.size()];
+    int newOrdinal = 0;
+    for (Map.Entry<String, Integer> entry : fileOrdinals.entrySet()) {
+      oldOrdinals[newOrdinal] = entry.getValue();
+      entry.setValue(newOrdinal++);
+    }
+    int capacity = Math.max(INITIAL_CAPACITY, oldOrdinals.length);
+    long[] newValueCounts = new long[capacity];
+    for (int i = 0; i < oldOrdinals.length; i++) {
+      newValueCounts[i] = valueCounts[oldOrdinals[i]];
+    }
+    valueCounts = newValueCounts;
+    columns.values().forEach(column -> column.compact(oldOrdinals, capacity));
+    numOrdinals = oldOrdinals.length;
+  }
+
+  /**
+   * Clears all the cached stats.
+   */
+  public void clear() {
+    syncedCompletionTime = null;
+    fileOrdinals.clear();
+    numOrdinals = 0;
+    valueCounts = new long[INITIAL_CAPACITY];
+    columns.clear();
+  }
+
+  /**
+   * Computes the candidate files with the cached stats, the files that are not indexed are always candidates.
+   *
+   * @param probe    The column stats probe built from push-down filters
+   * @param allFiles The file names of the candidate files
+   *
+   * @return The set of filtered file names, or null if none of the referenced columns is indexed
+   */
+  @Nullable
+  public Set<String> computeCandidateFiles(ColumnStatsProbe probe, List<String> allFiles) {
+    // only the columns with the stats indexed are evaluated, same as the transposed rows
+    Map<String, ColumnVector> queryColumns = new HashMap<>();
+    for (String columnName : probe.getReferencedCols()) {
+      ColumnVector column = columns.get(columnName);
+      if (column != null && !column.indexed.isEmpty()) {
+        queryColumns.put(columnName, column);
+      }
+    }
+    if (queryColumns.isEmpty()) {
+      return null;
+    }
+    FileColumnStats fileColumnStats = new FileColumnStats(queryColumns);
+    Set<String> candidateFiles = new HashSet<>();
+    for (String fileName : allFiles) {
+      Integer ordinal = fileOrdinals.get(fileName);
+      if (ordinal == null || !fileColumnStats.isIndexed(ordinal)) {
+        // the file is not indexed, include it conservatively
+        candidateFiles.add(fileName);
+        continue;
+      }
+      fileColumnStats.setFile(ordinal, valueCounts[ordinal]);
+      if (probe.test(fileColumnStats)) {
+        candidateFiles.add(fileName);
+      }
+    }
+    return candidateFiles;
+  }
+
+  @VisibleForTesting
+  public int getNumFiles() {
+    return fileOrdinals.size();
+  }
+
+  @VisibleForTesting
+  int getNumOrdinals() {
+    return numOrdinals;
+  }
+
+  /**
+   * The way the min/max values of a column are stored.
+   */
+  private enum ValueKind {
+    LONG, DOUBLE, OBJECT
+  }
+
+  /**
+   * The stats of a column indexed by the file ordinals.
+   */
+  private static class ColumnVector {
+    // the nullable column type
+    private final LogicalType type;
+    private final ValueKind kind;
+    private long[] longMinVals;
+    private long[] longMaxVals;
+    private double[] doubleMinVals;
+    private double[] doubleMaxVals;
+    private Object[] minVals;
+    private Object[] maxVals;
+    private long[] nullCnts;
+    // the files with the stats of the column
+    private BitSet indexed = new BitSet();
+    private BitSet hasMinVal = new BitSet();
+    private BitSet hasMaxVal = new BitSet();
+
+    ColumnVector(LogicalType type) {
+      this.type = type.copy(true);
+      this.kind = getValueKind(type);
+      allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+      this.nullCnts = new long[capacity];
+      switch (kind) {
+        case LONG:
+          this.longMinVals = new long[capacity];
+          this.longMaxVals = new long[capacity];
+          break;
+        case DOUBLE:
+          this.doubleMinVals = new double[capacity];
+          this.doubleMaxVals = new double[capacity];
+          break;
+        default:
+          this.minVals = new Object[capacity];
+          this.maxVals = new Object[capacity];
+      }
+    }
+
+    private static ValueKind getValueKind(LogicalType type) {
+      switch (type.getTypeRoot()) {
+        // the integral types are compared as decimals, and the date/time types as longs,
+        // see ColumnStatsProbe#getValAsJavaObj for the Java objects of the values
+        case TINYINT:
+        case SMALLINT:
+        case INTEGER:
+        case BIGINT:
+        case DATE:
+        case TIME_WITHOUT_TIME_ZONE:
+        case TIMESTAMP_WITHOUT_TIME_ZONE:
+          return ValueKind.LONG;
+        case FLOAT:
+        case DOUBLE:
+          return ValueKind.DOUBLE;
+        default:
+          return ValueKind.OBJECT;
+      }
+    }
+
+    void put(int ordinal, @Nullable Object minVal, @Nullable Object maxVal, long nullCnt) {
+      ensureCapacity(ordinal + 1);
+      nullCnts[ordinal] = nullCnt;
+      indexed.set(ordinal);
+      hasMinVal.set(ordinal, minVal != null);
+      hasMaxVal.set(ordinal, maxVal != null);
+      switch (kind) {
+        case LONG:
+          longMinVals[ordinal] = minVal == null ? 0L : ((Number) minVal).longValue();
+          longMaxVals[ordinal] = maxVal == null ? 0L : ((Number) maxVal).longValue();
+          break;
+        case DOUBLE:
+          doubleMinVals[ordinal] = minVal == null ? 0D : ((Number) minVal).doubleValue();
+          doubleMaxVals[ordinal] = maxVal == null ? 0D : ((Number) maxVal).doubleValue();
+          break;
+        default:
+          minVals[ordinal] = minVal;
+          maxVals[ordinal] = maxVal;
+      }
+    }
+
+    void remove(int ordinal) {
+      indexed.clear(ordinal);
+      hasMinVal.clear(ordinal);
+      hasMaxVal.clear(ordinal);
+      if (kind == ValueKind.OBJECT) {
+        minVals[ordinal] = null;
+        maxVals[ordinal] = null;
+      }
+    }
+
+    /**
+     * Moves the stats of the file with ordinal {@code oldOrdinals[i]} to ordinal {@code i}.
+     */
+    void compact(int[] oldOrdinals, int capacity) {
+      long[] oldNullCnts = nullCnts;
+      long[] oldLongMinVals = longMinVals;
+      long[] oldLongMaxVals = longMaxVals;
+      double[] oldDoubleMinVals = doubleMinVals;
+      double[] oldDoubleMaxVals = doubleMaxVals;
+      Object[] oldMinVals = minVals;
+      Object[] oldMaxVals = maxVals;
+      BitSet oldIndexed = indexed;
+      BitSet oldHasMinVal = hasMinVal;
+      BitSet oldHasMaxVal = hasMaxVal;
+      allocate(capacity);
+      indexed = new BitSet();
+      hasMinVal = new BitSet();
+      hasMaxVal = new BitSet();
+      for (int i = 0; i < oldOrdinals.length; i++) {
+        int oldOrdinal = oldOrdinals[i];
+        if (!oldIndexed.get(oldOrdinal)) {
+          continue;
+        }
+        indexed.set(i);
+        hasMinVal.set(i, oldHasMinVal.get(oldOrdinal));
+        hasMaxVal.set(i, oldHasMaxVal.get(oldOrdinal));
+        nullCnts[i] = oldNullCnts[oldOrdinal];
+        switch (kind) {
+          case LONG:
+            longMinVals[i] = oldLongMinVals[oldOrdinal];
+            longMaxVals[i] = oldLongMaxVals[oldOrdinal];
+            break;
+          case DOUBLE:
+            doubleMinVals[i] = oldDoubleMinVals[oldOrdinal];
+            doubleMaxVals[i] = oldDoubleMaxVals[oldOrdinal];
+            break;
+          default:
+            minVals[i] = oldMinVals[oldOrdinal];
+            maxVals[i] = oldMaxVals[oldOrdinal];
+        }
+      }
+    }
+
+    ColumnStats get(int ordinal, long valueCnt) {
+      if (!indexed.get(ordinal)) {
+        // NOTE: Since we're assuming missing column to essentially contain exclusively
+        //       null values, we set null-count to be equal to value-count (this behavior is
+        //       consistent with reading non-existent columns from Parquet)
+        return new ColumnStats(null, null, valueCnt);
+      }
+      return new ColumnStats(
+          hasMinVal.get(ordinal) ? getVal(ordinal, true) : null,
+          hasMaxVal.get(ordinal) ? getVal(ordinal, false) : null,
+          nullCnts[ordinal]);
+    }
+
+    private Object getVal(int ordinal, boolean min) {
+      switch (kind) {
+        case LONG:
+          return min ? longMinVals[ordinal] : longMaxVals[ordinal];
+        case DOUBLE:
+          return min ? doubleMinVals[ordinal] : doubleMaxVals[ordinal];
+        default:
+          return min ? minVals[ordinal] : maxVals[ordinal];
+      }
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity <= nullCnts.length) {
+        return;
+      }
+      int newCapacity = Math.max(nullCnts.length * 2, capacity);
+      nullCnts = Arrays.copyOf(nullCnts, newCapacity);
+      switch (kind) {
+        case LONG:
+          longMinVals = Arrays.copyOf(longMinVals, newCapacity);
+          longMaxVals = Arrays.copyOf(longMaxVals, newCapacity);
+          break;
+        case DOUBLE:
+          doubleMinVals = Arrays.copyOf(doubleMinVals, newCapacity);
+          doubleMaxVals = Arrays.copyOf(doubleMaxVals, newCapacity);
+          break;
+        default:
+          minVals = Arrays.copyOf(minVals, newCapacity);
+          maxVals = Arrays.copyOf(maxVals, newCapacity);
+      }
+    }
+  }
+
+  /**
+   * A map view of the column stats of a file, the stats are read from the column vectors on access.
+   */
+  private static class FileColumnStats extends AbstractMap<String, ColumnStats> {
+    private final Map<String, ColumnVector> queryColumns;
+    private int ordinal;
+    private long valueCnt;
+
+    FileColumnStats(Map<String, ColumnVector> queryColumns) {
+      this.queryColumns = queryColumns;
+    }
+
+    boolean isIndexed(int ordinal) {
+      for (ColumnVector column : queryColumns.values()) {
+        if (column.indexed.get(ordinal)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void setFile(int ordinal, long valueCnt) {
+      this.ordinal = ordinal;
+      this.valueCnt = valueCnt;
+    }
+
+    @Override
+    public ColumnStats get(Object key) {
+      ColumnVector column = queryColumns.get(key);
+      return column == null ? null : column.get(ordinal, valueCnt);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return queryColumns.containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, ColumnStats>> entrySet() {
+      Map<String, ColumnStats> columnStatsMap = new HashMap<>();
+      queryColumns.keySet().forEach(columnName -> columnStatsMap.put(columnName, get(columnName)));
+      return columnStatsMap.entrySet();
+    }
+  }
+}
@@ -309,7 +309,7 @@ public class HoodieTableSource implements
     Duration duration = conf.get(LOOKUP_JOIN_CACHE_TTL);
     return TableFunctionProviderAdapter.of(
         new HoodieLookupFunction(
-            new HoodieLookupTableReader(this::getBatchInputFormat, conf),
+            new HoodieLookupTableReader(this::getLookupInputFormat, conf),
             (RowType) getProducedDataType().notNull().getLogicalType(),
             getLookupKeys(context.getKeys()),
             duration,
@@ -426,6 +426,16 @@ public class HoodieTableSource implements
     return isStreaming ? getStreamInputFormat() : getBatchInputFormat();
   }
 
+  /**
+   * Returns the input format of the lookup join, the file index is rebuilt with the latest timeline
+   * so that every load of the lookup cache reads the latest snapshot of the table.
+   */
+  public InputFormat<RowData, ?> getLookupInputFormat() {
+    this.metaClient.reloadActiveTimeline();
+    this.fileIndex = null;
+    return getBatchInputFormat();
+  }
+
   private InputFormat<RowData, ?> getBatchInputFormat() {
     final Schema tableAvroSchema = getTableAvroSchema();
     final DataType rowDataType = AvroSchemaConverter.convertToDataType(tableAvroSchema);
@@ -18,38 +18,75 @@
 
 package org.apache.hudi.table.lookup;
 
+import org.apache.hudi.common.config.HoodieCommonConfig;
+import org.apache.hudi.common.config.HoodieMemoryConfig;
+import org.apache.hudi.common.config.TypedProperties;
+import org.apache.hudi.common.serialization.CustomSerializer;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
+import org.apache.hudi.common.util.DefaultSizeEstimator;
+import org.apache.hudi.common.util.FileIOUtils;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ExternalSpillableMap;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.configuration.FlinkOptions;
 import org.apache.hudi.configuration.HadoopConfigurations;
+import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.util.StreamerUtil;
 
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
-import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.FunctionContext;
 import org.apache.flink.table.functions.TableFunction;
-import org.apache.flink.table.runtime.typeutils.InternalSerializers;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.FlinkRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Lookup function for Hoodie dimension table.
  *
  * <p>Note: reference Flink FileSystemLookupFunction to avoid additional connector jar dependencies.
+ *
+ * <p>If {@link FlinkOptions#LOOKUP_JOIN_CACHE_INCREMENTAL_ENABLED} is enabled, the cached rows are kept per file group,
+ * and an expired cache is refreshed by re-reading only the file groups whose latest file slice changed since the last load.
+ * The refresh reads the changed file groups in a background thread, the lookups are served by the current cache until
+ * the refresh completes, then only the index entries of the changed file groups are updated. So only the rows of the
+ * changed file groups are held twice during a refresh.
+ *
+ * <p>The cached rows are kept in an {@link ExternalSpillableMap} whose in-memory part is bounded by
+ * {@link FlinkOptions#LOOKUP_JOIN_CACHE_MAX_MEMORY}, the rows beyond the budget are spilled to disk, including the rows
+ * of the changed file groups read during a refresh. The lookup keys, and the ids of their rows in the map, are always
+ * kept in memory. Note that a removed row is only reclaimed from disk by the {@code ROCKS_DB} disk map type, with the
+ * default {@code BITCASK} type the spill file of the incremental refresh grows with the changed rows until the function
+ * is closed.
  */
 public class HoodieLookupFunction extends TableFunction<RowData> {
 
@@ -60,15 +97,24 @@ public class HoodieLookupFunction extends TableFunction<RowData> {
   private static final int MAX_RETRIES = 3;
   // interval between retries
   private static final Duration RETRY_INTERVAL = Duration.ofSeconds(10);
+  // the id of the rows of the splits that are not bound to a file group
+  private static final String UNBOUND_FILE_GROUP_ID = "";
+  // the max number of rows read before they are put into the row store
+  private static final int MAX_BUFFERED_ROWS = 1000;
 
   private final HoodieLookupTableReader partitionReader;
   private final RowData.FieldGetter[] lookupFieldGetters;
   private final Duration reloadInterval;
-  private final TypeSerializer<RowData> serializer;
+  private final RowDataSerializer serializer;
   private final RowType rowType;
+  private final boolean incrementalRefresh;
 
-  // cache for lookup data
-  private transient Map<RowData, List<RowData>> cache;
+  // the cached rows of the lookup keys, by the row ids held by the file groups
+  private transient ExternalSpillableMap<Long, List<RowData>> rowStore;
+  // the id of the next rows put into the row store
+  private transient long nextRowsId;
+  // cache for lookup data, only used for the full reload
+  private transient FileGroupRows cache;
   // timestamp when cache expires
   private transient long nextLoadTime;
 
@@ -76,6 +122,13 @@ public class HoodieLookupFunction extends TableFunction<RowData> {
   private transient HoodieInstant currentCommit;
   private final Configuration conf;
 
+  // the cached rows of each file group, only used for the incremental refresh
+  private transient Map<String, FileGroupRows> cachedFileGroups;
+  // the file groups holding the rows of each lookup key, only used for the incremental refresh
+  private transient Map<RowData, List<FileGroupRows>> fileGroupIndex;
+  private transient ExecutorService refreshExecutor;
+  private transient Future<CacheDelta> pendingRefresh;
+
   public HoodieLookupFunction(
       HoodieLookupTableReader partitionReader,
       RowType rowType,
@@ -90,17 +143,25 @@ public class HoodieLookupFunction extends TableFunction<RowData> {
           RowData.createFieldGetter(rowType.getTypeAt(lookupKeys[i]), lookupKeys[i]);
     }
     this.reloadInterval = reloadInterval;
-    this.serializer = InternalSerializers.create(rowType);
+    this.serializer = new RowDataSerializer(rowType);
     this.conf = conf;
+    this.incrementalRefresh = conf.get(FlinkOptions.LOOKUP_JOIN_CACHE_INCREMENTAL_ENABLED)
+        && !FlinkOptions.QUERY_TYPE_INCREMENTAL.equals(conf.get(FlinkOptions.QUERY_TYPE));
   }
 
   @Override
   public void open(FunctionContext context) throws Exception {
     super.open(context);
-    cache = new HashMap<>();
+    rowStore = createRowStore();
+    cache = new FileGroupRows(null);
     nextLoadTime = -1L;
     org.apache.hadoop.conf.Configuration hadoopConf = HadoopConfigurations.getHadoopConf(conf);
     metaClient = StreamerUtil.metaClientForReader(conf, hadoopConf);
+    if (incrementalRefresh) {
+      cachedFileGroups = new HashMap<>();
+      fileGroupIndex = new HashMap<>();
+      refreshExecutor = Executors.newSingleThreadExecutor(new CustomizedThreadFactory("hoodie-lookup-cache-refresh", true));
+    }
   }
 
   @Override
@@ -111,15 +172,30 @@ public class HoodieLookupFunction extends TableFunction<RowData> {
   public void eval(Object... values) {
     checkCacheReload();
     RowData lookupKey = GenericRowData.of(values);
-    List<RowData> matchedRows = cache.get(lookupKey);
-    if (matchedRows != null) {
-      for (RowData matchedRow : matchedRows) {
-        collect(matchedRow);
+    if (incrementalRefresh) {
+      List<FileGroupRows> matchedFileGroups = fileGroupIndex.get(lookupKey);
+      if (matchedFileGroups != null) {
+        for (FileGroupRows fileGroupRows : matchedFileGroups) {
+          for (RowData matchedRow : fileGroupRows.get(lookupKey)) {
+            collect(matchedRow);
+          }
+        }
       }
+      return;
+    }
+    for (RowData matchedRow : cache.get(lookupKey)) {
+      collect(matchedRow);
     }
   }
 
   private void checkCacheReload() {
+    if (pendingRefresh != null) {
+      if (!pendingRefresh.isDone()) {
+        // keeps serving the lookups with the current cache
+        return;
+      }
+      completeRefresh();
+    }
     if (nextLoadTime > System.currentTimeMillis()) {
       return;
     }
@@ -140,28 +216,46 @@ public class HoodieLookupFunction extends TableFunction<RowData> {
     // Determine whether to reload data by comparing instant
     if (latestCommitInstant.get().equals(currentCommit)) {
       LOG.info("Ignore loading data because the commit instant " + currentCommit + " has not changed.");
+      nextLoadTime = System.currentTimeMillis() + reloadInterval.toMillis();
       return;
     }
 
+    if (incrementalRefresh) {
+      pendingRefresh = refreshExecutor.submit(() -> loadWithRetries(() -> loadIncrementally(latestCommitInstant.get())));
+      if (currentCommit == null) {
+        // the first load is waited for, so that the lookups do not miss the existing rows
+        completeRefresh();
+      }
+      return;
+    }
+
+    loadWithRetries(() -> {
+      // a new row store also drops the rows spilled by the previous load
+      rowStore.close();
+      rowStore = createRowStore();
+      cache = new FileGroupRows(null);
+      long count = 0;
+      GenericRowData reuse = new GenericRowData(rowType.getFieldCount());
+      partitionReader.open();
+      RowData row;
+      while ((row = partitionReader.read(reuse)) != null) {
+        count++;
+        cache.add(row);
+      }
+      cache.flush();
+      partitionReader.close();
+      LOG.info("Loaded {} row(s) into lookup join cache", count);
+      return null;
+    });
+    currentCommit = latestCommitInstant.get();
+    nextLoadTime = System.currentTimeMillis() + reloadInterval.toMillis();
+  }
+
+  private <R> R loadWithRetries(Callable<R> loader) {
     int numRetry = 0;
     while (true) {
-      cache.clear();
       try {
-        long count = 0;
-        GenericRowData reuse = new GenericRowData(rowType.getFieldCount());
-        partitionReader.open();
-        RowData row;
-        while ((row = partitionReader.read(reuse)) != null) {
-          count++;
-          RowData rowData = serializer.copy(row);
-          RowData key = extractLookupKey(rowData);
-          List<RowData> rows = cache.computeIfAbsent(key, k -> new ArrayList<>());
-          rows.add(rowData);
-        }
-        partitionReader.close();
-        nextLoadTime = System.currentTimeMillis() + reloadInterval.toMillis();
-        LOG.info("Loaded {} row(s) into lookup join cache", count);
-        return;
+        return loader.call();
       } catch (Exception e) {
         if (numRetry >= MAX_RETRIES) {
           throw new FlinkRuntimeException(
@@ -182,6 +276,101 @@ public class HoodieLookupFunction extends TableFunction<RowData> {
     }
   }
 
+  /**
+   * Reads the rows of the file groups whose file slice has changed since the last load, the rows of the other
+   * file groups are reused. The cache is not modified, the delta is applied once the refresh completes.
+   */
+  private CacheDelta loadIncrementally(HoodieInstant instant) throws Exception {
+    Set<String> fileGroupIds = new HashSet<>();
+    Map<String, FileGroupRows> loadedFileGroups = new HashMap<>();
+    // the rows of the splits that are not bound to a file group are always read again
+    FileGroupRows unboundRows = new FileGroupRows(null);
+    fileGroupIds.add(UNBOUND_FILE_GROUP_ID);
+    loadedFileGroups.put(UNBOUND_FILE_GROUP_ID, unboundRows);
+    GenericRowData reuse = new GenericRowData(rowType.getFieldCount());
+    boolean loaded = false;
+    try {
+      partitionReader.open(split -> {
+        Pair<String, String> fileSliceVersion = HoodieLookupTableReader.getFileSliceVersion(split);
+        if (fileSliceVersion == null) {
+          return true;
+        }
+        fileGroupIds.add(fileSliceVersion.getLeft());
+        FileGroupRows cached = cachedFileGroups.get(fileSliceVersion.getLeft());
+        return cached == null || !cached.version.equals(fileSliceVersion.getRight());
+      });
+      long count = 0;
+      RowData row;
+      while ((row = partitionReader.read(reuse)) != null) {
+        count++;
+        Pair<String, String> fileSliceVersion = HoodieLookupTableReader.getFileSliceVersion(partitionReader.getCurrentSplit());
+        FileGroupRows rows = fileSliceVersion == null
+            ? unboundRows
+            : loadedFileGroups.computeIfAbsent(fileSliceVersion.getLeft(), k -> new FileGroupRows(fileSliceVersion.getRight()));
+        rows.add(row);
+      }
+      loadedFileGroups.values().forEach(FileGroupRows::flush);
+      LOG.info("Loaded {} row(s) of {} changed file group(s) into lookup join cache at instant {}, out of {} file group(s)",
+          count, loadedFileGroups.size() - 1, instant, fileGroupIds.size() - 1);
+      loaded = true;
+    } finally {
+      partitionReader.close();
+      if (!loaded) {
+        // the rows of a failed load are never added to the cache
+        loadedFileGroups.values().forEach(FileGroupRows::release);
+      }
+    }
+    return new CacheDelta(instant, fileGroupIds, loadedFileGroups);
+  }
+
+  /**
+   * Waits for the pending refresh and applies the refreshed file groups to the cache: the file groups that are
+   * changed or no longer exist are removed from the index, and the changed file groups are added.
+   */
+  private void completeRefresh() {
+    CacheDelta delta;
+    try {
+      delta = pendingRefresh.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FlinkRuntimeException("Interrupted while waiting for the lookup join cache refresh", e);
+    } catch (ExecutionException e) {
+      throw new FlinkRuntimeException("Failed to refresh the lookup join cache", e.getCause());
+    } finally {
+      pendingRefresh = null;
+    }
+    Iterator<Map.Entry<String, FileGroupRows>> iterator = cachedFileGroups.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, FileGroupRows> entry = iterator.next();
+      if (delta.loadedFileGroups.containsKey(entry.getKey()) || !delta.fileGroupIds.contains(entry.getKey())) {
+        removeFromIndex(entry.getValue());
+        entry.getValue().release();
+        iterator.remove();
+      }
+    }
+    delta.loadedFileGroups.forEach((fileGroupId, fileGroupRows) -> {
+      cachedFileGroups.put(fileGroupId, fileGroupRows);
+      addToIndex(fileGroupRows);
+    });
+    currentCommit = delta.instant;
+    nextLoadTime = System.currentTimeMillis() + reloadInterval.toMillis();
+  }
+
+  private void addToIndex(FileGroupRows fileGroupRows) {
+    for (RowData lookupKey : fileGroupRows.rowIds.keySet()) {
+      fileGroupIndex.computeIfAbsent(lookupKey, k -> new ArrayList<>(1)).add(fileGroupRows);
+    }
+  }
+
+  private void removeFromIndex(FileGroupRows fileGroupRows) {
+    for (RowData lookupKey : fileGroupRows.rowIds.keySet()) {
+      List<FileGroupRows> fileGroups = fileGroupIndex.get(lookupKey);
+      if (fileGroups != null && fileGroups.remove(fileGroupRows) && fileGroups.isEmpty()) {
+        fileGroupIndex.remove(lookupKey);
+      }
+    }
+  }
+
   private RowData extractLookupKey(RowData row) {
     GenericRowData key = new GenericRowData(lookupFieldGetters.length);
     for (int i = 0; i < lookupFieldGetters.length; i++) {
@@ -190,13 +379,174 @@ public class HoodieLookupFunction extends TableFunction<RowData> {
     return key;
   }
 
+  private ExternalSpillableMap<Long, List<RowData>> createRowStore() throws IOException {
+    TypedProperties props = StreamerUtil.flinkConf2TypedProperties(conf);
+    HoodieCommonConfig commonConfig = HoodieCommonConfig.newBuilder().fromProperties(props).build();
+    return new ExternalSpillableMap<>(
+        conf.get(FlinkOptions.LOOKUP_JOIN_CACHE_MAX_MEMORY) * 1024L * 1024L,
+        props.getString(HoodieMemoryConfig.SPILLABLE_MAP_BASE_PATH.key(), FileIOUtils.getDefaultSpillableMapBasePath()),
+        new DefaultSizeEstimator<>(),
+        new DefaultSizeEstimator<>(),
+        commonConfig.getSpillableDiskMapType(),
+        new RowsSerializer(serializer),
+        commonConfig.isBitCaskDiskMapCompressionEnabled(),
+        "lookup join cache of " + conf.get(FlinkOptions.PATH));
+  }
+
   @Override
   public void close() throws Exception {
-    // no operation
+    if (refreshExecutor != null) {
+      refreshExecutor.shutdownNow();
+      // the refresh uses the partition reader, wait for it to be released
+      if (!refreshExecutor.awaitTermination(RETRY_INTERVAL.toMillis(), TimeUnit.MILLISECONDS)) {
+        LOG.warn("The lookup join cache refresh did not terminate in {} seconds", RETRY_INTERVAL.getSeconds());
+      }
+    }
+    if (rowStore != null) {
+      synchronized (rowStore) {
+        rowStore.close();
+      }
+    }
   }
 
   @VisibleForTesting
   public Duration getReloadInterval() {
     return reloadInterval;
   }
+
+  /**
+   * Returns the ids of the cached rows of each file group, only used for the incremental refresh.
+   */
+  @VisibleForTesting
+  Map<String, Set<Long>> getCachedFileGroupRowIds() {
+    return cachedFileGroups.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> new HashSet<>(entry.getValue().rowIds.values())));
+  }
+
+  @VisibleForTesting
+  int getNumSpilledEntries() {
+    synchronized (rowStore) {
+      return rowStore.getDiskBasedMapNumEntries();
+    }
+  }
+
+  /**
+   * The cached rows of a file group by lookup key, and the version of the file slice they are read from.
+   *
+   * <p>The rows are put into the row store in batches, the rows of a lookup key are stored as one entry.
+   * The row store is shared with the background refresh, so it is always accessed under its lock.
+   */
+  private class FileGroupRows {
+    private final String version;
+    // the id of the rows of each lookup key in the row store
+    private final Map<RowData, Long> rowIds = new HashMap<>();
+    // the rows read but not yet put into the row store
+    private final Map<RowData, List<RowData>> bufferedRows = new HashMap<>();
+    private int numBufferedRows;
+
+    FileGroupRows(String version) {
+      this.version = version;
+    }
+
+    void add(RowData row) {
+      RowData rowData = serializer.toBinaryRow(row).copy();
+      bufferedRows.computeIfAbsent(extractLookupKey(rowData), k -> new ArrayList<>(1)).add(rowData);
+      if (++numBufferedRows >= MAX_BUFFERED_ROWS) {
+        flush();
+      }
+    }
+
+    void flush() {
+      synchronized (rowStore) {
+        bufferedRows.forEach((lookupKey, rows) -> {
+          Long rowsId = rowIds.get(lookupKey);
+          if (rowsId == null) {
+            rowIds.put(lookupKey, nextRowsId);
+            rowStore.put(nextRowsId++, rows);
+          } else {
+            // the stored rows are never modified in place, as they may be spilled
+            List<RowData> merged = new ArrayList<>(rowStore.get(rowsId));
+            merged.addAll(rows);
+            rowStore.put(rowsId, merged);
+          }
+        });
+      }
+      bufferedRows.clear();
+      numBufferedRows = 0;
+    }
+
+    List<RowData> get(RowData lookupKey) {
+      Long rowsId = rowIds.get(lookupKey);
+      if (rowsId == null) {
+        return Collections.emptyList();
+      }
+      synchronized (rowStore) {
+        return rowStore.get(rowsId);
+      }
+    }
+
+    void release() {
+      synchronized (rowStore) {
+        rowIds.values().forEach(rowStore::remove);
+      }
+      rowIds.clear();
+      bufferedRows.clear();
+      numBufferedRows = 0;
+    }
+  }
+
+  /**
+   * Serializes the cached rows of a lookup key when they are spilled to disk.
+   */
+  private static class RowsSerializer implements CustomSerializer<List<RowData>> {
+    private static final long serialVersionUID = 1L;
+
+    private final RowDataSerializer serializer;
+
+    RowsSerializer(RowDataSerializer serializer) {
+      this.serializer = serializer;
+    }
+
+    @Override
+    public byte[] serialize(List<RowData> rows) throws IOException {
+      DataOutputSerializer output = new DataOutputSerializer(256);
+      output.writeInt(rows.size());
+      for (RowData row : rows) {
+        serializer.serialize(row, output);
+      }
+      return output.getCopyOfBuffer();
+    }
+
+    @Override
+    public List<RowData> deserialize(byte[] bytes) {
+      DataInputDeserializer input = new DataInputDeserializer(bytes);
+      try {
+        int numRows = input.readInt();
+        List<RowData> rows = new ArrayList<>(numRows);
+        for (int i = 0; i < numRows; i++) {
+          rows.add(serializer.deserialize(input));
+        }
+        return rows;
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to deserialize the spilled rows of lookup join cache", e);
+      }
+    }
+  }
+
+  /**
+   * The file groups refreshed at an instant.
+   */
+  private static class CacheDelta {
+    private final HoodieInstant instant;
+    // all the file groups of the table at the instant
+    private final Set<String> fileGroupIds;
+    // the file groups that are read again as their file slice has changed
+    private final Map<String, FileGroupRows> loadedFileGroups;
+
+    CacheDelta(HoodieInstant instant, Set<String> fileGroupIds, Map<String, FileGroupRows> loadedFileGroups) {
+      this.instant = instant;
+      this.fileGroupIds = fileGroupIds;
+      this.loadedFileGroups = loadedFileGroups;
+    }
+  }
 }
@@ -18,19 +18,26 @@
 
 package org.apache.hudi.table.lookup;
 
+import org.apache.hudi.common.fs.FSUtils;
 import org.apache.hudi.common.function.SerializableSupplier;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.table.format.mor.MergeOnReadInputSplit;
 
 import org.apache.flink.api.common.io.InputFormat;
 import org.apache.flink.api.common.io.RichInputFormat;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.fs.FileInputSplit;
 import org.apache.flink.core.io.InputSplit;
 import org.apache.flink.table.data.RowData;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -46,28 +53,44 @@ public class HoodieLookupTableReader implements Serializable {
 
   private List<InputSplit> inputSplits;
 
+  private InputSplit currentSplit;
+
   public HoodieLookupTableReader(SerializableSupplier<InputFormat<RowData, ?>> inputFormatSupplier, Configuration conf) {
     this.inputFormatSupplier = inputFormatSupplier;
     this.conf = conf;
   }
 
   public void open() throws IOException {
+    open(split -> true);
+  }
+
+  /**
+   * Opens the reader to read the input splits accepted by the given filter.
+   */
+  public void open(Predicate<InputSplit> splitFilter) throws IOException {
     this.inputFormat = inputFormatSupplier.get();
     inputFormat.configure(conf);
-    this.inputSplits = Arrays.stream(inputFormat.createInputSplits(1)).collect(Collectors.toList());
+    this.inputSplits = Arrays.stream(inputFormat.createInputSplits(1)).filter(splitFilter).collect(Collectors.toList());
     ((RichInputFormat) inputFormat).openInputFormat();
-    inputFormat.open(inputSplits.remove(0));
+    this.currentSplit = inputSplits.isEmpty() ? null : inputSplits.remove(0);
+    if (currentSplit != null) {
+      inputFormat.open(currentSplit);
+    }
   }
 
   @Nullable
   public RowData read(RowData reuse) throws IOException {
+    if (currentSplit == null) {
+      return null;
+    }
     if (!inputFormat.reachedEnd()) {
       return (RowData) inputFormat.nextRecord(reuse);
     } else {
       while (!inputSplits.isEmpty()) {
         // release the last itr first.
         inputFormat.close();
-        inputFormat.open(inputSplits.remove(0));
+        currentSplit = inputSplits.remove(0);
+        inputFormat.open(currentSplit);
         if (!inputFormat.reachedEnd()) {
           return (RowData) inputFormat.nextRecord(reuse);
         }
@@ -76,6 +99,43 @@ public class HoodieLookupTableReader implements Serializable {
     return null;
   }
 
+  /**
+   * Returns the input split of the last read row.
+   */
+  @Nullable
+  public InputSplit getCurrentSplit() {
+    return currentSplit;
+  }
+
+  /**
+   * Returns the file group of the given input split and the version of the file slice it reads,
+   * the version changes whenever a new base file or log file is written to the file group.
+   *
+   * @return the pair of the file group and the file slice version, or null if the split is not bound to a file group
+   */
+  @Nullable
+  public static Pair<String, String> getFileSliceVersion(InputSplit split) {
+    if (split instanceof MergeOnReadInputSplit) {
+      MergeOnReadInputSplit morSplit = (MergeOnReadInputSplit) split;
+      if (morSplit.getInstantRange().isPresent() || morSplit.getFileId() == null) {
+        // the incremental splits read a part of the file slice
+        return null;
+      }
+      List<String> files = new ArrayList<>();
+      morSplit.getBasePath().ifPresent(files::add);
+      morSplit.getLogPaths().ifPresent(files::addAll);
+      if (files.isEmpty()) {
+        return null;
+      }
+      String partitionPath = new StoragePath(files.get(0)).getParent().toString();
+      return Pair.of(partitionPath + "/" + morSplit.getFileId(), String.join(",", files));
+    } else if (split instanceof FileInputSplit) {
+      StoragePath filePath = new StoragePath(((FileInputSplit) split).getPath().toUri());
+      return Pair.of(filePath.getParent() + "/" + FSUtils.getFileId(filePath.getName()), filePath.toString());
+    }
+    return null;
+  }
+
   public void close() throws IOException {
     if (this.inputFormat != null) {
       inputFormat.close();
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink;
+
+import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.sink.event.WriteMetadataEvent;
+import org.apache.hudi.sink.utils.StreamWriteFunctionWrapper;
+import org.apache.hudi.utils.TestConfigurations;
+import org.apache.hudi.utils.TestData;
+
+import org.apache.flink.api.common.operators.MailboxExecutor;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.runtime.tasks.StreamTaskActionExecutor;
+import org.apache.flink.streaming.runtime.tasks.mailbox.MailboxExecutorImpl;
+import org.apache.flink.streaming.runtime.tasks.mailbox.TaskMailboxImpl;
+import org.apache.flink.table.data.RowData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the asynchronous flush of {@link StreamWriteFunction}.
+ */
+public class TestStreamWriteFunctionAsyncFlush {
+  // to trigger the memory pool exhausted with the max size bucket in flight
+  private static final double BUFFER_SIZE_MB = 0.0003;
+
+  private static final Map<String, String> EXPECTED = new HashMap<>();
+
+  static {
+    EXPECTED.put("par1", "[id1,par1,id1,Danny,23,1,par1, id2,par1,id2,Stephen,33,2,par1]");
+    EXPECTED.put("par2", "[id3,par2,id3,Julian,53,3,par2, id4,par2,id4,Fabian,31,4,par2]");
+    EXPECTED.put("par3", "[id5,par3,id5,Sophia,18,5,par3, id6,par3,id6,Emma,20,6,par3]");
+    EXPECTED.put("par4", "[id7,par4,id7,Bob,44,7,par4, id8,par4,id8,Han,56,8,par4]");
+  }
+
+  @TempDir
+  File tempFile;
+
+  private MailboxExecutor mailboxExecutor;
+
+  private StreamWriteFunctionWrapper<RowData> pipeline;
+
+  @BeforeEach
+  public void before() throws Exception {
+    Configuration conf = TestConfigurations.getDefaultConf(tempFile.getAbsolutePath());
+    conf.set(FlinkOptions.WRITE_ASYNC_FLUSH_ENABLED, true);
+    // flush the bucket asynchronously on the first record
+    conf.set(FlinkOptions.WRITE_ASYNC_FLUSH_THRESHOLD, 0.01);
+    conf.set(FlinkOptions.WRITE_MEMORY_SEGMENT_PAGE_SIZE, 64);
+    conf.set(FlinkOptions.WRITE_TASK_MAX_SIZE, 200 + BUFFER_SIZE_MB);
+
+    // the test thread is the mailbox thread, a mail only runs when the write function yields
+    this.mailboxExecutor = new MailboxExecutorImpl(
+        new TaskMailboxImpl(Thread.currentThread()), 0, StreamTaskActionExecutor.IMMEDIATE);
+    this.pipeline = new StreamWriteFunctionWrapper<>(tempFile.getAbsolutePath(), conf);
+    this.pipeline.setMailboxExecutor(this.mailboxExecutor);
+    this.pipeline.openFunction();
+  }
+
+  @AfterEach
+  public void after() throws Exception {
+    if (this.pipeline != null) {
+      this.pipeline.close();
+    }
+  }
+
+  @Test
+  public void testYieldToAsyncFlushOnBackPressure() throws Exception {
+    CountDownLatch yielded = new CountDownLatch(1);
+    this.mailboxExecutor.execute(yielded::countDown, "mark the yield of the write function");
+    // the flush completes only after the write function yields to the mailbox
+    decorateWrites(() -> {
+      try {
+        if (!yielded.await(30, TimeUnit.SECONDS)) {
+          throw new HoodieException("The write function does not yield to the mailbox");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new HoodieException(e);
+      }
+    });
+
+    consume();
+    assertEquals(0, yielded.getCount(), "The write function should yield when the memory pool is exhausted");
+
+    this.pipeline.checkpointFunction(1);
+    assertTrue(this.pipeline.getDataBuffer().isEmpty(), "All data should be flushed out");
+    handleEvents();
+    this.pipeline.checkpointComplete(1);
+    TestData.checkWrittenData(tempFile, EXPECTED);
+  }
+
+  @Test
+  public void testCheckpointDuringAsyncFlush() throws Exception {
+    this.pipeline.invoke(TestData.DATA_SET_INSERT.get(0));
+    // the bucket is detached and the completion of the flush is pending in the mailbox
+    assertTrue(this.pipeline.getDataBuffer().isEmpty(), "The bucket should be flushed asynchronously");
+
+    this.pipeline.checkpointFunction(1);
+    WriteMetadataEvent event = (WriteMetadataEvent) this.pipeline.getNextEvent();
+    assertFalse(event.isLastBatch(), "The async flush should be completed before the last batch");
+    assertEquals(1, event.getWriteStatuses().size());
+    this.pipeline.getCoordinator().handleEventFromOperator(0, event);
+    handleEvents();
+
+    // the completion mail of the flush is a no-op as the flush has been completed in place
+    this.mailboxExecutor.yield();
+    assertThrows(Exception.class, () -> this.pipeline.getNextEvent(), "The write task should not send the event again");
+    this.pipeline.checkpointComplete(1);
+
+    Map<String, String> expected = new HashMap<>();
+    expected.put("par1", "[id1,par1,id1,Danny,23,1,par1]");
+    TestData.checkWrittenData(tempFile, expected, 1);
+  }
+
+  @Test
+  public void testAsyncFlushFailure() throws Exception {
+    decorateWrites(() -> {
+      throw new HoodieException("Mock write failure");
+    });
+
+    this.pipeline.invoke(TestData.DATA_SET_INSERT.get(0));
+    HoodieException e = assertThrows(HoodieException.class, () -> this.pipeline.checkpointFunction(1));
+    assertTrue(e.getMessage().contains("asynchronously"), e.getMessage());
+    assertEquals("Mock write failure", e.getCause().getMessage());
+  }
+
+  // -------------------------------------------------------------------------
+  //  Utilities
+  // -------------------------------------------------------------------------
+
+  private void consume() throws Exception {
+    for (RowData rowData : TestData.DATA_SET_INSERT) {
+      this.pipeline.invoke(rowData);
+    }
+  }
+
+  /**
+   * Runs the given action before each write of the data bucket.
+   */
+  private void decorateWrites(Runnable action) {
+    StreamWriteFunction function = (StreamWriteFunction) this.pipeline.getWriteFunction();
+    StreamWriteFunction.WriteFunction delegate = function.writeFunction;
+    function.writeFunction = (records, bucketInfo, instant) -> {
+      action.run();
+      return delegate.write(records, bucketInfo, instant);
+    };
+  }
+
+  /**
+   * Handles the write metadata events over to the coordinator until the last batch.
+   */
+  private void handleEvents() {
+    WriteMetadataEvent event;
+    do {
+      event = (WriteMetadataEvent) this.pipeline.getNextEvent();
+      this.pipeline.getCoordinator().handleEventFromOperator(0, event);
+    } while (!event.isLastBatch());
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink.bootstrap;
+
+import org.apache.hudi.client.common.HoodieFlinkEngineContext;
+import org.apache.hudi.client.model.HoodieFlinkInternalRow;
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.TableSchemaResolver;
+import org.apache.hudi.common.table.read.HoodieFileGroupReader;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.table.HoodieFlinkTable;
+import org.apache.hudi.table.format.FormatUtils;
+import org.apache.hudi.table.format.InternalSchemaManager;
+import org.apache.hudi.util.FlinkWriteClients;
+import org.apache.hudi.util.StreamerUtil;
+import org.apache.hudi.utils.TestConfigurations;
+import org.apache.hudi.utils.TestData;
+
+import org.apache.avro.Schema;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link BootstrapOperator}.
+ */
+public class TestBootstrapOperator {
+
+  private Configuration conf;
+
+  @TempDir
+  File tempFile;
+
+  @BeforeEach
+  public void before() {
+    conf = TestConfigurations.getDefaultConf(tempFile.getAbsolutePath());
+    conf.set(FlinkOptions.TABLE_TYPE, FlinkOptions.TABLE_TYPE_MERGE_ON_READ);
+    conf.set(FlinkOptions.COMPACTION_ASYNC_ENABLED, false);
+  }
+
+  @Test
+  void testParallelLoadOfFileSlices() throws Exception {
+    // the file slices have log files of two delta commits
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+    TestData.writeData(TestData.DATA_SET_UPDATE_INSERT, conf);
+
+    List<String> serialRecords = loadIndexRecords(1);
+    List<String> parallelRecords = loadIndexRecords(4);
+
+    // id1 ~ id11
+    assertEquals(11, serialRecords.size());
+    assertTrue(serialRecords.stream().map(record -> record.split(",")[2]).distinct().count() > 1,
+        "The index records should be loaded from multiple file slices");
+    assertEquals(serialRecords, parallelRecords);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  void testLoadRecordKeysOfMergedFileSlices(int readerThreads) throws Exception {
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+    TestData.writeData(TestData.DATA_SET_UPDATE_INSERT, conf);
+    // the deletes are written to the delete blocks of the log files
+    TestData.writeData(TestData.DATA_SET_UPDATE_DELETE, conf);
+
+    List<String> expected = readIndexRecordsWithFullSchema();
+    List<String> expectedKeys = expected.stream().map(record -> record.split(",")[0]).collect(Collectors.toList());
+    assertFalse(expectedKeys.contains("id3"), "The deleted record should not be read");
+    assertFalse(expectedKeys.contains("id5"), "The deleted record should not be read");
+    assertTrue(expectedKeys.contains("id1"));
+    assertEquals(expected, loadIndexRecords(readerThreads));
+  }
+
+  /**
+   * Loads the index records with the given number of reader threads.
+   *
+   * @return the index records formatted as "key,partition,fileId,instant" in sorted order
+   */
+  private List<String> loadIndexRecords(int readerThreads) throws Exception {
+    Configuration bootstrapConf = new Configuration(conf);
+    bootstrapConf.set(FlinkOptions.INDEX_BOOTSTRAP_ENABLED, true);
+    bootstrapConf.set(FlinkOptions.INDEX_BOOTSTRAP_READER_THREADS, readerThreads);
+    try (OneInputStreamOperatorTestHarness<HoodieFlinkInternalRow, HoodieFlinkInternalRow> harness =
+             new OneInputStreamOperatorTestHarness<>(new BootstrapOperator(bootstrapConf))) {
+      harness.setup();
+      // the index records are loaded when the state is initialized
+      harness.initializeEmptyState();
+      return harness.extractOutputValues().stream()
+          .map(record -> record.getRecordKey() + "," + record.getPartitionPath() + "," + record.getFileId() + "," + record.getInstantTime())
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Reads the index records of the latest merged file slices with the full table schema.
+   *
+   * @return the index records formatted as "key,partition,fileId,instant" in sorted order
+   */
+  private List<String> readIndexRecordsWithFullSchema() throws Exception {
+    HoodieTableMetaClient metaClient = StreamerUtil.createMetaClient(conf);
+    HoodieWriteConfig writeConfig = FlinkWriteClients.getHoodieClientConfig(conf);
+    HoodieFlinkTable<?> table = HoodieFlinkTable.create(writeConfig, HoodieFlinkEngineContext.DEFAULT, metaClient);
+    Schema tableSchema = new TableSchemaResolver(metaClient).getTableAvroSchema();
+    String latestInstant = metaClient.getCommitsTimeline().filterCompletedAndCompactionInstants().lastInstant().get().requestedTime();
+    File[] partitionDirs = tempFile.listFiles(file -> !file.getName().startsWith(".") && file.isDirectory());
+    assertNotNull(partitionDirs);
+
+    List<String> records = new ArrayList<>();
+    boolean hasLogFiles = false;
+    for (File partitionDir : partitionDirs) {
+      List<FileSlice> fileSlices = table.getSliceView()
+          .getLatestMergedFileSlicesBeforeOrOn(partitionDir.getName(), latestInstant).collect(Collectors.toList());
+      for (FileSlice fileSlice : fileSlices) {
+        hasLogFiles |= fileSlice.getLogFiles().findAny().isPresent();
+        HoodieFileGroupReader<RowData> fileGroupReader = FormatUtils.createFileGroupReader(metaClient, writeConfig, InternalSchemaManager.DISABLED,
+            fileSlice, tableSchema, tableSchema, fileSlice.getLatestInstantTime(), FlinkOptions.REALTIME_PAYLOAD_COMBINE, false,
+            Collections.emptyList(), Option.empty());
+        try (ClosableIterator<RowData> rowIterator = fileGroupReader.getClosableIterator()) {
+          while (rowIterator.hasNext()) {
+            RowData row = rowIterator.next();
+            records.add(row.getString(HoodieRecord.RECORD_KEY_META_FIELD_ORD) + "," + fileSlice.getPartitionPath() + ","
+                + fileSlice.getFileId() + "," + fileSlice.getBaseInstantTime());
+          }
+        }
+      }
+    }
+    assertTrue(hasLogFiles, "The file slices should have log files");
+    records.sort(String::compareTo);
+    return records;
+  }
+}
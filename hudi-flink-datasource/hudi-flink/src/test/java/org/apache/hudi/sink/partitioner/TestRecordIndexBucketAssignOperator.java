@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink.partitioner;
+
+import org.apache.hudi.client.WriteClientTestUtils;
+import org.apache.hudi.client.model.HoodieFlinkInternalRow;
+import org.apache.hudi.common.model.HoodieOperation;
+import org.apache.hudi.common.model.WriteOperationType;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.index.HoodieIndex;
+import org.apache.hudi.sink.partitioner.profile.WriteProfiles;
+import org.apache.hudi.sink.utils.HoodieFlinkInternalRowTypeInfo;
+import org.apache.hudi.util.StreamerUtil;
+import org.apache.hudi.utils.TestConfigurations;
+import org.apache.hudi.utils.TestData;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.List;
+
+import static org.apache.hudi.common.testutils.HoodieTestUtils.INSTANT_GENERATOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for {@link RecordIndexBucketAssignOperator}.
+ */
+public class TestRecordIndexBucketAssignOperator {
+
+  private Configuration conf;
+
+  @TempDir
+  File tempFile;
+
+  @BeforeEach
+  public void before() throws Exception {
+    conf = TestConfigurations.getDefaultConf(tempFile.getAbsolutePath());
+    conf.set(FlinkOptions.INDEX_TYPE, HoodieIndex.IndexType.RECORD_INDEX.name());
+    // look up the locations of each record immediately
+    conf.set(FlinkOptions.INDEX_RECORD_LOOKUP_BATCH_SIZE, 1);
+  }
+
+  @Test
+  void testUpdateExistingFileGroup() throws Exception {
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+    try (OneInputStreamOperatorTestHarness<HoodieFlinkInternalRow, HoodieFlinkInternalRow> harness = createHarness()) {
+      harness.processElement(toInternalRow(row("id1", "par1")), 1);
+      harness.processElement(toInternalRow(row("id2", "par1")), 2);
+
+      List<HoodieFlinkInternalRow> output = harness.extractOutputValues();
+      assertEquals(2, output.size());
+      assertEquals("U", output.get(0).getInstantTime());
+      assertEquals("U", output.get(1).getInstantTime());
+      // the records of a partition are written into one file group
+      assertEquals(output.get(0).getFileId(), output.get(1).getFileId());
+    }
+  }
+
+  @Test
+  void testInsertThenUpdateAcrossCheckpoint() throws Exception {
+    // only one hot key is cached
+    conf.set(FlinkOptions.INDEX_RECORD_CACHE_SIZE, 1);
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+    try (OneInputStreamOperatorTestHarness<HoodieFlinkInternalRow, HoodieFlinkInternalRow> harness = createHarness()) {
+      // the new partition has no small file to pack the insert into
+      harness.processElement(toInternalRow(row("id9", "par5")), 1);
+      HoodieFlinkInternalRow insert = harness.extractOutputValues().get(0);
+      assertEquals("I", insert.getInstantTime());
+
+      // the instant writing the new key is not committed when the checkpoint completes
+      HoodieTableMetaClient metaClient = StreamerUtil.createMetaClient(conf);
+      HoodieInstant instant = INSTANT_GENERATOR.createNewInstant(
+          HoodieInstant.State.REQUESTED, HoodieTimeline.COMMIT_ACTION, WriteClientTestUtils.createNewInstantTime());
+      metaClient.getActiveTimeline().createNewInstant(instant);
+      harness.snapshot(1, 3);
+      harness.notifyOfCompletedCheckpoint(1);
+
+      // churn the cache of the hot keys with the indexed keys
+      harness.processElement(toInternalRow(row("id1", "par1")), 4);
+      harness.processElement(toInternalRow(row("id3", "par2")), 5);
+      harness.processElement(toInternalRow(row("id9", "par5")), 6);
+
+      List<HoodieFlinkInternalRow> output = harness.extractOutputValues();
+      assertEquals(4, output.size());
+      HoodieFlinkInternalRow update = output.get(3);
+      assertEquals("U", update.getInstantTime());
+      assertEquals(insert.getFileId(), update.getFileId());
+    }
+  }
+
+  @Test
+  void testPartitionChangeWithGlobalIndex() throws Exception {
+    conf.set(FlinkOptions.INDEX_GLOBAL_ENABLED, true);
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+    try (OneInputStreamOperatorTestHarness<HoodieFlinkInternalRow, HoodieFlinkInternalRow> harness = createHarness()) {
+      harness.processElement(toInternalRow(row("id2", "par1")), 1);
+      String fileId = harness.extractOutputValues().get(0).getFileId();
+
+      harness.processElement(toInternalRow(row("id1", "par2")), 2);
+      List<HoodieFlinkInternalRow> output = harness.extractOutputValues();
+      assertEquals(3, output.size());
+      // the record is deleted from the old partition
+      HoodieFlinkInternalRow delete = output.get(1);
+      assertEquals(HoodieOperation.DELETE.getName(), delete.getOperationType());
+      assertEquals("par1", delete.getPartitionPath());
+      assertEquals(fileId, delete.getFileId());
+      // and inserted into the new partition
+      HoodieFlinkInternalRow insert = output.get(2);
+      assertEquals("par2", insert.getPartitionPath());
+      assertNotEquals(fileId, insert.getFileId());
+    }
+  }
+
+  @Test
+  void testInvalidateCacheOnReplaceCommit() throws Exception {
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+    try (OneInputStreamOperatorTestHarness<HoodieFlinkInternalRow, HoodieFlinkInternalRow> harness = createHarness()) {
+      harness.processElement(toInternalRow(row("id1", "par1")), 1);
+      String fileId = harness.extractOutputValues().get(0).getFileId();
+      // the location is cached as a hot key once the checkpoint completes
+      harness.snapshot(1, 2);
+      harness.notifyOfCompletedCheckpoint(1);
+
+      // the file group of partition 'par1' is replaced, the write profile is cached per table in the JVM,
+      // clean the one of the operator so that the small files are ignored by the overwrite.
+      WriteProfiles.clean(conf.get(FlinkOptions.PATH));
+      Configuration overwriteConf = new Configuration(conf);
+      overwriteConf.set(FlinkOptions.OPERATION, WriteOperationType.INSERT_OVERWRITE.value());
+      TestData.writeData(TestData.DATA_SET_SOURCE_INSERT_OVERWRITE, overwriteConf);
+      harness.snapshot(2, 3);
+      harness.notifyOfCompletedCheckpoint(2);
+
+      harness.processElement(toInternalRow(row("id1", "par1")), 4);
+      HoodieFlinkInternalRow update = harness.extractOutputValues().get(1);
+      assertEquals("U", update.getInstantTime());
+      assertNotEquals(fileId, update.getFileId());
+    }
+  }
+
+  @Test
+  void testMissingRecordIndex() throws Exception {
+    // the table is written without the record index
+    Configuration writeConf = new Configuration(conf);
+    writeConf.set(FlinkOptions.INDEX_TYPE, HoodieIndex.IndexType.FLINK_STATE.name());
+    TestData.writeData(TestData.DATA_SET_INSERT, writeConf);
+    try (OneInputStreamOperatorTestHarness<HoodieFlinkInternalRow, HoodieFlinkInternalRow> harness = createHarness()) {
+      assertThrows(HoodieException.class, () -> harness.processElement(toInternalRow(row("id1", "par1")), 1));
+    }
+  }
+
+  // -------------------------------------------------------------------------
+  //  Utilities
+  // -------------------------------------------------------------------------
+
+  private OneInputStreamOperatorTestHarness<HoodieFlinkInternalRow, HoodieFlinkInternalRow> createHarness() throws Exception {
+    OneInputStreamOperatorTestHarness<HoodieFlinkInternalRow, HoodieFlinkInternalRow> harness =
+        new OneInputStreamOperatorTestHarness<>(new RecordIndexBucketAssignOperator(conf));
+    harness.setup(new HoodieFlinkInternalRowTypeInfo(TestConfigurations.ROW_TYPE).createSerializer());
+    harness.open();
+    return harness;
+  }
+
+  private static RowData row(String key, String partition) {
+    return TestData.insertRow(StringData.fromString(key), StringData.fromString("Danny"), 24,
+        TimestampData.fromEpochMillis(1), StringData.fromString(partition));
+  }
+
+  private static HoodieFlinkInternalRow toInternalRow(RowData row) {
+    String operationType = HoodieOperation.fromValue(row.getRowKind().toByteValue()).getName();
+    return new HoodieFlinkInternalRow(row.getString(0).toString(), row.getString(4).toString(), operationType, row);
+  }
+}
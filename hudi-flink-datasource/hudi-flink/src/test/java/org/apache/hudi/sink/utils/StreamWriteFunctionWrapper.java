@@ -37,6 +37,7 @@ import org.apache.hudi.util.StreamerUtil;
 import org.apache.hudi.utils.TestConfigurations;
 
 import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.operators.MailboxExecutor;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.io.disk.iomanager.IOManagerAsync;
@@ -108,6 +109,11 @@ public class StreamWriteFunctionWrapper<I> implements TestFunctionWrapper<I> {
 
   private final boolean asyncCompaction;
 
+  /**
+   * The mailbox executor of the write function, the asynchronous flush is disabled if it is null.
+   */
+  private MailboxExecutor mailboxExecutor;
+
   public StreamWriteFunctionWrapper(String tablePath) throws Exception {
     this(tablePath, TestConfigurations.getDefaultConf(tablePath));
   }
@@ -301,6 +307,10 @@ public class StreamWriteFunctionWrapper<I> implements TestFunctionWrapper<I> {
     return coordinator;
   }
 
+  public void setMailboxExecutor(MailboxExecutor mailboxExecutor) {
+    this.mailboxExecutor = mailboxExecutor;
+  }
+
   @Override
   public AbstractWriteFunction getWriteFunction() {
     return this.writeFunction;
@@ -326,6 +336,9 @@ public class StreamWriteFunctionWrapper<I> implements TestFunctionWrapper<I> {
     writeFunction = new StreamWriteFunction(conf, rowType);
     writeFunction.setRuntimeContext(runtimeContext);
     writeFunction.setOperatorEventGateway(gateway);
+    if (mailboxExecutor != null) {
+      writeFunction.setMailboxExecutor(mailboxExecutor);
+    }
     writeFunction.initializeState(this.stateInitializationContext);
     writeFunction.open(conf);
     writeFunction.setCorrespondent(new MockCorrespondent(this.coordinator));
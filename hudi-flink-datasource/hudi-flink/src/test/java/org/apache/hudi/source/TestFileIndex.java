@@ -25,6 +25,7 @@ import org.apache.hudi.configuration.FlinkOptions;
 import org.apache.hudi.keygen.NonpartitionedAvroKeyGenerator;
 import org.apache.hudi.source.prune.ColumnStatsProbe;
 import org.apache.hudi.source.prune.PartitionPruners;
+import org.apache.hudi.source.stats.TransposedColumnStats;
 import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.storage.StoragePathInfo;
 import org.apache.hudi.util.StreamerUtil;
@@ -135,12 +136,15 @@ public class TestFileIndex {
     assertThat(pathInfoList.size(), is(0));
   }
 
-  @Test
-  void testFileListingWithDataSkipping() throws Exception {
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void testFileListingWithDataSkipping(boolean cacheEnabled) throws Exception {
+    TransposedColumnStats.invalidateAll();
     Configuration conf = TestConfigurations.getDefaultConf(tempFile.getAbsolutePath(), TestConfigurations.ROW_DATA_TYPE_BIGINT);
     conf.set(FlinkOptions.TABLE_TYPE, FlinkOptions.TABLE_TYPE_COPY_ON_WRITE);
     conf.set(FlinkOptions.METADATA_ENABLED, true);
     conf.set(FlinkOptions.READ_DATA_SKIPPING_ENABLED, true);
+    conf.set(FlinkOptions.READ_DATA_SKIPPING_CACHE_ENABLED, cacheEnabled);
     conf.setString(HoodieMetadataConfig.ENABLE_METADATA_INDEX_COLUMN_STATS.key(), "true");
 
     writeBigintDataset(conf);
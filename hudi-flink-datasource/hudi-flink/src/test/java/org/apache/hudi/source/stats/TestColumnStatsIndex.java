@@ -18,30 +18,60 @@
 
 package org.apache.hudi.source.stats;
 
+import org.apache.hudi.client.HoodieFlinkWriteClient;
+import org.apache.hudi.client.WriteClientTestUtils;
+import org.apache.hudi.client.common.HoodieFlinkEngineContext;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
+import org.apache.hudi.common.model.HoodieCleaningPolicy;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.TimelineMetadataUtils;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.source.FileIndex;
+import org.apache.hudi.source.prune.ColumnStatsProbe;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.util.FlinkWriteClients;
 import org.apache.hudi.util.StreamerUtil;
 import org.apache.hudi.utils.TestConfigurations;
 import org.apache.hudi.utils.TestData;
+import org.apache.hudi.utils.TestUtils;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.api.DataTypes;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionIdentifier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.apache.hudi.common.testutils.HoodieTestUtils.INSTANT_GENERATOR;
+import static org.apache.hudi.utils.TestData.insertRow;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test cases for {@link ColumnStatsIndex}.
@@ -117,6 +147,150 @@ public class TestColumnStatsIndex {
         () -> indexSupport.readColumnStatsIndexByColumns(new String[0]));
   }
 
+  @Test
+  void testSyncCachedColumnStats() throws Exception {
+    final String path = tempFile.getAbsolutePath();
+    Configuration conf = TestConfigurations.getDefaultConf(path);
+    conf.setString(HoodieMetadataConfig.ENABLE.key(), "true");
+    conf.set(FlinkOptions.READ_DATA_SKIPPING_ENABLED, true);
+    conf.set(FlinkOptions.READ_DATA_SKIPPING_CACHE_ENABLED, true);
+    conf.setString(HoodieMetadataConfig.ENABLE_METADATA_INDEX_COLUMN_STATS.key(), "true");
+    TransposedColumnStats.invalidateAll();
+
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+    HoodieTableMetaClient metaClient = StreamerUtil.createMetaClient(conf);
+    FileStatsIndex indexSupport = new FileStatsIndex(path, TestConfigurations.ROW_TYPE, conf, metaClient);
+    // age > 50, only the files of 'par2' and 'par4' match the filter
+    ColumnStatsProbe probe = ColumnStatsProbe.newInstance(Collections.singletonList(CallExpression.permanent(
+        FunctionIdentifier.of("greaterThan"),
+        BuiltInFunctionDefinitions.GREATER_THAN,
+        Arrays.asList(
+            new FieldReferenceExpression("age", DataTypes.INT(), 2, 2),
+            new ValueLiteralExpression(50, DataTypes.INT().notNull())),
+        DataTypes.BOOLEAN())));
+    List<String> files1 = listFileNames(conf);
+    assertThat(files1.size(), is(4));
+    assertThat(indexSupport.computeCandidateFiles(probe, files1).size(), is(2));
+
+    // a file that is only known by the cache, it is kept until the cache is reloaded
+    final String markerFile = "marker.parquet";
+    TransposedColumnStats columnStats = TransposedColumnStats.getInstance(path);
+    columnStats.put("age", markerFile, 1, 2, 0, 2);
+
+    // the second commit writes a new file of 'par1' with ages [20, 33]
+    TestData.writeData(Collections.singletonList(
+        insertRow(StringData.fromString("id1"), StringData.fromString("Danny"), 20,
+            TimestampData.fromEpochMillis(1), StringData.fromString("par1"))), conf);
+    List<String> files2 = listFileNames(conf);
+    assertThat(files2.size(), is(5));
+    files2.add(markerFile);
+    Set<String> candidates2 = indexSupport.computeCandidateFiles(probe, files2);
+    assertThat("The stats of the new file should be synced", candidates2.size(), is(2));
+    assertThat(columnStats.getNumFiles(), is(6));
+    assertThat(columnStats.getSyncedCompletionTime(),
+        is(metaClient.reloadActiveTimeline().getCommitsTimeline().filterCompletedInstants().getLatestCompletionTime().get()));
+
+    // the synced commits are archived
+    HoodieTimeline commitsTimeline = metaClient.getActiveTimeline().getCommitsTimeline().filterCompletedInstants();
+    for (HoodieInstant instant : commitsTimeline.getInstants()) {
+      TestUtils.deleteInstantFile(metaClient, instant);
+    }
+    completeEmptyCommit(metaClient);
+    assertTrue(isCandidate(indexSupport.computeCandidateFiles(probe, files2), markerFile), "The cache should be reloaded");
+
+    // the table is restored to a commit before the synced commit
+    HoodieInstant commit = completeEmptyCommit(metaClient);
+    indexSupport.computeCandidateFiles(probe, files2);
+    columnStats.put("age", markerFile, 1, 2, 0, 2);
+    assertFalse(indexSupport.computeCandidateFiles(probe, files2).contains(markerFile));
+    TestUtils.deleteInstantFile(metaClient, metaClient.reloadActiveTimeline().getCommitsTimeline().filterCompletedInstants()
+        .filter(instant -> instant.requestedTime().equals(commit.requestedTime())).firstInstant().get());
+    String restoreTime = WriteClientTestUtils.createNewInstantTime();
+    HoodieActiveTimeline timeline = metaClient.reloadActiveTimeline();
+    HoodieInstant requestedRestore = INSTANT_GENERATOR.createNewInstant(HoodieInstant.State.REQUESTED, HoodieTimeline.RESTORE_ACTION, restoreTime);
+    timeline.createNewInstant(requestedRestore);
+    timeline.transitionRequestedToInflight(requestedRestore, Option.empty());
+    timeline.saveAsComplete(INSTANT_GENERATOR.createNewInstant(HoodieInstant.State.INFLIGHT, HoodieTimeline.RESTORE_ACTION, restoreTime),
+        Option.of(TimelineMetadataUtils.convertRestoreMetadata(restoreTime, 1000L, Collections.emptyList(), Collections.emptyMap())));
+    assertTrue(isCandidate(indexSupport.computeCandidateFiles(probe, files2), markerFile), "The cache should be reloaded");
+  }
+
+  @Test
+  void testSyncCachedColumnStatsAcrossCleans() throws Exception {
+    final String path = tempFile.getAbsolutePath();
+    Configuration conf = TestConfigurations.getDefaultConf(path);
+    conf.setString(HoodieMetadataConfig.ENABLE.key(), "true");
+    conf.set(FlinkOptions.READ_DATA_SKIPPING_ENABLED, true);
+    conf.set(FlinkOptions.READ_DATA_SKIPPING_CACHE_ENABLED, true);
+    conf.setString(HoodieMetadataConfig.ENABLE_METADATA_INDEX_COLUMN_STATS.key(), "true");
+    conf.set(FlinkOptions.CLEAN_POLICY, HoodieCleaningPolicy.KEEP_LATEST_FILE_VERSIONS.name());
+    conf.set(FlinkOptions.CLEAN_RETAIN_FILE_VERSIONS, 1);
+    TransposedColumnStats.invalidateAll();
+
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+    HoodieTableMetaClient metaClient = StreamerUtil.createMetaClient(conf);
+    FileStatsIndex indexSupport = new FileStatsIndex(path, TestConfigurations.ROW_TYPE, conf, metaClient);
+    // age > 50, only the files of 'par2' and 'par4' match the filter
+    ColumnStatsProbe probe = ColumnStatsProbe.newInstance(Collections.singletonList(CallExpression.permanent(
+        FunctionIdentifier.of("greaterThan"),
+        BuiltInFunctionDefinitions.GREATER_THAN,
+        Arrays.asList(
+            new FieldReferenceExpression("age", DataTypes.INT(), 2, 2),
+            new ValueLiteralExpression(50, DataTypes.INT().notNull())),
+        DataTypes.BOOLEAN())));
+    assertThat(indexSupport.computeCandidateFiles(probe, listFileNames(conf)).size(), is(2));
+    TransposedColumnStats columnStats = TransposedColumnStats.getInstance(path);
+    assertThat(columnStats.getNumFiles(), is(4));
+
+    try (HoodieFlinkWriteClient<?> writeClient = new HoodieFlinkWriteClient<>(
+        HoodieFlinkEngineContext.DEFAULT, FlinkWriteClients.getHoodieClientConfig(conf))) {
+      for (int i = 0; i < 3; i++) {
+        // the upserts write a new version of each file group, the previous versions are deleted by the clean
+        TestData.writeData(TestData.DATA_SET_INSERT, conf);
+        // syncs the stats of the new files before they are cleaned
+        indexSupport.computeCandidateFiles(probe, listFileNames(conf));
+        writeClient.clean();
+        List<String> files = listFileNames(conf);
+        assertThat(files.size(), is(4));
+        assertThat(indexSupport.computeCandidateFiles(probe, files).size(), is(2));
+        assertThat("The stats of the cleaned files should be removed", columnStats.getNumFiles(), is(4));
+        assertThat(columnStats.getNumOrdinals(), is(4));
+      }
+    }
+  }
+
+  /**
+   * Returns whether the file is a candidate, null candidates means no data skipping.
+   */
+  private static boolean isCandidate(Set<String> candidates, String fileName) {
+    return candidates == null || candidates.contains(fileName);
+  }
+
+  private static List<String> listFileNames(Configuration conf) {
+    return FileIndex.builder()
+        .path(new StoragePath(conf.get(FlinkOptions.PATH)))
+        .conf(conf)
+        .rowType(TestConfigurations.ROW_TYPE)
+        .metaClient(StreamerUtil.createMetaClient(conf))
+        .build()
+        .getFilesInPartitions().stream()
+        .map(pathInfo -> pathInfo.getPath().getName())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Completes a commit that writes no files.
+   */
+  private static HoodieInstant completeEmptyCommit(HoodieTableMetaClient metaClient) {
+    HoodieActiveTimeline timeline = metaClient.reloadActiveTimeline();
+    HoodieInstant requested = INSTANT_GENERATOR.createNewInstant(
+        HoodieInstant.State.REQUESTED, HoodieTimeline.COMMIT_ACTION, WriteClientTestUtils.createNewInstantTime());
+    timeline.createNewInstant(requested);
+    timeline.transitionRequestedToInflight(requested, Option.empty());
+    HoodieInstant inflight = INSTANT_GENERATOR.createNewInstant(HoodieInstant.State.INFLIGHT, HoodieTimeline.COMMIT_ACTION, requested.requestedTime());
+    return timeline.saveAsComplete(inflight, Option.of(new HoodieCommitMetadata()));
+  }
+
   private static List<RowData> filterOutFileNames(List<RowData> indexRows) {
     return indexRows.stream().map(row -> {
       GenericRowData gr = (GenericRowData) row;
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.source.stats;
+
+import org.apache.hudi.source.prune.ColumnStatsProbe;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionIdentifier;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link TransposedColumnStats}.
+ */
+public class TestTransposedColumnStats {
+
+  @Test
+  void testComputeCandidateFiles() {
+    TransposedColumnStats columnStats = new TransposedColumnStats();
+    columnStats.addColumn("age", DataTypes.INT().getLogicalType());
+    columnStats.put("age", "f1", 18, 20, 0, 2);
+    columnStats.put("age", "f2", 44, 56, 0, 2);
+    // all the values are null
+    columnStats.put("age", "f3", null, null, 2, 2);
+    assertEquals(3, columnStats.getNumFiles());
+
+    // f4 is not indexed
+    assertEquals(new HashSet<>(Arrays.asList("f2", "f4")),
+        columnStats.computeCandidateFiles(greaterThan("age", DataTypes.INT(), 30), Arrays.asList("f1", "f2", "f3", "f4")));
+
+    // the stats of a file are overwritten
+    columnStats.put("age", "f1", 18, 40, 0, 3);
+    assertEquals(3, columnStats.getNumFiles());
+    assertEquals(new HashSet<>(Arrays.asList("f1", "f2")),
+        columnStats.computeCandidateFiles(greaterThan("age", DataTypes.INT(), 30), Arrays.asList("f1", "f2", "f3")));
+
+    // the column is not indexed
+    assertNull(columnStats.computeCandidateFiles(greaterThan("uuid", DataTypes.STRING(), "id1"), Arrays.asList("f1", "f2")));
+
+    columnStats.clear();
+    assertEquals(0, columnStats.getNumFiles());
+    assertFalse(columnStats.containsColumn("age"));
+    assertNull(columnStats.getSyncedCompletionTime());
+  }
+
+  @Test
+  void testComputeCandidateFilesOfObjectValues() {
+    TransposedColumnStats columnStats = new TransposedColumnStats();
+    columnStats.addColumn("uuid", DataTypes.STRING().getLogicalType());
+    columnStats.put("uuid", "f1", "id1", "id2", 0, 2);
+    columnStats.put("uuid", "f2", "id7", "id8", 0, 2);
+    assertEquals(Collections.singleton("f2"),
+        columnStats.computeCandidateFiles(greaterThan("uuid", DataTypes.STRING(), "id5"), Arrays.asList("f1", "f2")));
+  }
+
+  @Test
+  void testRetainColumnsOnTypeChange() {
+    TransposedColumnStats columnStats = new TransposedColumnStats();
+    columnStats.addColumn("age", DataTypes.INT().notNull().getLogicalType());
+    columnStats.addColumn("uuid", DataTypes.STRING().getLogicalType());
+    columnStats.put("age", "f1", 18, 20, 0, 2);
+    columnStats.put("uuid", "f1", "id1", "id2", 0, 2);
+
+    Map<String, LogicalType> tableFieldTypeMap = new HashMap<>();
+    // the nullability does not matter
+    tableFieldTypeMap.put("age", DataTypes.INT().getLogicalType());
+    tableFieldTypeMap.put("uuid", DataTypes.STRING().getLogicalType());
+    columnStats.retainColumns(tableFieldTypeMap);
+    assertTrue(columnStats.containsColumn("age"));
+    assertTrue(columnStats.containsColumn("uuid"));
+
+    // the column type evolves from int to double
+    tableFieldTypeMap.put("age", DataTypes.DOUBLE().getLogicalType());
+    columnStats.retainColumns(tableFieldTypeMap);
+    assertFalse(columnStats.containsColumn("age"));
+    assertTrue(columnStats.containsColumn("uuid"));
+
+    // the stats are reloaded with the new type
+    columnStats.addColumn("age", DataTypes.DOUBLE().getLogicalType());
+    columnStats.put("age", "f1", 18.5D, 20.5D, 0, 2);
+    assertEquals(Collections.singleton("f1"),
+        columnStats.computeCandidateFiles(greaterThan("age", DataTypes.DOUBLE(), 20.2D), Collections.singletonList("f1")));
+    assertEquals(Collections.emptySet(),
+        columnStats.computeCandidateFiles(greaterThan("age", DataTypes.DOUBLE(), 20.8D), Collections.singletonList("f1")));
+
+    // the column is dropped
+    tableFieldTypeMap.remove("uuid");
+    columnStats.retainColumns(tableFieldTypeMap);
+    assertFalse(columnStats.containsColumn("uuid"));
+  }
+
+  @Test
+  void testRemoveFiles() {
+    TransposedColumnStats columnStats = new TransposedColumnStats();
+    columnStats.addColumn("age", DataTypes.INT().getLogicalType());
+    columnStats.addColumn("uuid", DataTypes.STRING().getLogicalType());
+    for (int i = 1; i <= 8; i++) {
+      columnStats.put("age", "f" + i, i * 10, i * 10 + 5, 0, 2);
+      columnStats.put("uuid", "f" + i, "id" + i, "id" + i, 0, 2);
+    }
+
+    // the removed files are not indexed anymore, the ordinals are kept below the compaction threshold
+    columnStats.removeFiles(Arrays.asList("f1", "f8", "f9"));
+    assertEquals(6, columnStats.getNumFiles());
+    assertEquals(8, columnStats.getNumOrdinals());
+    assertEquals(new HashSet<>(Arrays.asList("f1", "f6", "f7", "f8")),
+        columnStats.computeCandidateFiles(greaterThan("age", DataTypes.INT(), 58), Arrays.asList("f1", "f2", "f6", "f7", "f8")));
+
+    // the ordinals are compacted once the removed files pass the threshold
+    columnStats.removeFiles(Arrays.asList("f2", "f3"));
+    assertEquals(4, columnStats.getNumFiles());
+    assertEquals(4, columnStats.getNumOrdinals());
+    assertEquals(new HashSet<>(Arrays.asList("f2", "f6", "f7")),
+        columnStats.computeCandidateFiles(greaterThan("age", DataTypes.INT(), 58), Arrays.asList("f2", "f4", "f5", "f6", "f7")));
+    assertEquals(new HashSet<>(Arrays.asList("f3", "f5")),
+        columnStats.computeCandidateFiles(greaterThan("uuid", DataTypes.STRING(), "id4"), Arrays.asList("f3", "f4", "f5")));
+
+    // the new files take the ordinals after the compacted ones
+    columnStats.put("age", "f9", 90, 95, 0, 2);
+    assertEquals(5, columnStats.getNumOrdinals());
+    assertEquals(new HashSet<>(Arrays.asList("f7", "f9")),
+        columnStats.computeCandidateFiles(greaterThan("age", DataTypes.INT(), 70), Arrays.asList("f4", "f7", "f9")));
+  }
+
+  private static ColumnStatsProbe greaterThan(String column, DataType dataType, Object value) {
+    return ColumnStatsProbe.newInstance(Collections.singletonList(CallExpression.permanent(
+        FunctionIdentifier.of("greaterThan"),
+        BuiltInFunctionDefinitions.GREATER_THAN,
+        Arrays.asList(
+            new FieldReferenceExpression(column, dataType, 0, 0),
+            new ValueLiteralExpression(value, dataType.notNull())),
+        DataTypes.BOOLEAN())));
+  }
+}
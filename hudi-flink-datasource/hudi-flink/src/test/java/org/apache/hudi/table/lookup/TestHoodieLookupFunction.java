@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.table.lookup;
+
+import org.apache.hudi.common.config.HoodieMemoryConfig;
+import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.table.HoodieTableSource;
+import org.apache.hudi.util.SerializableSchema;
+import org.apache.hudi.utils.TestConfigurations;
+import org.apache.hudi.utils.TestData;
+
+import org.apache.flink.api.common.functions.util.ListCollector;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.hudi.utils.TestData.insertRow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link HoodieLookupFunction}.
+ */
+public class TestHoodieLookupFunction {
+
+  private Configuration conf;
+
+  @TempDir
+  File tempFile;
+
+  @BeforeEach
+  void beforeEach() throws Exception {
+    conf = TestConfigurations.getDefaultConf(tempFile.getAbsolutePath());
+    conf.set(FlinkOptions.LOOKUP_JOIN_CACHE_INCREMENTAL_ENABLED, true);
+    TestData.writeData(TestData.DATA_SET_INSERT, conf);
+  }
+
+  @Test
+  void testIncrementalRefreshOfSingleFileGroup() throws Exception {
+    List<RowData> results = new ArrayList<>();
+    // the cache expires on every lookup
+    HoodieLookupFunction lookupFunction = createLookupFunction(Duration.ZERO);
+    lookupFunction.setCollector(new ListCollector<>(results));
+    lookupFunction.open(new FunctionContext(null));
+    try {
+      // the first load is waited for
+      assertEquals(23, lookup(lookupFunction, results, "id1").getInt(2));
+      assertEquals(53, lookup(lookupFunction, results, "id3").getInt(2));
+      Map<String, Set<Long>> cachedFileGroups = lookupFunction.getCachedFileGroupRowIds();
+      Set<Long> par1RowIds = getFileGroupRowIds(cachedFileGroups, "par1");
+      Set<Long> par2RowIds = getFileGroupRowIds(cachedFileGroups, "par2");
+
+      // only update the file group of par1
+      TestData.writeData(Collections.singletonList(
+          insertRow(StringData.fromString("id1"), StringData.fromString("Danny"), 24,
+              TimestampData.fromEpochMillis(9), StringData.fromString("par1"))), conf);
+
+      // the refresh is submitted in background, the lookups are served by the current cache until it completes
+      assertEquals(23, lookup(lookupFunction, results, "id1").getInt(2));
+      long deadline = System.currentTimeMillis() + 60_000L;
+      int age = 23;
+      while (age == 23 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(100);
+        age = lookup(lookupFunction, results, "id1").getInt(2);
+      }
+      assertEquals(24, age, "The refreshed cache should be swapped in");
+
+      // the rows of the unchanged file group are reused, the changed file group is read again
+      cachedFileGroups = lookupFunction.getCachedFileGroupRowIds();
+      assertEquals(par2RowIds, getFileGroupRowIds(cachedFileGroups, "par2"));
+      Set<Long> newPar1RowIds = getFileGroupRowIds(cachedFileGroups, "par1");
+      assertEquals(par1RowIds.size(), newPar1RowIds.size());
+      assertTrue(Collections.disjoint(par1RowIds, newPar1RowIds), "The changed file group should be read again");
+      assertEquals(33, lookup(lookupFunction, results, "id2").getInt(2));
+      assertEquals(53, lookup(lookupFunction, results, "id3").getInt(2));
+      assertEquals(56, lookup(lookupFunction, results, "id8").getInt(2));
+    } finally {
+      lookupFunction.close();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void testSpilledRows(boolean incrementalRefresh) throws Exception {
+    conf.set(FlinkOptions.LOOKUP_JOIN_CACHE_INCREMENTAL_ENABLED, incrementalRefresh);
+    // no memory budget, all the cached rows are spilled
+    conf.set(FlinkOptions.LOOKUP_JOIN_CACHE_MAX_MEMORY, 0);
+    conf.setString(HoodieMemoryConfig.SPILLABLE_MAP_BASE_PATH.key(), new File(tempFile, "spill").getAbsolutePath());
+    List<RowData> results = new ArrayList<>();
+    HoodieLookupFunction lookupFunction = createLookupFunction(Duration.ZERO);
+    lookupFunction.setCollector(new ListCollector<>(results));
+    lookupFunction.open(new FunctionContext(null));
+    try {
+      assertEquals(23, lookup(lookupFunction, results, "id1").getInt(2));
+      assertEquals(8, lookupFunction.getNumSpilledEntries());
+      assertEquals(StringData.fromString("Stephen"), lookup(lookupFunction, results, "id2").getString(1));
+      assertEquals(44, lookup(lookupFunction, results, "id7").getInt(2));
+      results.clear();
+      lookupFunction.eval(StringData.fromString("id9"));
+      assertTrue(results.isEmpty());
+
+      TestData.writeData(Collections.singletonList(
+          insertRow(StringData.fromString("id1"), StringData.fromString("Danny"), 24,
+              TimestampData.fromEpochMillis(9), StringData.fromString("par1"))), conf);
+
+      long deadline = System.currentTimeMillis() + 60_000L;
+      int age = 23;
+      while (age == 23 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(100);
+        age = lookup(lookupFunction, results, "id1").getInt(2);
+      }
+      assertEquals(24, age, "The refreshed cache should be swapped in");
+      assertEquals(33, lookup(lookupFunction, results, "id2").getInt(2));
+      assertEquals(56, lookup(lookupFunction, results, "id8").getInt(2));
+    } finally {
+      lookupFunction.close();
+    }
+  }
+
+  private HoodieLookupFunction createLookupFunction(Duration reloadInterval) {
+    HoodieTableSource tableSource = new HoodieTableSource(
+        SerializableSchema.create(TestConfigurations.TABLE_SCHEMA),
+        new StoragePath(conf.get(FlinkOptions.PATH)),
+        Arrays.asList(conf.get(FlinkOptions.PARTITION_PATH_FIELD).split(",")),
+        "default-par",
+        conf);
+    return new HoodieLookupFunction(
+        new HoodieLookupTableReader(tableSource::getLookupInputFormat, conf),
+        TestConfigurations.ROW_TYPE,
+        new int[] {0},
+        reloadInterval,
+        conf);
+  }
+
+  private static RowData lookup(HoodieLookupFunction lookupFunction, List<RowData> results, String key) {
+    results.clear();
+    lookupFunction.eval(StringData.fromString(key));
+    assertEquals(1, results.size(), "Expect exactly one row for key " + key);
+    return results.get(0);
+  }
+
+  private static Set<Long> getFileGroupRowIds(Map<String, Set<Long>> cachedFileGroups, String partition) {
+    List<Set<Long>> fileGroupRows = new ArrayList<>();
+    cachedFileGroups.forEach((fileGroupId, rows) -> {
+      if (fileGroupId.contains("/" + partition + "/")) {
+        fileGroupRows.add(rows);
+      }
+    });
+    assertTrue(fileGroupRows.size() == 1, "Expect one file group in partition " + partition);
+    return fileGroupRows.get(0);
+  }
+}
@@ -46,13 +46,21 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.avro.AvroParquetReader;
 import org.apache.parquet.avro.AvroReadSupport;
+import org.apache.parquet.column.page.PageReadStore;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.DecimalMetadata;
 import org.apache.parquet.schema.MessageType;
@@ -69,6 +77,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -140,6 +149,12 @@ public class ParquetUtils extends FileFormatUtils {
     }
     Configuration conf = storage.getConf().unwrapCopyAs(Configuration.class);
     conf.addResource(storage.newInstance(convertToStoragePath(filePath), storage.getConf()).getConf().unwrapAs(Configuration.class));
+    if (filterFunction.isPresent()) {
+      Option<Set<Pair<String, Long>>> rowKeys = filterParquetRowKeysByRowGroup(conf, filePath, filter);
+      if (rowKeys.isPresent()) {
+        return rowKeys.get();
+      }
+    }
     AvroReadSupport.setAvroReadSchema(conf, readSchema);
     AvroReadSupport.setRequestedProjection(conf, readSchema);
     Set<Pair<String, Long>> rowKeys = new HashSet<>();
@@ -164,6 +179,85 @@ public class ParquetUtils extends FileFormatUtils {
     return rowKeys;
   }
 
+  /**
+   * Reads the rowKey list matching the given non-empty filter, from the given parquet file, by reading the record
+   * key column only. The row groups whose record key range in the column statistics does not cover any of the
+   * candidate keys are skipped without being read, the candidate keys are sorted once to probe the ranges.
+   *
+   * @param conf     The hadoop configuration.
+   * @param filePath The parquet file path.
+   * @param filter   record keys filter
+   * @return Set of pairs of row key and position matching candidateRecordKeys, or empty if the file has no record key column
+   */
+  private static Option<Set<Pair<String, Long>>> filterParquetRowKeysByRowGroup(Configuration conf, Path filePath, Set<String> filter) {
+    Set<Pair<String, Long>> rowKeys = new HashSet<>();
+    try (ParquetFileReader fileReader = ParquetFileReader.open(conf, filePath)) {
+      MessageType fileSchema = fileReader.getFooter().getFileMetaData().getSchema();
+      if (!fileSchema.containsField(HoodieRecord.RECORD_KEY_METADATA_FIELD)
+          || !fileSchema.getType(HoodieRecord.RECORD_KEY_METADATA_FIELD).isPrimitive()) {
+        return Option.empty();
+      }
+      MessageType projection = new MessageType(fileSchema.getName(), fileSchema.getType(HoodieRecord.RECORD_KEY_METADATA_FIELD));
+      fileReader.setRequestedSchema(projection);
+      ColumnPath recordKeyColumn = ColumnPath.get(HoodieRecord.RECORD_KEY_METADATA_FIELD);
+      MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(projection, fileSchema);
+      Binary[] sortedCandidateKeys = null;
+      long rowPosition = 0;
+      for (BlockMetaData rowGroup : fileReader.getRowGroups()) {
+        Statistics<Binary> stats = getRecordKeyStatistics(rowGroup, recordKeyColumn);
+        if (stats != null) {
+          if (sortedCandidateKeys == null) {
+            sortedCandidateKeys = filter.stream().map(Binary::fromString).sorted(stats.comparator()).toArray(Binary[]::new);
+          }
+          if (!coversAnyKey(stats, sortedCandidateKeys)) {
+            fileReader.skipNextRowGroup();
+            rowPosition += rowGroup.getRowCount();
+            continue;
+          }
+        }
+        PageReadStore pages = fileReader.readNextRowGroup();
+        RecordReader<Group> recordReader = columnIO.getRecordReader(pages, new GroupRecordConverter(projection));
+        for (long i = 0; i < pages.getRowCount(); i++) {
+          Group group = recordReader.read();
+          if (group.getFieldRepetitionCount(0) > 0) {
+            String recordKey = group.getString(0, 0);
+            if (filter.contains(recordKey)) {
+              rowKeys.add(Pair.of(recordKey, rowPosition));
+            }
+          }
+          rowPosition++;
+        }
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to read row keys from Parquet " + filePath, e);
+    }
+    return Option.of(rowKeys);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Statistics<Binary> getRecordKeyStatistics(BlockMetaData rowGroup, ColumnPath recordKeyColumn) {
+    for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+      if (column.getPath().equals(recordKeyColumn)) {
+        Statistics<?> stats = column.getStatistics();
+        return stats != null && !stats.isEmpty() && stats.hasNonNullValue() && stats.genericGetMin() instanceof Binary
+            ? (Statistics<Binary>) stats : null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns whether any of the sorted keys falls in the [min, max] range of the statistics.
+   */
+  private static boolean coversAnyKey(Statistics<Binary> stats, Binary[] sortedKeys) {
+    int index = Arrays.binarySearch(sortedKeys, stats.genericGetMin(), stats.comparator());
+    if (index >= 0) {
+      return true;
+    }
+    int insertionPoint = -index - 1;
+    return insertionPoint < sortedKeys.length && stats.compareMaxToValue(sortedKeys[insertionPoint]) >= 0;
+  }
+
   /**
    * @param codecName codec name in String.
    * @return {@link CompressionCodecName} Enum.
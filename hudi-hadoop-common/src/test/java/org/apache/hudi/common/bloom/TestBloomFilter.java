@@ -20,6 +20,9 @@ package org.apache.hudi.common.bloom;
 
 import org.apache.hudi.common.util.hash.Hash;
 
+import net.jpountz.xxhash.XXHash64;
+import net.jpountz.xxhash.XXHashFactory;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -32,12 +35,13 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static org.apache.hudi.common.testutils.HoodieTestTable.readLastLineFromResourceFile;
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
- * Unit tests {@link SimpleBloomFilter} and {@link HoodieDynamicBoundedBloomFilter}.
+ * Unit tests {@link SimpleBloomFilter}, {@link HoodieDynamicBoundedBloomFilter} and {@link SplitBlockBloomFilter}.
  */
 public class TestBloomFilter {
 
@@ -46,7 +50,8 @@ public class TestBloomFilter {
   public static List<Arguments> bloomFilterTypeCodes() {
     return Arrays.asList(
         Arguments.of(BloomFilterTypeCode.SIMPLE.name()),
-        Arguments.of(BloomFilterTypeCode.DYNAMIC_V0.name())
+        Arguments.of(BloomFilterTypeCode.DYNAMIC_V0.name()),
+        Arguments.of(BloomFilterTypeCode.SPLIT_BLOCK.name())
     );
   }
 
@@ -192,7 +197,9 @@ public class TestBloomFilter {
         Arguments.of("hadoop", BloomFilterTypeCode.DYNAMIC_V0.name(), 1000, 0.000001, Hash.JENKINS_HASH, 5000),
         Arguments.of("hudi", BloomFilterTypeCode.SIMPLE.name(), 1000, 0.000001, Hash.MURMUR_HASH, -1),
         Arguments.of("hudi", BloomFilterTypeCode.SIMPLE.name(), 5000, 0.000001, Hash.MURMUR_HASH, -1),
-        Arguments.of("hudi", BloomFilterTypeCode.DYNAMIC_V0.name(), 1000, 0.000001, Hash.MURMUR_HASH, 5000)
+        Arguments.of("hudi", BloomFilterTypeCode.DYNAMIC_V0.name(), 1000, 0.000001, Hash.MURMUR_HASH, 5000),
+        Arguments.of("hudi", BloomFilterTypeCode.SPLIT_BLOCK.name(), 1000, 0.000001, Hash.MURMUR_HASH, -1),
+        Arguments.of("hudi", BloomFilterTypeCode.SPLIT_BLOCK.name(), 5000, 0.000001, Hash.MURMUR_HASH, -1)
     );
   }
 
@@ -225,6 +232,53 @@ public class TestBloomFilter {
         serializedFilter, keyList, lib, typeCode, numEntries, errorRate, hashType, maxEntries);
   }
 
+  @Test
+  public void testSplitBlockHash() {
+    XXHash64 xxHash64 = XXHashFactory.safeInstance().hash64();
+    for (int length = 0; length < 100; length++) {
+      StringBuilder key = new StringBuilder();
+      for (int i = 0; i < length; i++) {
+        key.append((char) ('a' + i % 26));
+      }
+      byte[] keyBytes = getUTF8Bytes(key.toString());
+      long expected = xxHash64.hash(keyBytes, 0, keyBytes.length, 0);
+      assertEquals(expected, SplitBlockBloomFilter.hash64(keyBytes, null, keyBytes.length));
+      assertEquals(expected, SplitBlockBloomFilter.hash64(null, key.toString(), key.length()));
+    }
+  }
+
+  @Test
+  public void testSplitBlockKeyEncodings() {
+    List<String> keys = Arrays.asList("key1", "ключ2", "キー3", "key-😀-4");
+    BloomFilter stringFilter = new SplitBlockBloomFilter(1000, 0.000001);
+    BloomFilter bytesFilter = new SplitBlockBloomFilter(1000, 0.000001);
+    for (String key : keys) {
+      stringFilter.add(key);
+      bytesFilter.add(getUTF8Bytes(key));
+    }
+    assertEquals(stringFilter.serializeToString(), bytesFilter.serializeToString());
+    for (String key : keys) {
+      assertTrue(bytesFilter.mightContain(key), "Filter should have returned true for " + key);
+    }
+  }
+
+  @Test
+  public void testSplitBlockFalsePositiveRate() {
+    int numEntries = 10000;
+    BloomFilter filter = new SplitBlockBloomFilter(numEntries, 0.01);
+    for (int i = 0; i < numEntries; i++) {
+      filter.add("key" + i);
+    }
+    int numFalsePositives = 0;
+    int numProbes = 100000;
+    for (int i = numEntries; i < numEntries + numProbes; i++) {
+      if (filter.mightContain("key" + i)) {
+        numFalsePositives++;
+      }
+    }
+    assertTrue(numFalsePositives < numProbes * 0.02, "Too many false positives: " + numFalsePositives);
+  }
+
   BloomFilter getBloomFilter(String typeCode, int numEntries, double errorRate, int maxEntries) {
     if (typeCode.equalsIgnoreCase(BloomFilterTypeCode.SIMPLE.name())) {
       return BloomFilterFactory.createBloomFilter(numEntries, errorRate, -1, typeCode);
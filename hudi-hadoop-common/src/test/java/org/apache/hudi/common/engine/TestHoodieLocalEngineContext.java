@@ -18,13 +18,16 @@
 
 package org.apache.hudi.common.engine;
 
+import org.apache.hudi.common.config.HoodieCommonConfig;
 import org.apache.hudi.common.data.HoodieData;
 import org.apache.hudi.common.data.HoodieListPairData;
 import org.apache.hudi.common.data.HoodiePairData;
 import org.apache.hudi.common.function.SerializableFunction;
 import org.apache.hudi.common.util.collection.ImmutablePair;
 import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StorageConfiguration;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,9 +36,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.apache.hudi.common.testutils.HoodieTestUtils.getDefaultStorage;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestHoodieLocalEngineContext {
@@ -170,4 +177,60 @@ public class TestHoodieLocalEngineContext {
     assertTrue(resultList.contains(42));
     assertTrue(resultList.contains(17));
   }
-} 
\ No newline at end of file
+
+  @Test
+  void testParallelismIsBounded() {
+    StorageConfiguration<?> conf = getDefaultStorage().getConf().newInstance();
+    conf.set(HoodieCommonConfig.LOCAL_ENGINE_MAX_PARALLELISM.key(), "3");
+    HoodieLocalEngineContext boundedContext = new HoodieLocalEngineContext(conf);
+    List<Integer> data = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    SerializableFunction<Integer, Integer> func = i -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      Thread.sleep(2);
+      running.decrementAndGet();
+      return i * 2;
+    };
+    // the results are in the order of the input
+    assertEquals(data.stream().map(i -> i * 2).collect(Collectors.toList()), boundedContext.map(data, func, 2));
+    assertTrue(maxRunning.get() <= 2, "The requested parallelism should be honored");
+
+    maxRunning.set(0);
+    assertEquals(data.stream().map(i -> i * 2).collect(Collectors.toList()), boundedContext.map(data, func, 10));
+    assertTrue(maxRunning.get() <= 3, "The parallelism should be capped by the configured maximum");
+
+    List<Integer> flatMapped = boundedContext.flatMap(data, i -> IntStream.range(0, i % 3).mapToObj(j -> i), 10);
+    assertEquals(data.stream().flatMap(i -> IntStream.range(0, i % 3).mapToObj(j -> i)).collect(Collectors.toList()), flatMapped);
+
+    AtomicInteger sum = new AtomicInteger();
+    boundedContext.foreach(data, sum::addAndGet, 10);
+    assertEquals(data.stream().mapToInt(Integer::intValue).sum(), sum.get());
+  }
+
+  @Test
+  void testParallelTaskFailure() {
+    List<Integer> data = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+    HoodieException exception = assertThrows(HoodieException.class, () -> context.map(data, i -> {
+      if (i == 13) {
+        throw new IllegalStateException("failed task");
+      }
+      return i;
+    }, 4));
+    assertEquals("failed task", exception.getCause().getMessage());
+  }
+
+  @Test
+  void testVirtualThreads() {
+    StorageConfiguration<?> conf = getDefaultStorage().getConf().newInstance();
+    conf.set(HoodieCommonConfig.LOCAL_ENGINE_VIRTUAL_THREADS_ENABLED.key(), "true");
+    HoodieLocalEngineContext virtualThreadContext = new HoodieLocalEngineContext(conf);
+    List<Integer> data = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+    // falls back to the platform threads before JDK 21
+    assertEquals(data, virtualThreadContext.map(data, i -> i, 16));
+    // nested operations do not wait for the outer ones
+    assertEquals(data, virtualThreadContext.flatMap(data.subList(0, 10),
+        i -> virtualThreadContext.map(data.subList(i * 10, i * 10 + 10), j -> j, 16).stream(), 10));
+  }
+}
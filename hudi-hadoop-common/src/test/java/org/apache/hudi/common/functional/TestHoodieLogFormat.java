@@ -39,6 +39,7 @@ import org.apache.hudi.common.table.HoodieTableVersion;
 import org.apache.hudi.common.table.cdc.HoodieCDCSupplementalLoggingMode;
 import org.apache.hudi.common.table.cdc.HoodieCDCUtils;
 import org.apache.hudi.common.table.log.AppendResult;
+import org.apache.hudi.common.table.log.HoodieLogBlockPrefetcher;
 import org.apache.hudi.common.table.log.HoodieLogFileReader;
 import org.apache.hudi.common.table.log.HoodieLogFormat;
 import org.apache.hudi.common.table.log.HoodieLogFormat.Reader;
@@ -101,12 +102,15 @@ import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -602,6 +606,60 @@ public class TestHoodieLogFormat extends HoodieCommonTestHarness {
     reader.close();
   }
 
+  @ParameterizedTest
+  @EnumSource(names = {"AVRO_DATA_BLOCK", "HFILE_DATA_BLOCK", "PARQUET_DATA_BLOCK"})
+  public void testReadPrefetchedLogBlocks(HoodieLogBlockType dataBlockType) throws IOException, URISyntaxException, InterruptedException {
+    Writer writer = HoodieLogFormat.newWriterBuilder()
+        .onParentPath(partitionPath)
+        .withFileExtension(HoodieLogFile.DELTA_EXTENSION)
+        .withFileId("test-fileid1")
+        .withInstantTime("100")
+        .withStorage(storage)
+        .build();
+    Schema schema = getSimpleSchema();
+    Map<HoodieLogBlock.HeaderMetadataType, String> header = new HashMap<>();
+    header.put(HoodieLogBlock.HeaderMetadataType.INSTANT_TIME, "100");
+    header.put(HoodieLogBlock.HeaderMetadataType.SCHEMA, schema.toString());
+    List<List<IndexedRecord>> writtenRecords = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      List<IndexedRecord> records = SchemaTestUtil.generateTestRecords(i * 100, 100);
+      writtenRecords.add(records.stream()
+          .map(record -> HoodieAvroUtils.rewriteRecord((GenericRecord) record, schema)).collect(Collectors.toList()));
+      writer.appendBlock(getDataBlock(dataBlockType, records, header));
+    }
+    List<Pair<DeleteRecord, Long>> deleteRecords = writtenRecords.get(0).stream()
+        .map(record -> Pair.of(DeleteRecord.create(((GenericRecord) record).get("name").toString(), "path"), -1L))
+        .collect(Collectors.toList());
+    writer.appendBlock(new HoodieDeleteBlock(deleteRecords, header));
+    writer.close();
+
+    // queue the blocks as the log record reader does, the blocks are merged from the bottom of the queue
+    Deque<HoodieLogBlock> logBlocks = new ArrayDeque<>();
+    try (Reader reader = HoodieLogFormat.newReader(storage, writer.getLogFile(), schema)) {
+      while (reader.hasNext()) {
+        logBlocks.push(reader.next());
+      }
+    }
+    assertEquals(5, logBlocks.size());
+
+    HoodieLogBlockPrefetcher prefetcher = new HoodieLogBlockPrefetcher(2);
+    for (int i = 0; i < 4; i++) {
+      HoodieDataBlock dataBlock = (HoodieDataBlock) logBlocks.pollLast();
+      prefetcher.prefetch(logBlocks);
+      // only the next two blocks are prefetched, the parquet blocks are read through the inline file system
+      Iterator<HoodieLogBlock> queued = logBlocks.descendingIterator();
+      for (int j = 0; queued.hasNext(); j++) {
+        HoodieLogBlock queuedBlock = queued.next();
+        assertEquals(j >= 2 && queuedBlock.getBlockType() != HoodieLogBlockType.PARQUET_DATA_BLOCK, queuedBlock.isContentPrefetchable());
+      }
+      assertEquals(convertAvroToSerializableIndexedRecords(writtenRecords.get(i)), getRecords(dataBlock),
+          "Both records lists should be the same. (ordering guaranteed)");
+    }
+    HoodieDeleteBlock deleteBlock = (HoodieDeleteBlock) logBlocks.pollLast();
+    assertEquals(deleteRecords.stream().map(deleteRecord -> deleteRecord.getLeft().getRecordKey()).collect(Collectors.toList()),
+        Arrays.stream(deleteBlock.getRecordsToDelete()).map(DeleteRecord::getRecordKey).collect(Collectors.toList()));
+  }
+
   @Test
   public void testCDCBlock() throws IOException, InterruptedException {
     Writer writer = HoodieLogFormat.newWriterBuilder()
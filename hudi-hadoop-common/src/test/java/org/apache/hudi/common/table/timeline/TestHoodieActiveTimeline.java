@@ -19,6 +19,7 @@
 package org.apache.hudi.common.table.timeline;
 
 import org.apache.hudi.avro.model.HoodieCleanerPlan;
+import org.apache.hudi.common.config.HoodieCommonConfig;
 import org.apache.hudi.common.fs.NoOpConsistencyGuard;
 import org.apache.hudi.common.model.HoodieCommitMetadata;
 import org.apache.hudi.common.model.HoodieWriteStat;
@@ -29,6 +30,7 @@ import org.apache.hudi.common.testutils.HoodieCommonTestHarness;
 import org.apache.hudi.common.testutils.MockHoodieTimeline;
 import org.apache.hudi.common.util.CollectionUtils;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.hadoop.fs.HoodieWrapperFileSystem;
 import org.apache.hudi.storage.HoodieStorage;
@@ -659,6 +661,76 @@ public class TestHoodieActiveTimeline extends HoodieCommonTestHarness {
     assertEquals(commitMetadata, mergedTimeline.readCommitMetadata(completedCommitInstant));
   }
 
+  @Test
+  void testCachingInstantContents() throws IOException {
+    timeline = TIMELINE_FACTORY.createActiveTimeline(metaClient);
+    List<HoodieCommitMetadata> commitMetadataList = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      HoodieInstant commitInstant = metaClient.createNewInstant(State.REQUESTED, HoodieTimeline.COMMIT_ACTION, String.valueOf(i));
+      HoodieCommitMetadata commitMetadata = new HoodieCommitMetadata();
+      HoodieWriteStat hoodieWriteStat = new HoodieWriteStat();
+      hoodieWriteStat.setFileId("file_id" + i);
+      hoodieWriteStat.setPath("path" + i);
+      hoodieWriteStat.setPrevCommit("0");
+      commitMetadata.addWriteStat("partition1", hoodieWriteStat);
+      timeline.createNewInstant(commitInstant);
+      timeline.transitionRequestedToInflight(commitInstant, Option.empty());
+      timeline.saveAsComplete(metaClient.createNewInstant(State.INFLIGHT, commitInstant.getAction(), commitInstant.requestedTime()), Option.of(commitMetadata));
+      commitMetadataList.add(commitMetadata);
+    }
+    timeline = timeline.reload();
+    HoodieInstant completedInstant = timeline.firstInstant().get();
+    InstantContentCache cache = InstantContentCache.getInstance();
+
+    long hitCount = cache.getStats().hitCount();
+    HoodieCommitMetadata commitMetadata = timeline.readCommitMetadata(completedInstant);
+    assertEquals(commitMetadataList.get(0), commitMetadata);
+    // the cached content is shared by the timelines, while each read deserializes its own object
+    commitMetadata.addMetadata("key", "value");
+    HoodieCommitMetadata cachedCommitMetadata = timeline.reload().getCommitsTimeline().readCommitMetadata(completedInstant);
+    assertEquals(commitMetadataList.get(0), cachedCommitMetadata);
+    assertNull(cachedCommitMetadata.getMetadata("key"));
+    assertEquals(hitCount + 1, cache.getStats().hitCount());
+
+    // the pending instants are not cached
+    HoodieInstant pendingInstant = metaClient.createNewInstant(State.REQUESTED, HoodieTimeline.COMMIT_ACTION, "4");
+    assertFalse(timeline.getInstantReader().getContentCacheKey(pendingInstant).isPresent());
+    assertTrue(timeline.getInstantReader().getContentCacheKey(completedInstant).isPresent());
+    // the merged timeline resolves the cache key from the timeline holding the instant
+    HoodieTimeline mergedTimeline = timeline.getCommitsTimeline().filter(instant -> !instant.equals(completedInstant))
+        .mergeTimeline(timeline.filter(instant -> instant.equals(completedInstant)));
+    assertEquals(timeline.getInstantReader().getContentCacheKey(completedInstant),
+        mergedTimeline.getInstantReader().getContentCacheKey(completedInstant));
+    assertEquals(commitMetadataList.get(0), mergedTimeline.readCommitMetadata(completedInstant));
+
+    // bulk load the contents of a range of instants
+    List<HoodieInstant> instants = timeline.getInstants();
+    List<Pair<HoodieInstant, HoodieCommitMetadata>> contents = timeline.readInstantContents(instants, HoodieCommitMetadata.class);
+    assertEquals(instants, contents.stream().map(Pair::getLeft).collect(Collectors.toList()));
+    assertEquals(commitMetadataList, contents.stream().map(Pair::getRight).collect(Collectors.toList()));
+  }
+
+  @Test
+  void testInstantContentCacheDisabled() throws IOException {
+    metaClient.getStorageConf().set(HoodieCommonConfig.INSTANT_CONTENT_CACHE_ENABLED.key(), "false");
+    timeline = TIMELINE_FACTORY.createActiveTimeline(metaClient);
+    HoodieInstant commitInstant = metaClient.createNewInstant(State.REQUESTED, HoodieTimeline.COMMIT_ACTION, "1");
+    HoodieCommitMetadata commitMetadata = new HoodieCommitMetadata();
+    timeline.createNewInstant(commitInstant);
+    timeline.transitionRequestedToInflight(commitInstant, Option.empty());
+    timeline.saveAsComplete(metaClient.createNewInstant(State.INFLIGHT, commitInstant.getAction(), commitInstant.requestedTime()), Option.of(commitMetadata));
+    timeline = timeline.reload();
+    HoodieInstant completedInstant = timeline.firstInstant().get();
+
+    // the contents of the table are read from the storage every time
+    assertFalse(timeline.getInstantReader().getContentCacheKey(completedInstant).isPresent());
+    InstantContentCache cache = InstantContentCache.getInstance();
+    long requestCount = cache.getStats().requestCount();
+    assertEquals(commitMetadata, timeline.readCommitMetadata(completedInstant));
+    assertEquals(commitMetadata, timeline.reload().readCommitMetadata(completedInstant));
+    assertEquals(requestCount, cache.getStats().requestCount());
+  }
+
   @Test
   void missingInstantCausesError() {
     timeline = TIMELINE_FACTORY.createActiveTimeline(metaClient);
@@ -78,7 +78,8 @@ public class TestParquetUtils extends HoodieCommonTestHarness {
   public static List<Arguments> bloomFilterTypeCodes() {
     return Arrays.asList(
         Arguments.of(BloomFilterTypeCode.SIMPLE.name()),
-        Arguments.of(BloomFilterTypeCode.DYNAMIC_V0.name())
+        Arguments.of(BloomFilterTypeCode.DYNAMIC_V0.name()),
+        Arguments.of(BloomFilterTypeCode.SPLIT_BLOCK.name())
     );
   }
 
@@ -140,6 +141,37 @@ public class TestParquetUtils extends HoodieCommonTestHarness {
     }
   }
 
+  @Test
+  public void testFilterParquetRowKeysAcrossRowGroups() throws Exception {
+    List<String> rowKeys = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      rowKeys.add(String.format("key%05d", i));
+    }
+    String filePath = Paths.get(basePath, "test.parquet").toUri().toString();
+    // small row groups so that the keys are spread across many row groups
+    Schema schema = HoodieAvroUtils.getRecordKeySchema();
+    HoodieAvroWriteSupport writeSupport = new HoodieAvroWriteSupport(new AvroSchemaConverter().convert(schema), schema, Option.empty(), new Properties());
+    try (ParquetWriter writer = new ParquetWriter(new Path(filePath), writeSupport, CompressionCodecName.GZIP, 4 * 1024, 1024)) {
+      for (String rowKey : rowKeys) {
+        GenericRecord rec = new GenericData.Record(schema);
+        rec.put(HoodieRecord.RECORD_KEY_METADATA_FIELD, rowKey);
+        writer.write(rec);
+      }
+    }
+    StoragePath storagePath = new StoragePath(filePath);
+    assertTrue(ParquetUtils.readMetadata(HoodieTestUtils.getStorage(filePath), storagePath).getBlocks().size() > 1);
+
+    Set<String> filter = new HashSet<>(Arrays.asList("key00000", "key04321", "key09999", "key10000", "a", "key04321a"));
+    Set<Pair<String, Long>> filtered = parquetUtils.filterRowKeys(HoodieTestUtils.getStorage(filePath), storagePath, filter);
+    Set<Pair<String, Long>> expected = new HashSet<>(Arrays.asList(
+        Pair.of("key00000", 0L), Pair.of("key04321", 4321L), Pair.of("key09999", 9999L)));
+    assertEquals(expected, filtered);
+
+    // none of the candidate keys is covered by the row groups
+    assertTrue(parquetUtils.filterRowKeys(HoodieTestUtils.getStorage(filePath), storagePath,
+        new HashSet<>(Arrays.asList("a", "z"))).isEmpty());
+  }
+
   @ParameterizedTest
   @MethodSource("bloomFilterTypeCodes")
   public void testFetchRecordKeyPartitionPathFromParquet(String typeCode) throws Exception {
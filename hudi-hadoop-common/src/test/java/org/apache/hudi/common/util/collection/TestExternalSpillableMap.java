@@ -19,6 +19,7 @@
 package org.apache.hudi.common.util.collection;
 
 import org.apache.hudi.avro.HoodieAvroUtils;
+import org.apache.hudi.common.metrics.Registry;
 import org.apache.hudi.common.model.HoodieAvroPayload;
 import org.apache.hudi.common.model.HoodieAvroRecord;
 import org.apache.hudi.common.model.HoodieKey;
@@ -32,6 +33,7 @@ import org.apache.hudi.common.testutils.SchemaTestUtil;
 import org.apache.hudi.common.testutils.SpillableMapTestUtils;
 import org.apache.hudi.common.util.DefaultSizeEstimator;
 import org.apache.hudi.common.util.HoodieRecordSizeEstimator;
+import org.apache.hudi.common.util.ObjectSizeCalculator;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.SizeEstimator;
 
@@ -52,14 +54,17 @@ import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -443,6 +448,122 @@ public class TestExternalSpillableMap extends HoodieCommonTestHarness {
     }
   }
 
+  @Test
+  public void testEstimationWithSkewedPayloadSizes() throws IOException {
+    try (ExternalSpillableMap<String, String> records = new ExternalSpillableMap<>(64 * 1024 * 1024L, basePath,
+        new DefaultSizeEstimator<>(), new DefaultSizeEstimator<>(), ExternalSpillableMap.DiskMapType.BITCASK,
+        new DefaultSerializer<>(), false, TEST_LOGGING_CONTEXT)) {
+      long actualSize = 0;
+      // small payloads first and then much larger payloads
+      for (int i = 0; i < 500; i++) {
+        String key = String.format("key-%05d", i);
+        String value = String.join("", Collections.nCopies(i < 200 ? 10 : 10000, "v"));
+        records.put(key, value);
+        actualSize += ObjectSizeCalculator.getObjectSize(key) + ObjectSizeCalculator.getObjectSize(value);
+      }
+      assertEquals(500, records.getInMemoryMapNumEntries());
+      // the estimation keeps re-sampling the payloads after the first ones
+      assertTrue(records.getCurrentInMemoryMapSize() > actualSize * 0.7 && records.getCurrentInMemoryMapSize() < actualSize * 1.3,
+          "Estimated in-memory size " + records.getCurrentInMemoryMapSize() + " is far from the actual size " + actualSize);
+    }
+  }
+
+  @Test
+  public void testEstimationWithExactValueSizes() throws IOException {
+    SizeEstimator<String> exactValueSizeEstimator = new SizeEstimator<String>() {
+      @Override
+      public long sizeEstimate(String value) {
+        return value.length();
+      }
+
+      @Override
+      public boolean isExact() {
+        return true;
+      }
+    };
+    try (ExternalSpillableMap<String, String> records = new ExternalSpillableMap<>(64 * 1024 * 1024L, basePath,
+        key -> 0L, exactValueSizeEstimator, ExternalSpillableMap.DiskMapType.BITCASK,
+        new DefaultSerializer<>(), false, TEST_LOGGING_CONTEXT)) {
+      long totalValueSize = 0;
+      for (int i = 0; i < 1000; i++) {
+        String value = String.join("", Collections.nCopies(i % 10 == 0 ? 1000 : 10, "v"));
+        records.put("key-" + i, value);
+        totalValueSize += value.length();
+      }
+      // every value is accounted for with its exact size
+      assertEquals(totalValueSize, records.getCurrentInMemoryMapSize());
+      assertEquals(totalValueSize / 1000, records.getEstimatedPayloadSize());
+      // the removed value is accounted for with its exact size
+      records.remove("key-0");
+      assertEquals(totalValueSize - 1000, records.getCurrentInMemoryMapSize());
+    }
+  }
+
+  @Test
+  public void testExactValueSizesOnOverwriteAndRemove() throws IOException {
+    SizeEstimator<String> exactValueSizeEstimator = new SizeEstimator<String>() {
+      @Override
+      public long sizeEstimate(String value) {
+        return value.length();
+      }
+
+      @Override
+      public boolean isExact() {
+        return true;
+      }
+    };
+    try (ExternalSpillableMap<String, String> records = new ExternalSpillableMap<>(64 * 1024 * 1024L, basePath,
+        key -> 0L, exactValueSizeEstimator, ExternalSpillableMap.DiskMapType.BITCASK,
+        new DefaultSerializer<>(), false, TEST_LOGGING_CONTEXT)) {
+      for (int i = 0; i < 10; i++) {
+        records.put("key-" + i, String.join("", Collections.nCopies(10, "v")));
+      }
+      assertEquals(100, records.getCurrentInMemoryMapSize());
+
+      // overwriting a value replaces its size with the size of the new value
+      records.put("key-0", String.join("", Collections.nCopies(1000, "v")));
+      assertEquals(1090, records.getCurrentInMemoryMapSize());
+      assertEquals(109, records.getEstimatedPayloadSize());
+      records.put("key-0", String.join("", Collections.nCopies(100, "v")));
+      assertEquals(190, records.getCurrentInMemoryMapSize());
+
+      // removing a value subtracts its own size instead of the average one
+      records.remove("key-0");
+      assertEquals(90, records.getCurrentInMemoryMapSize());
+      assertEquals(10, records.getEstimatedPayloadSize());
+      records.remove("key-1");
+      assertEquals(80, records.getCurrentInMemoryMapSize());
+      assertNull(records.remove("key-1"));
+      assertEquals(80, records.getCurrentInMemoryMapSize());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("testArguments")
+  public void testSpillMetrics(ExternalSpillableMap.DiskMapType diskMapType, boolean isCompressionEnabled) throws IOException, URISyntaxException {
+    Registry registry = Registry.getRegistry(ExternalSpillableMap.METRICS_REGISTRY_NAME);
+    String spilledRecordsMetric = TEST_LOGGING_CONTEXT + "." + ExternalSpillableMap.SPILLED_RECORDS_METRIC;
+    long spilledRecordsBefore = registry.getAllCounts().getOrDefault(spilledRecordsMetric, 0L);
+    try (ExternalSpillableMap<String, HoodieRecord<? extends HoodieRecordPayload>> records =
+             new ExternalSpillableMap<>(16L, basePath, new DefaultSizeEstimator(),
+                 new HoodieRecordSizeEstimator(SchemaTestUtil.getSimpleSchema()), diskMapType, new DefaultSerializer<>(),
+                 isCompressionEnabled, TEST_LOGGING_CONTEXT)) {
+      List<IndexedRecord> iRecords = new SchemaTestUtil().generateHoodieTestRecords(0, 100);
+      SpillableMapTestUtils.upsertRecords(iRecords, records);
+      assertTrue(records.getDiskBasedMapNumEntries() > 0);
+      assertEquals(records.getDiskBasedMapNumEntries(), records.getNumSpilledRecords());
+      assertTrue(records.getSpillTimeMs() >= 0);
+      long numSpilledRecords = records.getNumSpilledRecords();
+
+      records.close();
+      Map<String, Long> metrics = registry.getAllCounts();
+      assertEquals(spilledRecordsBefore + numSpilledRecords, metrics.get(spilledRecordsMetric));
+      assertTrue(metrics.containsKey(TEST_LOGGING_CONTEXT + "." + ExternalSpillableMap.IN_MEMORY_BYTES_METRIC));
+      assertTrue(metrics.containsKey(TEST_LOGGING_CONTEXT + "." + ExternalSpillableMap.SPILLED_BYTES_METRIC));
+      assertTrue(metrics.containsKey(TEST_LOGGING_CONTEXT + "." + ExternalSpillableMap.SPILL_TIME_MS_METRIC));
+    }
+  }
+
   @ParameterizedTest
   @EnumSource(value = ExternalSpillableMap.DiskMapType.class)
   void assertEmptyMapOperations(ExternalSpillableMap.DiskMapType diskMapType) throws IOException {
@@ -468,7 +589,9 @@ public class TestExternalSpillableMap extends HoodieCommonTestHarness {
         arguments(ExternalSpillableMap.DiskMapType.BITCASK, false),
         arguments(ExternalSpillableMap.DiskMapType.ROCKS_DB, false),
         arguments(ExternalSpillableMap.DiskMapType.UNKNOWN, false),
-        arguments(ExternalSpillableMap.DiskMapType.BITCASK, true)
+        arguments(ExternalSpillableMap.DiskMapType.BITCASK, true),
+        arguments(ExternalSpillableMap.DiskMapType.SEGMENTED_BITCASK, false),
+        arguments(ExternalSpillableMap.DiskMapType.SEGMENTED_BITCASK, true)
     );
   }
 }
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.model.HoodieRecordPayload;
+import org.apache.hudi.common.serialization.DefaultSerializer;
+import org.apache.hudi.common.testutils.HoodieCommonTestHarness;
+import org.apache.hudi.common.testutils.SchemaTestUtil;
+import org.apache.hudi.common.testutils.SpillableMapTestUtils;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests disk based map {@link SegmentedBitCaskDiskMap}.
+ */
+public class TestSegmentedBitCaskDiskMap extends HoodieCommonTestHarness {
+
+  private static final long SEGMENT_SIZE_IN_BYTES = 16 * 1024;
+
+  @BeforeEach
+  public void setup() {
+    initPath();
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void testInsertAcrossSegments(boolean isCompressionEnabled) throws IOException, URISyntaxException {
+    try (SegmentedBitCaskDiskMap<String, HoodieRecord<? extends HoodieRecordPayload>> records =
+             new SegmentedBitCaskDiskMap<>(basePath, new DefaultSerializer<>(), isCompressionEnabled, SEGMENT_SIZE_IN_BYTES, 0.5)) {
+      List<IndexedRecord> iRecords = new SchemaTestUtil().generateHoodieTestRecords(0, 500);
+      List<String> recordKeys = SpillableMapTestUtils.upsertRecords(iRecords, records);
+      assertTrue(records.getNumSegments() > 1);
+      assertEquals(recordKeys.size(), records.size());
+
+      // values in the sealed and the active segments can all be read back
+      for (String key : recordKeys) {
+        assertEquals(key, records.get(key).getRecordKey());
+      }
+      Set<String> iteratedKeys = new HashSet<>();
+      Iterator<HoodieRecord<? extends HoodieRecordPayload>> itr = records.iterator();
+      while (itr.hasNext()) {
+        iteratedKeys.add(itr.next().getRecordKey());
+      }
+      assertEquals(new HashSet<>(recordKeys), iteratedKeys);
+
+      String firstKey = recordKeys.get(0);
+      itr = records.iterator(key -> !key.equals(firstKey));
+      int count = 0;
+      while (itr.hasNext()) {
+        assertFalse(itr.next().getRecordKey().equals(firstKey));
+        count++;
+      }
+      assertEquals(recordKeys.size() - 1, count);
+      assertEquals(recordKeys.size(), records.valueStream().count());
+
+      verifyCleanup(records);
+    }
+  }
+
+  @Test
+  public void testCompactionReclaimsDeadSegments() throws Exception {
+    try (SegmentedBitCaskDiskMap<String, HoodieRecord<? extends HoodieRecordPayload>> records =
+             new SegmentedBitCaskDiskMap<>(basePath, new DefaultSerializer<>(), false, SEGMENT_SIZE_IN_BYTES, 0.5)) {
+      List<IndexedRecord> iRecords = new SchemaTestUtil().generateHoodieTestRecords(0, 500);
+      List<String> recordKeys = SpillableMapTestUtils.upsertRecords(iRecords, records);
+      Map<String, IndexedRecord> originalRecords = iRecords.stream()
+          .collect(Collectors.toMap(k -> ((GenericRecord) k).get(HoodieRecord.RECORD_KEY_METADATA_FIELD).toString(), v -> v));
+      long sizeAfterInsert = records.sizeOfFileOnDiskInBytes();
+
+      // overwrite all the values and remove half of them so that all the earlier segments are dead
+      SpillableMapTestUtils.upsertRecords(iRecords, records);
+      List<String> removedKeys = recordKeys.subList(0, recordKeys.size() / 2);
+      removedKeys.forEach(key -> assertEquals(key, records.remove(key).getRecordKey()));
+      records.compact();
+
+      assertTrue(records.sizeOfFileOnDiskInBytes() < 2 * sizeAfterInsert);
+      assertEquals(recordKeys.size() - removedKeys.size(), records.size());
+      removedKeys.forEach(key -> assertNull(records.get(key)));
+      recordKeys.subList(removedKeys.size(), recordKeys.size()).forEach(key -> {
+        HoodieRecord<? extends HoodieRecordPayload> record = records.get(key);
+        assertEquals(key, record.getRecordKey());
+        assertTrue(originalRecords.containsKey(record.getRecordKey()));
+      });
+
+      // all the segments but the active one are deleted after clearing the map
+      records.clear();
+      records.compact();
+      assertTrue(records.isEmpty());
+      assertEquals(1, records.getNumSegments());
+      verifyCleanup(records);
+    }
+  }
+
+  @Test
+  public void testConcurrentGetPutAndCompact() throws Exception {
+    int numKeys = 200;
+    int numRounds = 50;
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (SegmentedBitCaskDiskMap<String, String> values =
+             new SegmentedBitCaskDiskMap<>(basePath, new DefaultSerializer<>(), false, SEGMENT_SIZE_IN_BYTES, 0.5)) {
+      for (int i = 0; i < numKeys; i++) {
+        values.put("key-" + i, "key-" + i + "#0");
+      }
+      AtomicBoolean isWriting = new AtomicBoolean(true);
+      // overwrite all the values repeatedly, so that the sealed segments die and get compacted in the background
+      Future<?> writer = executor.submit(() -> {
+        try {
+          for (int round = 1; round <= numRounds; round++) {
+            for (int i = 0; i < numKeys; i++) {
+              values.put("key-" + i, "key-" + i + "#" + round);
+            }
+          }
+        } finally {
+          isWriting.set(false);
+        }
+      });
+      Future<?> compactor = executor.submit(() -> {
+        while (isWriting.get()) {
+          values.compact();
+        }
+        return null;
+      });
+      Future<?> getter = executor.submit(() -> {
+        Random random = new Random();
+        while (isWriting.get()) {
+          String key = "key-" + random.nextInt(numKeys);
+          assertTrue(values.get(key).startsWith(key + "#"));
+        }
+      });
+      Future<?> iterator = executor.submit(() -> {
+        while (isWriting.get()) {
+          int count = 0;
+          Iterator<String> itr = values.iterator();
+          while (itr.hasNext()) {
+            assertTrue(itr.next().startsWith("key-"));
+            count++;
+          }
+          assertEquals(numKeys, count);
+        }
+      });
+      for (Future<?> future : Arrays.asList(writer, compactor, getter, iterator)) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+
+      values.compact();
+      assertEquals(numKeys, values.size());
+      for (int i = 0; i < numKeys; i++) {
+        assertEquals("key-" + i + "#" + numRounds, values.get("key-" + i));
+      }
+      // the dead segments are deleted once no reader holds them
+      assertTrue(values.getNumSegments() < numRounds);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void verifyCleanup(SegmentedBitCaskDiskMap<String, HoodieRecord<? extends HoodieRecordPayload>> records) {
+    File basePathDir = new File(basePath);
+    assert Objects.requireNonNull(basePathDir.list()).length > 0;
+    records.close();
+    assertEquals(Objects.requireNonNull(basePathDir.list()).length, 0);
+  }
+}
@@ -20,6 +20,9 @@
 package org.apache.hudi.io.compress;
 
 import org.apache.hudi.io.compress.airlift.HoodieAirliftGzipCompressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftLz4Compressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftSnappyCompressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftZstdCompressor;
 import org.apache.hudi.io.compress.builtin.HoodieNoneCompressor;
 
 /**
@@ -35,6 +38,12 @@ public class HoodieCompressorFactory {
         return new HoodieNoneCompressor();
       case GZIP:
         return new HoodieAirliftGzipCompressor();
+      case SNAPPY:
+        return new HoodieAirliftSnappyCompressor();
+      case LZ4:
+        return new HoodieAirliftLz4Compressor();
+      case ZSTD:
+        return new HoodieAirliftZstdCompressor();
       default:
         throw new IllegalArgumentException(
             "The compressor is not supported for compression codec: " + compressionCodec);
@@ -37,43 +37,43 @@ public class CachingHFileReaderImpl extends HFileReaderImpl {
   private static final Logger LOG = LoggerFactory.getLogger(CachingHFileReaderImpl.class);
 
   private static volatile HFileBlockCache GLOBAL_BLOCK_CACHE;
-  // Store first config values to check against cache config
-  private static volatile Integer INITIAL_CACHE_SIZE;
-  private static volatile Integer INITIAL_CACHE_TTL;
+  // Store first config to check against cache config
+  private static volatile HFileBlockCache.Config INITIAL_CACHE_CONFIG;
   private static final Object CACHE_LOCK = new Object();
 
   private final String filePath;
 
   public CachingHFileReaderImpl(SeekableDataInputStream stream, long fileSize, String filePath, int cacheSize, int cacheTtlMinutes) {
+    this(stream, fileSize, filePath, HFileBlockCache.Config.builder()
+        .maxDataBlockCount(cacheSize)
+        .expireAfterAccess(cacheTtlMinutes, TimeUnit.MINUTES)
+        .build());
+  }
+
+  public CachingHFileReaderImpl(SeekableDataInputStream stream, long fileSize, String filePath, HFileBlockCache.Config cacheConfig) {
     super(stream, fileSize);
     this.filePath = filePath;
     // Initialize global cache with provided config (ignored if already initialized)
-    getGlobalCache(cacheSize, cacheTtlMinutes);
+    getGlobalCache(cacheConfig);
   }
 
   /**
    * Gets or creates the global cache shared by all CachingHFileReaderImpl instances.
    * Thread-safe singleton pattern with double-checked locking.
    */
-  private static HFileBlockCache getGlobalCache(int cacheSize, int cacheTtlMinutes) {
+  private static HFileBlockCache getGlobalCache(HFileBlockCache.Config cacheConfig) {
     if (GLOBAL_BLOCK_CACHE == null) {
       synchronized (CACHE_LOCK) {
         if (GLOBAL_BLOCK_CACHE == null) {
-          LOG.info("Initializing global HFileBlockCache with size: {}, TTL: {} minutes.",
-              cacheSize, cacheTtlMinutes);
+          LOG.info("Initializing global HFileBlockCache with config: {}.", cacheConfig);
           // Store the config used for initialization
-          INITIAL_CACHE_SIZE = cacheSize;
-          INITIAL_CACHE_TTL = cacheTtlMinutes;
-          GLOBAL_BLOCK_CACHE = new HFileBlockCache(
-              cacheSize,
-              cacheTtlMinutes,
-              TimeUnit.MINUTES);
-        } else if (!INITIAL_CACHE_SIZE.equals(cacheSize) || !INITIAL_CACHE_TTL.equals(cacheTtlMinutes)) {
+          INITIAL_CACHE_CONFIG = cacheConfig;
+          GLOBAL_BLOCK_CACHE = new HFileBlockCache(cacheConfig);
+        } else if (!INITIAL_CACHE_CONFIG.equals(cacheConfig)) {
           // Log a warning if a different config is provided after initialization
           LOG.warn("HFile block cache is already initialized. The provided configuration is being ignored. "
-                  + "Existing config: [Size: {}, TTL: {} mins], Ignored config: [Size: {}, TTL: {} mins].",
-              INITIAL_CACHE_SIZE, INITIAL_CACHE_TTL,
-              cacheSize, cacheTtlMinutes);
+                  + "Existing config: {}, Ignored config: {}.",
+              INITIAL_CACHE_CONFIG, cacheConfig);
         }
       }
     }
@@ -95,6 +95,22 @@ public class CachingHFileReaderImpl extends HFileReaderImpl {
     }
   }
 
+  @Override
+  protected HFileBlock instantiateHFileIndexBlock(BlockIndexEntry blockToRead,
+                                                  HFileBlockType blockType) throws IOException {
+    HFileBlockCache.BlockCacheKey cacheKey = new HFileBlockCache.BlockCacheKey(
+        filePath, blockToRead.getOffset(), blockToRead.getSize());
+
+    try {
+      return GLOBAL_BLOCK_CACHE.getOrComputeIndexBlock(
+          cacheKey, () -> super.instantiateHFileIndexBlock(blockToRead, blockType));
+    } catch (IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException("Failed to load HFile index block", e);
+    }
+  }
+
   @Override
   public void close() throws IOException {
     // NOTE: Do not clear the shared cache when closing individual readers
@@ -126,7 +142,14 @@ public class CachingHFileReaderImpl extends HFileReaderImpl {
    * @return string representation of cache statistics
    */
   public String getCacheStats() {
-    return "HFileReader Cache Stats - Size: " + (GLOBAL_BLOCK_CACHE != null ? GLOBAL_BLOCK_CACHE.size() : 0);
+    if (GLOBAL_BLOCK_CACHE == null) {
+      return "HFileReader Cache Stats - Size: 0";
+    }
+    return "HFileReader Cache Stats - Size: " + GLOBAL_BLOCK_CACHE.size()
+        + ", Data Block Bytes: " + GLOBAL_BLOCK_CACHE.getDataBlockCachedBytes()
+        + ", Index Block Bytes: " + GLOBAL_BLOCK_CACHE.getIndexBlockCachedBytes()
+        + ", Data Block Stats: " + GLOBAL_BLOCK_CACHE.getDataBlockCacheStats()
+        + ", Index Block Stats: " + GLOBAL_BLOCK_CACHE.getIndexBlockCacheStats();
   }
 
   /**
@@ -138,8 +161,7 @@ public class CachingHFileReaderImpl extends HFileReaderImpl {
         GLOBAL_BLOCK_CACHE.clear();
         GLOBAL_BLOCK_CACHE = null;
       }
-      INITIAL_CACHE_SIZE = null;
-      INITIAL_CACHE_TTL = null;
+      INITIAL_CACHE_CONFIG = null;
     }
   }
 }
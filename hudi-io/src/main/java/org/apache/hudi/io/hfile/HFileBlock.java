@@ -212,6 +212,29 @@ public abstract class HFileBlock {
     return onDiskSizeWithoutHeader + HFILEBLOCK_HEADER_SIZE;
   }
 
+  /**
+   * @return the start offset of the uncompressed block, including the header, in
+   * {@link #getByteBuff()}.
+   */
+  int getStartOffsetInBuff() {
+    return startOffsetInBuff;
+  }
+
+  /**
+   * Returns the number of bytes of the uncompressed block, including the header and the
+   * checksum, that are stored in {@link #getByteBuff()} starting from
+   * {@link #getStartOffsetInBuff()}. The uncompressed block can be parsed again with a
+   * {@link HFileContext} without compression, which is used by the block cache to keep the
+   * block content outside of the {@link HFileBlock} instance.
+   *
+   * @return size of the uncompressed block with header in bytes.
+   */
+  int getUncompressedSizeWithHeader() {
+    return Math.min(
+        uncompressedEndOffset - startOffsetInBuff + sizeCheckSum,
+        byteBuff.length - startOffsetInBuff);
+  }
+
   /**
    * Decodes and decompresses the block content if the block content is compressed.
    * <p>
@@ -227,14 +250,23 @@ public abstract class HFileBlock {
         // Copy the block header which is not compressed
         System.arraycopy(
             compressedByteBuff, startOffsetInCompressedBuff, byteBuff, 0, HFILEBLOCK_HEADER_SIZE);
+        // Only hand the compressed payload to the decompressor, excluding the trailing
+        // checksum bytes, since frame-based codecs (e.g., ZSTD) would otherwise try to
+        // decode the checksum as the start of another frame
+        int compressedDataSize = readInt(
+            compressedByteBuff, startOffsetInCompressedBuff + Header.ON_DISK_DATA_SIZE_WITH_HEADER_INDEX)
+            - HFILEBLOCK_HEADER_SIZE;
         try (InputStream byteBuffInputStream = new ByteArrayInputStream(
-            compressedByteBuff, startOffsetInCompressedBuff + HFILEBLOCK_HEADER_SIZE, onDiskSizeWithoutHeader)) {
+            compressedByteBuff, startOffsetInCompressedBuff + HFILEBLOCK_HEADER_SIZE, compressedDataSize)) {
           context.getCompressor().decompress(
               byteBuffInputStream,
               byteBuff,
               HFILEBLOCK_HEADER_SIZE,
-              byteBuff.length - HFILEBLOCK_HEADER_SIZE);
+              uncompressedSizeWithoutHeader);
         }
+        // The compressed bytes are no longer needed; release them so that cached blocks
+        // only retain the uncompressed content
+        compressedByteBuff = null;
       }
       isUnpacked = true;
     }
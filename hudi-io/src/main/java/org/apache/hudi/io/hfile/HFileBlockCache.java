@@ -19,27 +19,67 @@
 
 package org.apache.hudi.io.hfile;
 
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.ValidationUtils;
+
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Least Frequently Used (LFU) cache for HFile blocks to improve read performance by avoiding repeated block reads.
  * Uses Caffeine cache with configurable size and TTL. Thread-safe for concurrent access.
+ * <p>
+ * The cache can either be bounded by the number of data blocks, or by the number of bytes of the
+ * uncompressed blocks, in which case data blocks and index blocks are kept in two separate caches
+ * with their own budgets so that a scan over data blocks does not evict the index blocks.
+ * When off-heap caching is enabled, the uncompressed block content is kept in direct
+ * {@link ByteBuffer}s and the block is re-instantiated on the heap upon each cache hit.
+ * <p>
+ * The hit, miss, eviction and load time statistics, as well as the number of cached bytes, are
+ * reported through the {@link Registry} named {@link #METRICS_REGISTRY_NAME}.
  */
 public class HFileBlockCache {
 
-  private final Cache<BlockCacheKey, HFileBlock> cache;
+  public static final String METRICS_REGISTRY_NAME = "HFileBlockCache";
+  // Cached off-heap blocks are already unpacked, so they are parsed again without compression
+  private static final HFileContext UNCOMPRESSED_CONTEXT = HFileContext.builder().build();
+
+  private final Config config;
+  private final BlockCacheSegment dataBlockCache;
+  private final Option<BlockCacheSegment> indexBlockCache;
 
   public HFileBlockCache(int maxCacheSize, long expireAfterWrite, TimeUnit timeUnit) {
-    this.cache = Caffeine.newBuilder()
-        .maximumSize(maxCacheSize)
-        .expireAfterAccess(Duration.ofMillis(timeUnit.toMillis(expireAfterWrite)))
-        .build();
+    this(Config.builder()
+        .maxDataBlockCount(maxCacheSize)
+        .expireAfterAccess(expireAfterWrite, timeUnit)
+        .build());
+  }
+
+  public HFileBlockCache(Config config) {
+    this.config = config;
+    Registry metricsRegistry = Registry.getRegistry(METRICS_REGISTRY_NAME);
+    this.dataBlockCache = config.isByteBounded()
+        ? new BlockCacheSegment("data", config.maxDataBlockBytes, true, config, metricsRegistry)
+        : new BlockCacheSegment("data", config.maxDataBlockCount, false, config, metricsRegistry);
+    this.indexBlockCache = config.maxIndexBlockBytes > 0
+        ? Option.of(new BlockCacheSegment("index", config.maxIndexBlockBytes, true, config, metricsRegistry))
+        : Option.empty();
+  }
+
+  public Config getConfig() {
+    return config;
   }
 
   /**
@@ -49,7 +89,7 @@ public class HFileBlockCache {
    * @return cached block or null if not found
    */
   public HFileBlock getBlock(BlockCacheKey key) {
-    return cache.getIfPresent(key);
+    return dataBlockCache.get(key);
   }
 
   /**
@@ -59,7 +99,7 @@ public class HFileBlockCache {
    * @param block the block to cache
    */
   public void putBlock(BlockCacheKey key, HFileBlock block) {
-    cache.put(key, block);
+    dataBlockCache.put(key, block);
   }
   
   /**
@@ -71,21 +111,31 @@ public class HFileBlockCache {
    * @throws Exception if the loader throws an exception
    */
   public HFileBlock getOrCompute(BlockCacheKey key, Callable<HFileBlock> loader) throws Exception {
-    // Caffeine uses Function instead of Callable, so we need to wrap the Callable
-    return cache.get(key, (k) -> {
-      try {
-        return loader.call();
-      } catch (Exception e) {
-        throw new RuntimeException(e);
-      }
-    });
+    return dataBlockCache.getOrCompute(key, loader);
+  }
+
+  /**
+   * Gets an index block from the index block cache, or computes and caches it if not present.
+   * If the index block cache is not enabled, the block is loaded without caching.
+   *
+   * @param key    the cache key
+   * @param loader callable to load the block if not in cache
+   * @return cached or newly computed index block
+   * @throws Exception if the loader throws an exception
+   */
+  public HFileBlock getOrComputeIndexBlock(BlockCacheKey key, Callable<HFileBlock> loader) throws Exception {
+    if (indexBlockCache.isPresent()) {
+      return indexBlockCache.get().getOrCompute(key, loader);
+    }
+    return loader.call();
   }
 
   /**
    * Clears all cached blocks.
    */
   public void clear() {
-    cache.invalidateAll();
+    dataBlockCache.clear();
+    indexBlockCache.ifPresent(BlockCacheSegment::clear);
   }
 
   /**
@@ -94,7 +144,51 @@ public class HFileBlockCache {
    * @return number of cached blocks
    */
   public long size() {
-    return cache.estimatedSize();
+    return dataBlockCache.size();
+  }
+
+  /**
+   * @return number of cached index blocks.
+   */
+  public long indexBlockCount() {
+    return indexBlockCache.map(BlockCacheSegment::size).orElse(0L);
+  }
+
+  /**
+   * @return total size in bytes of the cached data blocks.
+   */
+  public long getDataBlockCachedBytes() {
+    return dataBlockCache.getCachedBytes();
+  }
+
+  /**
+   * @return total size in bytes of the cached index blocks.
+   */
+  public long getIndexBlockCachedBytes() {
+    return indexBlockCache.map(BlockCacheSegment::getCachedBytes).orElse(0L);
+  }
+
+  /**
+   * @return statistics of the data block cache.
+   */
+  public CacheStats getDataBlockCacheStats() {
+    return dataBlockCache.getStats();
+  }
+
+  /**
+   * @return statistics of the index block cache, or empty statistics if not enabled.
+   */
+  public CacheStats getIndexBlockCacheStats() {
+    return indexBlockCache.map(BlockCacheSegment::getStats).orElse(CacheStats.empty());
+  }
+
+  /**
+   * Reports the cache statistics accumulated since the last report to the metrics registry.
+   * Statistics are also reported on every cache miss.
+   */
+  public void reportMetrics() {
+    dataBlockCache.reportMetrics();
+    indexBlockCache.ifPresent(BlockCacheSegment::reportMetrics);
   }
 
   /**
@@ -102,7 +196,297 @@ public class HFileBlockCache {
    * This is useful for testing to ensure consistent behavior.
    */
   public void cleanUp() {
-    cache.cleanUp();
+    dataBlockCache.cleanUp();
+    indexBlockCache.ifPresent(BlockCacheSegment::cleanUp);
+  }
+
+  /**
+   * A Caffeine cache for one category of blocks, i.e., data or index blocks.
+   */
+  private static class BlockCacheSegment {
+    private final String metricPrefix;
+    private final boolean offHeap;
+    private final Registry metricsRegistry;
+    private final Cache<BlockCacheKey, CachedBlock> cache;
+    private final AtomicLong cachedBytes = new AtomicLong(0L);
+    private CacheStats lastReportedStats = CacheStats.empty();
+
+    BlockCacheSegment(String category, long maxSize, boolean byteBounded, Config config, Registry metricsRegistry) {
+      this.metricPrefix = category + "_block_";
+      this.offHeap = config.offHeap;
+      this.metricsRegistry = metricsRegistry;
+      Caffeine<BlockCacheKey, CachedBlock> builder = Caffeine.newBuilder()
+          .expireAfterAccess(Duration.ofMillis(config.expireAfterAccessMillis))
+          // Run the removal listener on the calling thread so that the cached bytes are up to date
+          .executor(Runnable::run)
+          .removalListener((BlockCacheKey key, CachedBlock value, RemovalCause cause) -> {
+            if (value != null) {
+              cachedBytes.addAndGet(-value.getWeight());
+            }
+          })
+          .recordStats();
+      if (byteBounded) {
+        builder.maximumWeight(maxSize).weigher((BlockCacheKey key, CachedBlock value) -> value.getWeight());
+      } else {
+        builder.maximumSize(maxSize);
+      }
+      this.cache = builder.build();
+    }
+
+    HFileBlock get(BlockCacheKey key) {
+      CachedBlock cachedBlock = cache.getIfPresent(key);
+      return cachedBlock != null ? cachedBlock.getBlock() : null;
+    }
+
+    void put(BlockCacheKey key, HFileBlock block) {
+      cache.put(key, toCachedBlock(block));
+    }
+
+    HFileBlock getOrCompute(BlockCacheKey key, Callable<HFileBlock> loader) throws Exception {
+      boolean[] loaded = new boolean[1];
+      CachedBlock cachedBlock;
+      try {
+        // Caffeine uses Function instead of Callable, so we need to wrap the Callable
+        cachedBlock = cache.get(key, (k) -> {
+          loaded[0] = true;
+          try {
+            return toCachedBlock(loader.call());
+          } catch (Exception e) {
+            throw new RuntimeException(e);
+          }
+        });
+      } finally {
+        if (loaded[0]) {
+          reportMetrics();
+        }
+      }
+      return cachedBlock.getBlock();
+    }
+
+    private CachedBlock toCachedBlock(HFileBlock block) {
+      CachedBlock cachedBlock = offHeap ? new OffHeapCachedBlock(block) : new OnHeapCachedBlock(block);
+      cachedBytes.addAndGet(cachedBlock.getWeight());
+      return cachedBlock;
+    }
+
+    long size() {
+      return cache.estimatedSize();
+    }
+
+    long getCachedBytes() {
+      return cachedBytes.get();
+    }
+
+    CacheStats getStats() {
+      return cache.stats();
+    }
+
+    synchronized void reportMetrics() {
+      CacheStats currentStats = cache.stats();
+      CacheStats delta = currentStats.minus(lastReportedStats);
+      lastReportedStats = currentStats;
+      metricsRegistry.add(metricPrefix + "hit", delta.hitCount());
+      metricsRegistry.add(metricPrefix + "miss", delta.missCount());
+      metricsRegistry.add(metricPrefix + "eviction", delta.evictionCount());
+      metricsRegistry.add(metricPrefix + "load_time_ms", TimeUnit.NANOSECONDS.toMillis(delta.totalLoadTime()));
+      metricsRegistry.set(metricPrefix + "cached_bytes", cachedBytes.get());
+    }
+
+    void clear() {
+      cache.invalidateAll();
+    }
+
+    void cleanUp() {
+      cache.cleanUp();
+    }
+  }
+
+  /**
+   * A block stored in the cache.
+   */
+  private interface CachedBlock {
+    /**
+     * @return the cached {@link HFileBlock} instance.
+     */
+    HFileBlock getBlock();
+
+    /**
+     * @return the number of bytes retained by the cached block.
+     */
+    int getWeight();
+  }
+
+  /**
+   * Keeps the reference of the {@link HFileBlock} on the heap.
+   */
+  private static class OnHeapCachedBlock implements CachedBlock {
+    private final HFileBlock block;
+
+    OnHeapCachedBlock(HFileBlock block) {
+      this.block = block;
+    }
+
+    @Override
+    public HFileBlock getBlock() {
+      return block;
+    }
+
+    @Override
+    public int getWeight() {
+      return block.getByteBuff().length;
+    }
+  }
+
+  /**
+   * Keeps the uncompressed content of the {@link HFileBlock} in a direct {@link ByteBuffer}.
+   */
+  private static class OffHeapCachedBlock implements CachedBlock {
+    private final ByteBuffer buffer;
+
+    OffHeapCachedBlock(HFileBlock block) {
+      int size = block.getUncompressedSizeWithHeader();
+      this.buffer = ByteBuffer.allocateDirect(size);
+      buffer.put(block.getByteBuff(), block.getStartOffsetInBuff(), size);
+      buffer.flip();
+    }
+
+    @Override
+    public HFileBlock getBlock() {
+      byte[] bytes = new byte[buffer.limit()];
+      buffer.duplicate().get(bytes);
+      try {
+        return HFileBlock.parse(UNCOMPRESSED_CONTEXT, bytes, 0);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to parse the cached HFile block", e);
+      }
+    }
+
+    @Override
+    public int getWeight() {
+      return buffer.capacity();
+    }
+  }
+
+  /**
+   * Configuration of {@link HFileBlockCache}.
+   */
+  public static class Config {
+    private final int maxDataBlockCount;
+    private final long maxDataBlockBytes;
+    private final long maxIndexBlockBytes;
+    private final long expireAfterAccessMillis;
+    private final boolean offHeap;
+
+    private Config(int maxDataBlockCount,
+                   long maxDataBlockBytes,
+                   long maxIndexBlockBytes,
+                   long expireAfterAccessMillis,
+                   boolean offHeap) {
+      this.maxDataBlockCount = maxDataBlockCount;
+      this.maxDataBlockBytes = maxDataBlockBytes;
+      this.maxIndexBlockBytes = maxIndexBlockBytes;
+      this.expireAfterAccessMillis = expireAfterAccessMillis;
+      this.offHeap = offHeap;
+    }
+
+    /**
+     * @return {@code true} if the data block cache is bounded by bytes instead of the
+     * number of blocks.
+     */
+    public boolean isByteBounded() {
+      return maxDataBlockBytes > 0;
+    }
+
+    public boolean isOffHeap() {
+      return offHeap;
+    }
+
+    public static Builder builder() {
+      return new Builder();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Config that = (Config) o;
+      return maxDataBlockCount == that.maxDataBlockCount
+          && maxDataBlockBytes == that.maxDataBlockBytes
+          && maxIndexBlockBytes == that.maxIndexBlockBytes
+          && expireAfterAccessMillis == that.expireAfterAccessMillis
+          && offHeap == that.offHeap;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(maxDataBlockCount, maxDataBlockBytes, maxIndexBlockBytes, expireAfterAccessMillis, offHeap);
+    }
+
+    @Override
+    public String toString() {
+      return "Config{"
+          + "maxDataBlockCount=" + maxDataBlockCount
+          + ", maxDataBlockBytes=" + maxDataBlockBytes
+          + ", maxIndexBlockBytes=" + maxIndexBlockBytes
+          + ", expireAfterAccessMillis=" + expireAfterAccessMillis
+          + ", offHeap=" + offHeap
+          + '}';
+    }
+
+    public static class Builder {
+      private int maxDataBlockCount = 100;
+      private long maxDataBlockBytes = -1L;
+      private long maxIndexBlockBytes = -1L;
+      private long expireAfterAccessMillis = TimeUnit.MINUTES.toMillis(60);
+      private boolean offHeap = false;
+
+      /**
+       * Bounds the data block cache by the number of blocks. Only effective if the cache is
+       * not bounded by bytes through {@link #maxDataBlockBytes(long)}.
+       */
+      public Builder maxDataBlockCount(int maxDataBlockCount) {
+        this.maxDataBlockCount = maxDataBlockCount;
+        return this;
+      }
+
+      /**
+       * Bounds the data block cache by the total number of bytes of the uncompressed blocks.
+       * A non-positive value disables the byte bound.
+       */
+      public Builder maxDataBlockBytes(long maxDataBlockBytes) {
+        this.maxDataBlockBytes = maxDataBlockBytes;
+        return this;
+      }
+
+      /**
+       * Enables caching of the leaf and intermediate index blocks, bounded by the total number
+       * of bytes of the uncompressed blocks. A non-positive value disables index block caching.
+       */
+      public Builder maxIndexBlockBytes(long maxIndexBlockBytes) {
+        this.maxIndexBlockBytes = maxIndexBlockBytes;
+        return this;
+      }
+
+      public Builder expireAfterAccess(long duration, TimeUnit timeUnit) {
+        this.expireAfterAccessMillis = timeUnit.toMillis(duration);
+        return this;
+      }
+
+      public Builder offHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+        return this;
+      }
+
+      public Config build() {
+        ValidationUtils.checkArgument(maxDataBlockBytes > 0 || maxDataBlockCount >= 0,
+            "Either the number of blocks or the number of bytes must be set to bound the HFile block cache");
+        return new Config(maxDataBlockCount, maxDataBlockBytes, maxIndexBlockBytes, expireAfterAccessMillis, offHeap);
+      }
+    }
   }
 
   /**
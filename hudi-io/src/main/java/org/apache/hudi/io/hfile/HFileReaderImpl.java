@@ -326,6 +326,22 @@ public class HFileReaderImpl implements HFileReader {
     return (HFileDataBlock) blockReader.nextBlock(HFileBlockType.DATA);
   }
 
+  /**
+   * Creates an HFile intermediate or leaf index block.
+   *
+   * @param blockToRead the block index entry pointing to the index block to read
+   * @param blockType   the expected type of the index block
+   * @return the instantiated HFile index block
+   * @throws IOException if there's an error reading the block
+   */
+  protected HFileBlock instantiateHFileIndexBlock(BlockIndexEntry blockToRead,
+                                                  HFileBlockType blockType) throws IOException {
+    HFileBlockReader blockReader = new HFileBlockReader(
+        context, stream, blockToRead.getOffset(),
+        blockToRead.getOffset() + (long) blockToRead.getSize());
+    return blockReader.nextBlock(blockType);
+  }
+
   private boolean isAtFirstKeyOfBlock(BlockIndexEntry indexEntry) {
     if (cursor.isValid()) {
       return cursor.getOffset() == indexEntry.getOffset() + HFILEBLOCK_HEADER_SIZE;
@@ -368,11 +384,9 @@ public class HFileReaderImpl implements HFileReader {
       // (3) BFS
       while (!queue.isEmpty()) {
         BlockIndexEntry indexEntry = queue.poll();
-        HFileBlockReader blockReader = new HFileBlockReader(
-            context, stream, indexEntry.getOffset(), indexEntry.getOffset() + indexEntry.getSize());
         HFileBlockType blockType = levels > 1
             ? HFileBlockType.INTERMEDIATE_INDEX : HFileBlockType.LEAF_INDEX;
-        HFileBlock tempBlock = blockReader.nextBlock(blockType);
+        HFileBlock tempBlock = instantiateHFileIndexBlock(indexEntry, blockType);
         indexEntryList.addAll(((HFileLeafIndexBlock) tempBlock).readBlockIndex());
       }
 
@@ -20,6 +20,9 @@
 package org.apache.hudi.io.compress;
 
 import org.apache.hudi.io.compress.airlift.HoodieAirliftGzipCompressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftLz4Compressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftSnappyCompressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftZstdCompressor;
 import org.apache.hudi.io.compress.builtin.HoodieNoneCompressor;
 import org.apache.hudi.io.util.IOUtils;
 
@@ -49,6 +52,9 @@ public class TestHoodieCompressor {
     switch (codec) {
       case NONE:
       case GZIP:
+      case SNAPPY:
+      case LZ4:
+      case ZSTD:
         HoodieCompressor decompressor = HoodieCompressorFactory.getCompressor(codec);
         byte[] actualOutput = new byte[INPUT_LENGTH + 100];
         try (InputStream stream = prepareInputStream(codec)) {
@@ -77,6 +83,15 @@ public class TestHoodieCompressor {
       case GZIP:
         return new ByteArrayInputStream(
             new HoodieAirliftGzipCompressor().compress(INPUT_BYTES));
+      case SNAPPY:
+        return new ByteArrayInputStream(
+            new HoodieAirliftSnappyCompressor().compress(INPUT_BYTES));
+      case LZ4:
+        return new ByteArrayInputStream(
+            new HoodieAirliftLz4Compressor().compress(INPUT_BYTES));
+      case ZSTD:
+        return new ByteArrayInputStream(
+            new HoodieAirliftZstdCompressor().compress(INPUT_BYTES));
       default:
         throw new IllegalArgumentException("Not supported in tests.");
     }
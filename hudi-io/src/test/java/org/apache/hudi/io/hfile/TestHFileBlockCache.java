@@ -19,6 +19,8 @@
 
 package org.apache.hudi.io.hfile;
 
+import org.apache.hudi.common.metrics.Registry;
+
 import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
@@ -26,8 +28,11 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -139,6 +144,85 @@ public class TestHFileBlockCache {
     assertSame(preExistingBlock, cache.getBlock(preExistingKey), "Pre-existing block should remain untouched.");
   }
 
+  @Test
+  public void testByteBoundedCache() {
+    byte[] validBlockData = createValidHFileBlockData();
+    // Room for exactly two blocks
+    HFileBlockCache cache = new HFileBlockCache(HFileBlockCache.Config.builder()
+        .maxDataBlockBytes(validBlockData.length * 2L)
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .build());
+    HFileContext context = HFileContext.builder().build();
+
+    for (int i = 0; i < 3; i++) {
+      cache.putBlock(new HFileBlockCache.BlockCacheKey("file", i * 1000L, 64),
+          new MockHFileDataBlock(context, validBlockData, 0));
+      cache.cleanUp();
+    }
+    assertEquals(2, cache.size());
+    assertEquals(validBlockData.length * 2L, cache.getDataBlockCachedBytes());
+
+    cache.clear();
+    cache.cleanUp();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getDataBlockCachedBytes());
+  }
+
+  @Test
+  public void testOffHeapCache() throws Exception {
+    byte[] validBlockData = createValidHFileBlockData();
+    HFileBlockCache cache = new HFileBlockCache(HFileBlockCache.Config.builder()
+        .maxDataBlockBytes(1024 * 1024)
+        .offHeap(true)
+        .build());
+    HFileContext context = HFileContext.builder().build();
+    HFileBlockCache.BlockCacheKey key = new HFileBlockCache.BlockCacheKey("file", 0, validBlockData.length);
+    MockHFileDataBlock block = new MockHFileDataBlock(context, validBlockData, 0);
+
+    HFileBlock first = cache.getOrCompute(key, () -> block);
+    HFileBlock second = cache.getBlock(key);
+    assertNotNull(second);
+    // Off-heap blocks are materialized on the heap for every hit
+    assertNotSame(first, second);
+    assertEquals(HFileBlockType.DATA, second.getBlockType());
+    assertTrue(second instanceof HFileDataBlock);
+    assertArrayEquals(validBlockData, second.getByteBuff());
+    assertEquals(validBlockData.length, cache.getDataBlockCachedBytes());
+  }
+
+  @Test
+  public void testIndexBlockCacheAndMetrics() throws Exception {
+    HFileBlockCache cache = new HFileBlockCache(HFileBlockCache.Config.builder()
+        .maxDataBlockBytes(1024 * 1024)
+        .maxIndexBlockBytes(1024 * 1024)
+        .build());
+    HFileContext context = HFileContext.builder().build();
+    byte[] validBlockData = createValidHFileBlockData();
+    HFileBlockCache.BlockCacheKey key = new HFileBlockCache.BlockCacheKey("file-index", 0, validBlockData.length);
+    AtomicInteger loaderExecutionCount = new AtomicInteger(0);
+    Callable<HFileBlock> loader = () -> {
+      loaderExecutionCount.incrementAndGet();
+      return new MockHFileDataBlock(context, validBlockData, 0);
+    };
+
+    Registry registry = Registry.getRegistry(HFileBlockCache.METRICS_REGISTRY_NAME);
+    registry.clear();
+    cache.getOrComputeIndexBlock(key, loader);
+    cache.getOrComputeIndexBlock(key, loader);
+    cache.reportMetrics();
+
+    assertEquals(1, loaderExecutionCount.get());
+    assertEquals(1, cache.indexBlockCount());
+    // Index blocks do not use the budget of data blocks
+    assertEquals(0, cache.size());
+    assertEquals(validBlockData.length, cache.getIndexBlockCachedBytes());
+    assertEquals(1, cache.getIndexBlockCacheStats().hitCount());
+    assertEquals(1, cache.getIndexBlockCacheStats().missCount());
+    assertEquals(1L, registry.getAllCounts().get("index_block_hit"));
+    assertEquals(1L, registry.getAllCounts().get("index_block_miss"));
+    assertEquals((long) validBlockData.length, registry.getAllCounts().get("index_block_cached_bytes"));
+  }
+
   /**
    * Creates a valid HFile block data with proper header structure for testing. This mimics the structure expected by HFileBlock constructor.
    */
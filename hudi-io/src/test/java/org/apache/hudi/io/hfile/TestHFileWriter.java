@@ -20,11 +20,14 @@
 package org.apache.hudi.io.hfile;
 
 import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
+import org.apache.hudi.io.compress.CompressionCodec;
 import org.apache.hudi.io.ByteArraySeekableDataInputStream;
 import org.apache.hudi.io.SeekableDataInputStream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -186,6 +189,52 @@ class TestHFileWriter {
     }
   }
 
+  @ParameterizedTest
+  @EnumSource(value = CompressionCodec.class, names = {"NONE", "GZIP", "SNAPPY", "LZ4", "ZSTD"})
+  void testRoundTripWithCompressionCodec(CompressionCodec codec) throws IOException {
+    HFileContext context = new HFileContext.Builder()
+        .compressionCodec(codec).blockSize(1024).build();
+    int numEntries = 2000;
+    try (DataOutputStream outputStream =
+             new DataOutputStream(Files.newOutputStream(Paths.get(TEST_FILE)));
+         HFileWriter writer = new HFileWriterImpl(context, outputStream)) {
+      for (int i = 0; i < numEntries; i++) {
+        writer.append(
+            String.format("key%05d", i), String.format("value%05d", i).getBytes());
+      }
+    }
+
+    try (FileChannel channel = FileChannel.open(Paths.get(TEST_FILE), StandardOpenOption.READ)) {
+      ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      SeekableDataInputStream inputStream =
+          new ByteArraySeekableDataInputStream(new ByteBufferBackedInputStream(buf));
+      try (HFileReaderImpl reader = new HFileReaderImpl(inputStream, channel.size())) {
+        reader.initializeMetadata();
+        assertEquals(codec, reader.getTrailer().getCompressionCodec());
+        assertEquals(numEntries, reader.getNumKeyValueEntries());
+        assertTrue(reader.getTrailer().getDataIndexCount() > 1);
+        reader.seekTo();
+        for (int i = 0; i < numEntries; i++) {
+          KeyValue kv = reader.getKeyValue().get();
+          assertEquals(String.format("key%05d", i), kv.getKey().getContentInString());
+          assertArrayEquals(
+              String.format("value%05d", i).getBytes(),
+              Arrays.copyOfRange(
+                  kv.getBytes(),
+                  kv.getValueOffset(),
+                  kv.getValueOffset() + kv.getValueLength()));
+          reader.next();
+        }
+        // Point lookups land in the middle of compressed blocks
+        reader.seekTo();
+        assertEquals(HFileReader.SEEK_TO_FOUND,
+            reader.seekTo(new UTF8StringKey(String.format("key%05d", numEntries / 2))));
+        assertEquals(HFileReader.SEEK_TO_FOUND,
+            reader.seekTo(new UTF8StringKey(String.format("key%05d", numEntries - 1))));
+      }
+    }
+  }
+
   private static void writeTestFile() throws Exception {
     try (
         DataOutputStream outputStream =
@@ -18,23 +18,33 @@
 
 package org.apache.hudi.io;
 
+import org.apache.hudi.avro.HoodieAvroUtils;
 import org.apache.hudi.client.SparkRDDWriteClient;
 import org.apache.hudi.client.WriteStatus;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
+import org.apache.hudi.common.config.HoodieStorageConfig;
 import org.apache.hudi.common.engine.LocalTaskContextSupplier;
 import org.apache.hudi.common.model.HoodieFileGroup;
+import org.apache.hudi.common.model.HoodieLogFile;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieRecordDelegate;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.log.HoodieLogFormat;
+import org.apache.hudi.common.table.log.block.HoodieDataBlock;
+import org.apache.hudi.common.table.log.block.HoodieLogBlock;
 import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
 import org.apache.hudi.common.testutils.HoodieTestDataGenerator;
 import org.apache.hudi.common.testutils.InProcessTimeGenerator;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ClosableIterator;
 import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.table.HoodieSparkCopyOnWriteTable;
 import org.apache.hudi.table.HoodieSparkTable;
 import org.apache.hudi.table.HoodieTable;
 
+import org.apache.avro.Schema;
+import org.apache.avro.generic.IndexedRecord;
 import org.apache.spark.api.java.JavaRDD;
 import org.junit.jupiter.api.Test;
 
@@ -129,4 +139,63 @@ public class TestAppendHandle extends BaseTestHandle {
     assertEquals(2 * numUpdates + numDeletes, writeStatus.getIndexStats().getSecondaryIndexStats().values().stream().findFirst().get().size());
     validateSecondaryIndexStatsContent(writeStatus, numUpdates, numDeletes);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testAppendHandleWithAsyncFlush() throws Exception {
+    // flush a data block every few records, the blocks are written in background
+    HoodieWriteConfig config = getConfigBuilder(basePath)
+        .withFileSystemViewConfig(FileSystemViewStorageConfig.newBuilder().withRemoteServerPort(timelineServicePort).build())
+        .withStorageConfig(HoodieStorageConfig.newBuilder()
+            .logFileDataBlockMaxSize(4 * 1024)
+            .logFileDataBlockAsyncFlushEnabled(true)
+            .build())
+        .build();
+    config.setSchema(TRIP_EXAMPLE_SCHEMA);
+
+    String partitionPath = HoodieTestDataGenerator.DEFAULT_PARTITION_PATHS[0];
+    HoodieTestDataGenerator dataGenerator = new HoodieTestDataGenerator(new String[] {partitionPath});
+    SparkRDDWriteClient client = getHoodieWriteClient(config);
+    String instantTime = writeClient.startCommit();
+    List<HoodieRecord> inserts = dataGenerator.generateInserts(instantTime, 100);
+    JavaRDD<WriteStatus> statuses = client.upsert(jsc.parallelize(inserts, 1), instantTime);
+    client.commit(instantTime, statuses, Option.empty(), COMMIT_ACTION, Collections.emptyMap(), Option.empty());
+
+    metaClient = HoodieTableMetaClient.reload(metaClient);
+    HoodieTable table = HoodieSparkTable.create(config, context, metaClient);
+    HoodieFileGroup fileGroup = table.getFileSystemView().getAllFileGroups(partitionPath).collect(Collectors.toList()).get(0);
+    String fileId = fileGroup.getFileGroupId().getFileId();
+
+    instantTime = InProcessTimeGenerator.createNewInstantTime();
+    List<HoodieRecord> updates = dataGenerator.generateUniqueUpdates(instantTime, 100);
+    HoodieAppendHandle handle = new HoodieAppendHandle(config, instantTime, table, partitionPath, fileId, updates.iterator(), new LocalTaskContextSupplier());
+    handle.doAppend();
+    List<WriteStatus> writeStatuses = handle.close();
+
+    assertEquals(1, writeStatuses.size());
+    WriteStatus writeStatus = writeStatuses.get(0);
+    assertEquals(0, writeStatus.getTotalErrorRecords());
+    assertEquals(updates.size(), writeStatus.getStat().getNumWrites());
+    assertEquals(updates.size(), writeStatus.getStat().getNumUpdateWrites());
+
+    // all the records are appended in multiple data blocks
+    int numDataBlocks = 0;
+    int numRecords = 0;
+    HoodieLogFile logFile = new HoodieLogFile(new StoragePath(basePath, writeStatus.getStat().getPath()));
+    try (HoodieLogFormat.Reader reader = HoodieLogFormat.newReader(storage, logFile, HoodieAvroUtils.addMetadataFields(new Schema.Parser().parse(TRIP_EXAMPLE_SCHEMA)))) {
+      while (reader.hasNext()) {
+        HoodieLogBlock block = reader.next();
+        if (block instanceof HoodieDataBlock) {
+          numDataBlocks++;
+          try (ClosableIterator<HoodieRecord<IndexedRecord>> recordIterator = ((HoodieDataBlock) block).getRecordIterator(HoodieRecord.HoodieRecordType.AVRO)) {
+            while (recordIterator.hasNext()) {
+              recordIterator.next();
+              numRecords++;
+            }
+          }
+        }
+      }
+    }
+    assertTrue(numDataBlocks > 1);
+    assertEquals(updates.size(), numRecords);
+  }
+}
@@ -28,6 +28,7 @@ import org.apache.hudi.common.table.timeline.dto.CompactionOpDTO;
 import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
 import org.apache.hudi.common.table.timeline.dto.FileSliceDTO;
 import org.apache.hudi.common.table.timeline.dto.InstantDTO;
+import org.apache.hudi.common.table.timeline.dto.PartitionDeltaDTO;
 import org.apache.hudi.common.table.timeline.dto.TimelineDTO;
 import org.apache.hudi.common.table.view.FileSystemViewManager;
 import org.apache.hudi.common.table.view.RemoteHoodieTableFileSystemView;
@@ -38,6 +39,7 @@ import org.apache.hudi.common.util.RemotePartitionHelper;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.storage.StorageConfiguration;
+import org.apache.hudi.timeline.TimelineServiceBinaryCodec;
 import org.apache.hudi.timeline.service.handlers.BaseFileHandler;
 import org.apache.hudi.timeline.service.handlers.FileSliceHandler;
 import org.apache.hudi.timeline.service.handlers.MarkerHandler;
@@ -49,6 +51,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import io.javalin.Javalin;
+import io.javalin.core.util.Header;
 import io.javalin.http.BadRequestResponse;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
@@ -57,6 +60,7 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Arrays;
@@ -76,6 +80,8 @@ public class RequestHandler {
   private static final Logger LOG = LoggerFactory.getLogger(RequestHandler.class);
   private static final TypeReference<List<String>> LIST_TYPE_REFERENCE = new TypeReference<List<String>>() {
   };
+  private static final TypeReference<List<InstantDTO>> INSTANT_DTOS_TYPE_REFERENCE = new TypeReference<List<InstantDTO>>() {
+  };
 
   private final TimelineService.Config timelineServiceConfig;
   private final FileSystemViewManager viewManager;
@@ -138,6 +144,27 @@ public class RequestHandler {
     return result;
   }
 
+  /**
+   * Serializes the result into the binary encoding of {@link TimelineServiceBinaryCodec}.
+   *
+   * @param obj             object to serialize
+   * @param metricsRegistry {@code Registry} instance for storing metrics
+   * @return the binary encoded bytes of the input object
+   * @throws IOException
+   */
+  public static byte[] encodeResult(Object obj, Registry metricsRegistry) throws IOException {
+    HoodieTimer timer = HoodieTimer.start();
+    byte[] result = TimelineServiceBinaryCodec.encode(OBJECT_MAPPER.valueToTree(obj));
+    final long encodeTime = timer.endTimer();
+    metricsRegistry.add("WRITE_VALUE_CNT", 1);
+    metricsRegistry.add("WRITE_VALUE_TIME", encodeTime);
+    metricsRegistry.add("WRITE_BINARY_VALUE_CNT", 1);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Binary encoding TimeTaken={}", encodeTime);
+    }
+    return result;
+  }
+
   private static String getBasePathParam(Context ctx) {
     return ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.BASEPATH_PARAM, String.class).getOrThrow(e -> new HoodieException("Basepath is invalid"));
   }
@@ -198,14 +225,32 @@ public class RequestHandler {
     }
   }
 
-  private void writeValueAsString(Context ctx, Object obj) throws JsonProcessingException {
-    if (timelineServiceConfig.async) {
+  private void writeValueAsString(Context ctx, Object obj) throws IOException {
+    // Negotiate the binary encoding with the client, JSON is the fallback
+    if (TimelineServiceBinaryCodec.isAccepted(ctx.header(Header.ACCEPT))) {
+      ctx.contentType(TimelineServiceBinaryCodec.CONTENT_TYPE);
+      if (timelineServiceConfig.async) {
+        writeValueAsBinaryAsync(ctx, obj);
+      } else {
+        ctx.result(encodeResult(obj, metricsRegistry));
+      }
+    } else if (timelineServiceConfig.async) {
       writeValueAsStringAsync(ctx, obj);
     } else {
       writeValueAsStringSync(ctx, obj);
     }
   }
 
+  private void writeValueAsBinaryAsync(Context ctx, Object obj) {
+    ctx.future(CompletableFuture.supplyAsync(() -> {
+      try {
+        return new ByteArrayInputStream(encodeResult(obj, metricsRegistry));
+      } catch (IOException e) {
+        throw new HoodieException("Failed to binary encode the value", e);
+      }
+    }, asyncResultService));
+  }
+
   private void writeValueAsStringSync(Context ctx, Object obj) throws JsonProcessingException {
     String result = jsonifyResult(ctx, obj, metricsRegistry);
     ctx.result(result);
@@ -236,6 +281,18 @@ public class RequestHandler {
       TimelineDTO dto = instantHandler.getTimeline(getBasePathParam(ctx));
       writeValueAsString(ctx, dto);
     }, false));
+
+    app.get(RemoteHoodieTableFileSystemView.CHANGED_PARTITIONS_URL, new ViewHandler(ctx -> {
+      metricsRegistry.add("CHANGED_PARTITIONS", 1);
+      try {
+        List<InstantDTO> instants = OBJECT_MAPPER.readValue(ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.INSTANTS_PARAM, String.class)
+            .getOrThrow(e -> new HoodieException("Instants param is invalid")), INSTANT_DTOS_TYPE_REFERENCE);
+        PartitionDeltaDTO dto = instantHandler.getPartitionsChangedByInstants(getBasePathParam(ctx), instants);
+        writeValueAsString(ctx, dto);
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to parse request parameter", e);
+      }
+    }, true));
   }
 
   /**
@@ -18,15 +18,24 @@
 
 package org.apache.hudi.timeline.service.handlers;
 
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.InstantGenerator;
+import org.apache.hudi.common.table.timeline.TimelineLayout;
 import org.apache.hudi.common.table.timeline.dto.InstantDTO;
+import org.apache.hudi.common.table.timeline.dto.PartitionDeltaDTO;
 import org.apache.hudi.common.table.timeline.dto.TimelineDTO;
 import org.apache.hudi.common.table.view.FileSystemViewManager;
+import org.apache.hudi.common.table.view.IncrementalTimelineSyncFileSystemView;
+import org.apache.hudi.common.table.view.SyncableFileSystemView;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.storage.StorageConfiguration;
 import org.apache.hudi.timeline.service.TimelineService;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * REST Handler servicing timeline requests.
@@ -46,4 +55,19 @@ public class TimelineHandler extends Handler {
   public TimelineDTO getTimeline(String basePath) {
     return TimelineDTO.fromTimeline(viewManager.getFileSystemView(basePath).getTimeline());
   }
+
+  /**
+   * Returns the partitions changed by the given instants, which are synced by the view beforehand.
+   */
+  public PartitionDeltaDTO getPartitionsChangedByInstants(String basePath, List<InstantDTO> instantDtos) {
+    SyncableFileSystemView view = viewManager.getFileSystemView(basePath);
+    if (!(view instanceof IncrementalTimelineSyncFileSystemView)) {
+      return PartitionDeltaDTO.fromChangedPartitions(Option.empty());
+    }
+    HoodieTimeline timeline = view.getTimeline();
+    InstantGenerator instantGenerator = TimelineLayout.fromVersion(timeline.getTimelineLayoutVersion()).getInstantGenerator();
+    List<HoodieInstant> instants = instantDtos.stream()
+        .map(dto -> InstantDTO.toInstant(dto, instantGenerator)).collect(Collectors.toList());
+    return PartitionDeltaDTO.fromChangedPartitions(((IncrementalTimelineSyncFileSystemView) view).getPartitionsChangedByInstants(instants));
+  }
 }
@@ -100,19 +100,22 @@ public class MarkerBasedEarlyConflictDetectionRunnable implements Runnable {
       List<String> candidate = MarkerUtils.getCandidateInstants(activeTimeline, instants,
           MarkerUtils.markerDirToInstantTime(markerDir), maxAllowableHeartbeatIntervalInMs,
           storage, basePath);
-      Set<String> tableMarkers = candidate.stream().flatMap(instant -> {
+      // The markers of the candidate instants are read in parallel, both across the instants
+      // and across the marker files, i.e., the shards, of each instant
+      HoodieLocalEngineContext engineContext = new HoodieLocalEngineContext(storage.getConf().newInstance());
+      Set<String> tableMarkers = candidate.parallelStream().flatMap(instant -> {
         return MarkerUtils.readTimelineServerBasedMarkersFromFileSystem(instant, storage,
-                new HoodieLocalEngineContext(storage.getConf().newInstance()), 100)
+                engineContext, 100)
             .values().stream().flatMap(Collection::stream);
       }).collect(Collectors.toSet());
 
-      Set<String> currentFileIDs = currentInstantAllMarkers.stream().map(MarkerUtils::makerToPartitionAndFileID).collect(Collectors.toSet());
-      Set<String> tableFilesIDs = tableMarkers.stream().map(MarkerUtils::makerToPartitionAndFileID).collect(Collectors.toSet());
+      Set<String> currentFileIDs = currentInstantAllMarkers.parallelStream().map(MarkerUtils::makerToPartitionAndFileID).collect(Collectors.toSet());
+      Set<String> tableFilesIDs = tableMarkers.parallelStream().map(MarkerUtils::makerToPartitionAndFileID).collect(Collectors.toSet());
 
-      currentFileIDs.retainAll(tableFilesIDs);
-      if (!currentFileIDs.isEmpty()
-          || (checkCommitConflict && MarkerUtils.hasCommitConflict(activeTimeline,
-          currentInstantAllMarkers.stream().map(MarkerUtils::makerToPartitionAndFileID).collect(Collectors.toSet()), completedCommits))) {
+      Set<String> conflictingFileIDs = new HashSet<>(currentFileIDs);
+      conflictingFileIDs.retainAll(tableFilesIDs);
+      if (!conflictingFileIDs.isEmpty()
+          || (checkCommitConflict && MarkerUtils.hasCommitConflict(activeTimeline, currentFileIDs, completedCommits))) {
         LOG.error("Conflict writing detected based on markers!\nConflict markers: {}\nTable markers: {}", currentInstantAllMarkers, tableMarkers);
         hasConflict.compareAndSet(false, true);
       }
@@ -18,12 +18,11 @@
 
 package org.apache.hudi.timeline.service.handlers.marker;
 
-import org.apache.hudi.common.util.Option;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -45,20 +44,19 @@ public class MarkerCreationDispatchingRunnable implements Runnable {
   }
 
   /**
-   * Dispatches the marker creation requests that can be process to a worker thread of batch
+   * Dispatches the marker creation requests that can be process to the worker threads of batch
    * processing the requests.
    *
-   * For each marker directory, goes through the following steps:
-   * (1) find the next available file index for writing.  If no file index is available,
-   *   skip the processing of this marker directory;
-   * (2) fetch the pending marker creation requests for this marker directory.  If there is
-   *   no request, skip this marker directory;
-   * (3) put the marker directory, marker dir state, list of requests futures, and the file index
-   *   to a {@code MarkerDirRequestContext} instance and add the instance to the request context list.
+   * For each shard of each marker directory, goes through the following steps:
+   * (1) skip the shard if it has no pending marker creation request;
+   * (2) try to acquire the shard for writing.  If the shard is in use by another worker thread,
+   *   skip the shard so that its requests are processed in the following rounds;
+   * (3) fetch the pending marker creation requests of the shard and put the marker directory, marker
+   *   dir state, list of requests futures, and the shard index to a {@code BatchedMarkerCreationContext}.
    *
-   * If the request context list is not empty, spins up a worker thread, {@code MarkerCreationBatchingRunnable},
-   * and pass all the request context to the thread for batch processing.  The thread is responsible
-   * for responding to the request futures directly.
+   * Each request context is processed by its own worker thread, {@code BatchedMarkerCreationRunnable},
+   * so that the shards are flushed in parallel.  The thread is responsible for responding to the
+   * request futures directly.
    */
   @Override
   public void run() {
@@ -70,23 +68,27 @@ public class MarkerCreationDispatchingRunnable implements Runnable {
     for (Map.Entry<String, MarkerDirState> entry : markerDirStateMap.entrySet()) {
       String markerDir = entry.getKey();
       MarkerDirState markerDirState = entry.getValue();
-      Option<Integer> fileIndex = markerDirState.getNextFileIndexToUse();
-      if (!fileIndex.isPresent()) {
-        LOG.debug("All marker files are busy, skip batch processing of create marker requests in {}", markerDir);
-        continue;
-      }
-      List<MarkerCreationFuture> futures = markerDirState.fetchPendingMarkerCreationRequests();
-      if (futures.isEmpty()) {
-        markerDirState.markFileAsAvailable(fileIndex.get());
-        continue;
+      for (int shardIndex = 0; shardIndex < markerDirState.getNumShards(); shardIndex++) {
+        if (!markerDirState.hasPendingMarkerCreationRequests(shardIndex)) {
+          continue;
+        }
+        if (!markerDirState.tryAcquireShard(shardIndex)) {
+          LOG.debug("Marker file {} is busy, skip batch processing of create marker requests in {}", shardIndex, markerDir);
+          continue;
+        }
+        List<MarkerCreationFuture> futures = markerDirState.fetchPendingMarkerCreationRequests(shardIndex);
+        if (futures.isEmpty()) {
+          markerDirState.releaseShard(shardIndex);
+          continue;
+        }
+        requestContextList.add(
+            new BatchedMarkerCreationContext(markerDir, markerDirState, futures, shardIndex));
       }
-      requestContextList.add(
-          new BatchedMarkerCreationContext(markerDir, markerDirState, futures, fileIndex.get()));
     }
 
-    if (requestContextList.size() > 0) {
+    for (BatchedMarkerCreationContext requestContext : requestContextList) {
       executorService.execute(
-          new BatchedMarkerCreationRunnable(requestContextList));
+          new BatchedMarkerCreationRunnable(Collections.singletonList(requestContext)));
     }
   }
 }
@@ -18,8 +18,6 @@
 
 package org.apache.hudi.timeline.service.handlers.marker;
 
-import org.apache.hudi.common.util.HoodieTimer;
-
 import io.javalin.http.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,11 +33,11 @@ public class MarkerCreationFuture extends CompletableFuture<String> {
   private final String markerDirPath;
   private final String markerName;
   private boolean result;
-  private final HoodieTimer timer;
+  private final long startTimeMs;
 
   public MarkerCreationFuture(Context context, String markerDirPath, String markerName) {
     super();
-    this.timer = HoodieTimer.start();
+    this.startTimeMs = System.currentTimeMillis();
     this.context = context;
     this.markerDirPath = markerDirPath;
     this.markerName = markerName;
@@ -62,8 +60,15 @@ public class MarkerCreationFuture extends CompletableFuture<String> {
     return result;
   }
 
+  /**
+   * @return the time in milliseconds elapsed since the request is received.
+   */
+  public long getElapsedMs() {
+    return System.currentTimeMillis() - startTimeMs;
+  }
+
   public void setResult(boolean result) {
-    LOG.debug("Request queued for {} ms", timer.endTimer());
+    LOG.debug("Request queued for {} ms", getElapsedMs());
     this.result = result;
   }
 }
@@ -33,8 +33,10 @@ import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StoragePath;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.UniformReservoir;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import org.apache.hadoop.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,13 +47,13 @@ import java.io.OutputStreamWriter;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.apache.hudi.common.util.FileIOUtils.closeQuietly;
 import static org.apache.hudi.common.util.MarkerUtils.MARKERS_FILENAME_PREFIX;
@@ -60,35 +62,32 @@ import static org.apache.hudi.timeline.service.RequestHandler.jsonifyResult;
 /**
  * Stores the state of a marker directory.
  *
+ * <p>The markers are sharded by the hash of the marker names, each shard has its own lock-free queue of
+ * the pending marker creation requests and its own underlying marker file, i.e., shard "1" -> "MARKERS1".
+ * A shard is processed by at most one batch processing thread at a time, while the shards are processed
+ * independently, so the marker creation requests of different shards do not contend with each other.
+ *
  * The operations inside this class is designed to be thread-safe.
  */
 public class MarkerDirState implements Serializable {
   private static final Logger LOG = LoggerFactory.getLogger(MarkerDirState.class);
+  public static final String MARKER_CREATION_LATENCY_P50_MS = "MARKER_CREATION_LATENCY_P50_MS";
+  public static final String MARKER_CREATION_LATENCY_P99_MS = "MARKER_CREATION_LATENCY_P99_MS";
   // Marker directory
   private final StoragePath markerDirPath;
   private final HoodieStorage storage;
   private final Registry metricsRegistry;
   // A cached copy of all markers in memory
-  private final Set<String> allMarkers = new HashSet<>();
-  // A cached copy of marker entries in each marker file, stored in StringBuilder
-  // for efficient appending
-  // Mapping: {markerFileIndex -> markers}
-  private final Map<Integer, StringBuilder> fileMarkersMap = new HashMap<>();
-  // A list of use status of underlying files storing markers by a thread.
-  // {@code true} means the file is in use by a {@code BatchCreateMarkerRunnable}.
-  // Index of the list is used for the filename, i.e., "1" -> "MARKERS1"
-  private final List<Boolean> threadUseStatus;
-  // A list of pending futures from async marker creation requests
-  private final List<MarkerCreationFuture> markerCreationFutures = new ArrayList<>();
+  private final Set<String> allMarkers = ConcurrentHashMap.newKeySet();
+  // The shards of the markers, the index of a shard is used for the filename of its marker file
+  private final List<MarkerShard> shards;
   private final int parallelism;
-  private final Object markerCreationProcessingLock = new Object();
   // Early conflict detection strategy if enabled
   private final Option<TimelineServerBasedDetectionStrategy> conflictDetectionStrategy;
+  // The latencies of the marker creation requests, from the request to the markers being flushed
+  private final Histogram markerCreationLatencies = new Histogram(new UniformReservoir());
   private transient HoodieEngineContext hoodieEngineContext;
-  // Last underlying file index used, for finding the next file index
-  // in a round-robin fashion
-  private int lastFileIndexUsed = -1;
-  private boolean isMarkerTypeWritten = false;
+  private volatile boolean isMarkerTypeWritten = false;
 
   public MarkerDirState(String markerDirPath, int markerBatchNumThreads,
                         Option<TimelineServerBasedDetectionStrategy> conflictDetectionStrategy,
@@ -98,8 +97,10 @@ public class MarkerDirState implements Serializable {
     this.metricsRegistry = metricsRegistry;
     this.hoodieEngineContext = new HoodieLocalEngineContext(storage.getConf());
     this.parallelism = parallelism;
-    this.threadUseStatus =
-        Stream.generate(() -> false).limit(markerBatchNumThreads).collect(Collectors.toList());
+    this.shards = new ArrayList<>(markerBatchNumThreads);
+    for (int i = 0; i < markerBatchNumThreads; i++) {
+      shards.add(new MarkerShard());
+    }
     this.conflictDetectionStrategy = conflictDetectionStrategy;
     // Lazy initialization of markers by reading MARKERS* files on the file system
     syncMarkersFromFileSystem();
@@ -123,99 +124,105 @@ public class MarkerDirState implements Serializable {
     return allMarkers;
   }
 
+  /**
+   * @return the number of the shards of the markers.
+   */
+  public int getNumShards() {
+    return shards.size();
+  }
+
   /**
    * Adds a {@code MarkerCreationCompletableFuture} instance from a marker
-   * creation request to the queue.
+   * creation request to the queue of the shard of the marker.
    *
    * @param future  {@code MarkerCreationCompletableFuture} instance.
    */
   public void addMarkerCreationFuture(MarkerCreationFuture future) {
-    synchronized (markerCreationFutures) {
-      markerCreationFutures.add(future);
-    }
+    shards.get(getShardIndex(future.getMarkerName())).pendingFutures.offer(future);
+  }
+
+  private int getShardIndex(String markerName) {
+    return (markerName.hashCode() & Integer.MAX_VALUE) % shards.size();
   }
 
   /**
-   * @return the next file index to use in a round-robin fashion,
-   * or empty if no file is available.
+   * Tries to acquire the shard for processing its pending marker creation requests.
+   *
+   * @param shardIndex shard index
+   * @return {@code true} if the shard is acquired, {@code false} if it is in use by another thread.
    */
-  public Option<Integer> getNextFileIndexToUse() {
-    int fileIndex = -1;
-    synchronized (markerCreationProcessingLock) {
-      // Scans for the next free file index to use after {@code lastFileIndexUsed}
-      for (int i = 0; i < threadUseStatus.size(); i++) {
-        int index = (lastFileIndexUsed + 1 + i) % threadUseStatus.size();
-        if (!threadUseStatus.get(index)) {
-          fileIndex = index;
-          threadUseStatus.set(index, true);
-          break;
-        }
-      }
-
-      if (fileIndex >= 0) {
-        lastFileIndexUsed = fileIndex;
-        return Option.of(fileIndex);
-      }
-    }
-    return Option.empty();
+  public boolean tryAcquireShard(int shardIndex) {
+    return shards.get(shardIndex).inUse.compareAndSet(false, true);
   }
 
   /**
-   * Marks the file as available to use again.
+   * Marks the shard and its file as available to use again.
    *
-   * @param fileIndex file index
+   * @param shardIndex shard index
    */
-  public void markFileAsAvailable(int fileIndex) {
-    synchronized (markerCreationProcessingLock) {
-      threadUseStatus.set(fileIndex, false);
-    }
+  public void releaseShard(int shardIndex) {
+    shards.get(shardIndex).inUse.set(false);
   }
 
   /**
-   * @return futures of pending marker creation requests and removes them from the list.
+   * @return {@code true} if the shard has pending marker creation requests.
    */
-  public List<MarkerCreationFuture> fetchPendingMarkerCreationRequests() {
-    return getPendingMarkerCreationRequests(true);
+  public boolean hasPendingMarkerCreationRequests(int shardIndex) {
+    return !shards.get(shardIndex).pendingFutures.isEmpty();
+  }
+
+  /**
+   * @return futures of pending marker creation requests of the shard and removes them from the queue.
+   */
+  public List<MarkerCreationFuture> fetchPendingMarkerCreationRequests(int shardIndex) {
+    List<MarkerCreationFuture> pendingFutures = new ArrayList<>();
+    Queue<MarkerCreationFuture> queue = shards.get(shardIndex).pendingFutures;
+    MarkerCreationFuture future;
+    while ((future = queue.poll()) != null) {
+      pendingFutures.add(future);
+    }
+    return pendingFutures;
   }
 
   /**
-   * @param shouldClear Should clear the internal request list or not.
+   * @param shouldClear Should clear the internal request queues or not.
    * @return futures of pending marker creation requests.
    */
   public List<MarkerCreationFuture> getPendingMarkerCreationRequests(boolean shouldClear) {
-    List<MarkerCreationFuture> pendingFutures;
-    synchronized (markerCreationFutures) {
-      if (markerCreationFutures.isEmpty()) {
-        return new ArrayList<>();
-      }
-      pendingFutures = new ArrayList<>(markerCreationFutures);
+    List<MarkerCreationFuture> pendingFutures = new ArrayList<>();
+    for (int i = 0; i < shards.size(); i++) {
       if (shouldClear) {
-        markerCreationFutures.clear();
+        pendingFutures.addAll(fetchPendingMarkerCreationRequests(i));
+      } else {
+        pendingFutures.addAll(shards.get(i).pendingFutures);
       }
     }
     return pendingFutures;
   }
 
   /**
-   * Processes pending marker creation requests.
+   * Processes pending marker creation requests of a shard, the shard should be acquired
+   * by {@link #tryAcquireShard(int)} beforehand and is released afterwards.
    *
    * @param pendingMarkerCreationFutures futures of pending marker creation requests
-   * @param fileIndex file index to use to write markers
+   * @param shardIndex shard index to use to write markers
    */
   public void processMarkerCreationRequests(
-      final List<MarkerCreationFuture> pendingMarkerCreationFutures, int fileIndex) {
+      final List<MarkerCreationFuture> pendingMarkerCreationFutures, int shardIndex) {
     if (pendingMarkerCreationFutures.isEmpty()) {
-      markFileAsAvailable(fileIndex);
+      releaseShard(shardIndex);
       return;
     }
 
-    LOG.debug("timeMs={} markerDirPath={} numRequests={} fileIndex={}",
-        System.currentTimeMillis(), markerDirPath, pendingMarkerCreationFutures.size(), fileIndex);
+    LOG.debug("timeMs={} markerDirPath={} numRequests={} shardIndex={}",
+        System.currentTimeMillis(), markerDirPath, pendingMarkerCreationFutures.size(), shardIndex);
+    MarkerShard shard = shards.get(shardIndex);
     boolean shouldFlushMarkers = false;
-    
-    synchronized (markerCreationProcessingLock) {
+
+    try {
       for (MarkerCreationFuture future : pendingMarkerCreationFutures) {
         String markerName = future.getMarkerName();
+        // the markers of the same name are in the same shard, which is processed by this thread only
         boolean exists = allMarkers.contains(markerName);
         if (!exists) {
           if (conflictDetectionStrategy.isPresent()) {
@@ -230,30 +237,28 @@ public class MarkerDirState implements Serializable {
               LOG.warn("Failed to execute early conflict detection. Marker creation will continue.", e);
               // When early conflict detection fails to execute, we still allow the marker creation
               // to continue
-              addMarkerToMap(fileIndex, markerName);
+              addMarkerToShard(shard, markerName);
               future.setResult(true);
               shouldFlushMarkers = true;
               continue;
             }
           }
-          addMarkerToMap(fileIndex, markerName);
+          addMarkerToShard(shard, markerName);
           shouldFlushMarkers = true;
         }
         future.setResult(!exists);
       }
 
-      if (!isMarkerTypeWritten) {
-        // Create marker directory and write marker type to MARKERS.type
-        writeMarkerTypeToFile();
-        isMarkerTypeWritten = true;
+      writeMarkerTypeToFileIfNecessary();
+      if (shouldFlushMarkers) {
+        flushMarkersToFile(shard, shardIndex);
       }
+    } finally {
+      releaseShard(shardIndex);
     }
-    if (shouldFlushMarkers) {
-      flushMarkersToFile(fileIndex);
-    }
-    markFileAsAvailable(fileIndex);
 
     for (MarkerCreationFuture future : pendingMarkerCreationFutures) {
+      markerCreationLatencies.update(future.getElapsedMs());
       try {
         future.complete(jsonifyResult(
             future.getContext(), future.isSuccessful(), metricsRegistry));
@@ -261,6 +266,13 @@ public class MarkerDirState implements Serializable {
         throw new HoodieException("Failed to JSON encode the value", e);
       }
     }
+    updateLatencyMetrics();
+  }
+
+  private void updateLatencyMetrics() {
+    Snapshot snapshot = markerCreationLatencies.getSnapshot();
+    metricsRegistry.set(MARKER_CREATION_LATENCY_P50_MS, (long) snapshot.getMedian());
+    metricsRegistry.set(MARKER_CREATION_LATENCY_P99_MS, (long) snapshot.get99thPercentile());
   }
 
   /**
@@ -271,7 +283,7 @@ public class MarkerDirState implements Serializable {
   public boolean deleteAllMarkers() {
     boolean result = FSUtils.deleteDir(hoodieEngineContext, storage, markerDirPath, parallelism);
     allMarkers.clear();
-    fileMarkersMap.clear();
+    shards.forEach(shard -> shard.fileMarkers.setLength(0));
     return result;
   }
 
@@ -286,7 +298,10 @@ public class MarkerDirState implements Serializable {
       if (!fileMarkers.isEmpty()) {
         int index = parseMarkerFileIndex(markersFilePathStr);
         if (index >= 0) {
-          fileMarkersMap.put(index, new StringBuilder(StringUtils.join(",", fileMarkers)));
+          // the files beyond the shards, written with more batch processing threads, are kept as they are
+          if (index < shards.size()) {
+            fileMarkers.forEach(marker -> shards.get(index).fileMarkers.append(marker).append('\n'));
+          }
           allMarkers.addAll(fileMarkers);
         }
       }
@@ -302,31 +317,39 @@ public class MarkerDirState implements Serializable {
   }
 
   /**
-   * Adds a new marker to the in-memory map.
+   * Adds a new marker to the in-memory state of the shard.
    *
-   * @param fileIndex  Marker file index number.
+   * @param shard      Marker shard.
    * @param markerName Marker name.
    */
-  private void addMarkerToMap(int fileIndex, String markerName) {
+  private void addMarkerToShard(MarkerShard shard, String markerName) {
     allMarkers.add(markerName);
-    StringBuilder stringBuilder = fileMarkersMap.computeIfAbsent(fileIndex, k -> new StringBuilder(16384));
-    stringBuilder.append(markerName);
-    stringBuilder.append('\n');
+    shard.fileMarkers.append(markerName);
+    shard.fileMarkers.append('\n');
   }
 
   /**
-   * Writes marker type, "TIMELINE_SERVER_BASED", to file.
+   * Writes marker type, "TIMELINE_SERVER_BASED", to file if it is not written yet.
    */
-  private void writeMarkerTypeToFile() {
-    try {
-      if (!MarkerUtils.doesMarkerTypeFileExist(storage, markerDirPath)) {
-        // There is no existing marker directory, create a new directory and write marker type
-        storage.createDirectory(markerDirPath);
-        MarkerUtils.writeMarkerTypeToFile(MarkerType.TIMELINE_SERVER_BASED, storage, markerDirPath);
+  private void writeMarkerTypeToFileIfNecessary() {
+    if (isMarkerTypeWritten) {
+      return;
+    }
+    synchronized (this) {
+      if (isMarkerTypeWritten) {
+        return;
       }
-    } catch (IOException e) {
-      throw new HoodieIOException("Failed to write marker type file in " + markerDirPath
-          + ": " + e.getMessage(), e);
+      try {
+        if (!MarkerUtils.doesMarkerTypeFileExist(storage, markerDirPath)) {
+          // There is no existing marker directory, create a new directory and write marker type
+          storage.createDirectory(markerDirPath);
+          MarkerUtils.writeMarkerTypeToFile(MarkerType.TIMELINE_SERVER_BASED, storage, markerDirPath);
+        }
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to write marker type file in " + markerDirPath
+            + ": " + e.getMessage(), e);
+      }
+      isMarkerTypeWritten = true;
     }
   }
 
@@ -353,11 +376,12 @@ public class MarkerDirState implements Serializable {
   }
 
   /**
-   * Flushes markers to the underlying file.
+   * Flushes markers of the shard to its underlying file.
    *
+   * @param shard            Marker shard.
    * @param markerFileIndex  file index to use.
    */
-  private void flushMarkersToFile(int markerFileIndex) {
+  private void flushMarkersToFile(MarkerShard shard, int markerFileIndex) {
     LOG.debug("Write to {}/{}{}", markerDirPath, MARKERS_FILENAME_PREFIX, markerFileIndex);
     HoodieTimer timer = HoodieTimer.start();
     StoragePath markersFilePath = new StoragePath(
@@ -367,7 +391,7 @@ public class MarkerDirState implements Serializable {
     try {
       outputStream = storage.create(markersFilePath);
       bufferedWriter = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
-      bufferedWriter.write(fileMarkersMap.get(markerFileIndex).toString());
+      bufferedWriter.write(shard.fileMarkers.toString());
     } catch (IOException e) {
       throw new HoodieIOException("Failed to overwrite marker file " + markersFilePath, e);
     } finally {
@@ -376,4 +400,17 @@ public class MarkerDirState implements Serializable {
     }
     LOG.debug("{} written in {} ms", markersFilePath, timer.endTimer());
   }
-}
\ No newline at end of file
+
+  /**
+   * A shard of the markers.
+   */
+  private static class MarkerShard implements Serializable {
+    // The pending marker creation requests of the shard
+    private final Queue<MarkerCreationFuture> pendingFutures = new ConcurrentLinkedQueue<>();
+    // A cached copy of the marker entries in the marker file of the shard, stored in StringBuilder
+    // for efficient appending, only accessed by the thread processing the shard
+    private final StringBuilder fileMarkers = new StringBuilder(16384);
+    // {@code true} means the shard is in use by a {@code BatchedMarkerCreationRunnable}
+    private final AtomicBoolean inUse = new AtomicBoolean(false);
+  }
+}
@@ -21,18 +21,26 @@ package org.apache.hudi.timeline.service.functional;
 import org.apache.hudi.common.config.HoodieCommonConfig;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
 import org.apache.hudi.common.engine.HoodieLocalEngineContext;
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
 import org.apache.hudi.common.model.HoodieFileGroup;
+import org.apache.hudi.common.model.HoodieWriteStat;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.dto.DTOUtils;
 import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
 import org.apache.hudi.common.table.view.FileSystemViewManager;
 import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
 import org.apache.hudi.common.table.view.FileSystemViewStorageType;
+import org.apache.hudi.common.table.view.RemoteFileSystemViewResponseCache;
 import org.apache.hudi.common.table.view.RemoteHoodieTableFileSystemView;
 import org.apache.hudi.common.table.view.SyncableFileSystemView;
 import org.apache.hudi.common.table.view.TestHoodieTableFileSystemView;
 import org.apache.hudi.common.testutils.MockHoodieTimeline;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.exception.HoodieRemoteException;
 import org.apache.hudi.hadoop.fs.HadoopFSUtils;
 import org.apache.hudi.timeline.service.TimelineService;
@@ -45,13 +53,20 @@ import org.junit.jupiter.api.function.Executable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.apache.hudi.common.testutils.HoodieTestUtils.INSTANT_GENERATOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -125,6 +140,81 @@ public class TestRemoteHoodieTableFileSystemView extends TestHoodieTableFileSyst
     server.close();
   }
 
+  @Test
+  public void testDeltaSyncOfCachedResponses() throws IOException {
+    String partitionPath1 = "2025/01/01";
+    String partitionPath2 = "2025/01/02";
+    String fileId1 = UUID.randomUUID().toString();
+    String fileId2 = UUID.randomUUID().toString();
+    HoodieCommitMetadata commitMetadata = new HoodieCommitMetadata();
+    commitMetadata.addWriteStat(partitionPath1, createBaseFile(partitionPath1, fileId1, "001"));
+    commitMetadata.addWriteStat(partitionPath2, createBaseFile(partitionPath2, fileId2, "001"));
+    saveAsComplete("001", commitMetadata);
+
+    RemoteHoodieTableFileSystemView deltaSyncView = initDeltaSyncFsView();
+    RemoteFileSystemViewResponseCache cache = deltaSyncView.getResponseCache();
+    assertEquals(Collections.singletonList("001"), getLatestCommitTimes(deltaSyncView, partitionPath1));
+    assertEquals(Collections.singletonList("001"), getLatestCommitTimes(deltaSyncView, partitionPath2));
+    // the repeated lookups are served by the cache, with new objects on every hit
+    HoodieBaseFile cachedBaseFile = deltaSyncView.getLatestBaseFiles(partitionPath1).findFirst().get();
+    assertNotSame(cachedBaseFile, deltaSyncView.getLatestBaseFiles(partitionPath1).findFirst().get());
+    assertEquals(Collections.singletonList("001"), getLatestCommitTimes(deltaSyncView, partitionPath2));
+    assertEquals(3, cache.getNumHits());
+    // the cache is not shared with the other views
+    assertNotSame(cache, initDeltaSyncFsView().getResponseCache());
+
+    // a new commit only touches the first partition
+    commitMetadata = new HoodieCommitMetadata();
+    commitMetadata.addWriteStat(partitionPath1, createBaseFile(partitionPath1, fileId1, "002"));
+    saveAsComplete("002", commitMetadata);
+
+    deltaSyncView.sync();
+    assertEquals(Collections.singletonList("001"), getLatestCommitTimes(deltaSyncView, partitionPath2));
+    assertEquals(1, cache.getNumDeltaSyncs());
+    assertEquals(4, cache.getNumHits());
+    assertEquals(Collections.singletonList("002"), getLatestCommitTimes(deltaSyncView, partitionPath1));
+    assertEquals(4, cache.getNumHits());
+
+    // the cached responses are released with the view
+    assertTrue(cache.getNumCachedResponses() > 0);
+    deltaSyncView.close();
+    assertEquals(0, cache.getNumCachedResponses());
+  }
+
+  private HoodieWriteStat createBaseFile(String partitionPath, String fileId, String instantTime) throws IOException {
+    String fileName = FSUtils.makeBaseFileName(instantTime, "1-0-1", fileId, BASE_FILE_EXTENSION);
+    new File(basePath + "/" + partitionPath).mkdirs();
+    new File(basePath + "/" + partitionPath + "/" + fileName).createNewFile();
+    HoodieWriteStat writeStat = new HoodieWriteStat();
+    writeStat.setFileId(fileId);
+    writeStat.setPartitionPath(partitionPath);
+    writeStat.setPath(partitionPath + "/" + fileName);
+    return writeStat;
+  }
+
+  private void saveAsComplete(String instantTime, HoodieCommitMetadata commitMetadata) {
+    HoodieActiveTimeline timeline = metaClient.getActiveTimeline();
+    HoodieInstant requested = INSTANT_GENERATOR.createNewInstant(HoodieInstant.State.REQUESTED, HoodieTimeline.COMMIT_ACTION, instantTime);
+    timeline.createNewInstant(requested);
+    timeline.transitionRequestedToInflight(requested, Option.empty());
+    HoodieInstant inflight = INSTANT_GENERATOR.createNewInstant(HoodieInstant.State.INFLIGHT, HoodieTimeline.COMMIT_ACTION, instantTime);
+    timeline.saveAsComplete(inflight, Option.of(commitMetadata));
+    metaClient.reloadActiveTimeline();
+  }
+
+  private RemoteHoodieTableFileSystemView initDeltaSyncFsView() {
+    return new RemoteHoodieTableFileSystemView(metaClient, FileSystemViewStorageConfig.newBuilder()
+        .withRemoteServerHost("localhost")
+        .withRemoteServerPort(server.getServerPort())
+        .withRemoteTimelineClientTimeoutSecs(DEFAULT_READ_TIMEOUT_SECS)
+        .withRemoteDeltaSync(true)
+        .build());
+  }
+
+  private static List<String> getLatestCommitTimes(RemoteHoodieTableFileSystemView fsView, String partitionPath) {
+    return fsView.getLatestBaseFiles(partitionPath).map(HoodieBaseFile::getCommitTime).collect(Collectors.toList());
+  }
+
   @Test
   public void testListFileGroupDTOPayload() throws IOException, NoSuchFieldException, IllegalAccessException {
     ObjectMapper mapper = new ObjectMapper();
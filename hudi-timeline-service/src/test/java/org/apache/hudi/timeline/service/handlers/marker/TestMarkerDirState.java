@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service.handlers.marker;
+
+import org.apache.hudi.common.engine.HoodieLocalEngineContext;
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.testutils.HoodieCommonTestHarness;
+import org.apache.hudi.common.util.MarkerUtils;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.HoodieStorageUtils;
+import org.apache.hudi.storage.StoragePath;
+
+import io.javalin.http.Context;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.apache.hudi.common.testutils.HoodieTestUtils.getDefaultStorageConf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests {@link MarkerDirState}.
+ */
+public class TestMarkerDirState extends HoodieCommonTestHarness {
+
+  private static final int NUM_SHARDS = 4;
+
+  private HoodieStorage storage;
+  private String markerDir;
+  private Registry registry;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    initPath();
+    storage = HoodieStorageUtils.getStorage(basePath, getDefaultStorageConf());
+    markerDir = new StoragePath(basePath, ".hoodie/.temp/001").toString();
+    registry = Registry.getRegistry("TestMarkerDirState");
+  }
+
+  @Test
+  public void testShardedMarkerCreation() throws Exception {
+    MarkerDirState markerDirState = new MarkerDirState(markerDir, NUM_SHARDS, Option.empty(), storage, registry, 4);
+    assertEquals(NUM_SHARDS, markerDirState.getNumShards());
+
+    List<String> markers = IntStream.range(0, 100)
+        .mapToObj(i -> "2016/file" + i + "_1-0-1_001.parquet.marker.CREATE").collect(Collectors.toList());
+    List<MarkerCreationFuture> futures = new ArrayList<>();
+    for (String marker : markers) {
+      futures.add(createMarker(markerDirState, marker));
+    }
+    // a duplicate marker is in the same shard as the original one
+    MarkerCreationFuture duplicate = createMarker(markerDirState, markers.get(0));
+    assertEquals(markers.size() + 1, markerDirState.getPendingMarkerCreationRequests(false).size());
+
+    // the shards are processed in parallel
+    ExecutorService executor = Executors.newFixedThreadPool(NUM_SHARDS);
+    Map<String, MarkerDirState> markerDirStateMap = new HashMap<>();
+    markerDirStateMap.put(markerDir, markerDirState);
+    new MarkerCreationDispatchingRunnable(markerDirStateMap, executor).run();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+    assertTrue(markerDirState.getPendingMarkerCreationRequests(false).isEmpty());
+    futures.forEach(future -> assertTrue(future.isDone() && future.isSuccessful()));
+    assertTrue(duplicate.isDone());
+    assertFalse(duplicate.isSuccessful());
+    assertEquals(new HashSet<>(markers), markerDirState.getAllMarkers());
+
+    // each shard is written to its own marker file
+    Map<String, Set<String>> fileMarkers = MarkerUtils.readTimelineServerBasedMarkersFromFileSystem(
+        markerDir, storage, new HoodieLocalEngineContext(storage.getConf()), 4);
+    assertTrue(fileMarkers.size() > 1);
+    assertTrue(fileMarkers.size() <= NUM_SHARDS);
+    Set<String> writtenMarkers = new HashSet<>();
+    fileMarkers.values().forEach(shardMarkers -> shardMarkers.forEach(marker -> assertTrue(writtenMarkers.add(marker))));
+    assertEquals(new HashSet<>(markers), writtenMarkers);
+
+    Map<String, Long> metrics = registry.getAllCounts();
+    assertTrue(metrics.containsKey(MarkerDirState.MARKER_CREATION_LATENCY_P50_MS));
+    assertTrue(metrics.get(MarkerDirState.MARKER_CREATION_LATENCY_P99_MS)
+        >= metrics.get(MarkerDirState.MARKER_CREATION_LATENCY_P50_MS));
+
+    // the markers are synced from the marker files and appended to the same shards
+    MarkerDirState reloaded = new MarkerDirState(markerDir, NUM_SHARDS, Option.empty(), storage, registry, 4);
+    assertEquals(new HashSet<>(markers), reloaded.getAllMarkers());
+    String newMarker = "2016/file100_1-0-1_001.parquet.marker.CREATE";
+    MarkerCreationFuture future = createMarker(reloaded, newMarker);
+    processAllShards(reloaded);
+    assertTrue(future.isSuccessful());
+    writtenMarkers.clear();
+    MarkerUtils.readTimelineServerBasedMarkersFromFileSystem(
+            markerDir, storage, new HoodieLocalEngineContext(storage.getConf()), 4)
+        .values().forEach(writtenMarkers::addAll);
+    Set<String> expected = new HashSet<>(markers);
+    expected.add(newMarker);
+    assertEquals(expected, writtenMarkers);
+  }
+
+  @Test
+  public void testShardIsProcessedByOneThreadAtATime() {
+    MarkerDirState markerDirState = new MarkerDirState(markerDir, NUM_SHARDS, Option.empty(), storage, registry, 4);
+    assertTrue(markerDirState.tryAcquireShard(0));
+    assertFalse(markerDirState.tryAcquireShard(0));
+    assertTrue(markerDirState.tryAcquireShard(1));
+    markerDirState.releaseShard(0);
+    assertTrue(markerDirState.tryAcquireShard(0));
+  }
+
+  private static MarkerCreationFuture createMarker(MarkerDirState markerDirState, String markerName) {
+    MarkerCreationFuture future = new MarkerCreationFuture(mock(Context.class), "", markerName);
+    markerDirState.addMarkerCreationFuture(future);
+    return future;
+  }
+
+  private static void processAllShards(MarkerDirState markerDirState) {
+    for (int i = 0; i < markerDirState.getNumShards(); i++) {
+      assertTrue(markerDirState.tryAcquireShard(i));
+      markerDirState.processMarkerCreationRequests(markerDirState.fetchPendingMarkerCreationRequests(i), i);
+    }
+  }
+}
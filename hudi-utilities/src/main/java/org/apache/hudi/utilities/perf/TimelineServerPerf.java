@@ -134,6 +134,15 @@ public class TimelineServerPerf implements Serializable {
     d2.dump(runLookups(jsc, selected, fsView, cfg.numIterations, cfg.numCoresPerExecutor));
     d2.close();
 
+    if (cfg.numTransportIterations > 0) {
+      System.out.println("\n\n\nComparing JSON and binary transports");
+      TransportDumper d3 = new TransportDumper(metaClient.getStorage(),
+          new StoragePath(reportDir, String.format("3_%s.csv", dumpPrefix)));
+      d3.init();
+      d3.dumpTransportStats(compareTransports(metaClient, selected, cfg.numTransportIterations));
+      d3.close();
+    }
+
     System.out.println("\n\n\nDumping all File Slices");
     selected.forEach(p -> fsView.getAllFileSlices(p).forEach(s -> System.out.println("\tMyFileSlice=" + s)));
 
@@ -176,6 +185,35 @@ public class TimelineServerPerf implements Serializable {
     }, cfg.numExecutors);
   }
 
+  /**
+   * Measures the throughput of fetching all the file slices of the partitions from the timeline server,
+   * with the JSON transport and the binary transport respectively.
+   */
+  public List<TransportStats> compareTransports(HoodieTableMetaClient metaClient, List<String> partitionPaths, int numIterations) {
+    List<TransportStats> stats = new ArrayList<>();
+    for (boolean binaryTransport : new boolean[] {false, true}) {
+      FileSystemViewStorageConfig viewConf = FileSystemViewStorageConfig.newBuilder()
+          .withRemoteServerHost(hostAddr)
+          .withRemoteServerPort(cfg.serverPort)
+          .withRemoteBinaryTransport(binaryTransport)
+          .build();
+      RemoteHoodieTableFileSystemView fsView = new RemoteHoodieTableFileSystemView(metaClient, viewConf);
+      // Warm up the server side view so that only the transport is measured
+      partitionPaths.forEach(p -> fsView.getAllFileSlices(p).count());
+      long numFileSlices = 0;
+      long beginTs = System.nanoTime();
+      for (int i = 0; i < numIterations; i++) {
+        for (String partitionPath : partitionPaths) {
+          numFileSlices += fsView.getAllFileSlices(partitionPath).count();
+        }
+      }
+      long timeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - beginTs);
+      fsView.close();
+      stats.add(new TransportStats(binaryTransport ? "binary" : "json", numIterations, numFileSlices, timeMs));
+    }
+    return stats;
+  }
+
   private static PerfStats runOneRound(SyncableFileSystemView fsView, String partition, String fileId, int id,
       int numIterations) {
     Histogram latencyHistogram = new Histogram(new UniformReservoir(10000));
@@ -207,22 +245,26 @@ public class TimelineServerPerf implements Serializable {
     }
 
     private void addHeader() throws IOException {
-      String header = "Partition,Thread,Min,Max,Mean,Median,75th,95th\n";
-      outputStream.write(getUTF8Bytes(header));
+      outputStream.write(getUTF8Bytes(getHeader()));
       outputStream.flush();
     }
 
+    protected String getHeader() {
+      return "Partition,Thread,Min,Max,Mean,Median,75th,95th\n";
+    }
+
     public void dump(List<PerfStats> stats) {
-      stats.forEach(x -> {
-        String row = String.format("%s,%d,%d,%d,%f,%f,%f,%f\n", x.partition, x.id, x.minTime, x.maxTime, x.meanTime,
-            x.medianTime, x.p75, x.p95);
-        System.out.println(row);
-        try {
-          outputStream.write(getUTF8Bytes(row));
-        } catch (IOException e) {
-          throw new RuntimeException(e);
-        }
-      });
+      stats.forEach(x -> write(String.format("%s,%d,%d,%d,%f,%f,%f,%f\n", x.partition, x.id, x.minTime, x.maxTime, x.meanTime,
+          x.medianTime, x.p75, x.p95)));
+    }
+
+    protected void write(String row) {
+      System.out.println(row);
+      try {
+        outputStream.write(getUTF8Bytes(row));
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
     }
 
     public void close() throws IOException {
@@ -230,6 +272,38 @@ public class TimelineServerPerf implements Serializable {
     }
   }
 
+  private static class TransportDumper extends Dumper {
+
+    public TransportDumper(HoodieStorage storage, StoragePath dumpPath) {
+      super(storage, dumpPath);
+    }
+
+    @Override
+    protected String getHeader() {
+      return "Transport,Iterations,FileSlices,TotalTimeMs,FileSlicesPerSec\n";
+    }
+
+    public void dumpTransportStats(List<TransportStats> stats) {
+      stats.forEach(x -> write(String.format("%s,%d,%d,%d,%f\n", x.transport, x.numIterations, x.numFileSlices, x.timeMs,
+          x.timeMs == 0 ? 0 : x.numFileSlices * 1000.0 / x.timeMs)));
+    }
+  }
+
+  private static class TransportStats implements Serializable {
+
+    private final String transport;
+    private final int numIterations;
+    private final long numFileSlices;
+    private final long timeMs;
+
+    public TransportStats(String transport, int numIterations, long numFileSlices, long timeMs) {
+      this.transport = transport;
+      this.numIterations = numIterations;
+      this.numFileSlices = numFileSlices;
+      this.timeMs = timeMs;
+    }
+  }
+
   private static class PerfStats implements Serializable {
 
     private final String partition;
@@ -309,6 +383,11 @@ public class TimelineServerPerf implements Serializable {
     @Parameter(names = {"--rocksdb-path", "-rp"}, description = "Root directory for RocksDB")
     public String rocksDBPath = FileSystemViewStorageConfig.ROCKSDB_BASE_PATH.defaultValue();
 
+    @Parameter(names = {"--transport-iterations", "-ti"},
+        description = "Number of iterations over the partitions to compare the throughput of the JSON and binary transports."
+            + " Set it to 0 to skip the comparison")
+    public Integer numTransportIterations = 10;
+
     @Parameter(names = {"--wait-for-manual-queries", "-ww"})
     public Boolean waitForManualQueries = false;
 